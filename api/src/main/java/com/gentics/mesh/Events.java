@@ -20,6 +20,11 @@ public final class Events {
 	 */
 	public final static String JOB_WORKER_ADDRESS = "job.worker";
 
+	/**
+	 * Address for the local handler which will apply the queued search index batches.
+	 */
+	public final static String SEARCH_INDEXER_ADDRESS = "search.indexer";
+
 	/**
 	 * Event which is send once a new node is joining the cluster.
 	 */
@@ -50,6 +55,16 @@ public final class Events {
 	 */
 	public static final String EVENT_CLEAR_PERMISSION_STORE = "mesh.clear-permission-store";
 
+	/**
+	 * Event which is send to invalidate the permission store entries of specific users and roles.
+	 */
+	public static final String EVENT_INVALIDATE_PERMISSION_STORE = "mesh.invalidate-permission-store";
+
+	/**
+	 * Event which is send to clear the resolved links of the webroot link cache.
+	 */
+	public static final String EVENT_CLEAR_LINK_CACHE = "mesh.clear-link-cache";
+
 	/* User */
 
 	public static final String EVENT_USER_CREATED = "mesh.user.created";
@@ -156,6 +171,8 @@ public final class Events {
 
 		events.add(EVENT_CLUSTER_DATABASE_CHANGE_STATUS);
 		events.add(EVENT_CLEAR_PERMISSION_STORE);
+		events.add(EVENT_INVALIDATE_PERMISSION_STORE);
+		events.add(EVENT_CLEAR_LINK_CACHE);
 
 		/* User */
 
@@ -1,6 +1,8 @@
 package com.gentics.mesh.etc.config;
 
 import java.io.File;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyDescription;
@@ -16,8 +18,22 @@ public class ImageManipulatorOptions implements Option {
 
 	public static final String MESH_IMAGE_MAX_WIDTH_ENV = "MESH_IMAGE_MAX_WIDTH";
 	public static final String MESH_IMAGE_MAX_HEIGHT_ENV = "MESH_IMAGE_MAX_HEIGHT";
+	public static final String MESH_IMAGE_CACHE_MAX_SIZE_ENV = "MESH_IMAGE_CACHE_MAX_SIZE";
+	public static final String MESH_IMAGE_MAX_CONCURRENT_OPERATIONS_ENV = "MESH_IMAGE_MAX_CONCURRENT_OPERATIONS";
+	public static final String MESH_IMAGE_MAX_QUEUED_OPERATIONS_ENV = "MESH_IMAGE_MAX_QUEUED_OPERATIONS";
+	public static final String MESH_IMAGE_MEMORY_BUDGET_ENV = "MESH_IMAGE_MEMORY_BUDGET";
+	public static final String MESH_IMAGE_OPERATION_TIMEOUT_ENV = "MESH_IMAGE_OPERATION_TIMEOUT";
+	public static final String MESH_IMAGE_DEFAULT_FORMAT_ENV = "MESH_IMAGE_DEFAULT_FORMAT";
+	public static final String MESH_IMAGE_JPEG_QUALITY_ENV = "MESH_IMAGE_JPEG_QUALITY";
+	public static final String MESH_IMAGE_JPEG_PROGRESSIVE_ENV = "MESH_IMAGE_JPEG_PROGRESSIVE";
 	public static final int DEFAULT_MAX_WIDTH = 2048;
 	public static final int DEFAULT_MAX_HEIGHT = 2048;
+	public static final long DEFAULT_CACHE_MAX_SIZE = 10L * 1024 * 1024 * 1024;
+	public static final int DEFAULT_MAX_CONCURRENT_OPERATIONS = Runtime.getRuntime().availableProcessors();
+	public static final int DEFAULT_MAX_QUEUED_OPERATIONS = 100;
+	public static final long DEFAULT_OPERATION_TIMEOUT = 60_000;
+	public static final String DEFAULT_FORMAT = "jpg";
+	public static final float DEFAULT_JPEG_QUALITY = 0.75f;
 
 	private String imageCacheDirectory = "data" + File.separator + "binaryImageCache";
 
@@ -33,6 +49,53 @@ public class ImageManipulatorOptions implements Option {
 	@EnvironmentVariable(name = MESH_IMAGE_MAX_HEIGHT_ENV, description = "Override the max height for image resize operations.")
 	private Integer maxHeight = DEFAULT_MAX_HEIGHT;
 
+	@JsonProperty(required = false)
+	@JsonPropertyDescription("Configure the maximum size in bytes of all resized images within the image cache directory. The least recently used images will be removed once the limit has been exceeded. A value of zero or less disables the limit. Default: "
+		+ DEFAULT_CACHE_MAX_SIZE)
+	@EnvironmentVariable(name = MESH_IMAGE_CACHE_MAX_SIZE_ENV, description = "Override the max size of the image cache.")
+	private Long imageCacheMaxSize = DEFAULT_CACHE_MAX_SIZE;
+
+	@JsonProperty(required = false)
+	@JsonPropertyDescription("Configure the maximum amount of image operations which are processed concurrently. Default: amount of available processors")
+	@EnvironmentVariable(name = MESH_IMAGE_MAX_CONCURRENT_OPERATIONS_ENV, description = "Override the max amount of concurrent image operations.")
+	private Integer maxConcurrentOperations = DEFAULT_MAX_CONCURRENT_OPERATIONS;
+
+	@JsonProperty(required = false)
+	@JsonPropertyDescription("Configure the maximum amount of image operations which wait for processing. Further requests will be rejected with status 503. Default: "
+		+ DEFAULT_MAX_QUEUED_OPERATIONS)
+	@EnvironmentVariable(name = MESH_IMAGE_MAX_QUEUED_OPERATIONS_ENV, description = "Override the max amount of queued image operations.")
+	private Integer maxQueuedOperations = DEFAULT_MAX_QUEUED_OPERATIONS;
+
+	@JsonProperty(required = false)
+	@JsonPropertyDescription("Configure the amount of heap memory in bytes which may be used by concurrent image operations. The memory of an operation is estimated using the amount of decoded pixels. Default: a quarter of the maximum heap size")
+	@EnvironmentVariable(name = MESH_IMAGE_MEMORY_BUDGET_ENV, description = "Override the memory budget for image operations.")
+	private Long memoryBudget;
+
+	@JsonProperty(required = false)
+	@JsonPropertyDescription("Configure the timeout in milliseconds for queued and running image operations. Default: " + DEFAULT_OPERATION_TIMEOUT)
+	@EnvironmentVariable(name = MESH_IMAGE_OPERATION_TIMEOUT_ENV, description = "Override the timeout for image operations.")
+	private Long operationTimeout = DEFAULT_OPERATION_TIMEOUT;
+
+	@JsonProperty(required = false)
+	@JsonPropertyDescription("Configure the output format of manipulated images which is used if the request does not specify a format. Possible values: jpg, png, original (keeps the format of the source image). Default: "
+		+ DEFAULT_FORMAT)
+	@EnvironmentVariable(name = MESH_IMAGE_DEFAULT_FORMAT_ENV, description = "Override the default output format of manipulated images.")
+	private String defaultFormat = DEFAULT_FORMAT;
+
+	@JsonProperty(required = false)
+	@JsonPropertyDescription("Configure the quality of JPEG images between 0 and 1. Lower values result in smaller files. Default: " + DEFAULT_JPEG_QUALITY)
+	@EnvironmentVariable(name = MESH_IMAGE_JPEG_QUALITY_ENV, description = "Override the quality of JPEG images.")
+	private Float jpegQuality = DEFAULT_JPEG_QUALITY;
+
+	@JsonProperty(required = false)
+	@JsonPropertyDescription("Flag which enables the progressive encoding of JPEG images. Default: false")
+	@EnvironmentVariable(name = MESH_IMAGE_JPEG_PROGRESSIVE_ENV, description = "Override the progressive encoding flag of JPEG images.")
+	private boolean jpegProgressive = false;
+
+	@JsonProperty(required = false)
+	@JsonPropertyDescription("Named image presets. Each preset contains the image manipulation query parameters of a variant (e.g. \"w=200&h=100\"). The variants of all presets are generated in the background once an image has been uploaded.")
+	private Map<String, String> presets = new LinkedHashMap<>();
+
 	/**
 	 * Return the binary image cache directory.
 	 * 
@@ -93,8 +156,189 @@ public class ImageManipulatorOptions implements Option {
 		return this;
 	}
 
-	public void validate(MeshOptions meshOptions) {
-		// TODO Auto-generated method stub
+	/**
+	 * Return the maximum size of the image cache in bytes.
+	 * 
+	 * @return
+	 */
+	public Long getImageCacheMaxSize() {
+		return imageCacheMaxSize;
+	}
+
+	/**
+	 * Set the maximum size of the image cache in bytes.
+	 * 
+	 * @param imageCacheMaxSize
+	 * @return Fluent API
+	 */
+	public ImageManipulatorOptions setImageCacheMaxSize(long imageCacheMaxSize) {
+		this.imageCacheMaxSize = imageCacheMaxSize;
+		return this;
+	}
+
+	/**
+	 * Return the maximum amount of concurrently processed image operations.
+	 * 
+	 * @return
+	 */
+	public Integer getMaxConcurrentOperations() {
+		return maxConcurrentOperations;
+	}
+
+	/**
+	 * Set the maximum amount of concurrently processed image operations.
+	 * 
+	 * @param maxConcurrentOperations
+	 * @return Fluent API
+	 */
+	public ImageManipulatorOptions setMaxConcurrentOperations(int maxConcurrentOperations) {
+		this.maxConcurrentOperations = maxConcurrentOperations;
+		return this;
+	}
+
+	/**
+	 * Return the maximum amount of queued image operations.
+	 * 
+	 * @return
+	 */
+	public Integer getMaxQueuedOperations() {
+		return maxQueuedOperations;
+	}
+
+	/**
+	 * Set the maximum amount of queued image operations.
+	 * 
+	 * @param maxQueuedOperations
+	 * @return Fluent API
+	 */
+	public ImageManipulatorOptions setMaxQueuedOperations(int maxQueuedOperations) {
+		this.maxQueuedOperations = maxQueuedOperations;
+		return this;
+	}
 
+	/**
+	 * Return the memory budget in bytes for concurrent image operations.
+	 * 
+	 * @return Budget or null if the default budget should be used
+	 */
+	public Long getMemoryBudget() {
+		return memoryBudget;
+	}
+
+	/**
+	 * Set the memory budget in bytes for concurrent image operations.
+	 * 
+	 * @param memoryBudget
+	 * @return Fluent API
+	 */
+	public ImageManipulatorOptions setMemoryBudget(Long memoryBudget) {
+		this.memoryBudget = memoryBudget;
+		return this;
+	}
+
+	/**
+	 * Return the timeout in milliseconds for image operations.
+	 * 
+	 * @return
+	 */
+	public Long getOperationTimeout() {
+		return operationTimeout;
+	}
+
+	/**
+	 * Set the timeout in milliseconds for image operations.
+	 * 
+	 * @param operationTimeout
+	 * @return Fluent API
+	 */
+	public ImageManipulatorOptions setOperationTimeout(long operationTimeout) {
+		this.operationTimeout = operationTimeout;
+		return this;
+	}
+
+	/**
+	 * Return the default output format of manipulated images.
+	 * 
+	 * @return
+	 */
+	public String getDefaultFormat() {
+		return defaultFormat;
+	}
+
+	/**
+	 * Set the default output format of manipulated images.
+	 * 
+	 * @param defaultFormat
+	 * @return Fluent API
+	 */
+	public ImageManipulatorOptions setDefaultFormat(String defaultFormat) {
+		this.defaultFormat = defaultFormat;
+		return this;
+	}
+
+	/**
+	 * Return the quality of JPEG images.
+	 * 
+	 * @return
+	 */
+	public Float getJpegQuality() {
+		return jpegQuality;
+	}
+
+	/**
+	 * Set the quality of JPEG images between 0 and 1.
+	 * 
+	 * @param jpegQuality
+	 * @return Fluent API
+	 */
+	public ImageManipulatorOptions setJpegQuality(Float jpegQuality) {
+		this.jpegQuality = jpegQuality;
+		return this;
+	}
+
+	/**
+	 * Check whether JPEG images are encoded progressively.
+	 * 
+	 * @return
+	 */
+	public boolean isJpegProgressive() {
+		return jpegProgressive;
+	}
+
+	/**
+	 * Set the flag which enables the progressive encoding of JPEG images.
+	 * 
+	 * @param jpegProgressive
+	 * @return Fluent API
+	 */
+	public ImageManipulatorOptions setJpegProgressive(boolean jpegProgressive) {
+		this.jpegProgressive = jpegProgressive;
+		return this;
+	}
+
+	/**
+	 * Return the named image presets. The values contain the image manipulation query parameters of the variants.
+	 * 
+	 * @return
+	 */
+	public Map<String, String> getPresets() {
+		return presets;
+	}
+
+	/**
+	 * Set the named image presets.
+	 * 
+	 * @param presets
+	 * @return Fluent API
+	 */
+	public ImageManipulatorOptions setPresets(Map<String, String> presets) {
+		this.presets = presets;
+		return this;
+	}
+
+	public void validate(MeshOptions meshOptions) {
+		if (jpegQuality != null && (jpegQuality < 0 || jpegQuality > 1)) {
+			throw new IllegalArgumentException("The image.jpegQuality must be between 0 and 1 but was {" + jpegQuality + "}");
+		}
 	}
 }
@@ -1,5 +1,7 @@
 package com.gentics.mesh.etc.config.search;
 
+import java.io.File;
+
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyDescription;
 import com.gentics.mesh.doc.GenerateDocumentation;
@@ -21,12 +23,33 @@ public class ElasticSearchOptions implements Option {
 
 	public static final int DEFAULT_STARTUP_TIMEOUT = 45;
 
+	public static final int DEFAULT_ASYNC_INDEXING_CONCURRENCY = 2;
+
+	public static final long DEFAULT_REFRESH_WINDOW = 10L;
+
+	public static final int DEFAULT_BULK_LIMIT = 2000;
+
+	public static final long DEFAULT_BULK_LENGTH_LIMIT = 5_000_000L;
+
+	public static final String DEFAULT_ASYNC_INDEXING_DIRECTORY = "data" + File.separator + "searchqueue";
+
+	public static final int DEFAULT_REINDEX_CHUNK_SIZE = 500;
+
+	public static final int DEFAULT_REINDEX_THREADS = Runtime.getRuntime().availableProcessors();
+
+	public static final String DEFAULT_REINDEX_CHECKPOINT_DIRECTORY = "data" + File.separator + "reindex";
+
 	public static final String DEFAULT_ARGS = "-Xms1g -Xmx1g -XX:+UseConcMarkSweepGC -XX:CMSInitiatingOccupancyFraction=75 -XX:+UseCMSInitiatingOccupancyOnly -XX:+AlwaysPreTouch -client -Xss1m -Djava.awt.headless=true -Dfile.encoding=UTF-8 -Djna.nosys=true -XX:-OmitStackTraceInFastThrow -Dio.netty.noUnsafe=true -Dio.netty.noKeySetOptimization=true -Dio.netty.recycler.maxCapacityPerThread=0 -Dlog4j.shutdownHookEnabled=false -Dlog4j2.disable.jmx=true -XX:+HeapDumpOnOutOfMemoryError";
 
 	public static final String MESH_ELASTICSEARCH_URL_ENV = "MESH_ELASTICSEARCH_URL";
 	public static final String MESH_ELASTICSEARCH_TIMEOUT_ENV = "MESH_ELASTICSEARCH_TIMEOUT";
 	public static final String MESH_ELASTICSEARCH_STARTUP_TIMEOUT_ENV = "MESH_ELASTICSEARCH_STARTUP_TIMEOUT";
 	public static final String MESH_ELASTICSEARCH_START_EMBEDDED_ENV = "MESH_ELASTICSEARCH_START_EMBEDDED";
+	public static final String MESH_ELASTICSEARCH_ASYNC_INDEXING_ENV = "MESH_ELASTICSEARCH_ASYNC_INDEXING";
+	public static final String MESH_ELASTICSEARCH_ASYNC_INDEXING_DIRECTORY_ENV = "MESH_ELASTICSEARCH_ASYNC_INDEXING_DIRECTORY";
+	public static final String MESH_ELASTICSEARCH_EXPLICIT_REFRESH_ENV = "MESH_ELASTICSEARCH_EXPLICIT_REFRESH";
+	public static final String MESH_ELASTICSEARCH_REINDEX_CHECKPOINT_DIRECTORY_ENV = "MESH_ELASTICSEARCH_REINDEX_CHECKPOINT_DIRECTORY";
+	public static final String MESH_ELASTICSEARCH_REINDEX_THREADS_ENV = "MESH_ELASTICSEARCH_REINDEX_THREADS";
 
 	@JsonProperty(required = false)
 	@JsonPropertyDescription("Elasticsearch connection url to be used. Set this setting to null will disable the Elasticsearch support.")
@@ -52,6 +75,55 @@ public class ElasticSearchOptions implements Option {
 	@JsonPropertyDescription("String of arguments which will be used for starting the Elasticsearch server instance")
 	private String embeddedArguments = DEFAULT_ARGS;
 
+	@JsonProperty(required = false)
+	@JsonPropertyDescription("Flag which indicates whether search index updates of CRUD requests should be applied asynchronously. The request will return once the graph transaction has been committed and the changes were written to the search queue journal. A background indexer will apply the queued changes to Elasticsearch. Default: false")
+	@EnvironmentVariable(name = MESH_ELASTICSEARCH_ASYNC_INDEXING_ENV, description = "Override the async indexing flag.")
+	private boolean asyncIndexing = false;
+
+	@JsonProperty(required = false)
+	@JsonPropertyDescription("Amount of queued batches which will be processed concurrently by the background indexer. Default: "
+		+ DEFAULT_ASYNC_INDEXING_CONCURRENCY)
+	private int asyncIndexingConcurrency = DEFAULT_ASYNC_INDEXING_CONCURRENCY;
+
+	@JsonProperty(required = false)
+	@JsonPropertyDescription("Path to the directory which contains the journal of the queued search index batches.")
+	@EnvironmentVariable(name = MESH_ELASTICSEARCH_ASYNC_INDEXING_DIRECTORY_ENV, description = "Override the search queue journal directory.")
+	private String asyncIndexingDirectory = DEFAULT_ASYNC_INDEXING_DIRECTORY;
+
+	@JsonProperty(required = false)
+	@JsonPropertyDescription("Flag which indicates whether the modified indices should be refreshed explicitly once a search queue batch has been processed. Changes will only become searchable after the refresh interval of the index if this flag is disabled. Default: true")
+	@EnvironmentVariable(name = MESH_ELASTICSEARCH_EXPLICIT_REFRESH_ENV, description = "Override the explicit refresh flag.")
+	private boolean explicitRefresh = true;
+
+	@JsonProperty(required = false)
+	@JsonPropertyDescription("Time window in milliseconds in which concurrent refresh requests will be combined into a single refresh call. Default: "
+		+ DEFAULT_REFRESH_WINDOW + "ms")
+	private long refreshWindow = DEFAULT_REFRESH_WINDOW;
+
+	@JsonProperty(required = false)
+	@JsonPropertyDescription("Upper limit for the amount of actions which will be combined into a single bulk request. Default: " + DEFAULT_BULK_LIMIT)
+	private int bulkLimit = DEFAULT_BULK_LIMIT;
+
+	@JsonProperty(required = false)
+	@JsonPropertyDescription("Upper limit for the size of the bulk request body in bytes. A bulk request will be sent once the limit has been reached. Default: "
+		+ DEFAULT_BULK_LENGTH_LIMIT)
+	private long bulkLengthLimit = DEFAULT_BULK_LENGTH_LIMIT;
+
+	@JsonProperty(required = false)
+	@JsonPropertyDescription("Amount of elements which will be loaded, transformed and sent to Elasticsearch within a single transaction during a full reindex. Default: "
+		+ DEFAULT_REINDEX_CHUNK_SIZE)
+	private int reindexChunkSize = DEFAULT_REINDEX_CHUNK_SIZE;
+
+	@JsonProperty(required = false)
+	@JsonPropertyDescription("Path to the directory which contains the checkpoints of a running full reindex. An interrupted reindex will be resumed from the last completed chunk.")
+	@EnvironmentVariable(name = MESH_ELASTICSEARCH_REINDEX_CHECKPOINT_DIRECTORY_ENV, description = "Override the reindex checkpoint directory.")
+	private String reindexCheckpointDirectory = DEFAULT_REINDEX_CHECKPOINT_DIRECTORY;
+
+	@JsonProperty(required = false)
+	@JsonPropertyDescription("Amount of worker threads which will be used to load and transform the elements during a reindex or index sync. Default: amount of available processors")
+	@EnvironmentVariable(name = MESH_ELASTICSEARCH_REINDEX_THREADS_ENV, description = "Override the amount of reindex worker threads.")
+	private int reindexThreads = DEFAULT_REINDEX_THREADS;
+
 	public ElasticSearchOptions() {
 
 	}
@@ -113,6 +185,207 @@ public class ElasticSearchOptions implements Option {
 		return this;
 	}
 
+	/**
+	 * Flag which indicates whether search index updates should be applied asynchronously.
+	 * 
+	 * @return
+	 */
+	public boolean isAsyncIndexing() {
+		return asyncIndexing;
+	}
+
+	/**
+	 * Set the flag to apply search index updates asynchronously.
+	 * 
+	 * @param asyncIndexing
+	 * @return Fluent API
+	 */
+	public ElasticSearchOptions setAsyncIndexing(boolean asyncIndexing) {
+		this.asyncIndexing = asyncIndexing;
+		return this;
+	}
+
+	/**
+	 * Return the amount of batches which will be processed concurrently by the background indexer.
+	 * 
+	 * @return
+	 */
+	public int getAsyncIndexingConcurrency() {
+		return asyncIndexingConcurrency;
+	}
+
+	/**
+	 * Set the amount of batches which will be processed concurrently by the background indexer.
+	 * 
+	 * @param asyncIndexingConcurrency
+	 * @return Fluent API
+	 */
+	public ElasticSearchOptions setAsyncIndexingConcurrency(int asyncIndexingConcurrency) {
+		this.asyncIndexingConcurrency = asyncIndexingConcurrency;
+		return this;
+	}
+
+	/**
+	 * Return the directory of the search queue journal.
+	 * 
+	 * @return
+	 */
+	public String getAsyncIndexingDirectory() {
+		return asyncIndexingDirectory;
+	}
+
+	/**
+	 * Set the directory of the search queue journal.
+	 * 
+	 * @param asyncIndexingDirectory
+	 * @return Fluent API
+	 */
+	public ElasticSearchOptions setAsyncIndexingDirectory(String asyncIndexingDirectory) {
+		this.asyncIndexingDirectory = asyncIndexingDirectory;
+		return this;
+	}
+
+	/**
+	 * Flag which indicates whether the modified indices should be refreshed explicitly.
+	 * 
+	 * @return
+	 */
+	public boolean isExplicitRefresh() {
+		return explicitRefresh;
+	}
+
+	/**
+	 * Set the flag which indicates whether the modified indices should be refreshed explicitly.
+	 * 
+	 * @param explicitRefresh
+	 * @return Fluent API
+	 */
+	public ElasticSearchOptions setExplicitRefresh(boolean explicitRefresh) {
+		this.explicitRefresh = explicitRefresh;
+		return this;
+	}
+
+	/**
+	 * Return the time window in which refresh requests will be combined.
+	 * 
+	 * @return Window in milliseconds
+	 */
+	public long getRefreshWindow() {
+		return refreshWindow;
+	}
+
+	/**
+	 * Set the time window in which refresh requests will be combined.
+	 * 
+	 * @param refreshWindow
+	 *            Window in milliseconds
+	 * @return Fluent API
+	 */
+	public ElasticSearchOptions setRefreshWindow(long refreshWindow) {
+		this.refreshWindow = refreshWindow;
+		return this;
+	}
+
+	/**
+	 * Return the maximum amount of actions per bulk request.
+	 * 
+	 * @return
+	 */
+	public int getBulkLimit() {
+		return bulkLimit;
+	}
+
+	/**
+	 * Set the maximum amount of actions per bulk request.
+	 * 
+	 * @param bulkLimit
+	 * @return Fluent API
+	 */
+	public ElasticSearchOptions setBulkLimit(int bulkLimit) {
+		this.bulkLimit = bulkLimit;
+		return this;
+	}
+
+	/**
+	 * Return the maximum size of a bulk request body in bytes.
+	 * 
+	 * @return
+	 */
+	public long getBulkLengthLimit() {
+		return bulkLengthLimit;
+	}
+
+	/**
+	 * Set the maximum size of a bulk request body in bytes.
+	 * 
+	 * @param bulkLengthLimit
+	 * @return Fluent API
+	 */
+	public ElasticSearchOptions setBulkLengthLimit(long bulkLengthLimit) {
+		this.bulkLengthLimit = bulkLengthLimit;
+		return this;
+	}
+
+	/**
+	 * Return the amount of elements which will be processed per chunk during a full reindex.
+	 * 
+	 * @return
+	 */
+	public int getReindexChunkSize() {
+		return reindexChunkSize;
+	}
+
+	/**
+	 * Set the amount of elements which will be processed per chunk during a full reindex.
+	 * 
+	 * @param reindexChunkSize
+	 * @return Fluent API
+	 */
+	public ElasticSearchOptions setReindexChunkSize(int reindexChunkSize) {
+		this.reindexChunkSize = reindexChunkSize;
+		return this;
+	}
+
+	/**
+	 * Return the directory which contains the reindex checkpoints.
+	 * 
+	 * @return
+	 */
+	public String getReindexCheckpointDirectory() {
+		return reindexCheckpointDirectory;
+	}
+
+	/**
+	 * Set the directory which contains the reindex checkpoints.
+	 * 
+	 * @param reindexCheckpointDirectory
+	 * @return Fluent API
+	 */
+	public ElasticSearchOptions setReindexCheckpointDirectory(String reindexCheckpointDirectory) {
+		this.reindexCheckpointDirectory = reindexCheckpointDirectory;
+		return this;
+	}
+
+	/**
+	 * Return the amount of worker threads which are used during a reindex.
+	 * 
+	 * @return
+	 */
+	public int getReindexThreads() {
+		return reindexThreads;
+	}
+
+	/**
+	 * Set the amount of worker threads which are used during a reindex.
+	 * 
+	 * @param reindexThreads
+	 * @return Fluent API
+	 */
+	public ElasticSearchOptions setReindexThreads(int reindexThreads) {
+		this.reindexThreads = reindexThreads;
+		return this;
+	}
+
 	public void validate(MeshOptions meshOptions) {
 
 	}
@@ -0,0 +1,103 @@
+package com.gentics.mesh.changelog.changes;
+
+import static com.tinkerpop.blueprints.Direction.IN;
+import static com.tinkerpop.blueprints.Direction.OUT;
+
+import com.gentics.mesh.changelog.AbstractChange;
+import com.tinkerpop.blueprints.Edge;
+import com.tinkerpop.blueprints.Vertex;
+
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Store the webroot path info of all draft and published containers on the container edges. The webroot path segments are resolved via the edge info.
+ */
+public class AddWebrootEdgeInfo extends AbstractChange {
+
+	private static final String SCHEMA_CONTAINER_VERSION_CLASS = "SchemaContainerVersionImpl";
+
+	private static final String HAS_SCHEMA_CONTAINER_VERSION = "HAS_SCHEMA_CONTAINER_VERSION";
+
+	private static final String HAS_FIELD_CONTAINER = "HAS_FIELD_CONTAINER";
+
+	private static final String HAS_PARENT_NODE = "HAS_PARENT_NODE";
+
+	private static final String HAS_FIELD = "HAS_FIELD";
+
+	private static final String WEBROOT_PATH_INFO_KEY = "webrootPathInfo";
+
+	@Override
+	public String getName() {
+		return "Add webroot edge info";
+	}
+
+	@Override
+	public String getDescription() {
+		return "Stores the webroot path info of all draft and published containers on the container edges of each release.";
+	}
+
+	@Override
+	public void apply() {
+		long count = 0;
+		for (Vertex schemaVersion : getGraph().getVertices("@class", SCHEMA_CONTAINER_VERSION_CLASS)) {
+			String json = schemaVersion.getProperty("json");
+			String segmentField = json == null ? null : new JsonObject(json).getString("segmentField");
+			if (segmentField == null) {
+				continue;
+			}
+			for (Vertex container : schemaVersion.getVertices(IN, HAS_SCHEMA_CONTAINER_VERSION)) {
+				String segment = getSegment(container, segmentField);
+				if (segment == null) {
+					continue;
+				}
+				for (Edge edge : container.getEdges(IN, HAS_FIELD_CONTAINER)) {
+					String type = edge.getProperty("edgeType");
+					if (!"D".equals(type) && !"P".equals(type)) {
+						continue;
+					}
+					String releaseUuid = edge.getProperty("releaseUuid");
+					StringBuilder webRootInfo = new StringBuilder(segment).append("-").append(releaseUuid);
+					for (Edge parentEdge : edge.getVertex(OUT).getEdges(OUT, HAS_PARENT_NODE)) {
+						if (releaseUuid.equals(parentEdge.getProperty("releaseUuid"))) {
+							webRootInfo.append("-").append(parentEdge.getVertex(IN).<String>getProperty("uuid"));
+							break;
+						}
+					}
+					edge.setProperty(WEBROOT_PATH_INFO_KEY, webRootInfo.toString());
+					count++;
+					if (count % 10000 == 0) {
+						getGraph().commit();
+						log.info("Updated container edges {" + count + "}");
+					}
+				}
+			}
+		}
+		log.info("Added webroot info to {" + count + "} container edges");
+	}
+
+	/**
+	 * Return the value of the string or the filename of the binary segment field of the container.
+	 *
+	 * @param container
+	 * @param segmentField
+	 * @return Segment or null if the container has no value for the segment field
+	 */
+	private String getSegment(Vertex container, String segmentField) {
+		String value = container.getProperty(segmentField + "-string");
+		if (value != null) {
+			return value;
+		}
+		for (Edge fieldEdge : container.getEdges(OUT, HAS_FIELD)) {
+			if (segmentField.equals(fieldEdge.getProperty("fieldkey"))) {
+				return fieldEdge.getProperty("binaryFilename");
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public String getUuid() {
+		return "8C1E54F20D5B4E4B9E54F20D5BDE4B31";
+	}
+
+}
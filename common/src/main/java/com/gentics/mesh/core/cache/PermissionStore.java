@@ -1,45 +1,121 @@
 package com.gentics.mesh.core.cache;
 
 import static com.gentics.mesh.Events.EVENT_CLEAR_PERMISSION_STORE;
+import static com.gentics.mesh.Events.EVENT_INVALIDATE_PERMISSION_STORE;
 
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import com.gentics.mesh.Mesh;
 import com.gentics.mesh.core.data.relationship.GraphPermission;
+import com.gentics.mesh.graphdb.spi.Database;
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
 
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.Message;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
 
 /**
  * Central LRU permission cache which is used to quickly lookup cached permissions.
+ *
+ * The store holds a {@link UserPermissions} structure per user. The structure maps the element keys (see
+ * {@link com.gentics.mesh.graphdb.spi.Database#getElementKey(Object)}) to a small bitset of granted and denied permissions. The size of the store is bounded
+ * by the total amount of slots of all user structures. Invalidating a user removes the whole structure of the user.
+ *
+ * Denied permissions are only valid as long as the global denial generation did not change. The generation is incremented whenever a permission gets
+ * granted on an existing element since any previously denied permission could be affected by a grant. Invalidations which are caused by changes of the graph
+ * must be applied after the commit of the change.
  */
 public final class PermissionStore {
 
 	private static final Logger log = LoggerFactory.getLogger(PermissionStore.class);
 
-	public static final Cache<String, Boolean> PERM_CACHE = Caffeine.newBuilder().maximumSize(100_000).expireAfterWrite(30, TimeUnit.MINUTES).build();
+	private static final String USER_KEYS_KEY = "userKeys";
+
+	private static final String DENIALS_KEY = "denials";
+
+	/**
+	 * Maximum amount of slots of all cached user structures.
+	 */
+	private static final long MAX_SLOTS = 1 << 20;
+
+	/**
+	 * Maximum amount of slots of a single user structure. The structure will be cleared once this limit is reached.
+	 */
+	private static final int MAX_USER_SLOTS = 1 << 17;
+
+	private static final Cache<Long, UserPermissions> PERM_CACHE = Caffeine.newBuilder().maximumWeight(MAX_SLOTS).weigher((Long userKey,
+		UserPermissions perms) -> perms.getCapacity()).expireAfterWrite(30, TimeUnit.MINUTES).build();
+
+	private static final AtomicLong DENIAL_GENERATION = new AtomicLong();
 
 	/**
 	 * Check whether the granting user permission was stored in the cache.
-	 * 
-	 * @param userId
-	 *            Vertex id of the user
+	 *
+	 * @param userKey
+	 *            Element key of the user
 	 * @param permission
 	 *            Permission to check against
-	 * @param elementId
-	 *            Vertex id of the element to which permissions should be checked
+	 * @param elementKey
+	 *            Element key of the element to which permissions should be checked
 	 * @return true, if a granting permission was found or false if the permission could not be found in the cache
 	 */
-	public static boolean hasPermission(Object userId, GraphPermission permission, Object elementId) {
-		String key = createCacheKey(userId, permission, elementId);
-		Boolean cachedPerm = PERM_CACHE.getIfPresent(key);
-		return cachedPerm != null && cachedPerm;
+	public static boolean hasPermission(long userKey, GraphPermission permission, long elementKey) {
+		return Boolean.TRUE.equals(getPermission(userKey, permission, elementKey));
+	}
+
+	/**
+	 * Return the cached permission.
+	 *
+	 * @param userKey
+	 *            Element key of the user
+	 * @param permission
+	 *            Permission to check against
+	 * @param elementKey
+	 *            Element key of the element to which permissions should be checked
+	 * @return true if the permission is granted, false if the permission is denied or null if no valid entry could be found in the cache
+	 */
+	public static Boolean getPermission(long userKey, GraphPermission permission, long elementKey) {
+		UserPermissions perms = PERM_CACHE.getIfPresent(userKey);
+		if (perms == null) {
+			return null;
+		}
+		return perms.get(elementKey, permission);
+	}
+
+	/**
+	 * Return the cached permissions of the given user. The structure will be created if it does not yet exist. Permissions which are stored in the returned
+	 * structure will be discarded if the user gets invalidated in the meantime.
+	 *
+	 * @param userKey
+	 *            Element key of the user. A detached structure will be returned for negative keys of users which have not yet been persisted.
+	 * @return
+	 */
+	public static UserPermissions getUserPermissions(long userKey) {
+		if (userKey < 0) {
+			return new UserPermissions(userKey);
+		}
+		return PERM_CACHE.get(userKey, key -> new UserPermissions(key));
+	}
+
+	/**
+	 * Return the current denial generation. The generation must be loaded before the permission is checked in order to detect grants which happen during
+	 * the check.
+	 *
+	 * @return
+	 */
+	public static long getDenialGeneration() {
+		return DENIAL_GENERATION.get();
 	}
 
 	/**
-	 * Register the event handler which can be used to invalidate the LRU cache.
+	 * Register the event handlers which can be used to invalidate the LRU cache.
 	 */
 	public static void registerEventHandler() {
 		Mesh.vertx().eventBus().consumer(EVENT_CLEAR_PERMISSION_STORE, e -> {
@@ -48,23 +124,17 @@ public final class PermissionStore {
 			}
 			PERM_CACHE.invalidateAll();
 		});
-	}
-
-	/**
-	 * Create the cache key.
-	 * 
-	 * @param userId
-	 * @param permission
-	 * @param elementId
-	 * @return
-	 */
-	private static String createCacheKey(Object userId, GraphPermission permission, Object elementId) {
-		return userId + "-" + permission.ordinal() + "-" + elementId;
+		Mesh.vertx().eventBus().consumer(EVENT_INVALIDATE_PERMISSION_STORE, (Message<JsonObject> e) -> {
+			if (log.isDebugEnabled()) {
+				log.debug("Invalidating permission store entries due to received event from {" + e.address() + "}");
+			}
+			invalidate(e.body());
+		});
 	}
 
 	/**
 	 * Invalidate the LRU cache and optionally notify other instances in the cluster.
-	 * 
+	 *
 	 * @param notify
 	 */
 	public static void invalidate(boolean notify) {
@@ -84,16 +154,259 @@ public final class PermissionStore {
 	}
 
 	/**
-	 * Store a granting permission in the cache.
-	 * 
-	 * @param userId
-	 *            User which currently has roles which grant him the permission on the element
-	 * @param permission
-	 *            Permission which is granted
-	 * @param elementId
-	 *            Id of the element to which a permission is granted
+	 * Invalidate the cached permissions of the given users and notify other instances in the cluster. This is required whenever the roles of the users
+	 * change or permissions of the roles of the users get revoked.
+	 *
+	 * @param userKeys
+	 *            Element keys of the users. Negative keys of users which have not yet been persisted are ignored.
+	 */
+	public static void invalidateUsers(Collection<Long> userKeys) {
+		JsonArray json = new JsonArray();
+		for (long userKey : userKeys) {
+			if (userKey >= 0) {
+				json.add(userKey);
+			}
+		}
+		if (!json.isEmpty()) {
+			invalidate(new JsonObject().put(USER_KEYS_KEY, json), true);
+		}
+	}
+
+	/**
+	 * Invalidate the cached permissions of the given users once the current transaction has been committed. Otherwise concurrent requests could cache the
+	 * permissions which were valid before the commit again. The users of all invocations within a transaction are invalidated using a single event.
+	 *
+	 * @param db
+	 * @param userKeys
+	 *            Element keys of the users
+	 */
+	public static void invalidateUsersAfterCommit(Database db, Collection<Long> userKeys) {
+		db.afterCommit("permission-store-users", userKeys, PermissionStore::invalidateUsers);
+	}
+
+	/**
+	 * Invalidate all cached denied permissions and notify other instances in the cluster. This is required whenever a permission gets granted.
+	 */
+	public static void invalidateDenials() {
+		invalidate(new JsonObject().put(DENIALS_KEY, true), true);
+	}
+
+	/**
+	 * Invalidate all cached denied permissions once the current transaction has been committed. A single event is sent per transaction.
+	 *
+	 * @param db
+	 */
+	public static void invalidateDenialsAfterCommit(Database db) {
+		db.afterCommit("permission-store-denials", PermissionStore::invalidateDenials);
+	}
+
+	/**
+	 * Apply the invalidation locally and optionally notify other instances in the cluster.
+	 *
+	 * @param invalidation
+	 *            Invalidation message which contains the affected user keys
+	 * @param notify
 	 */
-	public static void store(Object userId, GraphPermission permission, Object elementId) {
-		PERM_CACHE.put(createCacheKey(userId, permission, elementId), true);
+	public static void invalidate(JsonObject invalidation, boolean notify) {
+		invalidate(invalidation);
+		// Permissions may already be granted while the initial data is created. Vert.x may not yet be available in that case.
+		Vertx vertx = Mesh.vertx();
+		if (notify && vertx != null) {
+			vertx.eventBus().publish(EVENT_INVALIDATE_PERMISSION_STORE, invalidation);
+		}
+	}
+
+	private static void invalidate(JsonObject invalidation) {
+		if (invalidation == null) {
+			PERM_CACHE.invalidateAll();
+			return;
+		}
+		for (Object userKey : invalidation.getJsonArray(USER_KEYS_KEY, new JsonArray())) {
+			PERM_CACHE.invalidate(((Number) userKey).longValue());
+		}
+		if (invalidation.getBoolean(DENIALS_KEY, false)) {
+			DENIAL_GENERATION.incrementAndGet();
+		}
+	}
+
+	/**
+	 * Cached permissions of a single user. The permissions are stored in an open addressing hash map which maps the element keys to a bitset. The lower 16
+	 * bits of the value contain the granted permissions and the upper 16 bits contain the denied permissions.
+	 */
+	public static final class UserPermissions {
+
+		private static final long EMPTY = -1;
+
+		private static final int INITIAL_CAPACITY = 16;
+
+		private static final int DENIED_SHIFT = 16;
+
+		private final long userKey;
+
+		private long[] keys;
+
+		private int[] values;
+
+		private int size;
+
+		/**
+		 * Denial generation for which the denied bits are valid.
+		 */
+		private long denialGeneration;
+
+		UserPermissions(long userKey) {
+			this.userKey = userKey;
+			this.denialGeneration = DENIAL_GENERATION.get();
+			allocate(INITIAL_CAPACITY);
+		}
+
+		/**
+		 * Return the cached permission.
+		 *
+		 * @param elementKey
+		 * @param permission
+		 * @return true if the permission is granted, false if the permission is denied or null if no valid entry could be found
+		 */
+		public synchronized Boolean get(long elementKey, GraphPermission permission) {
+			if (elementKey < 0) {
+				return null;
+			}
+			int slot = find(elementKey);
+			if (slot < 0) {
+				return null;
+			}
+			int bit = 1 << permission.ordinal();
+			int value = values[slot];
+			if ((value & bit) != 0) {
+				return true;
+			}
+			if ((value & (bit << DENIED_SHIFT)) != 0 && denialGeneration == DENIAL_GENERATION.get()) {
+				return false;
+			}
+			return null;
+		}
+
+		/**
+		 * Store a granting permission.
+		 *
+		 * @param elementKey
+		 *            Key of the element to which a permission is granted. Negative keys are ignored.
+		 * @param permission
+		 *            Permission which is granted
+		 */
+		public void grant(long elementKey, GraphPermission permission) {
+			if (elementKey >= 0) {
+				update(elementKey, 1 << permission.ordinal());
+			}
+		}
+
+		/**
+		 * Store a denied permission.
+		 *
+		 * @param elementKey
+		 *            Key of the element to which the permission is denied. Negative keys are ignored.
+		 * @param permission
+		 *            Permission which is denied
+		 * @param generation
+		 *            Denial generation which was loaded before the permission was checked
+		 */
+		public void deny(long elementKey, GraphPermission permission, long generation) {
+			if (elementKey < 0) {
+				return;
+			}
+			synchronized (this) {
+				if (generation < denialGeneration) {
+					// A permission has been granted while the denied permission was checked
+					return;
+				}
+				if (generation > denialGeneration) {
+					// The existing denied permissions are outdated
+					for (int i = 0; i < values.length; i++) {
+						values[i] &= (1 << DENIED_SHIFT) - 1;
+					}
+					denialGeneration = generation;
+				}
+			}
+			update(elementKey, 1 << (permission.ordinal() + DENIED_SHIFT));
+		}
+
+		private void update(long elementKey, int bits) {
+			boolean resized = false;
+			synchronized (this) {
+				int slot = find(elementKey);
+				if (slot >= 0) {
+					values[slot] |= bits;
+					return;
+				}
+				if ((size + 1) * 4 > keys.length * 3) {
+					if (keys.length >= MAX_USER_SLOTS) {
+						allocate(keys.length);
+					} else {
+						rehash(keys.length * 2);
+						resized = true;
+					}
+				}
+				slot = ~find(elementKey);
+				keys[slot] = elementKey;
+				values[slot] = bits;
+				size++;
+			}
+			if (resized) {
+				// Update the weight of the entry. The entry will not be re-added if the user has been invalidated in the meantime.
+				PERM_CACHE.asMap().replace(userKey, this, this);
+			}
+		}
+
+		/**
+		 * Locate the slot of the given key.
+		 *
+		 * @param elementKey
+		 * @return Slot of the key or the inverted free slot at which the key can be inserted
+		 */
+		private int find(long elementKey) {
+			int mask = keys.length - 1;
+			int slot = (int) ((elementKey * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+			while (true) {
+				long key = keys[slot];
+				if (key == elementKey) {
+					return slot;
+				}
+				if (key == EMPTY) {
+					return ~slot;
+				}
+				slot = (slot + 1) & mask;
+			}
+		}
+
+		private void rehash(int capacity) {
+			long[] oldKeys = keys;
+			int[] oldValues = values;
+			allocate(capacity);
+			for (int i = 0; i < oldKeys.length; i++) {
+				if (oldKeys[i] != EMPTY) {
+					int slot = ~find(oldKeys[i]);
+					keys[slot] = oldKeys[i];
+					values[slot] = oldValues[i];
+					size++;
+				}
+			}
+		}
+
+		private void allocate(int capacity) {
+			keys = new long[capacity];
+			Arrays.fill(keys, EMPTY);
+			values = new int[capacity];
+			size = 0;
+		}
+
+		/**
+		 * Return the amount of slots of the structure.
+		 *
+		 * @return
+		 */
+		synchronized int getCapacity() {
+			return keys.length;
+		}
+
 	}
 }
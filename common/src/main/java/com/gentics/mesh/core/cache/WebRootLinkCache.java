@@ -0,0 +1,228 @@
+package com.gentics.mesh.core.cache;
+
+import static com.gentics.mesh.Events.EVENT_CLEAR_LINK_CACHE;
+import static com.gentics.mesh.Events.EVENT_PROJECT_DELETED;
+import static com.gentics.mesh.Events.EVENT_PROJECT_UPDATED;
+import static com.gentics.mesh.Events.EVENT_RELEASE_CREATED;
+import static com.gentics.mesh.Events.EVENT_RELEASE_DELETED;
+import static com.gentics.mesh.Events.EVENT_RELEASE_UPDATED;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import com.gentics.mesh.Mesh;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.EventBus;
+import io.vertx.core.eventbus.Message;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+
+/**
+ * Central cache for the links which were rendered by the {@link com.gentics.mesh.core.link.WebRootLinkReplacer}. The rendered link does not depend on the
+ * permissions of the requesting user and can thus be shared across requests.
+ *
+ * A link depends on the segments of all parent nodes, the parent structure itself and the hostname settings of the release. All of these are part of the
+ * project of the linked node. Each project thus has a generation which is increased once a node of the project has been moved, published, taken offline or
+ * deleted or its segment changed. Cached links which were rendered before the current generation of their project are no longer used. The generation is
+ * increased after the change has been committed (see {@link com.gentics.mesh.graphdb.spi.Database#afterCommit(String, Runnable)}) and the invalidation is
+ * published to all other instances in the cluster.
+ */
+public final class WebRootLinkCache {
+
+	private static final Logger log = LoggerFactory.getLogger(WebRootLinkCache.class);
+
+	private static final long MAX_ENTRIES = 50_000;
+
+	private static final Cache<String, Entry> LINK_CACHE = Caffeine.newBuilder().maximumSize(MAX_ENTRIES).expireAfterWrite(30, TimeUnit.MINUTES)
+		.recordStats().build();
+
+	/**
+	 * Source of the generations. Each invalidation increases the clock.
+	 */
+	private static final AtomicLong CLOCK = new AtomicLong();
+
+	/**
+	 * Generation per project uuid.
+	 */
+	private static final Map<String, Long> PROJECT_GENERATIONS = new ConcurrentHashMap<>();
+
+	/**
+	 * Generation of the last invalidation of all projects.
+	 */
+	private static volatile long globalGeneration = 0;
+
+	/**
+	 * Rendered link along with the uuid of the project of the linked node.
+	 */
+	public static class Link {
+
+		private final String value;
+
+		private final String projectUuid;
+
+		/**
+		 * Create a new link.
+		 *
+		 * @param value
+		 *            Rendered link
+		 * @param projectUuid
+		 *            Uuid of the project of the linked node. Links without a project (e.g. links to missing nodes) will not be cached.
+		 */
+		public Link(String value, String projectUuid) {
+			this.value = value;
+			this.projectUuid = projectUuid;
+		}
+
+	}
+
+	private static class Entry {
+
+		private final Link link;
+
+		private final long generation;
+
+		private Entry(Link link, long generation) {
+			this.link = link;
+			this.generation = generation;
+		}
+
+		private boolean isValid() {
+			return generation >= globalGeneration && generation >= PROJECT_GENERATIONS.getOrDefault(link.projectUuid, 0L);
+		}
+
+	}
+
+	/**
+	 * Return the cached link for the key or render and store it.
+	 *
+	 * @param key
+	 *            Key which contains all parameters which are used to render the link
+	 * @param renderer
+	 *            Function which renders the link if it could not be found in the cache
+	 * @return
+	 */
+	public static String get(String key, Function<String, Link> renderer) {
+		Entry entry = LINK_CACHE.getIfPresent(key);
+		if (entry != null && entry.isValid()) {
+			return entry.link.value;
+		}
+		// The generation must be determined before rendering. Otherwise a concurrent invalidation could be missed.
+		long generation = CLOCK.get();
+		Link link = renderer.apply(key);
+		if (link.projectUuid != null) {
+			LINK_CACHE.put(key, new Entry(link, generation));
+		}
+		return link.value;
+	}
+
+	/**
+	 * Return the statistics of the cache.
+	 *
+	 * @return
+	 */
+	public static CacheStats getStats() {
+		return LINK_CACHE.stats();
+	}
+
+	/**
+	 * Register the event handlers which invalidate the cached links once a release or project has been changed or another instance in the cluster
+	 * invalidated the links.
+	 */
+	public static void registerEventHandler() {
+		EventBus eb = Mesh.vertx().eventBus();
+		eb.consumer(EVENT_CLEAR_LINK_CACHE, (Message<JsonObject> e) -> {
+			JsonObject body = e.body();
+			if (body != null && Mesh.mesh().getOptions().getNodeName().equals(body.getString("origin"))) {
+				// The cache of this instance has already been invalidated
+				return;
+			}
+			String projectUuid = body == null ? null : body.getString("projectUuid");
+			if (log.isDebugEnabled()) {
+				log.debug("Invalidating links of project {" + projectUuid + "} due to received event from {" + e.address() + "}");
+			}
+			if (projectUuid == null) {
+				invalidate(false);
+			} else {
+				invalidate(projectUuid, false);
+			}
+		});
+		for (String address : new String[] { EVENT_PROJECT_UPDATED, EVENT_PROJECT_DELETED }) {
+			eb.consumer(address, (Message<JsonObject> e) -> {
+				String projectUuid = e.body() == null ? null : e.body().getString("uuid");
+				if (projectUuid == null) {
+					invalidate(false);
+				} else {
+					invalidate(projectUuid, false);
+				}
+			});
+		}
+		// The events of the release do not contain the project. All links are invalidated since releases rarely change.
+		for (String address : new String[] { EVENT_RELEASE_CREATED, EVENT_RELEASE_UPDATED, EVENT_RELEASE_DELETED }) {
+			eb.consumer(address, e -> {
+				if (log.isDebugEnabled()) {
+					log.debug("Clearing link cache due to received event from {" + e.address() + "}");
+				}
+				invalidate(false);
+			});
+		}
+	}
+
+	/**
+	 * Invalidate the links to nodes of the project and optionally notify other instances in the cluster.
+	 *
+	 * @param projectUuid
+	 * @param notify
+	 */
+	public static void invalidate(String projectUuid, boolean notify) {
+		long generation = CLOCK.incrementAndGet();
+		PROJECT_GENERATIONS.merge(projectUuid, generation, Math::max);
+		publish(projectUuid, notify);
+	}
+
+	/**
+	 * Invalidate the links to nodes of the project and notify other instances in the cluster.
+	 *
+	 * @param projectUuid
+	 */
+	public static void invalidate(String projectUuid) {
+		invalidate(projectUuid, true);
+	}
+
+	/**
+	 * Clear the cache and optionally notify other instances in the cluster.
+	 *
+	 * @param notify
+	 */
+	public static void invalidate(boolean notify) {
+		globalGeneration = CLOCK.incrementAndGet();
+		LINK_CACHE.invalidateAll();
+		publish(null, notify);
+	}
+
+	/**
+	 * Clear the cache and notify other instances in the cluster.
+	 */
+	public static void invalidate() {
+		invalidate(true);
+	}
+
+	private static void publish(String projectUuid, boolean notify) {
+		// Nodes may already be changed while the initial data is created. Vert.x may not yet be available in that case.
+		Vertx vertx = Mesh.vertx();
+		if (notify && vertx != null) {
+			JsonObject json = new JsonObject();
+			json.put("origin", Mesh.mesh().getOptions().getNodeName());
+			json.put("projectUuid", projectUuid);
+			vertx.eventBus().publish(EVENT_CLEAR_LINK_CACHE, json);
+		}
+	}
+
+}
@@ -12,6 +12,8 @@ public interface GraphFieldContainerEdge {
 
 	String EDGE_TYPE_KEY = "edgeType";
 
+	String WEBROOT_PATH_INFO_KEY = "webrootPathInfo";
+
 	/**
 	 * Get the language tag
 	 * 
@@ -56,4 +58,18 @@ public interface GraphFieldContainerEdge {
 	 */
 	void setReleaseUuid(String uuid);
 
+	/**
+	 * Get the webroot path info of the container within the release of the edge.
+	 * 
+	 * @return Webroot path info in the form [segmentValue-releaseUuid-parentNodeUuid] or null if the container has no segment
+	 */
+	String getWebrootPathInfo();
+
+	/**
+	 * Set the webroot path info of the container within the release of the edge.
+	 * 
+	 * @param webrootPathInfo
+	 */
+	void setWebrootPathInfo(String webrootPathInfo);
+
 }
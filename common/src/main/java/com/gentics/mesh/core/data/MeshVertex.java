@@ -16,6 +16,8 @@ public interface MeshVertex extends MeshElement, VertexFrame {
 
 	String UUID_KEY = "uuid";
 
+	String CHANGE_STAMP_KEY = "changeStamp";
+
 	/**
 	 * Return the tinkerpop blueprint vertex of this mesh vertex.
 	 * 
@@ -54,4 +56,17 @@ public interface MeshVertex extends MeshElement, VertexFrame {
 	 */
 	void setUniqueLinkOutTo(VertexFrame vertex, String... labels);
 
+	/**
+	 * Return the change stamp of the element. The stamp is increased whenever a change occurs which affects the ETag of the element or of related elements.
+	 * 
+	 * @return Change stamp or 0 if the stamp has never been increased
+	 */
+	long getChangeStamp();
+
+	/**
+	 * Increase the change stamp of the element. The new stamp is based on the current time in order to avoid clashes with stamps of a previously deleted
+	 * element which used the same uuid.
+	 */
+	void bumpChangeStamp();
+
 }
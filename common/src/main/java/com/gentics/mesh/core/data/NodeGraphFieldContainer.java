@@ -6,6 +6,7 @@ import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 
+import com.gentics.mesh.Mesh;
 import com.gentics.mesh.context.InternalActionContext;
 import com.gentics.mesh.core.data.diff.FieldContainerChange;
 import com.gentics.mesh.core.data.node.Node;
@@ -45,6 +46,10 @@ public interface NodeGraphFieldContainer extends GraphFieldContainer, EditorTrac
 
 	String PUBLISHED_WEBROOT_URLFIELD_INDEX_NAME = "publishedWebrootInfoIndex";
 
+	// Materialized webroot path
+
+	String WEBROOT_PATH_PROPERTY_PREFIX = "webrootPath_";
+
 	/**
 	 * Type Value: {@value #TYPE}
 	 */
@@ -182,6 +187,68 @@ public interface NodeGraphFieldContainer extends GraphFieldContainer, EditorTrac
 	 */
 	void updateWebrootPathInfo(String releaseUuid, String conflictI18n);
 
+	/**
+	 * Store the webroot path info on the edge of the given release and type. Unlike the webroot path info of the container, which is used for the uniqueness
+	 * check, the info of the edges is kept for each release the container is assigned to. No uniqueness check will be done.
+	 * 
+	 * @param releaseUuid
+	 *            release Uuid
+	 * @param type
+	 *            edge type
+	 */
+	void updateWebrootEdgeInfo(String releaseUuid, ContainerType type);
+
+	/**
+	 * Return the stored webroot path of the container for the given release and type. The stored path is only valid when resolving the path using the
+	 * languages returned by {@link #getWebrootPathLanguages(String)} for the language of the container.
+	 * 
+	 * @param releaseUuid
+	 *            release Uuid
+	 * @param type
+	 *            edge type
+	 * @return Stored path or null if no path has been stored
+	 */
+	String getWebrootPath(String releaseUuid, ContainerType type);
+
+	/**
+	 * Compute the webroot path of the container for the given release and type and store it.
+	 * 
+	 * @param releaseUuid
+	 *            release Uuid
+	 * @param type
+	 *            edge type
+	 * @return The new path or null if the path could not be resolved
+	 */
+	String updateWebrootPath(String releaseUuid, ContainerType type);
+
+	/**
+	 * Store the given webroot path of the container for the given release and type.
+	 * 
+	 * @param releaseUuid
+	 *            release Uuid
+	 * @param type
+	 *            edge type
+	 * @param path
+	 *            Path or null if the path could not be resolved
+	 */
+	void setWebrootPath(String releaseUuid, ContainerType type, String path);
+
+	/**
+	 * Return the languages which are used to resolve the stored webroot path of a container in the given language. The default language is used as the first
+	 * fallback.
+	 * 
+	 * @param languageTag
+	 *            Language of the container
+	 * @return
+	 */
+	static String[] getWebrootPathLanguages(String languageTag) {
+		String defaultLanguage = Mesh.mesh().getOptions().getDefaultLanguage();
+		if (languageTag.equals(defaultLanguage)) {
+			return new String[] { languageTag };
+		}
+		return new String[] { languageTag, defaultLanguage };
+	}
+
 	/**
 	 * Get the Version Number or null if no version set.
 	 * 
@@ -0,0 +1,73 @@
+package com.gentics.mesh.core.data;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import com.gentics.mesh.core.data.relationship.GraphPermission;
+import com.google.common.collect.Iterators;
+
+/**
+ * Evaluator which checks the permissions of a single user. The roles of the user are only loaded once and the permissions of one or many elements are
+ * checked using a single multi-key index lookup which covers all roles of the user. An evaluator should only be used within the scope of a single request
+ * since changes to the roles of the user will not be reflected.
+ */
+public interface PermissionEvaluator {
+
+	/**
+	 * Check whether the user has the given permission on the element.
+	 *
+	 * @param element
+	 * @param permission
+	 * @return
+	 */
+	default boolean hasPermission(MeshVertex element, GraphPermission permission) {
+		return hasPermissionForId(element.getId(), permission);
+	}
+
+	/**
+	 * Check whether the user has the given permission on the element with the given id.
+	 *
+	 * @param elementId
+	 * @param permission
+	 * @return
+	 */
+	boolean hasPermissionForId(Object elementId, GraphPermission permission);
+
+	/**
+	 * Check the permissions of all given elements at once.
+	 *
+	 * @param elementIds
+	 *            Ids of the elements to be checked
+	 * @param permissions
+	 *            Permissions of which at least one must be granted
+	 * @return Ids of the elements for which at least one of the permissions is granted
+	 */
+	Set<Object> getPermittedIds(Collection<?> elementIds, GraphPermission... permissions);
+
+	/**
+	 * Filter the given elements and only return those elements for which at least one of the permissions is granted. The elements are checked in batches
+	 * and the returned iterator will thus only read as many elements as needed.
+	 *
+	 * @param elements
+	 *            Elements to be filtered
+	 * @param idFunction
+	 *            Function which returns the id of an element
+	 * @param batchSize
+	 *            Amount of elements which should be checked at once
+	 * @param permissions
+	 *            Permissions of which at least one must be granted
+	 * @return
+	 */
+	default <T> Iterator<T> filter(Iterator<T> elements, Function<T, Object> idFunction, int batchSize, GraphPermission... permissions) {
+		return Iterators.concat(Iterators.transform(Iterators.partition(elements, batchSize), batch -> {
+			Set<Object> permittedIds = getPermittedIds(batch.stream().map(idFunction).collect(Collectors.toList()), permissions);
+			List<T> permitted = batch.stream().filter(element -> permittedIds.contains(idFunction.apply(element))).collect(Collectors.toList());
+			return permitted.iterator();
+		}));
+	}
+
+}
@@ -61,6 +61,15 @@ public interface Role extends MeshCoreVertex<RoleResponse, Role>, ReferenceableE
 	 */
 	void grantPermissions(MeshVertex vertex, GraphPermission... permissions);
 
+	/**
+	 * Grant the given permissions on a vertex which has just been created. No permission on the new vertex can have been denied before. Cached denied
+	 * permissions are thus not invalidated and the change stamp of the role is not bumped.
+	 * 
+	 * @param vertex
+	 * @param permissions
+	 */
+	void grantInitialPermissions(MeshVertex vertex, GraphPermission... permissions);
+
 	/**
 	 * Revoke the given permissions on the vertex.
 	 * 
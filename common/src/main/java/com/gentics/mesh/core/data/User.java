@@ -327,6 +327,14 @@ public interface User extends MeshCoreVertex<UserResponse, User>, ReferenceableE
 	 */
 	boolean hasPermissionForId(Object elementId, GraphPermission permission);
 
+	/**
+	 * Create a new permission evaluator for the user. The evaluator should be used whenever the permissions of many elements need to be checked within the
+	 * same request.
+	 * 
+	 * @return
+	 */
+	PermissionEvaluator createPermissionEvaluator();
+
 	/**
 	 * Check the read permission on the given container and fail if the needed permission to read the container is not set. This method will not fail if the
 	 * user has READ permission or READ_PUBLISH permission on a published node.
@@ -544,6 +544,45 @@ public interface Node extends MeshCoreVertex<NodeResponse, Node>, CreatorTrackin
 	 */
 	String getPath(ActionContext ac, String releaseUuid, ContainerType type, String... languageTag);
 
+	/**
+	 * Compute the webroot path to the node in the given language by resolving the segments of all parent nodes. Other than
+	 * {@link #getPath(ActionContext, String, ContainerType, String...)} this will neither use the stored paths of the containers nor the paths which were
+	 * already resolved for the action context.
+	 * 
+	 * @param releaseUuid
+	 *            release Uuid
+	 * @param type
+	 *            edge type
+	 * @param languageTag
+	 * @return Path or null if one of the segments could not be resolved
+	 */
+	String computePath(String releaseUuid, ContainerType type, String... languageTag);
+
+	/**
+	 * Update the stored webroot paths of all containers of all descendants of the node. This is required whenever the segment of the node changes or the node
+	 * was moved. The first batch of descendants is updated within the current transaction. The paths of the remaining descendants are updated in separate
+	 * transactions once the current transaction has been committed.
+	 * 
+	 * @param releaseUuid
+	 *            release Uuid
+	 * @param type
+	 *            edge type
+	 */
+	void updateDescendantWebrootPaths(String releaseUuid, ContainerType type);
+
+	/**
+	 * Return the change stamp of the children of the node. The stamp is tracked separately from {@link #getChangeStamp()} since the ETags of the descendants
+	 * only depend on the latter.
+	 * 
+	 * @return Change stamp or 0 if the stamp has never been increased
+	 */
+	long getChildrenChangeStamp();
+
+	/**
+	 * Increase the change stamp of the children. This is required whenever a child is added, moved or removed.
+	 */
+	void bumpChildrenChangeStamp();
+
 	/**
 	 * Return the path segment value of this node in the given language. If more than one language is given, the path will lead to the first available language
 	 * of the node.
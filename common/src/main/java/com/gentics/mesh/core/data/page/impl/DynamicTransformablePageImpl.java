@@ -2,12 +2,15 @@ package com.gentics.mesh.core.data.page.impl;
 
 import static com.gentics.mesh.core.data.relationship.GraphPermission.READ_PERM;
 
+import java.util.Iterator;
 import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
+import com.gentics.mesh.core.data.PermissionEvaluator;
 import com.gentics.mesh.core.data.TransformableElement;
 import com.gentics.mesh.core.data.User;
 import com.gentics.mesh.core.data.page.TransformablePage;
@@ -32,6 +35,11 @@ import com.tinkerpop.blueprints.Vertex;
 public class DynamicTransformablePageImpl<T extends TransformableElement<? extends RestModel>> extends AbstractDynamicPage<T>
 		implements TransformablePage<T> {
 
+	/**
+	 * Amount of elements for which the permissions are checked at once.
+	 */
+	private static final int PERMISSION_BATCH_SIZE = 100;
+
 	private User requestUser;
 
 	private Predicate<Vertex> extraFilter;
@@ -141,9 +149,11 @@ public class DynamicTransformablePageImpl<T extends TransformableElement<? exten
 		AtomicLong pageCounter = new AtomicLong();
 		FramedGraph graph = Tx.getActive().getGraph();
 
-		// Only handle elements which are visible to the user
+		// Only handle elements which are visible to the user. The permissions are checked in batches for all roles of the user at once.
 		if (perm != null) {
-			stream = stream.filter(item -> requestUser.hasPermissionForId(item.getId(), perm));
+			PermissionEvaluator evaluator = requestUser.createPermissionEvaluator();
+			Iterator<Vertex> permittedItems = evaluator.filter(stream.iterator(), Vertex::getId, PERMISSION_BATCH_SIZE, perm);
+			stream = StreamSupport.stream(Spliterators.spliteratorUnknownSize(permittedItems, Spliterator.ORDERED), false);
 		}
 
 		if (extraFilter != null) {
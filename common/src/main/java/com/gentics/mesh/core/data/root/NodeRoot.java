@@ -3,6 +3,7 @@ package com.gentics.mesh.core.data.root;
 import java.util.List;
 
 import com.gentics.mesh.core.data.MeshAuthUser;
+import com.gentics.mesh.core.data.NodeGraphFieldContainer;
 import com.gentics.mesh.core.data.Project;
 import com.gentics.mesh.core.data.User;
 import com.gentics.mesh.core.data.node.Node;
@@ -31,6 +32,28 @@ public interface NodeRoot extends RootVertex<Node> {
 	 */
 	Page<? extends Node> findAll(MeshAuthUser requestUser, List<String> languageTags, PagingParameters pagingInfo) throws InvalidArgumentException;
 
+	/**
+	 * Find the containers of the given nodes. The draft and published containers of all nodes are located using a single index lookup. For each node the
+	 * container of the first language for which a container exists will be returned. See {@link Node#findVersion(List, String, String)}.
+	 * 
+	 * @param nodes
+	 * @param languageTags
+	 * @param releaseUuid
+	 * @param version
+	 * @return Found containers in the order of the given nodes. The list contains null for nodes without a matching container
+	 */
+	List<NodeGraphFieldContainer> findVersions(List<? extends Node> nodes, List<String> languageTags, String releaseUuid, String version);
+
+	/**
+	 * Find the parent nodes of the given nodes in the release. The parent edges of all nodes are located using a single index lookup. See
+	 * {@link Node#getParentNode(String)}.
+	 * 
+	 * @param nodes
+	 * @param releaseUuid
+	 * @return Found parent nodes in the order of the given nodes. The list contains null for nodes without a parent
+	 */
+	List<Node> findParentNodes(List<? extends Node> nodes, String releaseUuid);
+
 	/**
 	 * Create a new node.
 	 * 
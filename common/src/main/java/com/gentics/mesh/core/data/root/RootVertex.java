@@ -6,8 +6,11 @@ import static io.netty.handler.codec.http.HttpResponseStatus.BAD_REQUEST;
 import static io.netty.handler.codec.http.HttpResponseStatus.FORBIDDEN;
 import static io.netty.handler.codec.http.HttpResponseStatus.NOT_FOUND;
 
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Stack;
 import java.util.function.Predicate;
 
@@ -180,6 +183,28 @@ public interface RootVertex<T extends MeshCoreVertex<? extends RestModel, T>> ex
 		return null;
 	}
 
+	/**
+	 * Find the elements with the given uuids. The elements are located using a single index lookup.
+	 * 
+	 * @param uuids
+	 *            Uuids of the elements to be located
+	 * @return Found elements by uuid. Uuids for which no element could be located are omitted
+	 */
+	default Map<String, T> findByUuids(Collection<String> uuids) {
+		FramedGraph graph = Tx.getActive().getGraph();
+		Map<String, T> elements = new HashMap<>();
+		for (Map.Entry<Object, Vertex> entry : database().getVertices(getPersistanceClass(), MeshVertex.UUID_KEY, uuids).entrySet()) {
+			Vertex potentialElement = entry.getValue();
+			// Use the edge index to determine whether the element is part of this root vertex
+			Iterable<Edge> edges = graph.getEdges("e." + getRootLabel().toLowerCase() + "_inout", database().createComposedIndexKey(potentialElement
+				.getId(), getId()));
+			if (edges.iterator().hasNext()) {
+				elements.put(String.valueOf(entry.getKey()), graph.frameElementExplicit(potentialElement, getPersistanceClass()));
+			}
+		}
+		return elements;
+	}
+
 	/**
 	 * Load the object by uuid and check the given permission.
 	 * 
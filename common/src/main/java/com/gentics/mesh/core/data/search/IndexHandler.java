@@ -7,9 +7,11 @@ import com.gentics.mesh.context.InternalActionContext;
 import com.gentics.mesh.core.data.MeshCoreVertex;
 import com.gentics.mesh.core.data.relationship.GraphPermission;
 import com.gentics.mesh.core.data.root.RootVertex;
+import com.gentics.mesh.core.data.search.bulk.BulkEntry;
 import com.gentics.mesh.core.data.search.index.IndexInfo;
 
 import io.reactivex.Completable;
+import io.reactivex.Observable;
 
 /**
  * Index handlers are used to interact with the search provider index on a type specific level. Each domain model in mesh which is indexable needs to implement
@@ -65,6 +67,14 @@ public interface IndexHandler<T extends MeshCoreVertex<?, T>> {
 	 */
 	Completable reindexAll();
 
+	/**
+	 * Synchronize the indices of the handler with the graph. Only missing, outdated and superfluous documents will be stored or deleted. Existing documents
+	 * remain searchable during the sync. Indices will only be recreated if their settings or mappings have changed.
+	 * 
+	 * @return
+	 */
+	Completable syncIndices();
+
 	/**
 	 * Load a map which contains the applicable indices. The key of the map is the index name.
 	 * 
@@ -119,4 +129,31 @@ public interface IndexHandler<T extends MeshCoreVertex<?, T>> {
 	 */
 	Completable updatePermission(UpdateDocumentEntry entry);
 
+	/**
+	 * Load the element of the entry and create the bulk actions which will store the element in the index.
+	 * 
+	 * @param entry
+	 *            search queue entry
+	 * @return
+	 */
+	Observable<BulkEntry> storeForBulk(UpdateDocumentEntry entry);
+
+	/**
+	 * Create the bulk actions which will delete the document of the entry from the index.
+	 * 
+	 * @param entry
+	 *            search queue entry
+	 * @return
+	 */
+	Observable<BulkEntry> deleteForBulk(UpdateDocumentEntry entry);
+
+	/**
+	 * Create the bulk actions which will update the permissions of the documents which are identified by the entry.
+	 * 
+	 * @param entry
+	 *            search queue entry
+	 * @return
+	 */
+	Observable<BulkEntry> updatePermissionForBulk(UpdateDocumentEntry entry);
+
 }
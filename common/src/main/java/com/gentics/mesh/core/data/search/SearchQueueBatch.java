@@ -176,6 +176,12 @@ public interface SearchQueueBatch {
 	 */
 	void processSync();
 
+	/**
+	 * Hand over the batch for processing. The batch will be processed synchronously like {@link #processSync()} unless asynchronous indexing has been
+	 * enabled. In that case the batch will be written to the search queue journal and applied by the background indexer.
+	 */
+	void dispatch();
+
 	/**
 	 * Print debug output which contains information about all entries of the batch.
 	 */
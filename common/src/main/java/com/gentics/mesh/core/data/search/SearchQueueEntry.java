@@ -1,8 +1,10 @@
 package com.gentics.mesh.core.data.search;
 
+import com.gentics.mesh.core.data.search.bulk.BulkEntry;
 import com.gentics.mesh.core.data.search.context.EntryContext;
 
 import io.reactivex.Completable;
+import io.reactivex.Observable;
 
 /**
  * A search queue entry is contains the information that is needed to update the search index for the element that is specified in this entry. In order to
@@ -32,6 +34,26 @@ public interface SearchQueueEntry<T extends EntryContext> extends Comparable<Sea
 	 */
 	Completable process();
 
+	/**
+	 * Check whether the entry can be processed using bulk requests. Entries which modify indices (e.g. create or drop index) can't be processed via bulk
+	 * requests.
+	 * 
+	 * @return
+	 */
+	default boolean isBulkable() {
+		return false;
+	}
+
+	/**
+	 * Create the bulk actions for the entry. The actions will be applied to the index by the search queue batch. Entries which can't be processed via bulk
+	 * requests are processed directly and don't emit any bulk actions.
+	 * 
+	 * @return
+	 */
+	default Observable<BulkEntry> processForBulk() {
+		return process().andThen(Observable.empty());
+	}
+
 	/**
 	 * Return the context of the entry. The context contains information about the origin and scope of the action. This is later used to apply the desired
 	 * action only to a specific index.
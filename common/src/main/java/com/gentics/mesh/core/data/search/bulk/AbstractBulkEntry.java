@@ -0,0 +1,49 @@
+package com.gentics.mesh.core.data.search.bulk;
+
+import static com.gentics.mesh.search.SearchProvider.DEFAULT_TYPE;
+
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Abstract implementation for bulk entries which provides the action metadata line.
+ */
+public abstract class AbstractBulkEntry implements BulkEntry {
+
+	private final String indexName;
+
+	private final String documentId;
+
+	public AbstractBulkEntry(String indexName, String documentId) {
+		this.indexName = indexName;
+		this.documentId = documentId;
+	}
+
+	@Override
+	public String getIndexName() {
+		return indexName;
+	}
+
+	@Override
+	public String getDocumentId() {
+		return documentId;
+	}
+
+	/**
+	 * Return the metadata line of the action.
+	 * 
+	 * @return
+	 */
+	protected String toMetadataLine() {
+		JsonObject metadata = new JsonObject();
+		metadata.put("_index", indexName);
+		metadata.put("_type", DEFAULT_TYPE);
+		metadata.put("_id", documentId);
+		return new JsonObject().put(getAction(), metadata).encode();
+	}
+
+	@Override
+	public String toString() {
+		return "Bulk entry {" + getAction() + "} for document {" + documentId + "} in index {" + indexName + "}";
+	}
+
+}
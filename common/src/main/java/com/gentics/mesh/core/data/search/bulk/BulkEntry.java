@@ -0,0 +1,36 @@
+package com.gentics.mesh.core.data.search.bulk;
+
+/**
+ * A single action of a bulk request. The action references the affected document by index name and document id.
+ */
+public interface BulkEntry {
+
+	/**
+	 * Return the name of the index which contains the affected document.
+	 * 
+	 * @return
+	 */
+	String getIndexName();
+
+	/**
+	 * Return the id of the affected document.
+	 * 
+	 * @return
+	 */
+	String getDocumentId();
+
+	/**
+	 * Return the bulk action name (e.g. index, update, delete).
+	 * 
+	 * @return
+	 */
+	String getAction();
+
+	/**
+	 * Return the newline delimited lines of the action which will be added to the bulk request body. The returned string ends with a newline.
+	 * 
+	 * @return
+	 */
+	String toBulkString();
+
+}
@@ -0,0 +1,22 @@
+package com.gentics.mesh.core.data.search.bulk;
+
+/**
+ * Bulk action which removes the document from the index.
+ */
+public class DeleteBulkEntry extends AbstractBulkEntry {
+
+	public DeleteBulkEntry(String indexName, String documentId) {
+		super(indexName, documentId);
+	}
+
+	@Override
+	public String getAction() {
+		return "delete";
+	}
+
+	@Override
+	public String toBulkString() {
+		return toMetadataLine() + "\n";
+	}
+
+}
@@ -0,0 +1,31 @@
+package com.gentics.mesh.core.data.search.bulk;
+
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Bulk action which stores the given document in the index. Existing documents will be replaced.
+ */
+public class IndexBulkEntry extends AbstractBulkEntry {
+
+	private final JsonObject document;
+
+	public IndexBulkEntry(String indexName, String documentId, JsonObject document) {
+		super(indexName, documentId);
+		this.document = document;
+	}
+
+	public JsonObject getDocument() {
+		return document;
+	}
+
+	@Override
+	public String getAction() {
+		return "index";
+	}
+
+	@Override
+	public String toBulkString() {
+		return toMetadataLine() + "\n" + document.encode() + "\n";
+	}
+
+}
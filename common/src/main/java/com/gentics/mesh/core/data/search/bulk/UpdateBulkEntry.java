@@ -0,0 +1,31 @@
+package com.gentics.mesh.core.data.search.bulk;
+
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Bulk action which merges the given partial document into the existing document.
+ */
+public class UpdateBulkEntry extends AbstractBulkEntry {
+
+	private final JsonObject partial;
+
+	public UpdateBulkEntry(String indexName, String documentId, JsonObject partial) {
+		super(indexName, documentId);
+		this.partial = partial;
+	}
+
+	public JsonObject getPartial() {
+		return partial;
+	}
+
+	@Override
+	public String getAction() {
+		return "update";
+	}
+
+	@Override
+	public String toBulkString() {
+		return toMetadataLine() + "\n" + new JsonObject().put("doc", partial).encode() + "\n";
+	}
+
+}
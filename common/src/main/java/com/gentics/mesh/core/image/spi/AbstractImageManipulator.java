@@ -4,13 +4,24 @@ import static com.gentics.mesh.core.rest.error.Errors.error;
 import static io.netty.handler.codec.http.HttpResponseStatus.BAD_REQUEST;
 
 import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
 import java.io.File;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
 
 import com.gentics.mesh.etc.config.ImageManipulatorOptions;
 import com.gentics.mesh.parameter.ImageManipulationParameters;
+import com.gentics.mesh.parameter.image.ImageFormat;
+import com.gentics.mesh.parameter.impl.ImageManipulationParametersImpl;
 
+import io.netty.handler.codec.http.QueryStringDecoder;
+import io.reactivex.Completable;
 import io.reactivex.Single;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
@@ -23,48 +34,188 @@ public abstract class AbstractImageManipulator implements ImageManipulator {
 
 	private static final Logger log = LoggerFactory.getLogger(AbstractImageManipulator.class);
 
+	/**
+	 * Maximum amount of pixels which are decoded without subsampling if the target size is not known. Larger images would require more than 64 MB of heap
+	 * when decoded at full resolution.
+	 */
+	protected static final long MAX_DECODE_PIXELS = 16_000_000;
+
+	/**
+	 * Size of the subsampled image which is used to determine the dominant color.
+	 */
+	private static final int DOMINANT_COLOR_SAMPLE_SIZE = 100;
+
 	protected ImageManipulatorOptions options;
 
 	protected Vertx vertx;
 
+	protected ImageCacheManager cacheManager;
+
+	/**
+	 * Parameters of the configured image presets.
+	 */
+	protected Map<String, ImageManipulationParameters> presets;
+
+	/**
+	 * Output format which is used if the request does not specify a format.
+	 */
+	protected ImageFormat defaultFormat;
+
 	public AbstractImageManipulator(Vertx vertx, ImageManipulatorOptions options) {
 		this.vertx = vertx;
 		this.options = options;
+		this.defaultFormat = ImageFormat.get(options.getDefaultFormat());
+		if (defaultFormat == null) {
+			log.error("Unknown default image format {" + options.getDefaultFormat() + "}. Using {" + ImageFormat.JPG.getKey() + "} instead.");
+			defaultFormat = ImageFormat.JPG;
+		}
+		this.presets = parsePresets(options.getPresets());
+		Long maxCacheSize = options.getImageCacheMaxSize();
+		this.cacheManager = new ImageCacheManager(options.getImageCacheDirectory(), maxCacheSize == null ? 0 : maxCacheSize);
+		// Index the existing cache files in the background
+		vertx.getDelegate().executeBlocking(bh -> {
+			cacheManager.scan();
+			bh.complete();
+		}, false, rh -> {
+			if (rh.failed()) {
+				log.error("Indexing the image cache failed", rh.cause());
+			}
+		});
+	}
+
+	/**
+	 * Parse the query parameters of the configured presets. Invalid presets are ignored.
+	 * 
+	 * @param presetQueries
+	 * @return
+	 */
+	private Map<String, ImageManipulationParameters> parsePresets(Map<String, String> presetQueries) {
+		Map<String, ImageManipulationParameters> parsedPresets = new LinkedHashMap<>();
+		if (presetQueries == null) {
+			return parsedPresets;
+		}
+		for (Map.Entry<String, String> preset : presetQueries.entrySet()) {
+			ImageManipulationParametersImpl parameters = new ImageManipulationParametersImpl();
+			QueryStringDecoder decoder = new QueryStringDecoder(preset.getValue(), false);
+			decoder.parameters().forEach((name, values) -> parameters.setParameter(name, values.get(0)));
+			try {
+				parameters.validate();
+				parameters.validateLimits(options);
+				if (!parameters.hasResizeParams()) {
+					throw new IllegalArgumentException("The preset does not contain any resize or crop parameters");
+				}
+				parsedPresets.put(preset.getKey(), parameters);
+			} catch (Exception e) {
+				log.error("Ignoring invalid image preset {" + preset.getKey() + "} with parameters {" + preset.getValue() + "}", e);
+			}
+		}
+		return parsedPresets;
+	}
+
+	/**
+	 * Return a copy of the given preset which contains the output format for an image with the given mime type.
+	 * 
+	 * @param preset
+	 * @param sourceMimeType
+	 * @return
+	 */
+	protected ImageManipulationParameters resolvePreset(ImageManipulationParameters preset, String sourceMimeType) {
+		ImageManipulationParametersImpl parameters = new ImageManipulationParametersImpl();
+		for (Map.Entry<String, String> entry : preset.getParameters()) {
+			parameters.setParameter(entry.getKey(), entry.getValue());
+		}
+		parameters.setFormat(getOutputFormat(preset, sourceMimeType));
+		return parameters;
 	}
 
 	@Override
-	public File getCacheFile(String sha512sum, ImageManipulationParameters parameters) {
+	public ImageFormat getOutputFormat(ImageManipulationParameters parameters, String sourceMimeType) {
+		ImageFormat format = parameters.getFormat();
+		if (format == null) {
+			format = defaultFormat;
+		}
+		if (format == ImageFormat.ORIGINAL) {
+			format = ImageFormat.fromMimeType(sourceMimeType);
+		}
+		return format;
+	}
+
+	@Override
+	public String getVariantKey(ImageManipulationParameters parameters) {
+		ImageFormat format = getOutputFormat(parameters, null);
+		StringBuilder builder = new StringBuilder(parameters.getCacheKey());
+		if (parameters.getFormat() == null) {
+			builder.append("fmt" + format.getKey());
+		}
+		// The encoder settings change the written image and must thus be part of the key
+		if (format == ImageFormat.JPG) {
+			if (options.getJpegQuality() != null) {
+				builder.append("q" + options.getJpegQuality());
+			}
+			if (options.isJpegProgressive()) {
+				builder.append("prog");
+			}
+		}
+		return builder.toString();
+	}
 
+	/**
+	 * Return the folder which contains the cached images for the given key.
+	 * 
+	 * @param sha512sum
+	 * @return
+	 */
+	protected File getCacheFolder(String sha512sum) {
 		String[] parts = sha512sum.split("(?<=\\G.{8})");
 		StringBuffer buffer = new StringBuffer();
 		buffer.append(File.separator);
 		for (String part : parts) {
 			buffer.append(part + File.separator);
 		}
+		return new File(options.getImageCacheDirectory(), buffer.toString());
+	}
 
-		File baseFolder = new File(options.getImageCacheDirectory(), buffer.toString());
+	@Override
+	public File getCacheFile(String sha512sum, ImageManipulationParameters parameters) {
+		File baseFolder = getCacheFolder(sha512sum);
 		if (!baseFolder.exists()) {
 			baseFolder.mkdirs();
 		}
-		File cacheFile = new File(baseFolder, "image-" + parameters.getCacheKey() + ".jpg");
+		File cacheFile = new File(baseFolder, "image-" + getVariantKey(parameters) + "." + getOutputFormat(parameters, null).getKey());
 		if (log.isDebugEnabled()) {
 			log.debug("Using cache file {" + cacheFile + "}");
 		}
 		return cacheFile;
 	}
 
+	@Override
+	public Completable removeCacheFiles(String sha512sum) {
+		return Completable.fromAction(() -> cacheManager.removeFolder(getCacheFolder(sha512sum)));
+	}
+
 	@Override
 	public Single<ImageInfo> readImageInfo(String file) {
 		return vertx.rxExecuteBlocking(bh -> {
 			if (log.isDebugEnabled()) {
 				log.debug("Reading image information from stream");
 			}
-			try {
-				BufferedImage image = ImageIO.read(new File(file));
-				if (image == null) {
+			try (ImageInputStream ins = ImageIO.createImageInputStream(new File(file))) {
+				ImageReader reader = ins == null ? null : getImageReader(ins);
+				if (reader == null) {
 					bh.fail(error(BAD_REQUEST, "image_error_reading_failed"));
-				} else {
-					bh.complete(toImageInfo(image));
+					return;
+				}
+				try {
+					// The dimensions are read from the header. The dominant color can also be determined from a small subsampled image.
+					int width = reader.getWidth(0);
+					int height = reader.getHeight(0);
+					ImageReadParam param = reader.getDefaultReadParam();
+					int subsampling = getSubsampling(width, height, DOMINANT_COLOR_SAMPLE_SIZE, DOMINANT_COLOR_SAMPLE_SIZE);
+					param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+					BufferedImage image = reader.read(0, param);
+					bh.complete(toImageInfo(width, height, image));
+				} finally {
+					reader.dispose();
 				}
 			} catch (Exception e) {
 				log.error("Reading image information failed", e);
@@ -73,16 +224,112 @@ public abstract class AbstractImageManipulator implements ImageManipulator {
 		});
 	}
 
+	@Override
+	public ImageInfo probeImageSize(byte[] header, String file) {
+		ImageInfo info = probeImageSize(new ByteArrayInputStream(header));
+		if (info == null && file != null) {
+			info = probeImageSize(new File(file));
+		}
+		return info;
+	}
+
+	/**
+	 * Read the dimensions from the header of the given input using the first matching image reader.
+	 * 
+	 * @param input
+	 *            Input for which an image input stream can be created
+	 * @return Image info or null if the dimensions could not be read
+	 */
+	private ImageInfo probeImageSize(Object input) {
+		try (ImageInputStream ins = ImageIO.createImageInputStream(input)) {
+			if (ins == null) {
+				return null;
+			}
+			ImageReader reader = getImageReader(ins);
+			if (reader == null) {
+				return null;
+			}
+			try {
+				ImageInfo info = new ImageInfo();
+				info.setWidth(reader.getWidth(0));
+				info.setHeight(reader.getHeight(0));
+				return info;
+			} finally {
+				reader.dispose();
+			}
+		} catch (Exception e) {
+			// The header may be incomplete or the data is no image
+			if (log.isDebugEnabled()) {
+				log.debug("Could not read the image dimensions from the header", e);
+			}
+			return null;
+		}
+	}
+
+	/**
+	 * Return the first image reader which can decode the given stream. The stream is set as input of the returned reader. The reader must be disposed by the
+	 * caller.
+	 * 
+	 * @param ins
+	 * @return Reader or null if no matching reader could be found
+	 */
+	protected ImageReader getImageReader(ImageInputStream ins) {
+		Iterator<ImageReader> readers = ImageIO.getImageReaders(ins);
+		if (!readers.hasNext()) {
+			return null;
+		}
+		ImageReader reader = readers.next();
+		reader.setInput(ins, true, true);
+		return reader;
+	}
+
+	/**
+	 * Return the source subsampling factor which should be used to decode an image of the given size. The factor is chosen so that the subsampled image is
+	 * still at least twice as large as the target size, since the subsampling skips pixels and thus reduces the quality of the following resize operation.
+	 * Images are only subsampled to fit into {@link #MAX_DECODE_PIXELS} if neither the target width nor the target height is known.
+	 * 
+	 * @param width
+	 *            Width of the decoded area
+	 * @param height
+	 *            Height of the decoded area
+	 * @param targetWidth
+	 *            Width of the final image or null if the width is not known
+	 * @param targetHeight
+	 *            Height of the final image or null if the height is not known
+	 * @return
+	 */
+	protected int getSubsampling(int width, int height, Integer targetWidth, Integer targetHeight) {
+		boolean hasTargetWidth = targetWidth != null && targetWidth > 0;
+		boolean hasTargetHeight = targetHeight != null && targetHeight > 0;
+		if (!hasTargetWidth && !hasTargetHeight) {
+			long pixels = (long) width * height;
+			if (pixels <= MAX_DECODE_PIXELS) {
+				return 1;
+			}
+			return (int) Math.ceil(Math.sqrt((double) pixels / MAX_DECODE_PIXELS));
+		}
+		int subsampling = Integer.MAX_VALUE;
+		if (hasTargetWidth) {
+			subsampling = Math.min(subsampling, width / (targetWidth * 2));
+		}
+		if (hasTargetHeight) {
+			subsampling = Math.min(subsampling, height / (targetHeight * 2));
+		}
+		return Math.max(1, subsampling);
+	}
+
 	/**
-	 * Extract the image information from the given buffered image.
+	 * Create the image information using the given dimensions and the dominant color of the (possibly subsampled) image.
 	 * 
+	 * @param width
+	 * @param height
 	 * @param bi
 	 * @return
 	 */
-	private ImageInfo toImageInfo(BufferedImage bi) {
+	private ImageInfo toImageInfo(int width, int height, BufferedImage bi) {
 		ImageInfo info = new ImageInfo();
-		info.setWidth(bi.getWidth());
-		info.setHeight(bi.getHeight());
+		info.setWidth(width);
+		info.setHeight(height);
 		int[] rgb = calculateDominantColor(bi);
 		// By default we assume white for the images
 		String colorHex = "#FFFFFF";
@@ -0,0 +1,289 @@
+package com.gentics.mesh.core.image.spi;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.gentics.mesh.util.UUIDUtil;
+
+import io.reactivex.Completable;
+import io.reactivex.Single;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+
+/**
+ * Manager for the files within the image cache directory.
+ *
+ * The manager keeps an in-memory index of all cached files together with their size and last access time. The least recently accessed files are removed once
+ * the total size exceeds the configured budget. Concurrent requests for the same missing file share a single generation. New files are written to a temporary
+ * file first and atomically renamed once they are complete, so that readers never see partially written files.
+ */
+public class ImageCacheManager {
+
+	private static final Logger log = LoggerFactory.getLogger(ImageCacheManager.class);
+
+	private static final String TMP_SUFFIX = ".tmp";
+
+	/**
+	 * Fraction of the budget to which the cache is reduced once the budget has been exceeded. Removing a bit more than needed avoids running the eviction for
+	 * every new file.
+	 */
+	private static final double EVICTION_TARGET = 0.9;
+
+	private final Path directory;
+
+	private final long maxSize;
+
+	private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+	private final Map<String, Single<File>> generations = new ConcurrentHashMap<>();
+
+	private final AtomicLong size = new AtomicLong();
+
+	/**
+	 * Create a new manager.
+	 *
+	 * @param directory
+	 *            Image cache directory
+	 * @param maxSize
+	 *            Maximum size of all cached files in bytes. A value of zero or less disables the limit.
+	 */
+	public ImageCacheManager(String directory, long maxSize) {
+		this.directory = Paths.get(directory).toAbsolutePath();
+		this.maxSize = maxSize;
+	}
+
+	/**
+	 * Return the given cache file. The file will be generated if it does not yet exist. Concurrent calls for the same file will wait for the same generation.
+	 *
+	 * @param cacheFile
+	 *            Location of the cached file
+	 * @param generator
+	 *            Function which writes the content to the given temporary file
+	 * @return
+	 */
+	public Single<File> get(File cacheFile, Function<File, Completable> generator) {
+		String key = cacheFile.getAbsolutePath();
+		File cached = getIfPresent(key, cacheFile);
+		if (cached != null) {
+			return Single.just(cached);
+		}
+		return generations.computeIfAbsent(key, k -> generate(k, cacheFile, generator).doFinally(() -> generations.remove(k)).cache());
+	}
+
+	/**
+	 * Generate the given cache file unless it is already cached or currently generated. Concurrent calls of {@link #get(File, Function)} for the file will
+	 * wait for the generation.
+	 *
+	 * @param cacheFile
+	 *            Location of the cached file
+	 * @param generator
+	 *            Function which writes the content to the given temporary file
+	 * @return
+	 */
+	public Completable putIfAbsent(File cacheFile, Function<File, Completable> generator) {
+		String key = cacheFile.getAbsolutePath();
+		if (getIfPresent(key, cacheFile) != null) {
+			return Completable.complete();
+		}
+		AtomicBoolean created = new AtomicBoolean();
+		Single<File> generation = generations.computeIfAbsent(key, k -> {
+			created.set(true);
+			return generate(k, cacheFile, generator).doFinally(() -> generations.remove(k)).cache();
+		});
+		return created.get() ? generation.toCompletable() : Completable.complete();
+	}
+
+	/**
+	 * Check whether the given file is cached.
+	 *
+	 * @param cacheFile
+	 * @return
+	 */
+	public boolean contains(File cacheFile) {
+		Entry entry = entries.get(cacheFile.getAbsolutePath());
+		return entry != null && cacheFile.exists();
+	}
+
+	private Single<File> generate(String key, File cacheFile, Function<File, Completable> generator) {
+		return Single.defer(() -> {
+			// The file may have been added after the first check
+			File cached = getIfPresent(key, cacheFile);
+			if (cached != null) {
+				return Single.just(cached);
+			}
+			File tmpFile = new File(cacheFile.getParentFile(), cacheFile.getName() + "." + UUIDUtil.randomUUID() + TMP_SUFFIX);
+			return generator.apply(tmpFile).andThen(Single.fromCallable(() -> {
+				Files.move(tmpFile.toPath(), cacheFile.toPath(), ATOMIC_MOVE, REPLACE_EXISTING);
+				put(key, new Entry(cacheFile.length(), System.currentTimeMillis()));
+				evict(key);
+				return cacheFile;
+			})).doOnError(e -> tmpFile.delete());
+		});
+	}
+
+	private File getIfPresent(String key, File cacheFile) {
+		Entry entry = entries.get(key);
+		if (entry == null) {
+			return null;
+		}
+		if (!cacheFile.exists()) {
+			// The file has been removed by someone else
+			remove(key);
+			return null;
+		}
+		entry.lastAccess = System.currentTimeMillis();
+		return cacheFile;
+	}
+
+	/**
+	 * Remove the given folder and all cached files within it.
+	 *
+	 * @param folder
+	 */
+	public void removeFolder(File folder) {
+		String prefix = folder.getAbsolutePath() + File.separator;
+		for (String key : new ArrayList<>(entries.keySet())) {
+			if (key.startsWith(prefix)) {
+				remove(key);
+			}
+		}
+		if (!folder.exists()) {
+			return;
+		}
+		try (Stream<Path> paths = Files.walk(folder.toPath())) {
+			for (Path path : paths.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+				Files.deleteIfExists(path);
+			}
+		} catch (IOException e) {
+			log.warn("Could not remove the cache folder {" + folder + "}", e);
+		}
+	}
+
+	/**
+	 * Add all files of the cache directory to the index and remove the files which exceed the budget. Leftover temporary files of previous runs are removed.
+	 * This may take a while for large directories and should thus be invoked in a worker thread.
+	 */
+	public void scan() {
+		if (!Files.isDirectory(directory)) {
+			return;
+		}
+		long start = System.currentTimeMillis();
+		try (Stream<Path> paths = Files.walk(directory)) {
+			paths.filter(Files::isRegularFile).forEach(path -> {
+				File file = path.toFile();
+				long lastModified = file.lastModified();
+				if (file.getName().endsWith(TMP_SUFFIX)) {
+					// Only remove temporary files which are not written by a running generation
+					if (lastModified < start) {
+						file.delete();
+					}
+					return;
+				}
+				Entry entry = new Entry(file.length(), lastModified);
+				if (entries.putIfAbsent(file.getAbsolutePath(), entry) == null) {
+					size.addAndGet(entry.size);
+				}
+			});
+		} catch (Exception e) {
+			log.error("Could not scan the image cache directory {" + directory + "}", e);
+		}
+		if (log.isDebugEnabled()) {
+			log.debug("Found {" + entries.size() + "} files with {" + size.get() + "} bytes in the image cache directory");
+		}
+		evict(null);
+	}
+
+	/**
+	 * Return the total size of all cached files.
+	 *
+	 * @return
+	 */
+	public long getSize() {
+		return size.get();
+	}
+
+	private void put(String key, Entry entry) {
+		Entry old = entries.put(key, entry);
+		size.addAndGet(entry.size - (old == null ? 0 : old.size));
+	}
+
+	private boolean remove(String key) {
+		Entry entry = entries.remove(key);
+		if (entry == null) {
+			return false;
+		}
+		size.addAndGet(-entry.size);
+		return true;
+	}
+
+	/**
+	 * Remove the least recently accessed files until the size is below the eviction target.
+	 *
+	 * @param retainedKey
+	 *            Key of the file which must not be removed since it is about to be returned
+	 */
+	private void evict(String retainedKey) {
+		if (maxSize <= 0 || size.get() <= maxSize) {
+			return;
+		}
+		synchronized (this) {
+			if (size.get() <= maxSize) {
+				return;
+			}
+			// Take a snapshot of the access times since they may change while sorting
+			List<Map.Entry<String, Long>> candidates = new ArrayList<>(entries.size());
+			for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+				candidates.add(new SimpleImmutableEntry<>(entry.getKey(), entry.getValue().lastAccess));
+			}
+			candidates.sort(Map.Entry.comparingByValue());
+			long target = (long) (maxSize * EVICTION_TARGET);
+			int evicted = 0;
+			for (Map.Entry<String, Long> candidate : candidates) {
+				if (size.get() <= target) {
+					break;
+				}
+				String key = candidate.getKey();
+				if (!key.equals(retainedKey) && remove(key)) {
+					new File(key).delete();
+					evicted++;
+				}
+			}
+			if (log.isDebugEnabled()) {
+				log.debug("Removed {" + evicted + "} files from the image cache. Remaining size {" + size.get() + "}");
+			}
+		}
+	}
+
+	/**
+	 * Index entry of a cached file.
+	 */
+	private static class Entry {
+
+		private final long size;
+
+		private volatile long lastAccess;
+
+		Entry(long size, long lastAccess) {
+			this.size = size;
+			this.lastAccess = lastAccess;
+		}
+	}
+
+}
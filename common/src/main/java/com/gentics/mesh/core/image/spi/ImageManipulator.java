@@ -5,9 +5,12 @@ import java.io.File;
 import java.io.InputStream;
 import java.util.Map;
 
+import com.gentics.mesh.core.rest.admin.status.ImageProcessingStatus;
 import com.gentics.mesh.parameter.ImageManipulationParameters;
+import com.gentics.mesh.parameter.image.ImageFormat;
 import com.gentics.mesh.util.PropReadFileStream;
 
+import io.reactivex.Completable;
 import io.reactivex.Flowable;
 import io.reactivex.Single;
 import io.vertx.core.buffer.Buffer;
@@ -18,7 +21,8 @@ import io.vertx.core.buffer.Buffer;
 public interface ImageManipulator {
 
 	/**
-	 * Resize the given binary data and return a buffer to the resized image data.
+	 * Resize the given binary data and return a buffer to the resized image data. The image will be written in the format of the parameters. Callers should
+	 * resolve the format via {@link #getOutputFormat(ImageManipulationParameters, String)} since the format of the source image is not known at this point.
 	 * 
 	 * @param stream
 	 *            Binary data stream to be used for resizing
@@ -29,6 +33,41 @@ public interface ImageManipulator {
 	 */
 	Single<PropReadFileStream> handleResize(Flowable<Buffer> stream, String cacheKey, ImageManipulationParameters imageRequestParameter);
 
+	/**
+	 * Generate the variants of all configured image presets and store them in the image cache. The image is only decoded once for all variants which are not
+	 * yet cached. The variants are generated with low priority. The generation is dropped if the image processing is busy, since the variants will also be
+	 * generated once they are requested.
+	 * 
+	 * @param stream
+	 *            Binary data stream of the image
+	 * @param sha512sum
+	 *            Checksum of the image which is used to name the cache files
+	 * @param mimeType
+	 *            Mime type of the image which is used to determine the output format of the variants
+	 * @return
+	 */
+	Completable generatePresetVariants(Flowable<Buffer> stream, String sha512sum, String mimeType);
+
+	/**
+	 * Return the format in which the image will be written for the given parameters. The configured default format is used if the parameters do not contain a
+	 * format.
+	 * 
+	 * @param parameters
+	 * @param sourceMimeType
+	 *            Mime type of the source image which is used if the format of the source image should be kept
+	 * @return
+	 */
+	ImageFormat getOutputFormat(ImageManipulationParameters parameters, String sourceMimeType);
+
+	/**
+	 * Return the key which identifies the variant which is written for the given parameters. The key contains the output format and the encoder settings of
+	 * the format. It is used to name the cache file and to compute the ETag of the variant. The parameters should contain the resolved format.
+	 * 
+	 * @param parameters
+	 * @return
+	 */
+	String getVariantKey(ImageManipulationParameters parameters);
+
 	/**
 	 * Return the cache file for the given sha512 checksum and image manipulation parameters.
 	 * 
@@ -38,6 +77,14 @@ public interface ImageManipulator {
 	 */
 	File getCacheFile(String sha512sum, ImageManipulationParameters parameters);
 
+	/**
+	 * Remove all cached images which were created for the given sha512 checksum.
+	 * 
+	 * @param sha512sum
+	 * @return
+	 */
+	Completable removeCacheFiles(String sha512sum);
+
 	/**
 	 * Read the image information from image file.
 	 * 
@@ -46,6 +93,18 @@ public interface ImageManipulator {
 	 */
 	Single<ImageInfo> readImageInfo(String file);
 
+	/**
+	 * Read the dimensions of the image from the image header without decoding the image data. The given header data is checked first. The header of the file
+	 * is only read if the dimensions could not be found within the given data.
+	 * 
+	 * @param header
+	 *            Data from the beginning of the image
+	 * @param file
+	 *            Optional path to the complete image file
+	 * @return Image info which only contains the dimensions or null if the data could not be identified as an image
+	 */
+	ImageInfo probeImageSize(byte[] header, String file);
+
 	/**
 	 * Return the dominant color in the image.
 	 * 
@@ -62,4 +121,11 @@ public interface ImageManipulator {
 	 */
 	Single<Map<String, String>> getMetadata(InputStream ins);
 
+	/**
+	 * Return the status of the image processing.
+	 * 
+	 * @return
+	 */
+	ImageProcessingStatus getStatus();
+
 }
@@ -17,6 +17,7 @@ import org.apache.commons.lang3.StringUtils;
 import com.gentics.mesh.Mesh;
 import com.gentics.mesh.cli.BootstrapInitializer;
 import com.gentics.mesh.context.InternalActionContext;
+import com.gentics.mesh.core.cache.WebRootLinkCache;
 import com.gentics.mesh.core.data.ContainerType;
 import com.gentics.mesh.core.data.Project;
 import com.gentics.mesh.core.data.Release;
@@ -68,63 +69,89 @@ public class WebRootLinkReplacer {
 		if (isEmpty(content) || type == LinkType.OFF || type == null) {
 			return content;
 		}
+		int pos = content.indexOf(START_TAG);
+		if (pos == -1) {
+			return content;
+		}
 
-		List<String> segments = new ArrayList<>();
-		int pos = 0;
-		int lastPos = 0;
 		int length = content.length();
+		StringBuilder renderedContent = new StringBuilder(length);
+		StringBuilder argument = new StringBuilder();
+		String[] arguments = new String[2];
+		int lastPos = 0;
 
-		// 1. Tokenize the content
-		while (lastPos < length) {
-			pos = content.indexOf(START_TAG, lastPos);
-			if (pos == -1) {
-				// add last string segment
-				if (lastPos < length) {
-					segments.add(content.substring(lastPos));
-				}
-				break;
-			}
+		// Scan the content and replace each link
+		while (pos != -1) {
 			int endPos = content.indexOf(END_TAG, pos);
 			if (endPos == -1) {
-				// add last string segment
-				if (lastPos < length) {
-					segments.add(content.substring(lastPos));
-				}
 				break;
 			}
 
-			// add intermediate string segment
-			if (lastPos < pos) {
-				segments.add(content.substring(lastPos, pos));
-			}
+			// Add the intermediate string segment
+			renderedContent.append(content, lastPos, pos);
 
-			// 2. Parse the link and invoke resolving
-			String link = content.substring(pos + START_TAG.length(), endPos);
-			// Strip away the quotes. We only care about the argument values
-			// double quotes may be escaped
-			link = link.replaceAll("\\\\\"", "");
-			link = link.replaceAll("'", "");
-			link = link.replaceAll("\"", "");
-			String[] linkArguments = link.split(",");
-			if (linkArguments.length == 2) {
-				segments.add(resolve(ac, releaseUuid, edgeType, linkArguments[0], type, projectName, linkArguments[1].trim()));
+			// Parse the link and invoke resolving
+			int argumentCount = parseArguments(content, pos + START_TAG.length(), endPos, argument, arguments);
+			if (argumentCount == 2) {
+				renderedContent.append(resolve(ac, releaseUuid, edgeType, arguments[0], type, projectName, arguments[1].trim()));
 			} else if (languageTags != null) {
-				segments.add(resolve(ac, releaseUuid, edgeType, linkArguments[0], type, projectName,
-						languageTags.toArray(new String[languageTags.size()])));
+				renderedContent.append(resolve(ac, releaseUuid, edgeType, arguments[0], type, projectName, languageTags.toArray(
+						new String[languageTags.size()])));
 			} else {
-				segments.add(resolve(ac, releaseUuid, edgeType, linkArguments[0], type, projectName));
+				renderedContent.append(resolve(ac, releaseUuid, edgeType, arguments[0], type, projectName));
 			}
 
 			lastPos = endPos + END_TAG.length();
+			pos = content.indexOf(START_TAG, lastPos);
 		}
 
-		// 3.: Buildup the new content
-		StringBuilder renderedContent = new StringBuilder(length);
-		segments.stream().forEachOrdered(obs -> renderedContent.append(obs));
-
+		// Add the last string segment
+		renderedContent.append(content, lastPos, length);
 		return renderedContent.toString();
 	}
 
+	/**
+	 * Parse the comma separated arguments of the link between the given positions. Single and double quotes (which may be escaped) will be stripped since
+	 * only the argument values are relevant. Trailing empty arguments are ignored.
+	 * 
+	 * @param content
+	 * @param start
+	 *            Start position of the arguments
+	 * @param end
+	 *            End position of the arguments (exclusive)
+	 * @param argument
+	 *            Buffer which will be used to build the argument values
+	 * @param arguments
+	 *            Array which will be filled with the first two arguments
+	 * @return Amount of arguments
+	 */
+	private int parseArguments(String content, int start, int end, StringBuilder argument, String[] arguments) {
+		arguments[0] = "";
+		arguments[1] = null;
+		argument.setLength(0);
+		int index = 0;
+		int count = 0;
+		for (int i = start; i <= end; i++) {
+			char c = i < end ? content.charAt(i) : ',';
+			if (c == ',') {
+				if (index < arguments.length) {
+					arguments[index] = argument.toString();
+				}
+				index++;
+				if (argument.length() > 0) {
+					count = index;
+				}
+				argument.setLength(0);
+			} else if (c == '\\' && i + 1 < end && content.charAt(i + 1) == '"') {
+				// Skip escaped double quotes
+				i++;
+			} else if (c != '\'' && c != '"') {
+				argument.append(c);
+			}
+		}
+		return Math.max(count, 1);
+	}
+
 	/**
 	 * Resolve the link to the node with uuid (in the given language) into an observable
 	 * 
@@ -146,7 +173,35 @@ public class WebRootLinkReplacer {
 	public String resolve(InternalActionContext ac, String releaseUuid, ContainerType edgeType, String uuid, LinkType type, String projectName,
 			String... languageTags) {
 		// Get rid of additional whitespaces
-		uuid = uuid.trim();
+		String nodeUuid = uuid.trim();
+
+		// The rendered link does not depend on the user and can thus be cached across requests
+		Project ourProject = ac.getProject();
+		StringBuilder key = new StringBuilder();
+		key.append(nodeUuid).append('|').append(releaseUuid).append('|').append(edgeType).append('|').append(type).append('|').append(projectName);
+		key.append('|').append(ourProject == null ? null : ourProject.getUuid());
+		if (languageTags != null) {
+			for (String languageTag : languageTags) {
+				key.append('|').append(languageTag);
+			}
+		}
+		return WebRootLinkCache.get(key.toString(), k -> resolveUncached(ac, releaseUuid, edgeType, nodeUuid, type, projectName, languageTags));
+	}
+
+	/**
+	 * Resolve the link to the node with uuid without using the {@link WebRootLinkCache}.
+	 * 
+	 * @param ac
+	 * @param releaseUuid
+	 * @param edgeType
+	 * @param uuid
+	 * @param type
+	 * @param projectName
+	 * @param languageTags
+	 * @return Rendered link along with the project of the linked node
+	 */
+	private WebRootLinkCache.Link resolveUncached(InternalActionContext ac, String releaseUuid, ContainerType edgeType, String uuid, LinkType type,
+			String projectName, String... languageTags) {
 		Node node = boot.meshRoot().getNodeRoot().findByUuid(uuid);
 
 		// check for null
@@ -154,18 +209,19 @@ public class WebRootLinkReplacer {
 			if (log.isDebugEnabled()) {
 				log.debug("Could not resolve link to '" + uuid + "', target node could not be found");
 			}
+			// The link is not cached since the node may be created later on
 			switch (type) {
 			case SHORT:
-				return "/error/404";
+				return new WebRootLinkCache.Link("/error/404", null);
 			case MEDIUM:
-				return "/" + projectName + "/error/404";
+				return new WebRootLinkCache.Link("/" + projectName + "/error/404", null);
 			case FULL:
-				return RouterStorage.DEFAULT_API_MOUNTPOINT + "/" + projectName + "/webroot/error/404";
+				return new WebRootLinkCache.Link(RouterStorage.DEFAULT_API_MOUNTPOINT + "/" + projectName + "/webroot/error/404", null);
 			default:
 				throw error(BAD_REQUEST, "Cannot render link with type " + type);
 			}
 		}
-		return resolve(ac, releaseUuid, edgeType, node, type, languageTags);
+		return new WebRootLinkCache.Link(resolve(ac, releaseUuid, edgeType, node, type, languageTags), node.getProject().getUuid());
 	}
 
 	/**
@@ -99,7 +99,7 @@ public class HandlerUtilities {
 				} else {
 					throw error(INTERNAL_SERVER_ERROR, "Could not determine object name");
 				}
-			}).processSync();
+			}).dispatch();
 			element.onDeleted(uuid, name);
 			log.info("Deleted element {" + elementUuid + "} for type {" + root.getClass().getSimpleName() + "}");
 			return (RM) null;
@@ -179,10 +179,10 @@ public class HandlerUtilities {
 				createdElement.onCreated();
 			}
 
-			// 3. The updating transaction has succeeded. Now lets store it in the index
+			// 3. The updating transaction has succeeded. Now lets store it in the index or hand it over to the background indexer
 			final ResultInfo info2 = info;
 			return database.tx(() -> {
-				info2.getBatch().processSync();
+				info2.getBatch().dispatch();
 				return info2.getModel();
 			});
 		}, model -> ac.send(model, created.get() ? CREATED : OK));
@@ -1,11 +1,15 @@
 package com.gentics.mesh.graphdb.spi;
 
 import java.io.IOException;
+import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 
 import com.gentics.mesh.Mesh;
 import com.gentics.mesh.core.data.MeshVertex;
@@ -17,6 +21,7 @@ import com.syncleus.ferma.tx.TxAction;
 import com.syncleus.ferma.tx.TxAction0;
 import com.syncleus.ferma.tx.TxAction1;
 import com.syncleus.ferma.tx.TxFactory;
+import com.tinkerpop.blueprints.Edge;
 import com.tinkerpop.blueprints.Element;
 import com.tinkerpop.blueprints.TransactionalGraph;
 import com.tinkerpop.blueprints.Vertex;
@@ -397,6 +402,25 @@ public interface Database extends TxFactory {
 	 */
 	Iterator<Vertex> getVertices(Class<?> classOfVertex, String[] fieldNames, Object[] fieldValues);
 
+	/**
+	 * Utilize the index of the given field and locate the vertices for all given values within a single index lookup.
+	 * 
+	 * @param classOfVertex
+	 * @param fieldName
+	 * @param fieldValues
+	 * @return Map which contains the found vertices by field value. Values for which no vertex could be found are omitted
+	 */
+	Map<Object, Vertex> getVertices(Class<?> classOfVertex, String fieldName, Collection<?> fieldValues);
+
+	/**
+	 * Pack the given element id into a compact numeric key which can be used to reference the element without retaining the id object.
+	 * 
+	 * @param id
+	 *            Id of the vertex or edge
+	 * @return Non-negative key or -1 if the id does not reference a persisted element yet
+	 */
+	long getElementKey(Object id);
+
 	/**
 	 * Locate all vertices for the given type.
 	 * 
@@ -405,6 +429,19 @@ public interface Database extends TxFactory {
 	 */
 	<T extends MeshVertex> Iterator<? extends T> getVerticesForType(Class<T> classOfVertex);
 
+	/**
+	 * Load a page of the ids of the vertices of the given type. The ids are returned in the order of the record ids. The id of the last element of a page can
+	 * thus be used to load the next page within another transaction.
+	 * 
+	 * @param classOfVertex
+	 * @param afterId
+	 *            Only ids after the given id will be returned. The first page will be returned if null
+	 * @param limit
+	 *            Maximum amount of returned ids
+	 * @return
+	 */
+	List<Object> getVertexIds(Class<?> classOfVertex, Object afterId, int limit);
+
 	/**
 	 * Update the vertex type for the given element using the class type.
 	 * 
@@ -461,6 +498,54 @@ public interface Database extends TxFactory {
 	 */
 	List<Object> edgeLookup(String edgeLabel, String indexPostfix, Object key);
 
+	/**
+	 * Perform a single multi-key lookup on the inout index of the given edge label. Every combination of the given inbound and outbound vertex ids is checked
+	 * within the same lookup.
+	 * 
+	 * @param edgeLabel
+	 * @param inIds
+	 *            Inbound vertex ids of the edges to be checked
+	 * @param outIds
+	 *            Outbound vertex ids of the edges to be checked
+	 * @return Set of the inbound vertex ids for which at least one edge could be found
+	 */
+	Set<Object> edgeLookup(String edgeLabel, Collection<?> inIds, Collection<?> outIds);
+
+	/**
+	 * Perform a single multi-key lookup on the custom index of the given edge label. Each key must list the values of the index fields in the order in which
+	 * the index was created (see {@link #addCustomEdgeIndex(String, String, String...)}).
+	 * 
+	 * @param edgeLabel
+	 * @param indexPostfix
+	 * @param keys
+	 *            Keys to be looked up
+	 * @return Map which contains the first found edge by key. Keys for which no edge could be found are omitted
+	 */
+	Map<List<Object>, Edge> getEdges(String edgeLabel, String indexPostfix, Collection<List<Object>> keys);
+
+	/**
+	 * Register an action which will be invoked once the currently active transaction has been committed successfully. The action will not be invoked if the
+	 * transaction is rolled back. It will be invoked immediately if no transaction is active.
+	 * 
+	 * @param key
+	 *            Key of the action. Only the first action for each key will be registered within a transaction.
+	 * @param action
+	 */
+	void afterCommit(String key, Runnable action);
+
+	/**
+	 * Register an action which will be invoked once the currently active transaction has been committed successfully. All values which were registered for
+	 * the key within the transaction are collected and passed to a single invocation of the first registered action. The action will be invoked immediately
+	 * if no transaction is active.
+	 * 
+	 * @param key
+	 *            Key of the action
+	 * @param values
+	 *            Values which will be passed to the action
+	 * @param action
+	 */
+	<T> void afterCommit(String key, Collection<T> values, Consumer<Set<T>> action);
+
 	/**
 	 * Join the cluster and block until the graph database has been received.
 	 * 
@@ -13,6 +13,7 @@ import com.gentics.mesh.handler.ActionContext;
 import com.gentics.mesh.parameter.AbstractParameters;
 import com.gentics.mesh.parameter.ImageManipulationParameters;
 import com.gentics.mesh.parameter.image.CropMode;
+import com.gentics.mesh.parameter.image.ImageFormat;
 import com.gentics.mesh.parameter.image.ImageRect;
 
 /**
@@ -59,6 +60,11 @@ public class ImageManipulationParametersImpl extends AbstractParameters implemen
 
 		validateFocalPointParameter();
 
+		String format = getParameter(FORMAT_QUERY_PARAM_KEY);
+		if (format != null && getFormat() == null) {
+			throw error(BAD_REQUEST, "image_error_parameter_invalid", FORMAT_QUERY_PARAM_KEY, format);
+		}
+
 	}
 
 	@Override
@@ -127,6 +133,15 @@ public class ImageManipulationParametersImpl extends AbstractParameters implemen
 		cropParameter.setType(ParamType.STRING);
 		parameters.put(CROP_MODE_QUERY_PARAM_KEY, cropParameter);
 
+		// format
+		QueryParameter formatParameter = new QueryParameter();
+		formatParameter.setDescription("Set the output format of the manipulated image. The configured default format will be used if the parameter was omitted. Possible formats: "
+				+ ImageFormat.description());
+		formatParameter.setExample("png");
+		formatParameter.setRequired(false);
+		formatParameter.setType(ParamType.STRING);
+		parameters.put(FORMAT_QUERY_PARAM_KEY, formatParameter);
+
 		return parameters;
 	}
 
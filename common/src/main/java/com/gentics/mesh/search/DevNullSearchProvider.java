@@ -1,12 +1,17 @@
 package com.gentics.mesh.search;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
+import com.gentics.mesh.core.data.search.bulk.BulkEntry;
 import com.gentics.mesh.core.data.search.index.IndexInfo;
 import com.gentics.mesh.core.rest.schema.Schema;
 import com.gentics.mesh.etc.config.MeshOptions;
 
 import io.reactivex.Completable;
+import io.reactivex.Observable;
 import io.reactivex.Single;
 import io.vertx.core.json.JsonObject;
 
@@ -30,11 +35,31 @@ public class DevNullSearchProvider implements SearchProvider {
 		return Completable.complete();
 	}
 
+	@Override
+	public Completable refreshModifiedIndices() {
+		return Completable.complete();
+	}
+
 	@Override
 	public Completable createIndex(IndexInfo info) {
 		return Completable.complete();
 	}
 
+	@Override
+	public Single<Boolean> ensureIndex(IndexInfo info) {
+		return Single.just(true);
+	}
+
+	@Override
+	public Observable<JsonObject> scrollDocuments(String indexName, String... sourceFields) {
+		return Observable.empty();
+	}
+
+	@Override
+	public Single<Set<String>> listIndices() {
+		return Single.just(Collections.emptySet());
+	}
+
 	@Override
 	public Completable updateDocument(String index, String uuid, JsonObject document, boolean ignoreMissingDocumentError) {
 		return Completable.complete();
@@ -59,6 +84,11 @@ public class DevNullSearchProvider implements SearchProvider {
 		return Completable.complete();
 	}
 
+	@Override
+	public Completable processBulk(List<? extends BulkEntry> entries) {
+		return Completable.complete();
+	}
+
 	@Override
 	public Completable storeDocument(String index, String uuid, JsonObject document) {
 		return Completable.complete();
@@ -1,12 +1,16 @@
 package com.gentics.mesh.search;
 
 import java.io.IOException;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
+import com.gentics.mesh.core.data.search.bulk.BulkEntry;
 import com.gentics.mesh.core.data.search.index.IndexInfo;
 import com.gentics.mesh.etc.config.MeshOptions;
 
 import io.reactivex.Completable;
+import io.reactivex.Observable;
 import io.reactivex.Single;
 import io.vertx.core.json.JsonObject;
 
@@ -34,6 +38,14 @@ public interface SearchProvider {
 	 */
 	Completable refreshIndex(String... indices);
 
+	/**
+	 * Refresh the indices which have been modified since the last refresh. Concurrent refresh requests are coalesced into a single refresh call. The call
+	 * will complete without refreshing any index if explicit refreshes have been disabled via the search options.
+	 * 
+	 * @return Completable for the action
+	 */
+	Completable refreshModifiedIndices();
+
 	/**
 	 * Create a search index with index information.
 	 * 
@@ -43,6 +55,35 @@ public interface SearchProvider {
 	 */
 	Completable createIndex(IndexInfo info);
 
+	/**
+	 * Create the index if it does not yet exist. An existing index will be recreated if its settings or mappings differ from the given index information.
+	 * Existing indices with matching settings and mappings are retained.
+	 * 
+	 * @param info
+	 *            Index information which includes index name, mappings and settings.
+	 * @return Single which emits true if the index has been created or recreated and is thus empty
+	 */
+	Single<Boolean> ensureIndex(IndexInfo info);
+
+	/**
+	 * Load all documents of the given index. Only the given fields of the document source will be loaded. The emitted hits contain the document id in the
+	 * {@code _id} property and the loaded fields in the {@code _source} property.
+	 * 
+	 * @param indexName
+	 *            Name of the index
+	 * @param sourceFields
+	 *            Fields of the document source which should be loaded
+	 * @return Observable which emits the hits of the index
+	 */
+	Observable<JsonObject> scrollDocuments(String indexName, String... sourceFields);
+
+	/**
+	 * Load the names of all indices which have been created by mesh. Other indices which share the index prefix are not included.
+	 * 
+	 * @return Single which emits the index names
+	 */
+	Single<Set<String>> listIndices();
+
 	/**
 	 * Update the document.
 	 * 
@@ -90,6 +131,16 @@ public interface SearchProvider {
 	 */
 	Completable storeDocumentBatch(String index, Map<String, JsonObject> documents);
 
+	/**
+	 * Apply the given index, update and delete actions using bulk requests. The actions will be split into multiple bulk requests if the configured amount or
+	 * size limit has been exceeded. The actions are applied in the given order.
+	 * 
+	 * @param entries
+	 *            Bulk actions
+	 * @return Completable for the action
+	 */
+	Completable processBulk(List<? extends BulkEntry> entries);
+
 	/**
 	 * Get the given document.
 	 * 
@@ -2,15 +2,22 @@ package com.gentics.mesh.search;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 
+import com.gentics.mesh.core.data.search.bulk.BulkEntry;
+import com.gentics.mesh.core.data.search.bulk.DeleteBulkEntry;
+import com.gentics.mesh.core.data.search.bulk.IndexBulkEntry;
+import com.gentics.mesh.core.data.search.bulk.UpdateBulkEntry;
 import com.gentics.mesh.core.data.search.index.IndexInfo;
 import com.gentics.mesh.core.rest.schema.Schema;
 import com.gentics.mesh.etc.config.MeshOptions;
 
 import io.reactivex.Completable;
+import io.reactivex.Observable;
 import io.reactivex.Single;
 import io.vertx.core.json.JsonObject;
 
@@ -41,6 +48,11 @@ public class TrackingSearchProvider implements SearchProvider {
 		return Completable.complete();
 	}
 
+	@Override
+	public Completable refreshModifiedIndices() {
+		return Completable.complete();
+	}
+
 	@Override
 	public Completable createIndex(IndexInfo info) {
 		JsonObject json = new JsonObject();
@@ -50,6 +62,21 @@ public class TrackingSearchProvider implements SearchProvider {
 		return Completable.complete();
 	}
 
+	@Override
+	public Single<Boolean> ensureIndex(IndexInfo info) {
+		return createIndex(info).andThen(Single.just(true));
+	}
+
+	@Override
+	public Observable<JsonObject> scrollDocuments(String indexName, String... sourceFields) {
+		return Observable.empty();
+	}
+
+	@Override
+	public Single<Set<String>> listIndices() {
+		return Single.just(new HashSet<>(createIndexEvents.keySet()));
+	}
+
 	@Override
 	public Completable updateDocument(String index, String uuid, JsonObject document, boolean ignoreMissingDocumentError) {
 		return Completable.fromAction(() -> {
@@ -79,6 +106,25 @@ public class TrackingSearchProvider implements SearchProvider {
 		return Completable.complete();
 	}
 
+	@Override
+	public Completable processBulk(List<? extends BulkEntry> entries) {
+		return Completable.fromAction(() -> {
+			// Bulk requests are sent concurrently during a reindex
+			synchronized (this) {
+				for (BulkEntry entry : entries) {
+					String key = entry.getIndexName() + "-" + entry.getDocumentId();
+					if (entry instanceof IndexBulkEntry) {
+						storeEvents.put(key, ((IndexBulkEntry) entry).getDocument());
+					} else if (entry instanceof UpdateBulkEntry) {
+						updateEvents.put(key, ((UpdateBulkEntry) entry).getPartial());
+					} else if (entry instanceof DeleteBulkEntry) {
+						deleteEvents.add(key);
+					}
+				}
+			}
+		});
+	}
+
 	@Override
 	public Completable storeDocument(String index, String uuid, JsonObject document) {
 		return Completable.fromAction(() -> {
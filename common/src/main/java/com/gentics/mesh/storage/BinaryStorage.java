@@ -1,10 +1,14 @@
 package com.gentics.mesh.storage;
 
+import com.gentics.mesh.Mesh;
 import com.gentics.mesh.core.data.node.field.BinaryGraphField;
+import com.gentics.mesh.util.RxUtil;
 
 import io.reactivex.Completable;
 import io.reactivex.Flowable;
 import io.vertx.core.buffer.Buffer;
+import io.vertx.core.file.AsyncFile;
+import io.vertx.core.file.OpenOptions;
 
 /**
  * A binary storage provides means to store and retrieve binary data.
@@ -21,6 +25,22 @@ public interface BinaryStorage {
 	 */
 	Completable store(Flowable<Buffer> stream, String uuid);
 
+	/**
+	 * Store the contents of the given local file. The file may be moved into the storage and should thus no longer be used by the caller.
+	 * 
+	 * @param sourcePath
+	 *            Path of the local file
+	 * @param uuid
+	 *            Uuid of the binary to be stored
+	 * @return Completable which emits once the data has been stored
+	 */
+	default Completable storeFile(String sourcePath, String uuid) {
+		return Completable.defer(() -> {
+			AsyncFile file = Mesh.vertx().fileSystem().openBlocking(sourcePath, new OpenOptions());
+			return store(RxUtil.toBufferFlow(file), uuid);
+		});
+	}
+
 	/**
 	 * Checks whether the binary data for the given field exists
 	 * 
@@ -37,6 +57,17 @@ public interface BinaryStorage {
 	 */
 	Flowable<Buffer> read(String uuid);
 
+	/**
+	 * Return the absolute path of the local file which contains the binary data. Storages which don't keep the data in local files return null. Local
+	 * files can be sent directly by the server without copying the data.
+	 * 
+	 * @param uuid
+	 * @return Path or null
+	 */
+	default String getLocalPath(String uuid) {
+		return null;
+	}
+
 	/**
 	 * Delete the binary with the given uuid.
 	 * 
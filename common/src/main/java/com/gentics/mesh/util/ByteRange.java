@@ -0,0 +1,141 @@
+package com.gentics.mesh.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Inclusive range of bytes which was requested via the HTTP range header (RFC 7233).
+ */
+public class ByteRange {
+
+	private static final String BYTES_UNIT = "bytes=";
+
+	private final long start;
+
+	private final long end;
+
+	public ByteRange(long start, long end) {
+		this.start = start;
+		this.end = end;
+	}
+
+	/**
+	 * Return the offset of the first byte.
+	 *
+	 * @return
+	 */
+	public long getStart() {
+		return start;
+	}
+
+	/**
+	 * Return the offset of the last byte.
+	 *
+	 * @return
+	 */
+	public long getEnd() {
+		return end;
+	}
+
+	/**
+	 * Return the amount of bytes within the range.
+	 *
+	 * @return
+	 */
+	public long getLength() {
+		return end - start + 1;
+	}
+
+	/**
+	 * Return the value for the content-range header.
+	 *
+	 * @param size
+	 *            Total size of the resource
+	 * @return
+	 */
+	public String toContentRange(long size) {
+		return "bytes " + start + "-" + end + "/" + size;
+	}
+
+	/**
+	 * Parse the given range header. The returned ranges are limited to the size of the resource, sorted and overlapping or adjacent ranges are merged.
+	 *
+	 * @param header
+	 *            Value of the range header
+	 * @param size
+	 *            Total size of the resource
+	 * @return Satisfiable ranges (the list is empty if none of the ranges can be satisfied) or null if the header is invalid and should thus be ignored
+	 */
+	public static List<ByteRange> parse(String header, long size) {
+		if (header == null || !header.startsWith(BYTES_UNIT)) {
+			return null;
+		}
+		List<ByteRange> ranges = new ArrayList<>();
+		for (String spec : header.substring(BYTES_UNIT.length()).split(",")) {
+			spec = spec.trim();
+			int dash = spec.indexOf('-');
+			if (dash < 0) {
+				return null;
+			}
+			String first = spec.substring(0, dash).trim();
+			String last = spec.substring(dash + 1).trim();
+			try {
+				if (first.isEmpty()) {
+					// Suffix range which selects the last bytes
+					long suffixLength = Long.parseLong(last);
+					if (suffixLength < 0) {
+						return null;
+					}
+					if (suffixLength > 0 && size > 0) {
+						ranges.add(new ByteRange(Math.max(0, size - suffixLength), size - 1));
+					}
+				} else {
+					long start = Long.parseLong(first);
+					long end = last.isEmpty() ? Long.MAX_VALUE : Long.parseLong(last);
+					if (start < 0 || end < start) {
+						return null;
+					}
+					if (start < size) {
+						ranges.add(new ByteRange(start, Math.min(end, size - 1)));
+					}
+				}
+			} catch (NumberFormatException e) {
+				return null;
+			}
+		}
+		return merge(ranges);
+	}
+
+	/**
+	 * Sort the ranges and merge overlapping or adjacent ranges.
+	 *
+	 * @param ranges
+	 * @return
+	 */
+	private static List<ByteRange> merge(List<ByteRange> ranges) {
+		if (ranges.size() < 2) {
+			return ranges;
+		}
+		Collections.sort(ranges, Comparator.comparingLong(ByteRange::getStart));
+		List<ByteRange> merged = new ArrayList<>();
+		ByteRange current = ranges.get(0);
+		for (ByteRange range : ranges.subList(1, ranges.size())) {
+			if (range.start <= current.end + 1) {
+				current = new ByteRange(current.start, Math.max(current.end, range.end));
+			} else {
+				merged.add(current);
+				current = range;
+			}
+		}
+		merged.add(current);
+		return merged;
+	}
+
+	@Override
+	public String toString() {
+		return start + "-" + end;
+	}
+
+}
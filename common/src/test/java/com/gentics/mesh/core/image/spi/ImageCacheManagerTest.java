@@ -0,0 +1,107 @@
+package com.gentics.mesh.core.image.spi;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import io.reactivex.Completable;
+import io.reactivex.Single;
+import io.reactivex.subjects.CompletableSubject;
+
+public class ImageCacheManagerTest {
+
+	private File directory;
+
+	@Before
+	public void setup() {
+		directory = new File("target", "imageCache_" + System.currentTimeMillis());
+		directory.mkdirs();
+	}
+
+	@Test
+	public void testSingleGeneration() {
+		ImageCacheManager manager = new ImageCacheManager(directory.getAbsolutePath(), 0);
+		File cacheFile = new File(directory, "image.jpg");
+		AtomicInteger generations = new AtomicInteger();
+		CompletableSubject generation = CompletableSubject.create();
+
+		List<Single<File>> requests = new ArrayList<>();
+		for (int i = 0; i < 10; i++) {
+			requests.add(manager.get(cacheFile, tmpFile -> {
+				generations.incrementAndGet();
+				return generation.doOnComplete(() -> write(tmpFile, 10));
+			}).cache());
+			requests.get(i).subscribe();
+		}
+		assertFalse("The file must not be visible before the generation has finished", cacheFile.exists());
+		generation.onComplete();
+
+		for (Single<File> request : requests) {
+			assertEquals(cacheFile, request.blockingGet());
+		}
+		assertEquals("The file must only be generated once", 1, generations.get());
+		assertEquals(10, manager.getSize());
+
+		// The file is now served from the cache
+		manager.get(cacheFile, tmpFile -> Completable.error(new Exception("Should not be invoked"))).blockingGet();
+		assertEquals(0, directory.list((dir, name) -> name.endsWith(".tmp")).length);
+	}
+
+	@Test
+	public void testEviction() throws Exception {
+		ImageCacheManager manager = new ImageCacheManager(directory.getAbsolutePath(), 100);
+		List<File> files = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			File file = new File(directory, "image" + i + ".jpg");
+			manager.get(file, tmpFile -> Completable.fromAction(() -> write(tmpFile, 30))).blockingGet();
+			files.add(file);
+			Thread.sleep(5);
+			// Keep the first file in use
+			manager.get(files.get(0), tmpFile -> Completable.error(new Exception("Should not be invoked"))).blockingGet();
+			Thread.sleep(5);
+		}
+		assertTrue("The size must not exceed the budget", manager.getSize() <= 100);
+		assertTrue("The recently used file must be kept", files.get(0).exists());
+		assertTrue("The latest file must be kept", files.get(4).exists());
+		assertFalse("The least recently used file must be removed", files.get(1).exists());
+	}
+
+	@Test
+	public void testScanAndRemoveFolder() throws Exception {
+		File folder = new File(directory, "abcd");
+		folder.mkdirs();
+		write(new File(folder, "image-1.jpg"), 20);
+		write(new File(folder, "image-2.jpg"), 20);
+		write(new File(directory, "image-3.jpg"), 20);
+		File leftover = new File(folder, "image-4.jpg.1234.tmp");
+		write(leftover, 20);
+		leftover.setLastModified(System.currentTimeMillis() - 60_000);
+
+		ImageCacheManager manager = new ImageCacheManager(directory.getAbsolutePath(), 0);
+		manager.scan();
+		assertEquals(60, manager.getSize());
+		assertFalse("Leftover temporary files must be removed", leftover.exists());
+
+		manager.removeFolder(folder);
+		assertEquals(20, manager.getSize());
+		assertFalse(folder.exists());
+	}
+
+	private static void write(File file, int size) {
+		try {
+			Files.write(file.toPath(), new byte[size]);
+		} catch (Exception e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+}
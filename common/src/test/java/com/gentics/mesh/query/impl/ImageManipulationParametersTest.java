@@ -18,6 +18,7 @@ import com.gentics.mesh.core.rest.test.Assert;
 import com.gentics.mesh.handler.ActionContext;
 import com.gentics.mesh.parameter.ImageManipulationParameters;
 import com.gentics.mesh.parameter.image.CropMode;
+import com.gentics.mesh.parameter.image.ImageFormat;
 import com.gentics.mesh.parameter.impl.ImageManipulationParametersImpl;
 import com.gentics.mesh.util.HttpQueryUtils;
 
@@ -155,6 +156,26 @@ public class ImageManipulationParametersTest {
 
 		cacheKey = new ImageManipulationParametersImpl().setWidth(100).setHeight(200).setRect(10, 22, 20, 21).getCacheKey();
 		assertEquals("rect10,22,21,20rw100rh200fp0.5-0.5", cacheKey);
+
+		cacheKey = new ImageManipulationParametersImpl().setWidth(100).setFormat(ImageFormat.PNG).getCacheKey();
+		assertEquals("rw100fp0.5-0.5fmtpng", cacheKey);
+	}
+
+	@Test
+	public void testFormat() {
+		ImageManipulationParametersImpl request = new ImageManipulationParametersImpl();
+		assertNull(request.getFormat());
+		request.setFormat("jpeg");
+		assertEquals(ImageFormat.JPG, request.getFormat());
+
+		request.setParameter(ImageManipulationParameters.FORMAT_QUERY_PARAM_KEY, "bogus");
+		try {
+			request.validate();
+			fail("The validation should fail since the format is unknown");
+		} catch (GenericRestException e) {
+			assertEquals(BAD_REQUEST, e.getStatus());
+			assertEquals("image_error_parameter_invalid", e.getI18nKey());
+		}
 	}
 
 }
@@ -0,0 +1,54 @@
+package com.gentics.mesh.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * Tests for the parsing of range headers.
+ */
+public class ByteRangeTest {
+
+	@Test
+	public void testSingleRange() {
+		List<ByteRange> ranges = ByteRange.parse("bytes=0-99", 1000);
+		assertEquals(1, ranges.size());
+		assertEquals(0, ranges.get(0).getStart());
+		assertEquals(99, ranges.get(0).getEnd());
+		assertEquals(100, ranges.get(0).getLength());
+		assertEquals("bytes 0-99/1000", ranges.get(0).toContentRange(1000));
+	}
+
+	@Test
+	public void testOpenAndSuffixRanges() {
+		assertEquals("[900-999]", ByteRange.parse("bytes=900-", 1000).toString());
+		assertEquals("[950-999]", ByteRange.parse("bytes=-50", 1000).toString());
+		assertEquals("[0-999]", ByteRange.parse("bytes=-5000", 1000).toString());
+		assertEquals("Ranges which exceed the size must be limited", "[500-999]", ByteRange.parse("bytes=500-5000", 1000).toString());
+	}
+
+	@Test
+	public void testMultipleRanges() {
+		assertEquals("[0-9, 100-199]", ByteRange.parse("bytes=100-199, 0-9", 1000).toString());
+		assertEquals("Overlapping and adjacent ranges must be merged", "[0-29]", ByteRange.parse("bytes=0-9,10-19,5-29", 1000).toString());
+	}
+
+	@Test
+	public void testUnsatisfiableRanges() {
+		assertTrue(ByteRange.parse("bytes=1000-", 1000).isEmpty());
+		assertTrue(ByteRange.parse("bytes=-0", 1000).isEmpty());
+	}
+
+	@Test
+	public void testInvalidRanges() {
+		assertNull(ByteRange.parse("items=0-10", 1000));
+		assertNull(ByteRange.parse("bytes=10-5", 1000));
+		assertNull(ByteRange.parse("bytes=abc", 1000));
+		assertNull(ByteRange.parse("bytes=a-b", 1000));
+	}
+
+}
@@ -15,10 +15,12 @@ import java.net.DatagramSocket;
 import java.net.InetAddress;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 
 import javax.inject.Inject;
@@ -36,6 +38,7 @@ import com.gentics.mesh.MeshVersion;
 import com.gentics.mesh.changelog.ChangelogSystem;
 import com.gentics.mesh.changelog.ReindexAction;
 import com.gentics.mesh.core.cache.PermissionStore;
+import com.gentics.mesh.core.cache.WebRootLinkCache;
 import com.gentics.mesh.core.console.ConsoleProvider;
 import com.gentics.mesh.core.data.Group;
 import com.gentics.mesh.core.data.Language;
@@ -79,6 +82,7 @@ import com.gentics.mesh.etc.config.ClusterOptions;
 import com.gentics.mesh.etc.config.GraphStorageOptions;
 import com.gentics.mesh.etc.config.MeshOptions;
 import com.gentics.mesh.graphdb.spi.Database;
+import com.gentics.mesh.graphql.cache.GraphQLSchemaCache;
 import com.gentics.mesh.router.RouterStorage;
 import com.gentics.mesh.search.IndexHandlerRegistry;
 import com.gentics.mesh.search.SearchProvider;
@@ -89,6 +93,8 @@ import com.tinkerpop.blueprints.Vertex;
 import com.tinkerpop.blueprints.util.wrappers.wrapped.WrappedVertex;
 
 import dagger.Lazy;
+import io.reactivex.Observable;
+import io.reactivex.schedulers.Schedulers;
 import io.vertx.core.Vertx;
 import io.vertx.core.VertxOptions;
 import io.vertx.core.logging.Logger;
@@ -124,6 +130,9 @@ public class BootstrapInitializerImpl implements BootstrapInitializer {
 	@Inject
 	public Lazy<CoreVerticleLoader> loader;
 
+	@Inject
+	public Lazy<GraphQLSchemaCache> graphQLSchemaCache;
+
 	@Inject
 	public ConsoleProvider console;
 
@@ -142,24 +151,29 @@ public class BootstrapInitializerImpl implements BootstrapInitializer {
 		// Init the classes / indices
 		DatabaseHelper.init(db);
 
-		// TODO replace this logic with the differential ES sync
-
-		// 1. Drop all indices
-		log.info("Clearing all indices..");
-		searchProvider.clear().blockingAwait();
-
-		log.info("Clearing indices completed.");
-
-		// 2. Recreate indices + mappings and reindex the documents
+		// Synchronize the indices with the graph. Existing documents are retained so that the search stays available during the sync.
+		// The handlers are synchronized in parallel.
 		IndexHandlerRegistry registry = indexHandlerRegistry.get();
-		for (IndexHandler<?> handler : registry.getHandlers()) {
+		Observable.fromIterable(registry.getHandlers()).flatMapCompletable(handler -> {
 			String handlerName = handler.getClass().getSimpleName();
-			log.info("Invoking reindex on handler {" + handlerName + "}. This may take some time..");
-			handler.init().blockingAwait();
-			try (Tx tx = db.tx()) {
-				handler.reindexAll().blockingAwait();
-			}
-			log.info("Reindex on handler {" + handlerName + "} completed.");
+			return handler.syncIndices()
+				.doOnSubscribe(d -> log.info("Invoking index sync on handler {" + handlerName + "}. This may take some time.."))
+				.doOnComplete(() -> log.info("Index sync on handler {" + handlerName + "} completed."))
+				.subscribeOn(Schedulers.io());
+		}).blockingAwait();
+
+		Set<String> knownIndices = new HashSet<>();
+		for (IndexHandler<?> handler : registry.getHandlers()) {
+			knownIndices.addAll(handler.getIndices().keySet());
+		}
+
+		// Remove the indices which are no longer used (e.g. indices of deleted projects or outdated schema versions). Only indices which were created by mesh
+		// are listed. Other indices which share the prefix are never deleted.
+		Set<String> obsoleteIndices = new HashSet<>(searchProvider.listIndices().blockingGet());
+		obsoleteIndices.removeAll(knownIndices);
+		if (!obsoleteIndices.isEmpty()) {
+			log.info("Removing {" + obsoleteIndices.size() + "} obsolete indices..");
+			Observable.fromIterable(obsoleteIndices).concatMapCompletable(index -> searchProvider.deleteIndex(index)).blockingAwait();
 		}
 	});
 
@@ -427,6 +441,8 @@ public class BootstrapInitializerImpl implements BootstrapInitializer {
 	public void registerEventHandlers() {
 		RouterStorage.registerEventbus();
 		PermissionStore.registerEventHandler();
+		WebRootLinkCache.registerEventHandler();
+		graphQLSchemaCache.get().registerEventHandlers();
 	}
 
 	@Override
@@ -10,6 +10,7 @@ import javax.inject.Singleton;
 
 import com.gentics.mesh.Mesh;
 import com.gentics.mesh.core.verticle.job.JobWorkerVerticle;
+import com.gentics.mesh.core.verticle.search.SearchIndexerVerticle;
 import com.gentics.mesh.etc.config.MeshOptions;
 import com.gentics.mesh.rest.RestAPIVerticle;
 
@@ -34,6 +35,9 @@ public class CoreVerticleLoader {
 	@Inject
 	public JobWorkerVerticle jobWorkerVerticle;
 
+	@Inject
+	public SearchIndexerVerticle searchIndexerVerticle;
+
 	@Inject
 	public CoreVerticleLoader() {
 
@@ -93,6 +97,7 @@ public class CoreVerticleLoader {
 	private List<AbstractVerticle> getMandatoryWorkerVerticleClasses() {
 		List<AbstractVerticle> verticles = new ArrayList<>();
 		verticles.add(jobWorkerVerticle);
+		verticles.add(searchIndexerVerticle);
 		return verticles;
 	}
 
@@ -1,6 +1,7 @@
 package com.gentics.mesh.context.impl;
 
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -15,6 +16,7 @@ import com.gentics.mesh.core.data.Group;
 import com.gentics.mesh.core.data.MeshAuthUser;
 import com.gentics.mesh.core.data.MeshVertex;
 import com.gentics.mesh.core.data.NodeGraphFieldContainer;
+import com.gentics.mesh.core.data.PermissionEvaluator;
 import com.gentics.mesh.core.data.Project;
 import com.gentics.mesh.core.data.Release;
 import com.gentics.mesh.core.data.Role;
@@ -250,6 +252,22 @@ public class NodeMigrationActionContextImpl extends AbstractInternalActionContex
 				return true;
 			}
 
+			@Override
+			public PermissionEvaluator createPermissionEvaluator() {
+				return new PermissionEvaluator() {
+
+					@Override
+					public boolean hasPermissionForId(Object elementId, GraphPermission permission) {
+						return true;
+					}
+
+					@Override
+					public Set<Object> getPermittedIds(Collection<?> elementIds, GraphPermission... permissions) {
+						return new HashSet<>(elementIds);
+					}
+				};
+			}
+
 			@Override
 			public void failOnNoReadPermission(NodeGraphFieldContainer container, String releaseUuid) {
 
@@ -741,6 +759,15 @@ public class NodeMigrationActionContextImpl extends AbstractInternalActionContex
 
 			}
 
+			@Override
+			public long getChangeStamp() {
+				return 0;
+			}
+
+			@Override
+			public void bumpChangeStamp() {
+			}
+
 			@Override
 			public VertexTraversal<?, ?, ?> getPermTraversal(GraphPermission permission) {
 				// TODO Auto-generated method stub
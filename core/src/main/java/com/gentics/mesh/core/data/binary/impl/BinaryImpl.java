@@ -4,6 +4,7 @@ import static com.gentics.mesh.core.data.relationship.GraphRelationships.HAS_FIE
 
 import com.gentics.mesh.core.data.binary.Binary;
 import com.gentics.mesh.core.data.generic.MeshVertexImpl;
+import com.gentics.mesh.core.image.spi.ImageManipulator;
 import com.gentics.mesh.core.data.node.field.BinaryGraphField;
 import com.gentics.mesh.core.data.node.field.impl.BinaryGraphFieldImpl;
 import com.gentics.mesh.dagger.MeshInternal;
@@ -39,6 +40,9 @@ public class BinaryImpl extends MeshVertexImpl implements Binary {
 	public void remove() {
 		BinaryStorage storage = MeshInternal.get().binaryStorage();
 		storage.delete(getUuid()).blockingAwait();
+		// Resized images are cached using the checksum (download) or the uuid (transformation) of the binary
+		ImageManipulator imageManipulator = MeshInternal.get().imageManipulator();
+		imageManipulator.removeCacheFiles(getSHA512Sum()).andThen(imageManipulator.removeCacheFiles(getUuid())).blockingAwait();
 		super.remove();
 	}
 
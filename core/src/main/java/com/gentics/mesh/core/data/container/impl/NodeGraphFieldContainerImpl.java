@@ -1,6 +1,7 @@
 package com.gentics.mesh.core.data.container.impl;
 
 import com.gentics.mesh.context.InternalActionContext;
+import com.gentics.mesh.core.cache.WebRootLinkCache;
 import com.gentics.mesh.core.data.ContainerType;
 import com.gentics.mesh.core.data.NodeGraphFieldContainer;
 import com.gentics.mesh.core.data.Release;
@@ -55,6 +56,7 @@ import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -196,6 +198,7 @@ public class NodeGraphFieldContainerImpl extends AbstractGraphFieldContainerImpl
 		if (isPublished(releaseUuid)) {
 			batch.delete(this, releaseUuid, PUBLISHED, false);
 			setProperty(PUBLISHED_WEBROOT_PROPERTY_KEY, null);
+			setProperty(getWebrootPathPropertyKey(releaseUuid, PUBLISHED), null);
 		}
 		// Remove the edge between the node and the container that matches the release
 		inE(HAS_FIELD_CONTAINER).has(GraphFieldContainerEdgeImpl.RELEASE_UUID_KEY, releaseUuid).or(e -> e.traversal().has(
@@ -203,6 +206,7 @@ public class NodeGraphFieldContainerImpl extends AbstractGraphFieldContainerImpl
 						GraphFieldContainerEdgeImpl.EDGE_TYPE_KEY, ContainerType.PUBLISHED.getCode())).removeAll();
 		// remove webroot property
 		setProperty(WEBROOT_PROPERTY_KEY, null);
+		setProperty(getWebrootPathPropertyKey(releaseUuid, DRAFT), null);
 	}
 
 	@Override
@@ -290,6 +294,11 @@ public class NodeGraphFieldContainerImpl extends AbstractGraphFieldContainerImpl
 
 	@Override
 	public void updateWebrootPathInfo(String releaseUuid, String conflictI18n) {
+		Node node = getParentNode();
+		// Rendered links to the node or its descendants may change
+		String projectUuid = node.getProject().getUuid();
+		MeshInternal.get().database().afterCommit("webroot-links-" + projectUuid, () -> WebRootLinkCache.invalidate(projectUuid));
+		node.bumpChangeStamp();
 		Set<String> urlFieldValues = getUrlFieldValues();
 		if (isDraft(releaseUuid)) {
 			updateWebrootPathInfo(releaseUuid, conflictI18n, ContainerType.DRAFT, WEBROOT_PROPERTY_KEY, WEBROOT_INDEX_NAME);
@@ -330,16 +339,10 @@ public class NodeGraphFieldContainerImpl extends AbstractGraphFieldContainerImpl
 		// The webroot uniqueness will be checked by validating that the string [segmentValue-releaseUuid-parentNodeUuid] is only listed once within the given
 		// specific index for (drafts or published nodes)
 		if (segment != null) {
-			StringBuilder webRootInfo = new StringBuilder(segment);
-			webRootInfo.append("-").append(releaseUuid);
-			Node parent = node.getParentNode(releaseUuid);
-			if (parent != null) {
-				webRootInfo.append("-").append(parent.getUuid());
-			}
+			String webRootInfo = getWebrootInfo(node, releaseUuid, segment);
 
 			// check for uniqueness of webroot path
-			NodeGraphFieldContainerImpl conflictingContainer = MeshInternal.get().database().checkIndexUniqueness(indexName, this, webRootInfo
-					.toString());
+			NodeGraphFieldContainerImpl conflictingContainer = MeshInternal.get().database().checkIndexUniqueness(indexName, this, webRootInfo);
 			if (conflictingContainer != null) {
 				if (log.isDebugEnabled()) {
 					log.debug("Found conflicting container with uuid {" + conflictingContainer.getUuid() + "} using index {" + indexName + "}");
@@ -348,11 +351,110 @@ public class NodeGraphFieldContainerImpl extends AbstractGraphFieldContainerImpl
 				throw nodeConflict(conflictingNode.getUuid(), conflictingContainer.getDisplayFieldValue(), conflictingContainer.getLanguage()
 						.getLanguageTag(), conflictI18n, segmentFieldName, segment);
 			} else {
-				setProperty(propertyName, webRootInfo.toString());
+				setProperty(propertyName, webRootInfo);
+				setWebrootEdgeInfo(releaseUuid, type, webRootInfo);
 			}
 		} else {
 			setProperty(propertyName, null);
+			setWebrootEdgeInfo(releaseUuid, type, null);
+		}
+
+		// Update the stored paths of the descendants if the path of the container changed. The previous path can be found in an older version of the
+		// container if this container has just been created or published.
+		String previousPath = findPreviousWebrootPath(releaseUuid, type);
+		String path = updateWebrootPath(releaseUuid, type);
+		if (!Objects.equals(previousPath, path)) {
+			node.updateDescendantWebrootPaths(releaseUuid, type);
+		}
+	}
+
+	@Override
+	public void updateWebrootEdgeInfo(String releaseUuid, ContainerType type) {
+		Node node = getParentNode();
+		String segment = node.getPathSegment(releaseUuid, type, getLanguage().getLanguageTag());
+		setWebrootEdgeInfo(releaseUuid, type, segment == null ? null : getWebrootInfo(node, releaseUuid, segment));
+	}
+
+	/**
+	 * Return the webroot path info in the form [segmentValue-releaseUuid-parentNodeUuid].
+	 * 
+	 * @param node
+	 *            Node of the container
+	 * @param releaseUuid
+	 * @param segment
+	 * @return
+	 */
+	private String getWebrootInfo(Node node, String releaseUuid, String segment) {
+		StringBuilder webRootInfo = new StringBuilder(segment);
+		webRootInfo.append("-").append(releaseUuid);
+		Node parent = node.getParentNode(releaseUuid);
+		if (parent != null) {
+			webRootInfo.append("-").append(parent.getUuid());
+		}
+		return webRootInfo.toString();
+	}
+
+	/**
+	 * Store the webroot path info on the edge of the given release and type.
+	 * 
+	 * @param releaseUuid
+	 * @param type
+	 * @param webRootInfo
+	 */
+	private void setWebrootEdgeInfo(String releaseUuid, ContainerType type, String webRootInfo) {
+		GraphFieldContainerEdgeImpl edge = inE(HAS_FIELD_CONTAINER).has(GraphFieldContainerEdgeImpl.RELEASE_UUID_KEY, releaseUuid).has(
+				GraphFieldContainerEdgeImpl.EDGE_TYPE_KEY, type.getCode()).nextOrDefaultExplicit(GraphFieldContainerEdgeImpl.class, null);
+		if (edge != null) {
+			edge.setWebrootPathInfo(webRootInfo);
+		}
+	}
+
+	/**
+	 * Return the stored webroot path of this container or of the latest previous version which has a stored path for the release and type.
+	 * 
+	 * @param releaseUuid
+	 * @param type
+	 * @return
+	 */
+	private String findPreviousWebrootPath(String releaseUuid, ContainerType type) {
+		NodeGraphFieldContainer version = this;
+		while (version != null) {
+			String path = version.getWebrootPath(releaseUuid, type);
+			if (path != null) {
+				return path;
+			}
+			version = version.getPreviousVersion();
 		}
+		return null;
+	}
+
+	@Override
+	public String getWebrootPath(String releaseUuid, ContainerType type) {
+		return getProperty(getWebrootPathPropertyKey(releaseUuid, type));
+	}
+
+	@Override
+	public String updateWebrootPath(String releaseUuid, ContainerType type) {
+		String languageTag = getLanguage().getLanguageTag();
+		String path = getParentNode().computePath(releaseUuid, type, NodeGraphFieldContainer.getWebrootPathLanguages(languageTag));
+		setWebrootPath(releaseUuid, type, path);
+		return path;
+	}
+
+	@Override
+	public void setWebrootPath(String releaseUuid, ContainerType type, String path) {
+		setProperty(getWebrootPathPropertyKey(releaseUuid, type), path);
+	}
+
+	/**
+	 * Return the name of the property which stores the webroot path for the given release and type.
+	 * 
+	 * @param releaseUuid
+	 * @param type
+	 * @return
+	 */
+	public static String getWebrootPathPropertyKey(String releaseUuid, ContainerType type) {
+		return WEBROOT_PATH_PROPERTY_PREFIX + type.getCode() + "_" + releaseUuid;
 	}
 
 	@Override
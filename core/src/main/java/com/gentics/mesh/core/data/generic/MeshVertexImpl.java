@@ -150,6 +150,17 @@ public class MeshVertexImpl extends AbstractVertexFrame implements MeshVertex {
 		return getElement();
 	}
 
+	@Override
+	public long getChangeStamp() {
+		Number stamp = getProperty(CHANGE_STAMP_KEY);
+		return stamp == null ? 0 : stamp.longValue();
+	}
+
+	@Override
+	public void bumpChangeStamp() {
+		setProperty(CHANGE_STAMP_KEY, Math.max(getChangeStamp() + 1, System.currentTimeMillis()));
+	}
+
 	public String getFermaType() {
 		return getProperty(PolymorphicTypeResolver.TYPE_RESOLUTION_KEY);
 	}
@@ -168,6 +179,7 @@ public class MeshVertexImpl extends AbstractVertexFrame implements MeshVertex {
 	public void applyPermissions(SearchQueueBatch batch, Role role, boolean recursive, Set<GraphPermission> permissionsToGrant,
 			Set<GraphPermission> permissionsToRevoke) {
 		role.grantPermissions(this, permissionsToGrant.toArray(new GraphPermission[permissionsToGrant.size()]));
+		// The change stamp of the role is only bumped if permissions were actually granted or revoked
 		role.revokePermissions(this, permissionsToRevoke.toArray(new GraphPermission[permissionsToRevoke.size()]));
 		if (this instanceof IndexableElement) {
 			// Check whether the action affects read permissions. We only need to update the document in the index if the action affects those perms
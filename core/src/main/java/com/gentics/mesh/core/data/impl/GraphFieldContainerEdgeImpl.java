@@ -23,11 +23,18 @@ import com.syncleus.ferma.traversals.VertexTraversal;
 @GraphElement
 public class GraphFieldContainerEdgeImpl extends AbstractEdgeFrame implements GraphFieldContainerEdge {
 
+	/**
+	 * Postfix of the index which contains the webroot path info and the type of the draft and published edges.
+	 */
+	public static final String WEBROOT_INDEX_POSTFIX = "webroot";
+
 	public static void init(Database db) {
 		db.addEdgeType(GraphFieldContainerEdgeImpl.class.getSimpleName());
 		db.addEdgeType(HAS_FIELD_CONTAINER, GraphFieldContainerEdgeImpl.class);
 		db.addCustomEdgeIndex(HAS_FIELD_CONTAINER, "release_type_lang", "out", GraphFieldContainerEdgeImpl.RELEASE_UUID_KEY,
 				GraphFieldContainerEdgeImpl.EDGE_TYPE_KEY, GraphFieldContainerEdgeImpl.LANGUAGE_TAG_KEY);
+		db.addCustomEdgeIndex(HAS_FIELD_CONTAINER, WEBROOT_INDEX_POSTFIX, GraphFieldContainerEdgeImpl.WEBROOT_PATH_INFO_KEY,
+				GraphFieldContainerEdgeImpl.EDGE_TYPE_KEY);
 	}
 
 	/**
@@ -90,6 +97,16 @@ public class GraphFieldContainerEdgeImpl extends AbstractEdgeFrame implements Gr
 		setProperty(RELEASE_UUID_KEY, uuid);
 	}
 
+	@Override
+	public String getWebrootPathInfo() {
+		return getProperty(WEBROOT_PATH_INFO_KEY);
+	}
+
+	@Override
+	public void setWebrootPathInfo(String webrootPathInfo) {
+		setProperty(WEBROOT_PATH_INFO_KEY, webrootPathInfo);
+	}
+
 	/**
 	 * Traversal function that restricts by given language tag
 	 */
@@ -11,6 +11,8 @@ import static com.gentics.mesh.core.rest.error.Errors.error;
 import static io.netty.handler.codec.http.HttpResponseStatus.BAD_REQUEST;
 import static org.apache.commons.lang3.StringUtils.isEmpty;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -80,6 +82,8 @@ public class GroupImpl extends AbstractMeshCoreVertex<GroupResponse, Group> impl
 		for (Role role : getRoles()) {
 			user.setUniqueLinkOutTo(role, ASSIGNED_TO_ROLE);
 		}
+		// Cached denied permissions of the user may no longer be valid
+		PermissionStore.invalidateUsersAfterCommit(MeshInternal.get().database(), Collections.singleton(getElementKey(user)));
 	}
 
 	@Override
@@ -88,7 +92,7 @@ public class GroupImpl extends AbstractMeshCoreVertex<GroupResponse, Group> impl
 
 		// The user does no longer belong to the group so lets update the shortcut edges
 		user.updateShortcutEdges();
-		PermissionStore.invalidate();
+		PermissionStore.invalidateUsersAfterCommit(MeshInternal.get().database(), Collections.singleton(getElementKey(user)));
 	}
 
 	@Override
@@ -101,10 +105,13 @@ public class GroupImpl extends AbstractMeshCoreVertex<GroupResponse, Group> impl
 		setUniqueLinkInTo(role, HAS_ROLE);
 
 		// Add shortcut edges from role to users of this group
+		List<Long> userKeys = new ArrayList<>();
 		for (User user : getUsers()) {
 			user.setUniqueLinkOutTo(role, ASSIGNED_TO_ROLE);
+			userKeys.add(getElementKey(user));
 		}
-
+		// Cached denied permissions of the users may no longer be valid
+		PermissionStore.invalidateUsersAfterCommit(MeshInternal.get().database(), userKeys);
 	}
 
 	@Override
@@ -112,10 +119,16 @@ public class GroupImpl extends AbstractMeshCoreVertex<GroupResponse, Group> impl
 		unlinkIn(role, HAS_ROLE);
 
 		// Update the shortcut edges since the role does no longer belong to the group
+		List<Long> userKeys = new ArrayList<>();
 		for (User user : getUsers()) {
 			user.updateShortcutEdges();
+			userKeys.add(getElementKey(user));
 		}
-		PermissionStore.invalidate();
+		PermissionStore.invalidateUsersAfterCommit(MeshInternal.get().database(), userKeys);
+	}
+
+	private long getElementKey(User user) {
+		return MeshInternal.get().database().getElementKey(user.getId());
 	}
 
 	@Override
@@ -177,7 +190,7 @@ public class GroupImpl extends AbstractMeshCoreVertex<GroupResponse, Group> impl
 		for (User user : affectedUsers) {
 			user.updateShortcutEdges();
 		}
-		PermissionStore.invalidate();
+		PermissionStore.invalidateUsersAfterCommit(MeshInternal.get().database(), affectedUsers.stream().map(this::getElementKey).collect(Collectors.toList()));
 	}
 
 	@Override
@@ -0,0 +1,201 @@
+package com.gentics.mesh.core.data.impl;
+
+import static com.gentics.mesh.core.data.relationship.GraphPermission.READ_PERM;
+import static com.gentics.mesh.core.data.relationship.GraphPermission.READ_PUBLISHED_PERM;
+import static com.gentics.mesh.core.data.relationship.GraphRelationships.ASSIGNED_TO_ROLE;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.gentics.mesh.core.cache.PermissionStore;
+import com.gentics.mesh.core.cache.PermissionStore.UserPermissions;
+import com.gentics.mesh.core.data.PermissionEvaluator;
+import com.gentics.mesh.core.data.User;
+import com.gentics.mesh.core.data.relationship.GraphPermission;
+import com.gentics.mesh.dagger.MeshInternal;
+import com.gentics.mesh.graphdb.spi.Database;
+import com.syncleus.ferma.tx.Tx;
+import com.tinkerpop.blueprints.Direction;
+import com.tinkerpop.blueprints.Edge;
+
+/**
+ * @see PermissionEvaluator
+ */
+public class PermissionEvaluatorImpl implements PermissionEvaluator {
+
+	/**
+	 * Permissions which need to be checked for each single permission.
+	 */
+	private static final Map<GraphPermission, Set<GraphPermission>> PROBED_PERMISSIONS = new EnumMap<>(GraphPermission.class);
+
+	static {
+		for (GraphPermission permission : GraphPermission.values()) {
+			Set<GraphPermission> probedPermissions = EnumSet.of(permission);
+			// Read permission also grants read published
+			if (permission == READ_PUBLISHED_PERM) {
+				probedPermissions.add(READ_PERM);
+			}
+			PROBED_PERMISSIONS.put(permission, Collections.unmodifiableSet(probedPermissions));
+		}
+	}
+
+	private final Database db;
+
+	private final Object userId;
+
+	private final long userKey;
+
+	/**
+	 * Ids of the roles of the user. The roles will be loaded on first access and reloaded if the evaluator is used within another transaction.
+	 */
+	private volatile RoleIds roleIds;
+
+	public PermissionEvaluatorImpl(User user) {
+		this.db = MeshInternal.get().database();
+		this.userId = user.getId();
+		this.userKey = db.getElementKey(userId);
+	}
+
+	@Override
+	public boolean hasPermissionForId(Object elementId, GraphPermission permission) {
+		Boolean cachedPermission = getCachedPermission(PermissionStore.getUserPermissions(userKey), db.getElementKey(elementId), PROBED_PERMISSIONS.get(
+			permission));
+		if (cachedPermission != null) {
+			return cachedPermission;
+		}
+		return !getPermittedIds(Collections.singleton(elementId), permission).isEmpty();
+	}
+
+	@Override
+	public Set<Object> getPermittedIds(Collection<?> elementIds, GraphPermission... permissions) {
+		Set<GraphPermission> probedPermissions = toProbedPermissions(permissions);
+		UserPermissions cachedPermissions = PermissionStore.getUserPermissions(userKey);
+		// Load the generation upfront. Grants which happen during the check will thus discard the denied entries.
+		long denialGeneration = PermissionStore.getDenialGeneration();
+
+		Set<Object> permittedIds = new HashSet<>();
+		Map<Object, Long> unresolvedKeys = new HashMap<>();
+		for (Object elementId : elementIds) {
+			long elementKey = db.getElementKey(elementId);
+			Boolean cachedPermission = getCachedPermission(cachedPermissions, elementKey, probedPermissions);
+			if (cachedPermission == null) {
+				unresolvedKeys.put(elementId, elementKey);
+			} else if (cachedPermission) {
+				permittedIds.add(elementId);
+			}
+		}
+		if (unresolvedKeys.isEmpty()) {
+			return permittedIds;
+		}
+
+		// Check all remaining elements for all roles at once
+		for (GraphPermission permission : probedPermissions) {
+			if (unresolvedKeys.isEmpty()) {
+				break;
+			}
+			for (Object grantedId : db.edgeLookup(permission.label(), unresolvedKeys.keySet(), getRoleIds())) {
+				Long elementKey = unresolvedKeys.remove(grantedId);
+				if (elementKey != null) {
+					permittedIds.add(grantedId);
+					cachedPermissions.grant(elementKey, permission);
+					// Read permission also includes read published
+					if (permission == READ_PERM) {
+						cachedPermissions.grant(elementKey, READ_PUBLISHED_PERM);
+					}
+				}
+			}
+		}
+
+		// The entries will be invalidated once any permission gets granted
+		for (long elementKey : unresolvedKeys.values()) {
+			for (GraphPermission permission : probedPermissions) {
+				cachedPermissions.deny(elementKey, permission, denialGeneration);
+			}
+		}
+		return permittedIds;
+	}
+
+	/**
+	 * Check the cache for the given permissions.
+	 *
+	 * @param cachedPermissions
+	 * @param elementKey
+	 * @param permissions
+	 * @return true if one of the permissions is granted, false if all permissions are denied or null if the permissions need to be checked
+	 */
+	private Boolean getCachedPermission(UserPermissions cachedPermissions, long elementKey, Set<GraphPermission> permissions) {
+		boolean denied = true;
+		for (GraphPermission permission : permissions) {
+			Boolean cachedPermission = cachedPermissions.get(elementKey, permission);
+			if (Boolean.TRUE.equals(cachedPermission)) {
+				return true;
+			}
+			if (cachedPermission == null) {
+				denied = false;
+			}
+		}
+		return denied ? false : null;
+	}
+
+	/**
+	 * Return the permissions which need to be checked. The read permission also grants the read published permission and is thus added when checking the read
+	 * published permission.
+	 *
+	 * @param permissions
+	 * @return
+	 */
+	private Set<GraphPermission> toProbedPermissions(GraphPermission... permissions) {
+		if (permissions.length == 1) {
+			return PROBED_PERMISSIONS.get(permissions[0]);
+		}
+		Set<GraphPermission> probedPermissions = EnumSet.noneOf(GraphPermission.class);
+		Collections.addAll(probedPermissions, permissions);
+		if (probedPermissions.contains(READ_PUBLISHED_PERM)) {
+			probedPermissions.add(READ_PERM);
+		}
+		return probedPermissions;
+	}
+
+	/**
+	 * Return the ids of the roles of the user by checking the shortcut edges from the index.
+	 *
+	 * @return
+	 */
+	private List<Object> getRoleIds() {
+		Tx tx = Tx.getActive();
+		RoleIds current = roleIds;
+		if (current == null || current.tx != tx) {
+			List<Object> ids = new ArrayList<>();
+			for (Edge roleEdge : tx.getGraph().getEdges("e." + ASSIGNED_TO_ROLE + "_out", userId)) {
+				ids.add(roleEdge.getVertex(Direction.IN).getId());
+			}
+			current = new RoleIds(tx, ids);
+			roleIds = current;
+		}
+		return current.ids;
+	}
+
+	/**
+	 * Role ids of the user which were loaded within the given transaction.
+	 */
+	private static class RoleIds {
+
+		private final Tx tx;
+
+		private final List<Object> ids;
+
+		RoleIds(Tx tx, List<Object> ids) {
+			this.tx = tx;
+			this.ids = ids;
+		}
+	}
+
+}
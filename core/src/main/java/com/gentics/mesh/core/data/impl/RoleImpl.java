@@ -2,11 +2,13 @@ package com.gentics.mesh.core.data.impl;
 
 import static com.gentics.mesh.core.data.relationship.GraphPermission.READ_PERM;
 import static com.gentics.mesh.core.data.relationship.GraphPermission.READ_PUBLISHED_PERM;
+import static com.gentics.mesh.core.data.relationship.GraphRelationships.ASSIGNED_TO_ROLE;
 import static com.gentics.mesh.core.data.relationship.GraphRelationships.HAS_CREATOR;
 import static com.gentics.mesh.core.data.relationship.GraphRelationships.HAS_EDITOR;
 import static com.gentics.mesh.core.data.relationship.GraphRelationships.HAS_ROLE;
 import static com.gentics.mesh.core.rest.error.Errors.conflict;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
@@ -40,7 +42,9 @@ import com.gentics.mesh.util.ETag;
 import com.syncleus.ferma.FramedGraph;
 import com.syncleus.ferma.traversals.VertexTraversal;
 import com.syncleus.ferma.tx.Tx;
+import com.tinkerpop.blueprints.Direction;
 import com.tinkerpop.blueprints.Edge;
+import com.tinkerpop.blueprints.Vertex;
 
 import io.reactivex.Single;
 
@@ -101,11 +105,35 @@ public class RoleImpl extends AbstractMeshCoreVertex<RoleResponse, Role> impleme
 
 	@Override
 	public void grantPermissions(MeshVertex vertex, GraphPermission... permissions) {
+		// Cached denied permissions may no longer be valid
+		if (addPermissionEdges(vertex, permissions)) {
+			PermissionStore.invalidateDenialsAfterCommit(MeshInternal.get().database());
+			bumpChangeStamp();
+		}
+	}
+
+	@Override
+	public void grantInitialPermissions(MeshVertex vertex, GraphPermission... permissions) {
+		// The change stamp is not bumped since the role would otherwise be written by every create. Responses which list the new element change anyway.
+		addPermissionEdges(vertex, permissions);
+	}
+
+	/**
+	 * Add the edges of the given permissions which are not yet granted.
+	 * 
+	 * @param vertex
+	 * @param permissions
+	 * @return true if at least one edge was added
+	 */
+	private boolean addPermissionEdges(MeshVertex vertex, GraphPermission... permissions) {
+		boolean granted = false;
 		for (GraphPermission permission : permissions) {
 			if (!hasPermission(permission, vertex)) {
 				addFramedEdge(permission.label(), vertex);
+				granted = true;
 			}
 		}
+		return granted;
 	}
 
 	@Override
@@ -135,8 +163,23 @@ public class RoleImpl extends AbstractMeshCoreVertex<RoleResponse, Role> impleme
 				key, indexKey).spliterator(), false)).peek(Edge::remove).count();
 
 		if (edgesRemoved > 0) {
-			PermissionStore.invalidate();
+			PermissionStore.invalidateUsersAfterCommit(MeshInternal.get().database(), getAssignedUserKeys());
+			bumpChangeStamp();
+		}
+	}
+
+	/**
+	 * Return the element keys of all users which are assigned to the role.
+	 * 
+	 * @return
+	 */
+	private List<Long> getAssignedUserKeys() {
+		Database db = MeshInternal.get().database();
+		List<Long> userKeys = new ArrayList<>();
+		for (Vertex user : getVertex().getVertices(Direction.IN, ASSIGNED_TO_ROLE)) {
+			userKeys.add(db.getElementKey(user.getId()));
 		}
+		return userKeys;
 	}
 
 	/**
@@ -165,9 +208,10 @@ public class RoleImpl extends AbstractMeshCoreVertex<RoleResponse, Role> impleme
 				}
 			}
 		}
+		List<Long> userKeys = getAssignedUserKeys();
 		getVertex().remove();
 
-		PermissionStore.invalidate();
+		PermissionStore.invalidateUsersAfterCommit(MeshInternal.get().database(), userKeys);
 	}
 
 	@Override
@@ -19,6 +19,7 @@ import static io.netty.handler.codec.http.HttpResponseStatus.BAD_REQUEST;
 import static io.netty.handler.codec.http.HttpResponseStatus.FORBIDDEN;
 import static org.apache.commons.lang3.StringUtils.isEmpty;
 
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -32,6 +33,7 @@ import com.gentics.mesh.core.data.ContainerType;
 import com.gentics.mesh.core.data.Group;
 import com.gentics.mesh.core.data.MeshVertex;
 import com.gentics.mesh.core.data.NodeGraphFieldContainer;
+import com.gentics.mesh.core.data.PermissionEvaluator;
 import com.gentics.mesh.core.data.Project;
 import com.gentics.mesh.core.data.Role;
 import com.gentics.mesh.core.data.User;
@@ -59,11 +61,7 @@ import com.gentics.mesh.json.JsonUtil;
 import com.gentics.mesh.parameter.NodeParameters;
 import com.gentics.mesh.parameter.PagingParameters;
 import com.gentics.mesh.util.ETag;
-import com.syncleus.ferma.FramedGraph;
 import com.syncleus.ferma.traversals.VertexTraversal;
-import com.tinkerpop.blueprints.Direction;
-import com.tinkerpop.blueprints.Edge;
-import com.tinkerpop.blueprints.Vertex;
 
 import io.reactivex.Single;
 import io.vertx.core.logging.Logger;
@@ -92,6 +90,11 @@ public class UserImpl extends AbstractMeshCoreVertex<UserResponse, User> impleme
 
 	public static final String RESET_TOKEN_ISSUE_TIMESTAMP_KEY = "resetTokenTimestamp";
 
+	/**
+	 * Evaluator which is shared by all single permission checks of this user instance.
+	 */
+	private volatile PermissionEvaluator permissionEvaluator;
+
 	public static void init(Database database) {
 		database.addVertexType(UserImpl.class, MeshVertexImpl.class);
 		database.addEdgeIndex(ASSIGNED_TO_ROLE, false, false, true);
@@ -276,37 +279,17 @@ public class UserImpl extends AbstractMeshCoreVertex<UserResponse, User> impleme
 
 	@Override
 	public boolean hasPermissionForId(Object elementId, GraphPermission permission) {
-		if (PermissionStore.hasPermission(getId(), permission, elementId)) {
-			return true;
-		} else {
-			FramedGraph graph = getGraph();
-			// Find all roles that are assigned to the user by checking the
-			// shortcut edge from the index
-			Iterable<Edge> roleEdges = graph.getEdges("e." + ASSIGNED_TO_ROLE + "_out", this.getId());
-			for (Edge roleEdge : roleEdges) {
-				Vertex role = roleEdge.getVertex(Direction.IN);
-				// Find all permission edges between the found role and target
-				// vertex with the specified label
-				Iterable<Edge> edges = graph.getEdges("e." + permission.label() + "_inout",
-						MeshInternal.get().database().createComposedIndexKey(elementId, role.getId()));
-				boolean foundPermEdge = edges.iterator().hasNext();
-				if (foundPermEdge) {
-					// We only store granting permissions in the store in order
-					// reduce the invalidation calls.
-					// This way we do not need to invalidate the cache if a role
-					// is removed from a group or a role is deleted.
-					PermissionStore.store(getId(), permission, elementId);
-					return true;
-				}
-			}
-			// Fall back to read and check whether the user has read perm. Read permission also includes read published.
-			if (permission == READ_PUBLISHED_PERM) {
-				return hasPermissionForId(elementId, READ_PERM);
-			} else {
-				return false;
-			}
+		PermissionEvaluator evaluator = permissionEvaluator;
+		if (evaluator == null) {
+			evaluator = createPermissionEvaluator();
+			permissionEvaluator = evaluator;
 		}
+		return evaluator.hasPermissionForId(elementId, permission);
+	}
 
+	@Override
+	public PermissionEvaluator createPermissionEvaluator() {
+		return new PermissionEvaluatorImpl(this);
 	}
 
 	@Override
@@ -426,7 +409,7 @@ public class UserImpl extends AbstractMeshCoreVertex<UserResponse, User> impleme
 
 		// 2. Add CRUD permission to identified roles and target node
 		for (Role role : rolesThatGrantPermission) {
-			role.grantPermissions(targetNode, toGrant);
+			role.grantInitialPermissions(targetNode, toGrant);
 		}
 
 		inheritRolePermissions(sourceNode, targetNode);
@@ -442,7 +425,7 @@ public class UserImpl extends AbstractMeshCoreVertex<UserResponse, User> impleme
 				if (log.isDebugEnabled()) {
 					log.debug("Granting permission {" + perm.name() + "} to node {" + targetNode.getUuid() + "} on role {" + role.getName() + "}");
 				}
-				role.grantPermissions(targetNode, perm);
+				role.grantInitialPermissions(targetNode, perm);
 			}
 		}
 		return this;
@@ -459,9 +442,10 @@ public class UserImpl extends AbstractMeshCoreVertex<UserResponse, User> impleme
 		// user will be just disabled and removed from all groups.");
 		// }
 		// outE(HAS_USER).removeAll();
+		long userKey = MeshInternal.get().database().getElementKey(getId());
 		batch.delete(this, false);
 		getElement().remove();
-		PermissionStore.invalidate();
+		PermissionStore.invalidateUsersAfterCommit(MeshInternal.get().database(), Collections.singleton(userKey));
 	}
 
 	/**
@@ -31,8 +31,8 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.Deque;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -45,6 +45,7 @@ import org.apache.commons.lang3.NotImplementedException;
 
 import com.gentics.mesh.Mesh;
 import com.gentics.mesh.context.InternalActionContext;
+import com.gentics.mesh.core.cache.WebRootLinkCache;
 import com.gentics.mesh.core.data.ContainerType;
 import com.gentics.mesh.core.data.GraphFieldContainer;
 import com.gentics.mesh.core.data.GraphFieldContainerEdge;
@@ -52,6 +53,7 @@ import com.gentics.mesh.core.data.Language;
 import com.gentics.mesh.core.data.MeshAuthUser;
 import com.gentics.mesh.core.data.NamedElement;
 import com.gentics.mesh.core.data.NodeGraphFieldContainer;
+import com.gentics.mesh.core.data.PermissionEvaluator;
 import com.gentics.mesh.core.data.Project;
 import com.gentics.mesh.core.data.Release;
 import com.gentics.mesh.core.data.Role;
@@ -104,7 +106,6 @@ import com.gentics.mesh.handler.ActionContext;
 import com.gentics.mesh.json.JsonUtil;
 import com.gentics.mesh.parameter.DeleteParameters;
 import com.gentics.mesh.parameter.LinkType;
-import com.gentics.mesh.parameter.NavigationParameters;
 import com.gentics.mesh.parameter.NodeParameters;
 import com.gentics.mesh.parameter.PagingParameters;
 import com.gentics.mesh.parameter.PublishParameters;
@@ -126,7 +127,6 @@ import com.syncleus.ferma.tx.Tx;
 import com.tinkerpop.blueprints.Edge;
 import com.tinkerpop.blueprints.Vertex;
 
-import io.reactivex.Observable;
 import io.reactivex.Single;
 import io.vertx.core.json.JsonObject;
 import io.vertx.core.logging.Logger;
@@ -139,6 +139,8 @@ public class NodeImpl extends AbstractGenericFieldContainerVertex<NodeResponse,
 
 	private static final Logger log = LoggerFactory.getLogger(NodeImpl.class);
 
+	private static final String CHILDREN_CHANGE_STAMP_KEY = "childrenChangeStamp";
+
 	public static void init(Database database) {
 		database.addVertexType(NodeImpl.class, MeshVertexImpl.class);
 		database.addEdgeIndex(HAS_PARENT_NODE);
@@ -175,51 +177,81 @@ public class NodeImpl extends AbstractGenericFieldContainerVertex<NodeResponse,
 		// Thus utilise the action context data map to retrieve already handled paths.
 		String cacheKey = getUuid() + releaseUuid + type.getCode() + Arrays.toString(languageTag);
 		return (String) ac.data().computeIfAbsent(cacheKey, key -> {
+			// Use the stored path of the container if the languages match the languages which were used to compute the stored path
+			String[] languages = Arrays.stream(languageTag).distinct().toArray(String[]::new);
+			if (languages.length > 0 && Arrays.equals(languages, NodeGraphFieldContainer.getWebrootPathLanguages(languages[0]))) {
+				NodeGraphFieldContainer container = getGraphFieldContainer(languages[0], releaseUuid, type);
+				if (container != null) {
+					String path = container.getWebrootPath(releaseUuid, type);
+					if (path != null) {
+						return path;
+					}
+				}
+			}
+			return computePath(releaseUuid, type, languageTag);
+		});
+	}
 
-			List<String> segments = new ArrayList<>();
-			String segment = getPathSegment(releaseUuid, type, languageTag);
+	@Override
+	public String computePath(String releaseUuid, ContainerType type, String... languageTag) {
+		List<String> segments = new ArrayList<>();
+		String segment = getPathSegment(releaseUuid, type, languageTag);
+		if (segment == null) {
+			return null;
+		}
+		segments.add(segment);
+
+		// For the path segments of the container, we add all (additional)
+		// project languages to the list of languages for the fallback.
+		List<String> langList = new ArrayList<>();
+		langList.addAll(Arrays.asList(languageTag));
+
+		// TODO maybe we only want to get the project languages?
+		langList.addAll(MeshInternal.get().boot().getAllLanguageTags());
+		String[] projectLanguages = langList.toArray(new String[langList.size()]);
+		Node current = this;
+		while (current != null) {
+			current = current.getParentNode(releaseUuid);
+			if (current == null || current.getParentNode(releaseUuid) == null) {
+				break;
+			}
+			// For the path segments of the container, we allow ANY language (of the project)
+			segment = current.getPathSegment(releaseUuid, type, projectLanguages);
+
+			// Abort early if one of the path segments could not be resolved. We
+			// need to return a 404 in those cases.
 			if (segment == null) {
 				return null;
 			}
 			segments.add(segment);
+		}
 
-			// For the path segments of the container, we add all (additional)
-			// project languages to the list of languages for the fallback.
-			List<String> langList = new ArrayList<>();
-			langList.addAll(Arrays.asList(languageTag));
-
-			// TODO maybe we only want to get the project languages?
-			langList.addAll(MeshInternal.get().boot().getAllLanguageTags());
-			String[] projectLanguages = langList.toArray(new String[langList.size()]);
-			Node current = this;
-			while (current != null) {
-				current = current.getParentNode(releaseUuid);
-				if (current == null || current.getParentNode(releaseUuid) == null) {
-					break;
-				}
-				// For the path segments of the container, we allow ANY language (of the project)
-				segment = current.getPathSegment(releaseUuid, type, projectLanguages);
+		Collections.reverse(segments);
 
-				// Abort early if one of the path segments could not be resolved. We
-				// need to return a 404 in those cases.
-				if (segment == null) {
-					return null;
-				}
-				segments.add(segment);
-			}
+		// Finally construct the path from all segments
+		StringBuilder builder = new StringBuilder();
+		Iterator<String> it = segments.iterator();
+		while (it.hasNext()) {
+			String fragment = it.next();
+			builder.append("/").append(URIUtils.encodeFragment(fragment));
+		}
+		return builder.toString();
+	}
 
-			Collections.reverse(segments);
+	@Override
+	public void updateDescendantWebrootPaths(String releaseUuid, ContainerType type) {
+		new WebrootPathUpdater(this, releaseUuid, type).update();
+	}
 
-			// Finally construct the path from all segments
-			StringBuilder builder = new StringBuilder();
-			Iterator<String> it = segments.iterator();
-			while (it.hasNext()) {
-				String fragment = it.next();
-				builder.append("/").append(URIUtils.encodeFragment(fragment));
-			}
-			return builder.toString();
-		});
+	@Override
+	public long getChildrenChangeStamp() {
+		Number stamp = getProperty(CHILDREN_CHANGE_STAMP_KEY);
+		return stamp == null ? 0 : stamp.longValue();
+	}
 
+	@Override
+	public void bumpChildrenChangeStamp() {
+		setProperty(CHILDREN_CHANGE_STAMP_KEY, Math.max(getChildrenChangeStamp() + 1, System.currentTimeMillis()));
 	}
 
 	@Override
@@ -371,6 +403,9 @@ public class NodeImpl extends AbstractGenericFieldContainerVertex<NodeResponse,
 			container.clone(previous);
 		}
 
+		// A new draft version affects the node response
+		bumpChangeStamp();
+
 		// remove existing draft edge
 		if (draftEdge != null) {
 			previous.setProperty(NodeGraphFieldContainerImpl.WEBROOT_PROPERTY_KEY, null);
@@ -440,16 +475,19 @@ public class NodeImpl extends AbstractGenericFieldContainerVertex<NodeResponse,
 		removeTag(tag, release);
 		TagEdge edge = addFramedEdge(HAS_TAG, tag, TagEdgeImpl.class);
 		edge.setReleaseUuid(release.getUuid());
+		bumpChangeStamp();
 	}
 
 	@Override
 	public void removeTag(Tag tag, Release release) {
 		outE(HAS_TAG).has(TagEdgeImpl.RELEASE_UUID_KEY, release.getUuid()).mark().inV().retain(tag).back().removeAll();
+		bumpChangeStamp();
 	}
 
 	@Override
 	public void removeAllTags(Release release) {
 		outE(HAS_TAG).has(TagEdgeImpl.RELEASE_UUID_KEY, release.getUuid()).removeAll();
+		bumpChangeStamp();
 	}
 
 	@Override
@@ -502,8 +540,15 @@ public class NodeImpl extends AbstractGenericFieldContainerVertex<NodeResponse,
 
 	@Override
 	public void setParentNode(String releaseUuid, Node parent) {
+		// The children of the previous and the new parent change
+		Node oldParent = getParentNode(releaseUuid);
+		if (oldParent != null) {
+			oldParent.bumpChildrenChangeStamp();
+		}
 		outE(HAS_PARENT_NODE).has(RELEASE_UUID_KEY, releaseUuid).removeAll();
 		addFramedEdge(HAS_PARENT_NODE, parent).setProperty(RELEASE_UUID_KEY, releaseUuid);
+		parent.bumpChildrenChangeStamp();
+		bumpChangeStamp();
 	}
 
 	@Override
@@ -727,8 +772,9 @@ public class NodeImpl extends AbstractGenericFieldContainerVertex<NodeResponse,
 	 */
 	private void setChildrenInfo(InternalActionContext ac, Release release, NodeResponse restNode) {
 		Map<String, NodeChildrenInfo> childrenInfo = new HashMap<>();
+		PermissionEvaluator evaluator = ac.getUser().createPermissionEvaluator();
 		for (Node child : getChildren(release.getUuid())) {
-			if (ac.getUser().hasPermission(child, READ_PERM)) {
+			if (evaluator.hasPermission(child, READ_PERM)) {
 				String schemaName = child.getSchemaContainer().getName();
 				NodeChildrenInfo info = childrenInfo.get(schemaName);
 				if (info == null) {
@@ -867,55 +913,138 @@ public class NodeImpl extends AbstractGenericFieldContainerVertex<NodeResponse,
 			if (!getSchemaContainer().getLatestVersion().getSchema().isContainer()) {
 				throw error(BAD_REQUEST, "navigation_error_no_container");
 			}
-			String etagKey = buildNavigationEtagKey(ac, this, parameters.getMaxDepth(), 0, ac.getRelease(getProject()).getUuid(), forVersion(ac
-					.getVersioningParameters().getVersion()));
-			String etag = ETag.hash(etagKey);
+			// Load the tree once and use it for both the etag and the response
+			NavigationTreeNode tree = loadNavigationTree(ac, parameters.getMaxDepth(), parameters.isIncludeAll(), ac.getRelease(getProject())
+					.getUuid(), forVersion(ac.getVersioningParameters().getVersion()));
+			StringBuilder etagKey = new StringBuilder();
+			buildNavigationEtagKey(ac, tree, etagKey);
+			String etag = ETag.hash(etagKey.toString());
 			ac.setEtag(etag, true);
 			if (ac.matches(etag, true)) {
 				return Single.error(new NotModifiedException());
 			} else {
 				NavigationResponse response = new NavigationResponse();
-				return buildNavigationResponse(ac, this, parameters.getMaxDepth(), 0, response, response, ac.getRelease(getProject()).getUuid(),
-						forVersion(ac.getVersioningParameters().getVersion()));
+				buildNavigationResponse(ac, tree, response);
+				return Single.just(response);
 			}
 		});
 	}
 
 	/**
-	 * Generate the etag key for the requested navigation.
+	 * Load the navigation tree which starts at this node. The tree is loaded level by level. The children of all nodes of a level are located via the release
+	 * specific parent index and their permissions are checked at once.
 	 * 
 	 * @param ac
-	 * @param node
-	 *            Current node to start building the navigation
 	 * @param maxDepth
 	 *            Maximum depth of navigation
-	 * @param level
-	 *            Current level of recursion
+	 * @param includeAll
+	 *            Whether to also include children which are no containers
 	 * @param releaseUuid
 	 *            Release uuid used to extract selected tree structure
 	 * @param type
-	 * @return
+	 *            Container type which the children must provide
+	 * @return Root element of the tree
 	 */
-	private String buildNavigationEtagKey(InternalActionContext ac, Node node, int maxDepth, int level, String releaseUuid, ContainerType type) {
-		NavigationParametersImpl parameters = new NavigationParametersImpl(ac);
-		StringBuilder builder = new StringBuilder();
-		builder.append(node.getETag(ac));
+	private NavigationTreeNode loadNavigationTree(InternalActionContext ac, int maxDepth, boolean includeAll, String releaseUuid,
+			ContainerType type) {
+		FramedGraph graph = Tx.getActive().getGraph();
+		Database db = MeshInternal.get().database();
+		String indexName = "e." + HAS_PARENT_NODE.toLowerCase() + "_release";
+		GraphPermission perm = type == PUBLISHED ? READ_PUBLISHED_PERM : READ_PERM;
+		PermissionEvaluator evaluator = ac.getUser().createPermissionEvaluator();
+		// The container flag is only determined once per schema
+		Map<Object, Boolean> containerSchemas = new HashMap<>();
+
+		NavigationTreeNode root = new NavigationTreeNode(this, 0);
+		List<NavigationTreeNode> currentLevel = Collections.singletonList(root);
+		while (!currentLevel.isEmpty()) {
+			Map<NavigationTreeNode, List<Vertex>> candidates = new LinkedHashMap<>();
+			List<Object> candidateIds = new ArrayList<>();
+			for (NavigationTreeNode parent : currentLevel) {
+				// Abort recursion when we reach the max level
+				if (parent.level == maxDepth) {
+					continue;
+				}
+				List<Vertex> children = new ArrayList<>();
+				for (Edge edge : graph.getEdges(indexName, db.createComposedIndexKey(parent.node.getId(), releaseUuid))) {
+					Vertex child = edge.getVertex(OUT);
+					if (hasGraphFieldContainer(child, releaseUuid, type)) {
+						children.add(child);
+						candidateIds.add(child.getId());
+					}
+				}
+				candidates.put(parent, children);
+			}
+			if (candidateIds.isEmpty()) {
+				break;
+			}
 
-		List<? extends Node> nodes = node.getChildren(ac.getUser(), releaseUuid, null, type);
+			Set<Object> permittedIds = evaluator.getPermittedIds(candidateIds, perm);
+			List<NavigationTreeNode> nextLevel = new ArrayList<>();
+			for (Map.Entry<NavigationTreeNode, List<Vertex>> entry : candidates.entrySet()) {
+				NavigationTreeNode parent = entry.getKey();
+				for (Vertex vertex : entry.getValue()) {
+					if (!permittedIds.contains(vertex.getId())) {
+						continue;
+					}
+					Node child = graph.frameElementExplicit(vertex, NodeImpl.class);
+					// TODO assure that the schema version is correct?
+					SchemaContainer schemaContainer = child.getSchemaContainer();
+					boolean isContainer = containerSchemas.computeIfAbsent(schemaContainer.getId(), id -> schemaContainer.getLatestVersion().getSchema()
+							.isContainer());
+					NavigationTreeNode element;
+					if (isContainer) {
+						element = new NavigationTreeNode(child, parent.level + 1);
+					} else if (includeAll) {
+						element = new NavigationTreeNode(child, parent.level);
+					} else {
+						continue;
+					}
+					parent.children.add(element);
+					nextLevel.add(element);
+				}
+			}
+			currentLevel = nextLevel;
+		}
+		return root;
+	}
 
-		// Abort recursion when we reach the max level or when no more children
-		// can be found.
-		if (level == maxDepth || nodes.isEmpty()) {
-			return builder.toString();
+	/**
+	 * Check whether the given node vertex provides a field container for the release and type.
+	 * 
+	 * @param vertex
+	 * @param releaseUuid
+	 * @param type
+	 * @return
+	 */
+	private static boolean hasGraphFieldContainer(Vertex vertex, String releaseUuid, ContainerType type) {
+		for (Edge edge : vertex.getEdges(OUT, HAS_FIELD_CONTAINER)) {
+			if (type.getCode().equals(edge.getProperty(GraphFieldContainerEdgeImpl.EDGE_TYPE_KEY)) && releaseUuid.equals(edge.getProperty(
+					GraphFieldContainerEdgeImpl.RELEASE_UUID_KEY))) {
+				return true;
+			}
 		}
-		for (Node child : nodes) {
-			if (child.getSchemaContainer().getLatestVersion().getSchema().isContainer()) {
-				builder.append(buildNavigationEtagKey(ac, child, maxDepth, level + 1, releaseUuid, type));
-			} else if (parameters.isIncludeAll()) {
-				builder.append(buildNavigationEtagKey(ac, child, maxDepth, level, releaseUuid, type));
+		return false;
+	}
+
+	/**
+	 * Generate the etag key for the requested navigation.
+	 * 
+	 * @param ac
+	 * @param element
+	 *            Current element of the navigation tree
+	 * @param builder
+	 *            Builder to which the key will be appended
+	 */
+	private void buildNavigationEtagKey(InternalActionContext ac, NavigationTreeNode element, StringBuilder builder) {
+		builder.append(element.node.getETag(ac));
+		if (!element.children.isEmpty()) {
+			builder.append("[");
+			for (NavigationTreeNode child : element.children) {
+				buildNavigationEtagKey(ac, child, builder);
 			}
+			builder.append("]");
 		}
-		return builder.toString();
 	}
 
 	/**
@@ -923,65 +1052,44 @@ public class NodeImpl extends AbstractGenericFieldContainerVertex<NodeResponse,
 	 * 
 	 * @param ac
 	 *            Action context
-	 * @param node
-	 *            Current node that should be handled in combination with the given navigation element
-	 * @param maxDepth
-	 *            Maximum depth for the navigation
-	 * @param level
-	 *            Zero based level of the current navigation element
-	 * @param navigation
-	 *            Current navigation response
+	 * @param element
+	 *            Current element of the navigation tree
 	 * @param currentElement
-	 *            Current navigation element for the given level
-	 * @param releaseUuid
-	 *            release uuid to be used for loading children of nodes
-	 * @param type
-	 *            container type to be used for transformation
-	 * @return
+	 *            Navigation element of the response which should be populated
 	 */
-	private Single<NavigationResponse> buildNavigationResponse(InternalActionContext ac, Node node, int maxDepth, int level,
-			NavigationResponse navigation, NavigationElement currentElement, String releaseUuid, ContainerType type) {
-		List<? extends Node> nodes = node.getChildren(ac.getUser(), releaseUuid, null, type);
-		List<Single<NavigationResponse>> obsResponses = new ArrayList<>();
-
-		obsResponses.add(node.transformToRest(ac, 0).map(response -> {
-			// Set current element data
-			currentElement.setUuid(response.getUuid());
-			currentElement.setNode(response);
-			return navigation;
-		}));
-
-		// Abort recursion when we reach the max level or when no more children
-		// can be found.
-		if (level == maxDepth || nodes.isEmpty()) {
-			List<Observable<NavigationResponse>> obsList = obsResponses.stream().map(ele -> ele.toObservable()).collect(Collectors.toList());
-			return Observable.merge(obsList).lastOrError();
-		}
-		NavigationParameters parameters = new NavigationParametersImpl(ac);
-		// Add children
-		for (Node child : nodes) {
-			// TODO assure that the schema version is correct?
-			// TODO also allow navigations over containers
-			if (child.getSchemaContainer().getLatestVersion().getSchema().isContainer()) {
-				NavigationElement childElement = new NavigationElement();
-				// We found at least one child so lets create the array
-				if (currentElement.getChildren() == null) {
-					currentElement.setChildren(new ArrayList<>());
-				}
-				currentElement.getChildren().add(childElement);
-				obsResponses.add(buildNavigationResponse(ac, child, maxDepth, level + 1, navigation, childElement, releaseUuid, type));
-			} else if (parameters.isIncludeAll()) {
-				// We found at least one child so lets create the array
-				if (currentElement.getChildren() == null) {
-					currentElement.setChildren(new ArrayList<>());
-				}
-				NavigationElement childElement = new NavigationElement();
-				currentElement.getChildren().add(childElement);
-				obsResponses.add(buildNavigationResponse(ac, child, maxDepth, level, navigation, childElement, releaseUuid, type));
-			}
+	private void buildNavigationResponse(InternalActionContext ac, NavigationTreeNode element, NavigationElement currentElement) {
+		NodeResponse response = element.node.transformToRestSync(ac, 0);
+		currentElement.setUuid(response.getUuid());
+		currentElement.setNode(response);
+		if (element.children.isEmpty()) {
+			return;
+		}
+		currentElement.setChildren(new ArrayList<>());
+		for (NavigationTreeNode child : element.children) {
+			NavigationElement childElement = new NavigationElement();
+			currentElement.getChildren().add(childElement);
+			buildNavigationResponse(ac, child, childElement);
+		}
+	}
+
+	/**
+	 * Node of the in-memory navigation tree.
+	 */
+	private static class NavigationTreeNode {
+
+		private final Node node;
+
+		/**
+		 * Zero based level of the element. Children which are no containers share the level of their parent.
+		 */
+		private final int level;
+
+		private final List<NavigationTreeNode> children = new ArrayList<>();
+
+		NavigationTreeNode(Node node, int level) {
+			this.node = node;
+			this.level = level;
 		}
-		List<Observable<NavigationResponse>> obsList = obsResponses.stream().map(ele -> ele.toObservable()).collect(Collectors.toList());
-		return Observable.merge(obsList).lastOrError();
 	}
 
 	@Override
@@ -1095,6 +1203,8 @@ public class NodeImpl extends AbstractGenericFieldContainerVertex<NodeResponse,
 		List<? extends NodeGraphFieldContainer> published = getGraphFieldContainers(release, PUBLISHED);
 
 		String releaseUuid = release.getUuid();
+		invalidateLinksAfterCommit();
+		bumpChangeStamp();
 
 		// Remove the published edge for each found container
 		List<? extends NodeGraphFieldContainer> publishedContainers = getGraphFieldContainers(releaseUuid, PUBLISHED);
@@ -1103,6 +1213,7 @@ public class NodeImpl extends AbstractGenericFieldContainerVertex<NodeResponse,
 		published.forEach(c -> {
 			c.setProperty(NodeGraphFieldContainer.PUBLISHED_WEBROOT_PROPERTY_KEY, null);
 			c.setProperty(NodeGraphFieldContainer.PUBLISHED_WEBROOT_URLFIELD_PROPERTY_KEY, null);
+			c.setProperty(NodeGraphFieldContainerImpl.getWebrootPathPropertyKey(releaseUuid, PUBLISHED), null);
 		});
 
 		// Handle recursion
@@ -1192,8 +1303,14 @@ public class NodeImpl extends AbstractGenericFieldContainerVertex<NodeResponse,
 		}
 		// 2. Remove the "published" edge
 		getGraphFieldContainerEdge(languageTag, releaseUuid, PUBLISHED).remove();
+		invalidateLinksAfterCommit();
+		bumpChangeStamp();
 		published.setProperty(NodeGraphFieldContainer.PUBLISHED_WEBROOT_PROPERTY_KEY, null);
 		published.setProperty(NodeGraphFieldContainer.PUBLISHED_WEBROOT_URLFIELD_PROPERTY_KEY, null);
+		published.setProperty(NodeGraphFieldContainerImpl.getWebrootPathPropertyKey(releaseUuid, PUBLISHED), null);
+
+		// The published paths of the descendants may have used the segment of the container
+		updateDescendantWebrootPaths(releaseUuid, PUBLISHED);
 
 		assertPublishConsistency(ac, release);
 
@@ -1304,10 +1421,24 @@ public class NodeImpl extends AbstractGenericFieldContainerVertex<NodeResponse,
 		if (log.isDebugEnabled()) {
 			log.debug("Deleting node {" + getUuid() + "} vertex.");
 		}
+		// The children of the parent nodes change
+		for (Node parent : out(HAS_PARENT_NODE).toListExplicit(NodeImpl.class)) {
+			parent.bumpChildrenChangeStamp();
+		}
+		// The project is no longer reachable once the vertex has been removed
+		invalidateLinksAfterCommit();
 		getElement().remove();
 
 	}
 
+	/**
+	 * Invalidate the cached links to nodes of the project once the current transaction has been committed.
+	 */
+	private void invalidateLinksAfterCommit() {
+		String projectUuid = getProject().getUuid();
+		MeshInternal.get().database().afterCommit("webroot-links-" + projectUuid, () -> WebRootLinkCache.invalidate(projectUuid));
+	}
+
 	@Override
 	public void delete(SearchQueueBatch batch) {
 		delete(batch, false);
@@ -1340,6 +1471,10 @@ public class NodeImpl extends AbstractGenericFieldContainerVertex<NodeResponse,
 			// Otherwise we need to remove the "parent" edge for the release
 			// first remove the "parent" edge (because the node itself will
 			// probably not be deleted, but just removed from the release)
+			Node parent = getParentNode(releaseUuid);
+			if (parent != null) {
+				parent.bumpChildrenChangeStamp();
+			}
 			outE(HAS_PARENT_NODE).has(RELEASE_UUID_KEY, releaseUuid).removeAll();
 		}
 	}
@@ -1708,6 +1843,11 @@ public class NodeImpl extends AbstractGenericFieldContainerVertex<NodeResponse,
 		container.deleteFromRelease(release, batch);
 		// No need to delete the published variant because if the container was published the take offline call handled it
 
+		// The paths of the descendants may have used the segment of the deleted container
+		updateDescendantWebrootPaths(release.getUuid(), DRAFT);
+		invalidateLinksAfterCommit();
+		bumpChangeStamp();
+
 		// 3. Check whether this was be the last container of the node for this release
 		DeleteParameters parameters = ac.getDeleteParameters();
 		if (failForLastContainer) {
@@ -1731,30 +1871,45 @@ public class NodeImpl extends AbstractGenericFieldContainerVertex<NodeResponse,
 
 		// Check the different language versions
 		for (NodeGraphFieldContainer container : getGraphFieldContainers(releaseUuid, type)) {
-			Schema schema = container.getSchemaContainerVersion().getSchema();
-			String segmentFieldName = schema.getSegmentField();
-			// First check whether a string field exists for the given name
-			StringGraphField field = container.getString(segmentFieldName);
-			if (field != null) {
-				String fieldValue = field.getString();
-				if (segment.equals(fieldValue)) {
-					return new PathSegment(container, field, container.getLanguage().getLanguageTag());
-				}
+			PathSegment pathSegment = getSegment(container, segment);
+			if (pathSegment != null) {
+				return pathSegment;
 			}
+		}
+		return null;
+	}
 
-			// No luck yet - lets check whether a binary field matches the
-			// segmentField
-			BinaryGraphField binaryField = container.getBinary(segmentFieldName);
-			if (binaryField == null) {
-				if (log.isDebugEnabled()) {
-					log.debug("The node {" + getUuid() + "} did not contain a string or a binary field for segment field name {" + segmentFieldName
-							+ "}");
-				}
-			} else {
-				String binaryFilename = binaryField.getFileName();
-				if (segment.equals(binaryFilename)) {
-					return new PathSegment(container, binaryField, container.getLanguage().getLanguageTag());
-				}
+	/**
+	 * Return the path segment of the container if the string or binary segment field of the container matches the given segment.
+	 * 
+	 * @param container
+	 * @param segment
+	 * @return Path segment or null if the segment field does not match
+	 */
+	private PathSegment getSegment(NodeGraphFieldContainer container, String segment) {
+		Schema schema = container.getSchemaContainerVersion().getSchema();
+		String segmentFieldName = schema.getSegmentField();
+		// First check whether a string field exists for the given name
+		StringGraphField field = container.getString(segmentFieldName);
+		if (field != null) {
+			String fieldValue = field.getString();
+			if (segment.equals(fieldValue)) {
+				return new PathSegment(container, field, container.getLanguage().getLanguageTag());
+			}
+		}
+
+		// No luck yet - lets check whether a binary field matches the
+		// segmentField
+		BinaryGraphField binaryField = container.getBinary(segmentFieldName);
+		if (binaryField == null) {
+			if (log.isDebugEnabled()) {
+				log.debug("The node {" + getUuid() + "} did not contain a string or a binary field for segment field name {" + segmentFieldName
+						+ "}");
+			}
+		} else {
+			String binaryFilename = binaryField.getFileName();
+			if (segment.equals(binaryFilename)) {
+				return new PathSegment(container, binaryField, container.getLanguage().getLanguageTag());
 			}
 		}
 		return null;
@@ -1771,12 +1926,30 @@ public class NodeImpl extends AbstractGenericFieldContainerVertex<NodeResponse,
 			log.debug("Resolving for path segment {" + segment + "}");
 		}
 
-		// Check all childnodes
-		for (Node childNode : getChildren(releaseUuid)) {
-			PathSegment pathSegment = childNode.getSegment(releaseUuid, type, segment);
-			if (pathSegment != null) {
-				path.addSegment(pathSegment);
-				return childNode.resolvePath(releaseUuid, type, path, pathStack);
+		// The draft and published container edges contain the webroot info of the container within the release of the edge in the form
+		// [segmentValue-releaseUuid-parentNodeUuid]. Thus locate the child using a single index lookup.
+		if (type == DRAFT || type == PUBLISHED) {
+			Database db = MeshInternal.get().database();
+			FramedGraph graph = Tx.getActive().getGraph();
+			String key = segment + "-" + releaseUuid + "-" + getUuid();
+			for (Edge edge : graph.getEdges("e." + HAS_FIELD_CONTAINER.toLowerCase() + "_" + GraphFieldContainerEdgeImpl.WEBROOT_INDEX_POSTFIX, db
+				.createComposedIndexKey(key, type.getCode()))) {
+				NodeGraphFieldContainer container = graph.frameElementExplicit(edge.getVertex(IN), NodeGraphFieldContainerImpl.class);
+				Node childNode = graph.frameElementExplicit(edge.getVertex(OUT), NodeImpl.class);
+				PathSegment pathSegment = ((NodeImpl) childNode).getSegment(container, segment);
+				if (pathSegment != null) {
+					path.addSegment(pathSegment);
+					return childNode.resolvePath(releaseUuid, type, path, pathStack);
+				}
+			}
+		} else {
+			// Other container types are not part of the webroot index
+			for (Node childNode : getChildren(releaseUuid)) {
+				PathSegment pathSegment = childNode.getSegment(releaseUuid, type, segment);
+				if (pathSegment != null) {
+					path.addSegment(pathSegment);
+					return childNode.resolvePath(releaseUuid, type, path, pathStack);
+				}
 			}
 		}
 		throw error(NOT_FOUND, "node_not_found_for_path", path.getTargetPath());
@@ -1784,16 +1957,17 @@ public class NodeImpl extends AbstractGenericFieldContainerVertex<NodeResponse,
 	}
 
 	/**
-	 * Generate the etag for nodes. The etag consists of:
+	 * Generate the etag for nodes. The etag is derived from stored change stamps instead of loading the response data. It consists of:
 	 * <ul>
-	 * <li>uuid of the node</li>
-	 * <li>parent node uuid (which is release specific)</li>
-	 * <li>version and language specific etag of the field container</li>
-	 * <li>availableLanguages</li>
-	 * <li>breadcrumb</li>
-	 * <li>webroot path &amp; language paths</li>
-	 * <li>permissions</li>
+	 * <li>uuid and permissions of the node</li>
+	 * <li>change stamp of the node (bumped on updates, moves, publish, take offline and tagging)</li>
+	 * <li>change stamp of the children of the node (bumped when children are added, moved or removed)</li>
+	 * <li>uuid and change stamp of all parent nodes (which covers moves, breadcrumb and webroot path changes)</li>
+	 * <li>release, project and tag edit timestamps</li>
+	 * <li>change stamps of the roles of the user (which covers the permissions of the listed children)</li>
+	 * <li>request parameters (version, languages, link resolving, expansion, roleUuid)</li>
 	 * </ul>
+	 * Field containers are immutable versions and thus don't need a stamp of their own.
 	 */
 	@Override
 	public String getETag(InternalActionContext ac) {
@@ -1801,147 +1975,80 @@ public class NodeImpl extends AbstractGenericFieldContainerVertex<NodeResponse,
 
 		// Parameters
 		Release release = ac.getRelease(getProject());
-		VersioningParameters versioiningParameters = ac.getVersioningParameters();
-		ContainerType type = forVersion(versioiningParameters.getVersion());
-
-		Node parentNode = getParentNode(release.getUuid());
-		NodeGraphFieldContainer container = findVersion(ac.getNodeParameters().getLanguageList(), release.getUuid(), ac.getVersioningParameters()
-				.getVersion());
+		String releaseUuid = release.getUuid();
+		NodeParameters nodeParameters = ac.getNodeParameters();
 
 		StringBuilder keyBuilder = new StringBuilder();
 		keyBuilder.append(superkey);
-
-		/**
-		 * release uuid
-		 */
-		keyBuilder.append(release.getUuid());
 		keyBuilder.append("-");
-
-		// TODO version, language list
-
-		// We can omit further etag keys since this would return a 404 anyhow
-		// since the requested container could not be found.
-		if (container == null) {
-			keyBuilder.append("404-no-container");
-			return keyBuilder.toString();
-		}
+		keyBuilder.append(getChangeStamp());
+		keyBuilder.append("-");
+		keyBuilder.append(getChildrenChangeStamp());
 
 		/**
-		 * Parent node
+		 * release & project
 		 * 
-		 * The node can be moved and this would also affect the response. The etag must also be changed when the node is moved.
+		 * The hostname settings of the release and the project name are used when rendering links.
 		 */
-		if (parentNode != null) {
-			keyBuilder.append("-");
-			keyBuilder.append(parentNode.getUuid());
-		}
+		keyBuilder.append("-");
+		keyBuilder.append(releaseUuid);
+		keyBuilder.append(release.getLastEditedTimestamp());
+		keyBuilder.append("-");
+		keyBuilder.append(getProject().getLastEditedTimestamp());
 
-		// fields version
-		if (container != null) {
-			keyBuilder.append("-");
-			keyBuilder.append(container.getETag(ac));
+		// Request parameters which change the json response
+		keyBuilder.append("-version:");
+		keyBuilder.append(ac.getVersioningParameters().getVersion());
+		keyBuilder.append("-lang:");
+		keyBuilder.append(nodeParameters.getLanguageList());
+		keyBuilder.append("-links:");
+		keyBuilder.append(nodeParameters.getResolveLinks());
+		if (nodeParameters.getExpandAll()) {
+			keyBuilder.append("-expand:true");
 		}
+		keyBuilder.append("-expandFields:");
+		keyBuilder.append(Arrays.toString(nodeParameters.getExpandedFieldNames()));
 
 		/**
-		 * Expansion (all)
+		 * Parent nodes
 		 * 
-		 * The expandAll parameter changes the json response and thus must be included in the etag computation.
+		 * Moving a node or changing the display name or segment of any parent affects the breadcrumb and the webroot paths.
 		 */
-		if (ac.getNodeParameters().getExpandAll()) {
+		Node current = getParentNode(releaseUuid);
+		while (current != null) {
 			keyBuilder.append("-");
-			keyBuilder.append("expand:true");
+			keyBuilder.append(current.getUuid());
+			keyBuilder.append(current.getChangeStamp());
+			current = current.getParentNode(releaseUuid);
 		}
 
-		// expansion (selective)
-		String expandedFields = Arrays.toString(ac.getNodeParameters().getExpandedFieldNames());
-		keyBuilder.append("-");
-		keyBuilder.append("expandFields:");
-		keyBuilder.append(expandedFields);
-
 		// release specific tags
 		for (Tag tag : getTags(release)) {
-			// Tags can't be moved across releases thus we don't need to add the
-			// tag family etag
-			keyBuilder.append(tag.getETag(ac));
-		}
-
-		// release specific children
-		for (Node child : getChildren(release.getUuid())) {
-			if (ac.getUser().hasPermission(child, READ_PERM)) {
-				keyBuilder.append("-");
-				keyBuilder.append(child.getSchemaContainer().getName());
-			}
-		}
-
-		// editor etag - (can be omitted since update would also affect the
-		// NGFC)
-		// creator etag
-		// keyBuilder.append("-");
-		// keyBuilder.append(getCreator().getETag(ac));
-
-		// availableLanguages
-		keyBuilder.append("-");
-		keyBuilder.append(Arrays.toString(getAvailableLanguageNames(release, type).toArray()));
-
-		// breadcrumb
-		keyBuilder.append("-");
-		Node current = getParentNode(release.getUuid());
-		if (current != null) {
-			while (current != null) {
-
-				String key = current.getUuid() + current.getDisplayName(ac);
-				keyBuilder.append(key);
-				if (LinkType.OFF != ac.getNodeParameters().getResolveLinks()) {
-					WebRootLinkReplacer linkReplacer = MeshInternal.get().webRootLinkReplacer();
-					String url = linkReplacer.resolve(ac, release.getUuid(), type, current.getUuid(), ac.getNodeParameters().getResolveLinks(),
-							getProject().getName(), container.getLanguage().getLanguageTag());
-					keyBuilder.append(url);
-				}
-				current = current.getParentNode(release.getUuid());
-
-			}
+			keyBuilder.append("-");
+			keyBuilder.append(tag.getUuid());
+			keyBuilder.append(tag.getLastEditedTimestamp());
 		}
 
 		/**
-		 * webroot path & language paths
+		 * permissions
 		 * 
-		 * The webroot and language paths must be included in the etag computation in order to invalidate the etag once a node language gets updated or once the
-		 * display name of any parent node changes.
+		 * The listed children depend on the permissions of the roles of the user.
 		 */
-		if (ac.getNodeParameters().getResolveLinks() != LinkType.OFF) {
-
-			WebRootLinkReplacer linkReplacer = MeshInternal.get().webRootLinkReplacer();
-			String path = linkReplacer.resolve(ac, release.getUuid(), type, getUuid(), ac.getNodeParameters().getResolveLinks(), getProject()
-					.getName(), container.getLanguage().getLanguageTag());
-			keyBuilder.append(path);
-
-			// languagePaths
-			for (GraphFieldContainer currentFieldContainer : getGraphFieldContainers(release, forVersion(versioiningParameters.getVersion()))) {
-				Language currLanguage = currentFieldContainer.getLanguage();
-				keyBuilder.append(currLanguage.getLanguageTag() + "=" + linkReplacer.resolve(ac, release.getUuid(), type, this, ac.getNodeParameters()
-						.getResolveLinks(), currLanguage.getLanguageTag()));
-			}
-
+		for (Role role : ac.getUser().getRolesViaShortcut()) {
+			keyBuilder.append("-");
+			keyBuilder.append(role.getUuid());
+			keyBuilder.append(role.getChangeStamp());
 		}
 
-		/**
-		 * permissions (&roleUuid query parameter aware)
-		 * 
-		 * Permissions can change and thus must be included in the etag computation in order to invalidate the etag once the permissions change.
-		 */
+		// roleUuid query parameter
 		String roleUuid = ac.getRolePermissionParameters().getRoleUuid();
 		if (!isEmpty(roleUuid)) {
 			Role role = MeshInternal.get().boot().meshRoot().getRoleRoot().loadObjectByUuid(ac, roleUuid, READ_PERM);
 			if (role != null) {
-				Set<GraphPermission> permSet = role.getPermissions(this);
-				Set<String> humanNames = new HashSet<>();
-				for (GraphPermission permission : permSet) {
-					humanNames.add(permission.getRestPerm().getName());
-				}
-				String[] names = humanNames.toArray(new String[humanNames.size()]);
-				keyBuilder.append(Arrays.toString(names));
+				keyBuilder.append("-role:");
+				keyBuilder.append(role.getUuid());
+				keyBuilder.append(role.getChangeStamp());
 			}
-
 		}
 
 		if (log.isDebugEnabled()) {
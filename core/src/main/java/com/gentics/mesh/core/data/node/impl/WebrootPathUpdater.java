@@ -0,0 +1,183 @@
+package com.gentics.mesh.core.data.node.impl;
+
+import static com.gentics.mesh.util.URIUtils.encodeFragment;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.gentics.mesh.core.data.ContainerType;
+import com.gentics.mesh.core.data.NodeGraphFieldContainer;
+import com.gentics.mesh.core.data.node.Node;
+import com.gentics.mesh.dagger.MeshInternal;
+import com.gentics.mesh.graphdb.spi.Database;
+import com.gentics.mesh.util.UUIDUtil;
+import com.syncleus.ferma.tx.Tx;
+
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+
+/**
+ * Updater for the stored webroot paths of the descendants of a node. The path of each container is computed from the already resolved path of the parent
+ * node so that the segments of the ancestors are only resolved once per language.
+ *
+ * The descendants are updated in batches. The first batch is updated within the current transaction. The remaining descendants are updated in separate
+ * transactions once the current transaction has been committed.
+ */
+public class WebrootPathUpdater {
+
+	private static final Logger log = LoggerFactory.getLogger(WebrootPathUpdater.class);
+
+	/**
+	 * Amount of nodes which will be updated within a single transaction.
+	 */
+	public static final int BATCH_SIZE = 1000;
+
+	private final String releaseUuid;
+
+	private final ContainerType type;
+
+	private final Collection<? extends String> allLanguages;
+
+	private final Deque<PathEntry> pending = new ArrayDeque<>();
+
+	/**
+	 * Create a new updater for the descendants of the given node.
+	 *
+	 * @param node
+	 *            Node of which the descendants should be updated
+	 * @param releaseUuid
+	 *            release Uuid
+	 * @param type
+	 *            edge type
+	 */
+	public WebrootPathUpdater(Node node, String releaseUuid, ContainerType type) {
+		this.releaseUuid = releaseUuid;
+		this.type = type;
+		this.allLanguages = MeshInternal.get().boot().getAllLanguageTags();
+		pending.push(new PathEntry(node, null));
+	}
+
+	/**
+	 * Update the stored webroot paths of all descendants.
+	 */
+	public void update() {
+		updateBatch();
+		if (!pending.isEmpty()) {
+			Database db = MeshInternal.get().database();
+			db.afterCommit("webroot-paths-" + UUIDUtil.randomUUID(), () -> {
+				log.info("Updating the webroot paths of the remaining descendants in release {" + releaseUuid + "} in batches of {" + BATCH_SIZE + "}");
+				while (!pending.isEmpty()) {
+					db.tx(() -> updateBatch());
+				}
+			});
+		}
+	}
+
+	/**
+	 * Update the containers of the children of the pending nodes until the batch size has been reached.
+	 */
+	private void updateBatch() {
+		int count = 0;
+		while (!pending.isEmpty() && count < BATCH_SIZE) {
+			PathEntry entry = pending.pop();
+			for (Node child : entry.getNode().getChildren(releaseUuid)) {
+				for (NodeGraphFieldContainer container : child.getGraphFieldContainers(releaseUuid, type)) {
+					String[] languages = NodeGraphFieldContainer.getWebrootPathLanguages(container.getLanguage().getLanguageTag());
+					container.setWebrootPath(releaseUuid, type, appendSegment(getPath(entry, languages), child, languages));
+				}
+				pending.push(new PathEntry(child, entry));
+				count++;
+			}
+		}
+	}
+
+	/**
+	 * Return the path of the node of the entry. The path is used as prefix for the paths of the children which use the given languages. Like
+	 * {@link Node#computePath(String, ContainerType, String...)} any language of the project is allowed for the segments of the parent nodes.
+	 *
+	 * @param entry
+	 * @param languages
+	 *            Languages of the child containers
+	 * @return Path or null if one of the segments could not be resolved
+	 */
+	private String getPath(PathEntry entry, String[] languages) {
+		List<String> pathLanguages = Stream.concat(Arrays.stream(languages), allLanguages.stream()).distinct().collect(Collectors.toList());
+		return getPath(entry, pathLanguages);
+	}
+
+	private String getPath(PathEntry entry, List<String> pathLanguages) {
+		if (entry.paths.containsKey(pathLanguages)) {
+			return entry.paths.get(pathLanguages);
+		}
+		Node node = entry.getNode();
+		String[] languages = pathLanguages.toArray(new String[pathLanguages.size()]);
+		String path;
+		if (entry.parent == null) {
+			// The children of the project base node don't have a prefix
+			path = node.getParentNode(releaseUuid) == null ? "" : node.computePath(releaseUuid, type, languages);
+		} else {
+			path = appendSegment(getPath(entry.parent, pathLanguages), node, languages);
+		}
+		entry.paths.put(pathLanguages, path);
+		return path;
+	}
+
+	/**
+	 * Append the segment of the node to the given path.
+	 *
+	 * @param path
+	 * @param node
+	 * @param languages
+	 * @return Path or null if the path or the segment could not be resolved
+	 */
+	private String appendSegment(String path, Node node, String[] languages) {
+		if (path == null) {
+			return null;
+		}
+		String segment = node.getPathSegment(releaseUuid, type, languages);
+		if (segment == null) {
+			return null;
+		}
+		return path + "/" + encodeFragment(segment);
+	}
+
+	/**
+	 * Node with the already resolved paths per list of languages. The node is reloaded if the entry is used within another transaction.
+	 */
+	private static class PathEntry {
+
+		private final Object id;
+
+		private final PathEntry parent;
+
+		private final Map<List<String>, String> paths = new HashMap<>();
+
+		private Node node;
+
+		private Tx tx;
+
+		PathEntry(Node node, PathEntry parent) {
+			this.id = node.getId();
+			this.node = node;
+			this.tx = Tx.getActive();
+			this.parent = parent;
+		}
+
+		Node getNode() {
+			Tx active = Tx.getActive();
+			if (active != tx) {
+				node = active.getGraph().getFramedVertexExplicit(NodeImpl.class, id);
+				tx = active;
+			}
+			return node;
+		}
+	}
+
+}
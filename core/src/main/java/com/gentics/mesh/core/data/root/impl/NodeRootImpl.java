@@ -1,19 +1,25 @@
 package com.gentics.mesh.core.data.root.impl;
 
+import static com.gentics.mesh.core.data.ContainerType.INITIAL;
 import static com.gentics.mesh.core.data.relationship.GraphPermission.CREATE_PERM;
 import static com.gentics.mesh.core.data.relationship.GraphPermission.PUBLISH_PERM;
 import static com.gentics.mesh.core.data.relationship.GraphPermission.READ_PERM;
 import static com.gentics.mesh.core.data.relationship.GraphPermission.READ_PUBLISHED_PERM;
 import static com.gentics.mesh.core.data.relationship.GraphRelationships.HAS_FIELD_CONTAINER;
 import static com.gentics.mesh.core.data.relationship.GraphRelationships.HAS_NODE;
+import static com.gentics.mesh.core.data.relationship.GraphRelationships.HAS_PARENT_NODE;
 import static com.gentics.mesh.core.rest.error.Errors.error;
 import static io.netty.handler.codec.http.HttpResponseStatus.BAD_REQUEST;
 import static io.netty.handler.codec.http.HttpResponseStatus.FORBIDDEN;
 import static io.netty.handler.codec.http.HttpResponseStatus.NOT_FOUND;
 import static org.apache.commons.lang3.StringUtils.isEmpty;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
 
@@ -23,10 +29,12 @@ import com.gentics.mesh.core.data.ContainerType;
 import com.gentics.mesh.core.data.Language;
 import com.gentics.mesh.core.data.MeshAuthUser;
 import com.gentics.mesh.core.data.NodeGraphFieldContainer;
+import com.gentics.mesh.core.data.PermissionEvaluator;
 import com.gentics.mesh.core.data.Project;
 import com.gentics.mesh.core.data.Release;
 import com.gentics.mesh.core.data.Role;
 import com.gentics.mesh.core.data.User;
+import com.gentics.mesh.core.data.container.impl.NodeGraphFieldContainerImpl;
 import com.gentics.mesh.core.data.generic.MeshVertexImpl;
 import com.gentics.mesh.core.data.impl.GraphFieldContainerEdgeImpl;
 import com.gentics.mesh.core.data.node.Node;
@@ -48,6 +56,7 @@ import com.gentics.mesh.json.JsonUtil;
 import com.gentics.mesh.parameter.PagingParameters;
 import com.syncleus.ferma.FramedGraph;
 import com.syncleus.ferma.traversals.VertexTraversal;
+import com.tinkerpop.blueprints.Direction;
 import com.tinkerpop.blueprints.Edge;
 
 import io.vertx.core.logging.Logger;
@@ -121,6 +130,52 @@ public class NodeRootImpl extends AbstractRootVertex<Node> implements NodeRoot {
 		return edges.iterator().hasNext();
 	}
 
+	@Override
+	public List<NodeGraphFieldContainer> findVersions(List<? extends Node> nodes, List<String> languageTags, String releaseUuid, String version) {
+		ContainerType type = ContainerType.forVersion(version);
+		// Specific versions can only be located by traversing the version chain of each node
+		if (type == INITIAL) {
+			return nodes.stream().map(node -> node.findVersion(languageTags, releaseUuid, version)).collect(Collectors.toList());
+		}
+
+		List<List<Object>> keys = new ArrayList<>();
+		for (Node node : nodes) {
+			for (String languageTag : languageTags) {
+				keys.add(Arrays.asList(node.getId(), releaseUuid, type.getCode(), languageTag));
+			}
+		}
+		Map<List<Object>, Edge> edges = database().getEdges(HAS_FIELD_CONTAINER, "release_type_lang", keys);
+
+		FramedGraph graph = getGraph();
+		List<NodeGraphFieldContainer> containers = new ArrayList<>(nodes.size());
+		for (Node node : nodes) {
+			NodeGraphFieldContainer container = null;
+			for (String languageTag : languageTags) {
+				Edge edge = edges.get(Arrays.asList(node.getId(), releaseUuid, type.getCode(), languageTag));
+				if (edge != null) {
+					container = graph.frameElementExplicit(edge.getVertex(Direction.IN), NodeGraphFieldContainerImpl.class);
+					break;
+				}
+			}
+			containers.add(container);
+		}
+		return containers;
+	}
+
+	@Override
+	public List<Node> findParentNodes(List<? extends Node> nodes, String releaseUuid) {
+		List<List<Object>> keys = nodes.stream().map(node -> Arrays.<Object>asList(node.getId(), releaseUuid)).collect(Collectors.toList());
+		Map<List<Object>, Edge> edges = database().getEdges(HAS_PARENT_NODE, "release_out", keys);
+
+		FramedGraph graph = getGraph();
+		List<Node> parents = new ArrayList<>(nodes.size());
+		for (List<Object> key : keys) {
+			Edge edge = edges.get(key);
+			parents.add(edge == null ? null : graph.frameElementExplicit(edge.getVertex(Direction.IN), NodeImpl.class));
+		}
+		return parents;
+	}
+
 	@Override
 	public Node loadObjectByUuid(InternalActionContext ac, String uuid, GraphPermission perm) {
 		Node element = findByUuid(uuid);
@@ -170,8 +225,9 @@ public class NodeRootImpl extends AbstractRootVertex<Node> implements NodeRoot {
 	 * @return vertex traversal
 	 */
 	protected VertexTraversal<?, ?, ?> getAllTraversal(MeshAuthUser requestUser, Release release, ContainerType type, GraphPermission permission) {
+		PermissionEvaluator evaluator = requestUser.createPermissionEvaluator();
 		return out(getRootLabel()).filter(vertex -> {
-			return requestUser.hasPermissionForId(vertex.getId(), permission);
+			return evaluator.hasPermissionForId(vertex.getId(), permission);
 		}).mark().outE(HAS_FIELD_CONTAINER).has(GraphFieldContainerEdgeImpl.RELEASE_UUID_KEY, release.getUuid())
 				.has(GraphFieldContainerEdgeImpl.EDGE_TYPE_KEY, type.getCode()).outV().back();
 	}
@@ -93,6 +93,11 @@ public class DummySearchQueueBatch implements SearchQueueBatch {
 
 	}
 
+	@Override
+	public void dispatch() {
+
+	}
+
 	@Override
 	public void printDebug() {
 
@@ -1,5 +1,6 @@
 package com.gentics.mesh.core.data.search.impl;
 
+import static com.gentics.mesh.Events.SEARCH_INDEXER_ADDRESS;
 import static com.gentics.mesh.core.data.search.SearchQueueEntryAction.DELETE_ACTION;
 import static com.gentics.mesh.core.data.search.SearchQueueEntryAction.STORE_ACTION;
 import static com.gentics.mesh.core.rest.error.Errors.error;
@@ -13,6 +14,7 @@ import java.util.stream.Collectors;
 
 import javax.inject.Inject;
 
+import com.gentics.mesh.Mesh;
 import com.gentics.mesh.core.data.ContainerType;
 import com.gentics.mesh.core.data.IndexableElement;
 import com.gentics.mesh.core.data.NodeGraphFieldContainer;
@@ -76,6 +78,9 @@ public class SearchQueueBatchImpl implements SearchQueueBatch {
 	@Inject
 	SearchProvider searchProvider;
 
+	@Inject
+	SearchQueueJournal journal;
+
 	@Inject
 	public SearchQueueBatchImpl() {
 	}
@@ -247,32 +252,34 @@ public class SearchQueueBatchImpl implements SearchQueueBatch {
 		return Completable.defer(() -> {
 			// Process the batch
 			Completable obs = Completable.complete();
-			List<? extends SearchQueueEntry> nonStoreEntries = getEntries().stream().filter(i -> i.getElementAction() != STORE_ACTION).collect(
-					Collectors.toList());
+			List<? extends SearchQueueEntry> indexEntries = getEntries().stream().filter(i -> !i.isBulkable()).collect(Collectors.toList());
 
-			List<? extends SearchQueueEntry> storeEntries = getEntries().stream().filter(i -> i.getElementAction() == STORE_ACTION).collect(Collectors
-					.toList());
+			// Apply the store entries last to retain the previous order in which the non-store entries were handled first
+			List<SearchQueueEntry<?>> bulkEntries = new ArrayList<>();
+			getEntries().stream().filter(i -> i.isBulkable() && i.getElementAction() != STORE_ACTION).forEach(bulkEntries::add);
+			getEntries().stream().filter(i -> i.isBulkable() && i.getElementAction() == STORE_ACTION).forEach(bulkEntries::add);
 
-			if (!nonStoreEntries.isEmpty()) {
-				obs = Completable.concat(nonStoreEntries.stream().map(entry -> entry.process()).collect(Collectors.toList()));
+			// Index creation and removal must be completed before any document can be added to the index
+			if (!indexEntries.isEmpty()) {
+				obs = Completable.concat(indexEntries.stream().map(entry -> entry.process()).collect(Collectors.toList()));
 			}
-			AtomicLong counter = new AtomicLong();
-			if (!storeEntries.isEmpty()) {
-				List<Completable> entryList = storeEntries.stream().map(entry -> entry.process()).collect(Collectors.toList());
-				// Handle all entries sequentially since some entries create entries and those need to be executed first
-				int batchSize = 8;
-				long totalBatchCount = entryList.size() / batchSize + 1;
-				Observable<Completable> obs2 = Observable.fromIterable(entryList);
-				Observable<List<Completable>> buffers = obs2.buffer(batchSize);
-				// First ensure that the non-store events are processed before handling the store batches
-				obs = obs.andThen(buffers.map(i -> Completable.merge(i).doOnComplete(() -> {
-					if (totalBatchCount > 0) {
-						log.info("Search queue entry batch completed {" + counter.incrementAndGet() + "/" + totalBatchCount + "}");
-					}
-				})).toList().flatMapCompletable(it -> Completable.concat(it)));
+			if (!bulkEntries.isEmpty()) {
+				int bulkLimit = Math.max(1, Mesh.mesh().getOptions().getSearchOptions().getBulkLimit());
+				AtomicLong counter = new AtomicLong();
+				// The documents are generated lazily so that only the documents of the current bulk request are held in memory. The provider will
+				// additionally split the bulk request if the length limit has been exceeded.
+				obs = obs.andThen(Observable.fromIterable(bulkEntries).concatMap(entry -> entry.processForBulk()).buffer(bulkLimit).concatMapCompletable(
+						bulk -> searchProvider.processBulk(bulk).doOnComplete(() -> {
+							long count = counter.addAndGet(bulk.size());
+							if (log.isDebugEnabled()) {
+								log.debug("Processed {" + count + "} bulk actions of batch {" + batchId + "}");
+							}
+						})));
 			}
 
-			return obs.andThen(searchProvider.refreshIndex()).doOnComplete(() -> {
+			// Only refresh the indices which were modified. Concurrent batches will share the refresh. The refresh must be requested once all entries
+			// have been processed since the modified indices are only known at that point.
+			return obs.andThen(Completable.defer(searchProvider::refreshModifiedIndices)).doOnComplete(() -> {
 				if (log.isDebugEnabled()) {
 					log.debug("Handled all search queue items.");
 				}
@@ -301,6 +308,17 @@ public class SearchQueueBatchImpl implements SearchQueueBatch {
 		processSync(120, TimeUnit.SECONDS);
 	}
 
+	@Override
+	public void dispatch() {
+		if (journal.isEnabled() && journal.append(this)) {
+			clear();
+			// Notify the local indexer about the new batch
+			Mesh.vertx().eventBus().send(SEARCH_INDEXER_ADDRESS, null);
+		} else {
+			processSync();
+		}
+	}
+
 	@Override
 	public void clear() {
 		entries.clear();
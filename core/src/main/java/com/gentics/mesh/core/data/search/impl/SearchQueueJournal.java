@@ -0,0 +1,372 @@
+package com.gentics.mesh.core.data.search.impl;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.inject.Inject;
+import javax.inject.Provider;
+import javax.inject.Singleton;
+
+import com.gentics.mesh.Mesh;
+import com.gentics.mesh.core.data.ContainerType;
+import com.gentics.mesh.core.data.search.IndexHandler;
+import com.gentics.mesh.core.data.search.SearchQueueBatch;
+import com.gentics.mesh.core.data.search.SearchQueueEntry;
+import com.gentics.mesh.core.data.search.SearchQueueEntryAction;
+import com.gentics.mesh.core.data.search.context.GenericEntryContext;
+import com.gentics.mesh.core.data.search.context.impl.GenericEntryContextImpl;
+import com.gentics.mesh.etc.config.search.ElasticSearchOptions;
+import com.gentics.mesh.search.IndexHandlerRegistry;
+import com.gentics.mesh.search.index.entry.UpdateDocumentEntryImpl;
+import com.gentics.mesh.util.UUIDUtil;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+
+/**
+ * Durable journal for search queue batches which will be applied asynchronously by the background indexer. Each batch is written to a dedicated file within
+ * the journal directory before the request returns. The file will be removed once the batch has been applied to the search index. Pending batches will thus
+ * survive a restart and are loaded again when the indexer gets started.
+ *
+ * Only batches which solely contain document update entries (store, delete, permission update) can be written to the journal since those entries can be
+ * restored using the element uuid. Index create, drop and move entries reference graph or schema information and must still be processed synchronously.
+ */
+@Singleton
+public class SearchQueueJournal {
+
+	private static final Logger log = LoggerFactory.getLogger(SearchQueueJournal.class);
+
+	private static final String FILE_SUFFIX = ".json";
+
+	private static final String FAILED_SUFFIX = ".failed";
+
+	/**
+	 * Pending records. The map is sorted by the record name which starts with the creation timestamp.
+	 */
+	private final ConcurrentSkipListMap<String, JournalRecord> records = new ConcurrentSkipListMap<>();
+
+	/**
+	 * Sequence which orders the records that were written within the same millisecond.
+	 */
+	private long sequence = 0;
+
+	private long lastTimestamp = 0;
+
+	@Inject
+	public IndexHandlerRegistry registry;
+
+	@Inject
+	public Provider<SearchQueueBatch> batchProvider;
+
+	@Inject
+	public SearchQueueJournal() {
+	}
+
+	/**
+	 * Check whether asynchronous indexing has been enabled.
+	 *
+	 * @return
+	 */
+	public boolean isEnabled() {
+		ElasticSearchOptions options = Mesh.mesh().getOptions().getSearchOptions();
+		return options != null && options.getUrl() != null && options.isAsyncIndexing();
+	}
+
+	/**
+	 * Return the journal directory.
+	 *
+	 * @return
+	 */
+	public Path getDirectory() {
+		return Paths.get(Mesh.mesh().getOptions().getSearchOptions().getAsyncIndexingDirectory());
+	}
+
+	/**
+	 * Write the entries of the batch to the journal.
+	 *
+	 * @param batch
+	 * @return false if the batch contains entries which can't be written to the journal. The batch must be processed synchronously in this case.
+	 */
+	public boolean append(SearchQueueBatch batch) {
+		JsonArray entries = new JsonArray();
+		for (SearchQueueEntry<?> entry : batch.getEntries()) {
+			if (!(entry instanceof UpdateDocumentEntryImpl)) {
+				return false;
+			}
+			entries.add(toJson((UpdateDocumentEntryImpl) entry));
+		}
+		if (entries.isEmpty()) {
+			return true;
+		}
+
+		long timestamp = System.currentTimeMillis();
+		String name = nextName(timestamp);
+		JsonObject json = new JsonObject().put("timestamp", timestamp).put("entries", entries);
+		try {
+			Path dir = getDirectory();
+			Files.createDirectories(dir);
+			Path tmpFile = dir.resolve(name + ".tmp");
+			Files.write(tmpFile, json.encode().getBytes(StandardCharsets.UTF_8));
+			try (FileChannel channel = FileChannel.open(tmpFile, WRITE)) {
+				channel.force(true);
+			}
+			Files.move(tmpFile, dir.resolve(name + FILE_SUFFIX), ATOMIC_MOVE);
+		} catch (IOException e) {
+			log.error("Could not write batch to search queue journal {" + getDirectory() + "}. Processing the batch synchronously.", e);
+			return false;
+		}
+		records.put(name, new JournalRecord(name, json));
+		return true;
+	}
+
+	/**
+	 * Return a new record name. The names are strictly increasing so that the records are sorted in the order in which they were written.
+	 *
+	 * @param timestamp
+	 * @return
+	 */
+	private synchronized String nextName(long timestamp) {
+		if (timestamp > lastTimestamp) {
+			lastTimestamp = timestamp;
+			sequence = 0;
+		} else {
+			sequence++;
+		}
+		return String.format("%013d-%06d-%s", lastTimestamp, sequence, UUIDUtil.randomUUID());
+	}
+
+	/**
+	 * Load all pending records from the journal directory. Records of files which were not fully written are ignored.
+	 */
+	public void load() {
+		Path dir = getDirectory();
+		if (!Files.exists(dir)) {
+			return;
+		}
+		try (Stream<Path> files = Files.list(dir)) {
+			for (Path file : files.filter(f -> f.getFileName().toString().endsWith(FILE_SUFFIX)).collect(Collectors.toList())) {
+				String fileName = file.getFileName().toString();
+				String name = fileName.substring(0, fileName.length() - FILE_SUFFIX.length());
+				if (records.containsKey(name)) {
+					continue;
+				}
+				try {
+					JsonObject json = new JsonObject(new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+					records.put(name, new JournalRecord(name, json));
+				} catch (Exception e) {
+					log.error("Could not read search queue journal file {" + file + "}", e);
+				}
+			}
+		} catch (IOException e) {
+			log.error("Could not list search queue journal directory {" + dir + "}", e);
+		}
+		if (!records.isEmpty()) {
+			log.info("Loaded {" + records.size() + "} pending batches from the search queue journal");
+		}
+	}
+
+	/**
+	 * Return up to the given amount of records which are ready for processing. The records will be flagged as being in progress.
+	 *
+	 * A record is only returned if no older record which references one of the same elements is still pending. Updates of an element are thus applied in the
+	 * order in which they were written, even if an older record is in progress or waits for a retry.
+	 *
+	 * @param limit
+	 * @return
+	 */
+	public synchronized List<JournalRecord> poll(int limit) {
+		List<JournalRecord> result = new ArrayList<>();
+		long now = System.currentTimeMillis();
+		Set<String> pendingElements = new HashSet<>();
+		for (JournalRecord record : records.values()) {
+			if (result.size() >= limit) {
+				break;
+			}
+			if (!record.inProgress && record.nextAttempt <= now && Collections.disjoint(pendingElements, record.elements)) {
+				record.inProgress = true;
+				result.add(record);
+			}
+			pendingElements.addAll(record.elements);
+		}
+		return result;
+	}
+
+	/**
+	 * Remove the record from the journal since it has been applied to the search index.
+	 *
+	 * @param record
+	 */
+	public void complete(JournalRecord record) {
+		records.remove(record.name);
+		try {
+			Files.deleteIfExists(getDirectory().resolve(record.name + FILE_SUFFIX));
+		} catch (IOException e) {
+			log.error("Could not delete search queue journal file of record {" + record.name + "}", e);
+		}
+	}
+
+	/**
+	 * Release the record so that it can be processed again after the given delay.
+	 *
+	 * @param record
+	 * @param delayMs
+	 */
+	public void retry(JournalRecord record, long delayMs) {
+		record.attempts++;
+		record.nextAttempt = System.currentTimeMillis() + delayMs;
+		record.inProgress = false;
+	}
+
+	/**
+	 * Remove the record from the queue. The journal file will be kept with a dedicated suffix in order to allow inspection of the failed batch.
+	 *
+	 * @param record
+	 */
+	public void fail(JournalRecord record) {
+		records.remove(record.name);
+		Path dir = getDirectory();
+		try {
+			Files.move(dir.resolve(record.name + FILE_SUFFIX), dir.resolve(record.name + FAILED_SUFFIX));
+		} catch (IOException e) {
+			log.error("Could not move search queue journal file of record {" + record.name + "}", e);
+		}
+	}
+
+	/**
+	 * Return the amount of batches which have not yet been applied to the search index.
+	 *
+	 * @return
+	 */
+	public long getQueueDepth() {
+		return records.size();
+	}
+
+	/**
+	 * Return the age of the oldest batch which has not yet been applied to the search index.
+	 *
+	 * @return Lag in milliseconds
+	 */
+	public long getLag() {
+		Entry<String, JournalRecord> oldest = records.firstEntry();
+		if (oldest == null) {
+			return 0;
+		}
+		return Math.max(0, System.currentTimeMillis() - oldest.getValue().timestamp);
+	}
+
+	/**
+	 * Restore the batch of the given record.
+	 *
+	 * @param record
+	 * @return
+	 */
+	public SearchQueueBatch toBatch(JournalRecord record) {
+		SearchQueueBatch batch = batchProvider.get();
+		for (Object item : record.json.getJsonArray("entries")) {
+			JsonObject json = (JsonObject) item;
+			IndexHandler<?> handler;
+			try {
+				handler = registry.getForClass(Class.forName(json.getString("elementClass")));
+			} catch (ClassNotFoundException e) {
+				throw new RuntimeException("Could not find element class of journal entry {" + json.encode() + "}", e);
+			}
+			SearchQueueEntryAction action = SearchQueueEntryAction.valueOf(json.getString("action"));
+			batch.addEntry(new UpdateDocumentEntryImpl(handler, json.getString("elementUuid"), toContext(json.getJsonObject("context")), action));
+		}
+		return batch;
+	}
+
+	private JsonObject toJson(UpdateDocumentEntryImpl entry) {
+		JsonObject json = new JsonObject();
+		json.put("action", entry.getElementAction().name());
+		json.put("elementUuid", entry.getElementUuid());
+		json.put("elementClass", entry.getIndexHandler().getElementClass().getName());
+		GenericEntryContext context = entry.getContext();
+		JsonObject jsonContext = new JsonObject();
+		if (context != null) {
+			jsonContext.put("projectUuid", context.getProjectUuid());
+			jsonContext.put("releaseUuid", context.getReleaseUuid());
+			if (context.getContainerType() != null) {
+				jsonContext.put("containerType", context.getContainerType().name());
+			}
+			jsonContext.put("languageTag", context.getLanguageTag());
+			jsonContext.put("schemaContainerVersionUuid", context.getSchemaContainerVersionUuid());
+		}
+		json.put("context", jsonContext);
+		return json;
+	}
+
+	private GenericEntryContext toContext(JsonObject json) {
+		GenericEntryContextImpl context = new GenericEntryContextImpl();
+		context.setProjectUuid(json.getString("projectUuid"));
+		context.setReleaseUuid(json.getString("releaseUuid"));
+		String containerType = json.getString("containerType");
+		if (containerType != null) {
+			context.setContainerType(ContainerType.valueOf(containerType));
+		}
+		context.setLanguageTag(json.getString("languageTag"));
+		context.setSchemaContainerVersionUuid(json.getString("schemaContainerVersionUuid"));
+		return context;
+	}
+
+	/**
+	 * A single batch within the journal.
+	 */
+	public static class JournalRecord {
+
+		private final String name;
+
+		private final JsonObject json;
+
+		private final long timestamp;
+
+		private volatile boolean inProgress = false;
+
+		private volatile int attempts = 0;
+
+		private volatile long nextAttempt = 0;
+
+		/**
+		 * Keys of the elements which are referenced by the entries of the record.
+		 */
+		private final Set<String> elements = new HashSet<>();
+
+		public JournalRecord(String name, JsonObject json) {
+			this.name = name;
+			this.json = json;
+			this.timestamp = json.getLong("timestamp", System.currentTimeMillis());
+			for (Object item : json.getJsonArray("entries")) {
+				JsonObject entry = (JsonObject) item;
+				elements.add(entry.getString("elementClass") + ":" + entry.getString("elementUuid"));
+			}
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public int getAttempts() {
+			return attempts;
+		}
+
+	}
+
+}
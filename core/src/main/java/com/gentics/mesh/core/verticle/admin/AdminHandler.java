@@ -18,6 +18,8 @@ import javax.inject.Singleton;
 import com.gentics.mesh.Mesh;
 import com.gentics.mesh.MeshStatus;
 import com.gentics.mesh.context.InternalActionContext;
+import com.gentics.mesh.core.data.search.impl.SearchQueueJournal;
+import com.gentics.mesh.core.image.spi.ImageManipulator;
 import com.gentics.mesh.core.rest.admin.status.MeshStatusResponse;
 import com.gentics.mesh.core.verticle.handler.AbstractHandler;
 import com.gentics.mesh.etc.config.MeshOptions;
@@ -39,14 +41,23 @@ public class AdminHandler extends AbstractHandler {
 
 	private Database db;
 
+	private SearchQueueJournal searchQueueJournal;
+
+	private ImageManipulator imageManipulator;
+
 	@Inject
-	public AdminHandler(Database db) {
+	public AdminHandler(Database db, SearchQueueJournal searchQueueJournal, ImageManipulator imageManipulator) {
 		this.db = db;
+		this.searchQueueJournal = searchQueueJournal;
+		this.imageManipulator = imageManipulator;
 	}
 
 	public void handleMeshStatus(InternalActionContext ac) {
 		MeshStatusResponse response = new MeshStatusResponse();
 		response.setStatus(Mesh.mesh().getStatus());
+		response.setSearchQueueDepth(searchQueueJournal.getQueueDepth());
+		response.setSearchQueueLag(searchQueueJournal.getLag());
+		response.setImageProcessing(imageManipulator.getStatus());
 		ac.send(response, OK);
 	}
 
@@ -178,8 +178,8 @@ public class MicroschemaCrudHandler extends AbstractCrudHandler<MicroschemaConta
 
 		db.asyncTx(() -> {
 			Project project = ac.getProject();
+			String projectUuid = project.getUuid();
 			if (!ac.getUser().hasPermission(project, UPDATE_PERM)) {
-				String projectUuid = project.getUuid();
 				throw error(FORBIDDEN, "error_missing_perm", projectUuid);
 			}
 			MicroschemaContainer microschema = getRootVertex(ac).loadObjectByUuid(ac, microschemaUuid, READ_PERM);
@@ -189,11 +189,14 @@ public class MicroschemaCrudHandler extends AbstractCrudHandler<MicroschemaConta
 				return microschema.transformToRest(ac, 0);
 			}
 
-			return db.tx(() -> {
+			Single<MicroschemaResponse> model = db.tx(() -> {
 				// Assign the microschema to the project
 				root.addMicroschema(ac.getUser(), microschema);
 				return microschema.transformToRest(ac, 0);
 			});
+			// The GraphQL schema of the project depends on the assigned microschemas. The event must not be sent before the change has been committed.
+			db.afterCommit("project-updated-" + projectUuid, () -> db.tx(() -> project.onUpdated()));
+			return model;
 		}).subscribe(model -> ac.send(model, OK), ac::fail);
 	}
 
@@ -208,10 +211,11 @@ public class MicroschemaCrudHandler extends AbstractCrudHandler<MicroschemaConta
 			}
 			// TODO check whether microschema is assigned to project
 			MicroschemaContainer microschema = getRootVertex(ac).loadObjectByUuid(ac, microschemaUuid, READ_PERM);
-			return db.tx(() -> {
+			db.tx(() -> {
 				project.getMicroschemaContainerRoot().removeMicroschema(microschema);
-				return Single.just(Optional.empty());
 			});
+			db.afterCommit("project-updated-" + projectUuid, () -> db.tx(() -> project.onUpdated()));
+			return Single.just(Optional.empty());
 		}).subscribe(model -> ac.send(NO_CONTENT), ac::fail);
 	}
 }
@@ -8,9 +8,13 @@ import static com.gentics.mesh.core.rest.admin.migration.MigrationStatus.RUNNING
 import static com.gentics.mesh.core.rest.error.Errors.error;
 import static io.netty.handler.codec.http.HttpResponseStatus.BAD_REQUEST;
 
+import java.util.Arrays;
+
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
+import com.gentics.mesh.core.data.ContainerType;
+import com.gentics.mesh.core.data.NodeGraphFieldContainer;
 import com.gentics.mesh.core.data.Project;
 import com.gentics.mesh.core.data.Release;
 import com.gentics.mesh.core.data.impl.GraphFieldContainerEdgeImpl;
@@ -132,6 +136,13 @@ public class ReleaseMigrationHandler extends AbstractMigrationHandler {
 			node.setParentNode(newRelease.getUuid(), parent);
 		}
 
+		// The containers are shared with the old release. Store the webroot info of the new release on the new edges.
+		for (ContainerType type : Arrays.asList(DRAFT, PUBLISHED)) {
+			for (NodeGraphFieldContainer container : node.getGraphFieldContainers(newRelease, type)) {
+				container.updateWebrootEdgeInfo(newRelease.getUuid(), type);
+			}
+		}
+
 		// migrate tags
 		node.getTags(oldRelease).forEach(tag -> node.addTag(tag, newRelease));
 		return batch;
@@ -11,6 +11,12 @@ import static io.netty.handler.codec.http.HttpResponseStatus.NOT_FOUND;
 import static io.netty.handler.codec.http.HttpResponseStatus.OK;
 import static org.apache.commons.lang3.StringUtils.isEmpty;
 
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -51,6 +57,7 @@ import com.gentics.mesh.handler.ActionContext;
 import com.gentics.mesh.json.JsonUtil;
 import com.gentics.mesh.parameter.ImageManipulationParameters;
 import com.gentics.mesh.parameter.image.CropMode;
+import com.gentics.mesh.parameter.image.ImageFormat;
 import com.gentics.mesh.parameter.impl.ImageManipulationParametersImpl;
 import com.gentics.mesh.storage.BinaryStorage;
 import com.gentics.mesh.util.FileUtils;
@@ -61,7 +68,6 @@ import io.reactivex.Flowable;
 import io.reactivex.Single;
 import io.vertx.core.MultiMap;
 import io.vertx.core.buffer.Buffer;
-import io.vertx.core.file.AsyncFile;
 import io.vertx.core.file.OpenOptions;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
@@ -77,6 +83,13 @@ public class BinaryFieldHandler extends AbstractHandler {
 
 	private static final Logger log = LoggerFactory.getLogger(BinaryFieldHandler.class);
 
+	private static final int UPLOAD_READ_BUFFER_SIZE = 64 * 1024;
+
+	/**
+	 * Amount of bytes at the beginning of an uploaded image which are kept in memory to read the image dimensions.
+	 */
+	private static final int IMAGE_HEADER_PROBE_SIZE = 128 * 1024;
+
 	private ImageManipulator imageManipulator;
 
 	private Database db;
@@ -251,13 +264,14 @@ public class BinaryFieldHandler extends AbstractHandler {
 
 			// Check whether the binary with the given hashsum was already stored
 			BinaryRoot binaryRoot = boot.get().meshRoot().getBinaryRoot();
-			String hash = FileUtils.hash(ul.uploadedFileName());
+			TransformationResult uploadInfo = analyzeUpload(ac, ul);
+			String hash = uploadInfo.getHash();
 			Binary binary = binaryRoot.findByHash(hash);
 
 			// Create a new binary if the data was not already stored
 			boolean storeBinary = binary == null;
 			if (storeBinary) {
-				binary = binaryRoot.create(hash, ul.size());
+				binary = binaryRoot.create(hash, uploadInfo.getSize());
 			}
 
 			// Get the potential existing field
@@ -277,7 +291,7 @@ public class BinaryFieldHandler extends AbstractHandler {
 			}
 
 			// Process the upload which will update the binary field
-			processUpload(ac, ul, field, storeBinary);
+			processUpload(ac, ul, uploadInfo, field, storeBinary);
 
 			// Now get rid of the old field
 			if (oldField != null) {
@@ -288,10 +302,75 @@ public class BinaryFieldHandler extends AbstractHandler {
 				newDraftVersion.updateWebrootPathInfo(release.getUuid(), "node_conflicting_segmentfield_upload");
 			}
 
-			return batch.store(node, release.getUuid(), DRAFT, false).processAsync().andThen(node.transformToRest(ac, 0));
+			String binaryUuid = binary.getUuid();
+			String mimeType = field.getMimeType();
+			return batch.store(node, release.getUuid(), DRAFT, false).processAsync().andThen(node.transformToRest(ac, 0)).doOnSuccess(model -> {
+				if (uploadInfo.getImageInfo() != null) {
+					generatePresetVariants(binaryUuid, hash, mimeType);
+				}
+			});
 		}).subscribe(model -> ac.send(model, CREATED), ac::fail);
 	}
 
+	/**
+	 * Generate the variants of the configured image presets in the background. Errors are only logged since the variants will otherwise be generated once
+	 * they are requested.
+	 * 
+	 * @param binaryUuid
+	 * @param sha512sum
+	 * @param mimeType
+	 */
+	private void generatePresetVariants(String binaryUuid, String sha512sum, String mimeType) {
+		imageManipulator.generatePresetVariants(binaryStorage.read(binaryUuid), sha512sum, mimeType).subscribe(() -> {
+			if (log.isDebugEnabled()) {
+				log.debug("Generated the preset variants of image {" + sha512sum + "}");
+			}
+		}, e -> log.error("Error while generating the preset variants of image {" + sha512sum + "}", e));
+	}
+
+	/**
+	 * Read the uploaded file once and compute the SHA-512 checksum, the size and the image dimensions at the same time. The dimensions are read from the
+	 * header of the image without decoding it. The result is cached within the action context in case the method is called again (e.g.: due to tx retry).
+	 * 
+	 * @param ac
+	 * @param ul
+	 * @return Result which contains the hash, size and the optional image dimensions
+	 */
+	private TransformationResult analyzeUpload(ActionContext ac, FileUpload ul) {
+		TransformationResult cachedInfo = ac.get("uploadInfo");
+		if (cachedInfo != null) {
+			return cachedInfo;
+		}
+		String uploadFile = ul.uploadedFileName();
+		boolean isImage = ul.contentType().startsWith("image/");
+		try {
+			MessageDigest md = MessageDigest.getInstance("SHA-512");
+			ByteArrayOutputStream header = new ByteArrayOutputStream();
+			long size = 0;
+			try (InputStream ins = Files.newInputStream(Paths.get(uploadFile))) {
+				byte[] buffer = new byte[UPLOAD_READ_BUFFER_SIZE];
+				int read;
+				while ((read = ins.read(buffer)) >= 0) {
+					md.update(buffer, 0, read);
+					size += read;
+					if (isImage && header.size() < IMAGE_HEADER_PROBE_SIZE) {
+						header.write(buffer, 0, Math.min(read, IMAGE_HEADER_PROBE_SIZE - header.size()));
+					}
+				}
+			}
+			ImageInfo imageInfo = null;
+			if (isImage) {
+				imageInfo = imageManipulator.probeImageSize(header.toByteArray(), size > header.size() ? uploadFile : null);
+			}
+			TransformationResult info = new TransformationResult(FileUtils.bytesToHex(md.digest()), size, imageInfo, uploadFile);
+			ac.put("uploadInfo", info);
+			return info;
+		} catch (Exception e) {
+			log.error("Error while reading upload {" + uploadFile + "}", e);
+			throw error(INTERNAL_SERVER_ERROR, "node_error_upload_failed", e);
+		}
+	}
+
 	/**
 	 * Processes the upload and set the binary information (e.g.: image dimensions) within the provided field. The binary data will be stored in the
 	 * {@link BinaryStorage} if desired.
@@ -299,63 +378,42 @@ public class BinaryFieldHandler extends AbstractHandler {
 	 * @param ac
 	 * @param ul
 	 *            Upload to process
+	 * @param uploadInfo
+	 *            Hash, size and image dimensions of the upload
 	 * @param field
 	 *            Field which will be updated with the extracted information
 	 * @param storeBinary
 	 *            Whether to store the data in the binary store
 	 */
-	private void processUpload(ActionContext ac, FileUpload ul, BinaryGraphField field, boolean storeBinary) {
-		String uploadFile = ul.uploadedFileName();
-
+	private void processUpload(ActionContext ac, FileUpload ul, TransformationResult uploadInfo, BinaryGraphField field, boolean storeBinary) {
 		Binary binary = field.getBinary();
-		String hash = binary.getSHA512Sum();
 		String binaryUuid = binary.getUuid();
 		String contentType = ul.contentType();
-		boolean isImage = contentType.startsWith("image/");
 
-		// Calculate how many streams will connect to the data stream
-		int neededDataStreams = 0;
-		if (isImage) {
-			neededDataStreams++;
-		}
+		// Store the data. The file may be moved by the storage and the new location must be used if the transaction is repeated.
 		if (storeBinary) {
-			neededDataStreams++;
-		}
-
-		if (neededDataStreams > 0) {
-			// Only gather image info for actual images. Otherwise return an empty image info object.
-			Single<Optional<ImageInfo>> imageInfo = Single.just(Optional.empty());
-			if (isImage) {
-				imageInfo = processImageInfo(ac, uploadFile);
-			}
-
-			// Store the data
-			Single<Long> store = Single.just(ul.size());
-			if (storeBinary) {
-				AsyncFile asyncFile = Mesh.vertx().fileSystem().openBlocking(uploadFile, new OpenOptions());
-				Flowable<Buffer> stream = RxUtil.toBufferFlow(asyncFile);
-				store = binaryStorage.store(stream, binaryUuid).andThen(Single.just(ul.size()));
+			String sourceFile = ac.get("sourceFile");
+			binaryStorage.storeFile(sourceFile, binaryUuid).blockingAwait();
+			String localPath = binaryStorage.getLocalPath(binaryUuid);
+			if (localPath != null && !new File(sourceFile).exists()) {
+				ac.put("sourceFile", localPath);
 			}
+		}
 
-			// Handle the data in parallel
-			TransformationResult info = Single.zip(imageInfo, store, (imageinfoOpt, size) -> {
-				ImageInfo iinfo = null;
-				if (imageinfoOpt.isPresent()) {
-					iinfo = imageinfoOpt.get();
-				}
-				return new TransformationResult(hash, 0, iinfo, null);
-			}).blockingGet();
-			// Only add image information if image properties were found
-			if (info.getImageInfo() != null) {
-				binary.setImageHeight(info.getImageInfo().getHeight());
-				binary.setImageWidth(info.getImageInfo().getWidth());
-				field.setImageDominantColor(info.getImageInfo().getDominantColor());
+		// Only add image information if image properties were found
+		ImageInfo imageInfo = uploadInfo.getImageInfo();
+		if (imageInfo != null) {
+			binary.setImageHeight(imageInfo.getHeight());
+			binary.setImageWidth(imageInfo.getWidth());
+			// The dominant color can only be determined by decoding the image
+			Optional<ImageInfo> decodedInfo = processImageInfo(ac, ac.get("sourceFile")).blockingGet();
+			if (decodedInfo.isPresent()) {
+				field.setImageDominantColor(decodedInfo.get().getDominantColor());
 			}
-
 		}
 
 		field.setFileName(ul.fileName());
-		field.getBinary().setSize(ul.size());
+		field.getBinary().setSize(uploadInfo.getSize());
 		field.setMimeType(contentType);
 	}
 
@@ -464,6 +522,8 @@ public class BinaryFieldHandler extends AbstractHandler {
 					if (parameters.getFocalPoint() == null && focalPoint != null) {
 						parameters.setFocalPoint(focalPoint);
 					}
+					ImageFormat format = imageManipulator.getOutputFormat(parameters, initialField.getMimeType());
+					parameters.setFormat(format);
 
 					// Resize the original image and store the result in the filesystem
 					Single<TransformationResult> obsTransformation = imageManipulator.handleResize(stream, binaryUuid, parameters).flatMap(file -> {
@@ -506,8 +566,7 @@ public class BinaryFieldHandler extends AbstractHandler {
 						oldField.remove();
 					}
 					field.getBinary().setSize(result.getSize());
-					// The resized image will always be a JPEG
-					field.setMimeType("image/jpeg");
+					field.setMimeType(format.getMimeType());
 					// TODO should we rename the image, if the extension is wrong?
 					field.getBinary().setImageHeight(result.getImageInfo().getHeight());
 					field.getBinary().setImageWidth(result.getImageInfo().getWidth());
@@ -4,23 +4,44 @@ import static com.gentics.mesh.core.rest.error.Errors.error;
 import static com.gentics.mesh.http.HttpConstants.ETAG;
 import static io.netty.handler.codec.http.HttpResponseStatus.NOT_FOUND;
 import static io.netty.handler.codec.http.HttpResponseStatus.NOT_MODIFIED;
+import static io.netty.handler.codec.http.HttpResponseStatus.PARTIAL_CONTENT;
+import static io.netty.handler.codec.http.HttpResponseStatus.REQUESTED_RANGE_NOT_SATISFIABLE;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
+import org.reactivestreams.Subscription;
+
+import com.gentics.mesh.Mesh;
 import com.gentics.mesh.context.InternalActionContext;
 import com.gentics.mesh.context.impl.InternalRoutingActionContextImpl;
 import com.gentics.mesh.core.data.binary.Binary;
 import com.gentics.mesh.core.data.node.field.BinaryGraphField;
 import com.gentics.mesh.core.image.spi.ImageManipulator;
 import com.gentics.mesh.http.MeshHeaders;
+import com.gentics.mesh.parameter.ImageManipulationParameters;
+import com.gentics.mesh.parameter.image.ImageFormat;
 import com.gentics.mesh.storage.BinaryStorage;
+import com.gentics.mesh.util.ByteRange;
 import com.gentics.mesh.util.ETag;
 import com.gentics.mesh.util.RxUtil;
+import com.gentics.mesh.util.UUIDUtil;
 
 import io.reactivex.Flowable;
+import io.reactivex.FlowableSubscriber;
 import io.vertx.core.buffer.Buffer;
+import io.vertx.core.file.OpenOptions;
 import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpMethod;
 import io.vertx.core.http.HttpServerResponse;
 import io.vertx.ext.web.RoutingContext;
 
@@ -53,15 +74,22 @@ public class BinaryFieldResponseHandler {
 		} else {
 			InternalActionContext ac = new InternalRoutingActionContextImpl(rc);
 			Binary binary = binaryField.getBinary();
-			String contentLength = String.valueOf(binary.getSize());
 			String fileName = binaryField.getFileName();
 			String contentType = binaryField.getMimeType();
 			String sha512sum = binary.getSHA512Sum();
 
 			// Check the etag
 			String etagKey = sha512sum;
-			if (binaryField.hasImage()) {
-				etagKey += ac.getImageParameters().getQueryParameters();
+			ImageManipulationParameters imageParameters = ac.getImageParameters();
+			boolean resize = binaryField.hasImage() && imageParameters.hasResizeParams();
+			ImageFormat format = null;
+			if (resize) {
+				// The etag must change if the configured default format or the encoder settings change
+				format = imageManipulator.getOutputFormat(imageParameters, contentType);
+				imageParameters.setFormat(format);
+				etagKey += imageManipulator.getVariantKey(imageParameters);
+			} else if (binaryField.hasImage()) {
+				etagKey += imageParameters.getQueryParameters();
 			}
 
 			String etagHeaderValue = ETag.prepareHeader(ETag.hash(etagKey), false);
@@ -71,34 +99,250 @@ public class BinaryFieldResponseHandler {
 
 			if (requestETag != null && requestETag.equals(etagHeaderValue)) {
 				response.setStatusCode(NOT_MODIFIED.code()).end();
-			} else if (binaryField.hasImage() && ac.getImageParameters().hasResizeParams()) {
+			} else if (resize) {
 				// Resize the image if needed
 				Flowable<Buffer> data = binary.getStream();
-				Flowable<Buffer> resizedData = imageManipulator.handleResize(data, sha512sum, ac.getImageParameters())
-					.toFlowable()
-					.map(fileWithProps -> {
-						response.putHeader(HttpHeaders.CONTENT_LENGTH, String.valueOf(fileWithProps.getProps().size()));
-						response.putHeader(HttpHeaders.CONTENT_TYPE, "image/jpeg");
-						response.putHeader(HttpHeaders.CACHE_CONTROL, "must-revalidate");
-						response.putHeader(MeshHeaders.WEBROOT_RESPONSE_TYPE, "binary");
-						// TODO encode filename?
-						response.putHeader("content-disposition", "inline; filename=" + fileName);
-						return fileWithProps.getFile();
-					}).flatMap(RxUtil::toBufferFlow);
-				resizedData.subscribe(response::write, rc::fail, response::end);
+				String mimeType = format.getMimeType();
+				imageManipulator.handleResize(data, sha512sum, imageParameters).subscribe(fileWithProps -> {
+					// The cached file is sent by the server. Only multiple ranges require the file to be read again.
+					fileWithProps.getFile().close();
+					String path = fileWithProps.getPath();
+					response.putHeader(HttpHeaders.CONTENT_TYPE, mimeType);
+					response.putHeader(HttpHeaders.CACHE_CONTROL, "must-revalidate");
+					response.putHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+					response.putHeader(MeshHeaders.WEBROOT_RESPONSE_TYPE, "binary");
+					// TODO encode filename?
+					response.putHeader("content-disposition", "inline; filename=" + fileName);
+					sendRanges(rc, etagHeaderValue, fileWithProps.getProps().size(), mimeType, (range, partial) -> sendFile(rc, path,
+						range, partial), () -> Mesh.rxVertx().fileSystem().rxOpen(path, new OpenOptions().setRead(true)).toFlowable().flatMap(
+							RxUtil::toBufferFlow));
+				}, rc::fail);
 			} else {
-				response.putHeader(HttpHeaders.CONTENT_LENGTH, contentLength);
 				if (contentType != null) {
 					response.putHeader(HttpHeaders.CONTENT_TYPE, contentType);
 				}
 				response.putHeader(HttpHeaders.CACHE_CONTROL, "must-revalidate");
+				response.putHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
 				response.putHeader(MeshHeaders.WEBROOT_RESPONSE_TYPE, "binary");
 				// TODO encode filename?
 				// TODO images and pdf files should be shown in inline format
 				response.putHeader("content-disposition", "attachment; filename=" + fileName);
-				binary.getStream().subscribe(response::write, rc::fail, response::end);
+				sendRanges(rc, etagHeaderValue, binary.getSize(), contentType, (range, partial) -> send(rc, binary, range, partial), binary::getStream);
+			}
+		}
+	}
+
+	/**
+	 * Send the ranges of the data which were requested via the range header or the full data if no ranges were requested. Multiple ranges are sent as a
+	 * multipart/byteranges body. Only the headers are sent for HEAD requests.
+	 * 
+	 * @param rc
+	 * @param etagHeaderValue
+	 *            Current etag of the data
+	 * @param size
+	 *            Size of the data
+	 * @param contentType
+	 *            Content type of the data
+	 * @param sender
+	 *            Sender which sends a single range of the data. The flag indicates whether only a part of the data is sent.
+	 * @param stream
+	 *            Supplier of the stream of the data which is used to send multiple ranges
+	 */
+	private void sendRanges(RoutingContext rc, String etagHeaderValue, long size, String contentType, BiConsumer<ByteRange, Boolean> sender,
+		Supplier<Flowable<Buffer>> stream) {
+		HttpServerResponse response = rc.response();
+		boolean head = rc.request().method() == HttpMethod.HEAD;
+		List<ByteRange> ranges = getRequestedRanges(rc, etagHeaderValue, size);
+		if (ranges == null) {
+			response.putHeader(HttpHeaders.CONTENT_LENGTH, String.valueOf(size));
+			if (head) {
+				response.end();
+			} else {
+				sender.accept(new ByteRange(0, size - 1), false);
+			}
+		} else if (ranges.isEmpty()) {
+			response.putHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+			response.setStatusCode(REQUESTED_RANGE_NOT_SATISFIABLE.code()).end();
+		} else if (ranges.size() == 1) {
+			ByteRange range = ranges.get(0);
+			response.setStatusCode(PARTIAL_CONTENT.code());
+			response.putHeader(HttpHeaders.CONTENT_RANGE, range.toContentRange(size));
+			response.putHeader(HttpHeaders.CONTENT_LENGTH, String.valueOf(range.getLength()));
+			if (head) {
+				response.end();
+			} else {
+				sender.accept(range, true);
+			}
+		} else {
+			response.setStatusCode(PARTIAL_CONTENT.code());
+			String boundary = UUIDUtil.randomUUID();
+			response.putHeader(HttpHeaders.CONTENT_TYPE, "multipart/byteranges; boundary=" + boundary);
+			if (head) {
+				response.end();
+			} else {
+				response.setChunked(true);
+				pipe(rc, toMultipartRanges(stream.get(), ranges, boundary, contentType, size));
 			}
 		}
 	}
 
+	/**
+	 * Return the ranges which were requested via the range header. The ranges are ignored if the resource was changed according to the if-range header.
+	 * Only entity tags are supported as validators.
+	 * 
+	 * @param rc
+	 * @param etagHeaderValue
+	 *            Current etag of the binary
+	 * @param size
+	 *            Size of the binary
+	 * @return Requested ranges, an empty list if the ranges can't be satisfied or null if the full binary should be returned
+	 */
+	private List<ByteRange> getRequestedRanges(RoutingContext rc, String etagHeaderValue, long size) {
+		String rangeHeader = rc.request().getHeader(HttpHeaders.RANGE);
+		if (rangeHeader == null) {
+			return null;
+		}
+		String ifRange = rc.request().getHeader(HttpHeaders.IF_RANGE);
+		if (ifRange != null && !ifRange.equals(etagHeaderValue)) {
+			return null;
+		}
+		return ByteRange.parse(rangeHeader, size);
+	}
+
+	/**
+	 * Send the given range of the binary. Files of the local storage are sent directly by the server. Data of other storages is streamed.
+	 * 
+	 * @param rc
+	 * @param binary
+	 * @param range
+	 * @param partial
+	 *            Whether only a part of the binary is sent
+	 */
+	private void send(RoutingContext rc, Binary binary, ByteRange range, boolean partial) {
+		String localPath = storage.getLocalPath(binary.getUuid());
+		if (localPath != null) {
+			sendFile(rc, localPath, range, partial);
+		} else if (partial) {
+			pipe(rc, slice(binary.getStream(), Collections.singletonList(range), null));
+		} else {
+			pipe(rc, binary.getStream());
+		}
+	}
+
+	/**
+	 * Let the server send the given range of the file.
+	 * 
+	 * @param rc
+	 * @param path
+	 * @param range
+	 * @param partial
+	 *            Whether only a part of the file is sent
+	 */
+	private void sendFile(RoutingContext rc, String path, ByteRange range, boolean partial) {
+		rc.response().sendFile(path, range.getStart(), partial ? range.getLength() : Long.MAX_VALUE, rh -> {
+			if (rh.failed()) {
+				rc.fail(rh.cause());
+			}
+		});
+	}
+
+	/**
+	 * Convert the stream into a multipart/byteranges body which contains the given ranges.
+	 * 
+	 * @param data
+	 * @param ranges
+	 *            Sorted and non overlapping ranges
+	 * @param boundary
+	 * @param contentType
+	 * @param size
+	 * @return
+	 */
+	private Flowable<Buffer> toMultipartRanges(Flowable<Buffer> data, List<ByteRange> ranges, String boundary, String contentType, long size) {
+		Map<ByteRange, Buffer> partHeaders = new HashMap<>();
+		for (ByteRange range : ranges) {
+			StringBuilder header = new StringBuilder();
+			header.append("\r\n--").append(boundary).append("\r\n");
+			if (contentType != null) {
+				header.append("Content-Type: ").append(contentType).append("\r\n");
+			}
+			header.append("Content-Range: ").append(range.toContentRange(size)).append("\r\n\r\n");
+			partHeaders.put(range, Buffer.buffer(header.toString()));
+		}
+		return slice(data, ranges, partHeaders).concatWith(Flowable.just(Buffer.buffer("\r\n--" + boundary + "--\r\n")));
+	}
+
+	/**
+	 * Only emit the bytes of the stream which are part of the given ranges.
+	 * 
+	 * @param data
+	 * @param ranges
+	 *            Sorted and non overlapping ranges
+	 * @param partHeaders
+	 *            Optional headers which are emitted before the data of each range
+	 * @return
+	 */
+	private Flowable<Buffer> slice(Flowable<Buffer> data, List<ByteRange> ranges, Map<ByteRange, Buffer> partHeaders) {
+		long lastByte = ranges.get(ranges.size() - 1).getEnd();
+		AtomicLong position = new AtomicLong();
+		return data.takeWhile(chunk -> position.get() <= lastByte).concatMap(chunk -> {
+			long chunkStart = position.getAndAdd(chunk.length());
+			long chunkEnd = chunkStart + chunk.length() - 1;
+			List<Buffer> parts = new ArrayList<>();
+			for (ByteRange range : ranges) {
+				if (range.getStart() > chunkEnd || range.getEnd() < chunkStart) {
+					continue;
+				}
+				if (partHeaders != null && range.getStart() >= chunkStart) {
+					parts.add(partHeaders.get(range));
+				}
+				int from = (int) (Math.max(range.getStart(), chunkStart) - chunkStart);
+				int to = (int) (Math.min(range.getEnd(), chunkEnd) - chunkStart + 1);
+				parts.add(chunk.slice(from, to));
+			}
+			return Flowable.fromIterable(parts);
+		});
+	}
+
+	/**
+	 * Write the stream to the response. Only a single buffer is requested at a time and further buffers are requested once the write queue of the response
+	 * has been drained.
+	 * 
+	 * @param rc
+	 * @param data
+	 */
+	private void pipe(RoutingContext rc, Flowable<Buffer> data) {
+		HttpServerResponse response = rc.response();
+		data.subscribe(new FlowableSubscriber<Buffer>() {
+
+			private Subscription subscription;
+
+			@Override
+			public void onSubscribe(Subscription s) {
+				subscription = s;
+				// Stop reading once the client disconnects
+				response.closeHandler(v -> s.cancel());
+				s.request(1);
+			}
+
+			@Override
+			public void onNext(Buffer buffer) {
+				response.write(buffer);
+				if (response.writeQueueFull()) {
+					response.drainHandler(v -> subscription.request(1));
+				} else {
+					subscription.request(1);
+				}
+			}
+
+			@Override
+			public void onError(Throwable t) {
+				rc.fail(t);
+			}
+
+			@Override
+			public void onComplete() {
+				response.end();
+			}
+		});
+	}
 }
@@ -7,6 +7,7 @@ import static io.netty.handler.codec.http.HttpResponseStatus.NO_CONTENT;
 import static io.netty.handler.codec.http.HttpResponseStatus.OK;
 import static io.vertx.core.http.HttpMethod.DELETE;
 import static io.vertx.core.http.HttpMethod.GET;
+import static io.vertx.core.http.HttpMethod.HEAD;
 import static io.vertx.core.http.HttpMethod.POST;
 
 import javax.inject.Inject;
@@ -171,6 +172,19 @@ public class NodeEndpoint extends AbstractProjectEndpoint {
 			binaryFieldHandler.handleReadBinaryField(rc, uuid, fieldName);
 		});
 
+		EndpointRoute fieldHead = createEndpoint();
+		fieldHead.path("/:nodeUuid/binary/:fieldName");
+		fieldHead.addUriParameter("nodeUuid", "Uuid of the node.", UUIDUtil.randomUUID());
+		fieldHead.addUriParameter("fieldName", "Name of the binary field", "image");
+		fieldHead.addQueryParameters(ImageManipulationParametersImpl.class);
+		fieldHead.method(HEAD);
+		fieldHead.description("Return the headers of the binary field download without the binary data.");
+		fieldHead.handler(rc -> {
+			String uuid = rc.request().getParam("nodeUuid");
+			String fieldName = rc.request().getParam("fieldName");
+			binaryFieldHandler.handleReadBinaryField(rc, uuid, fieldName);
+		});
+
 	}
 
 	private void addMoveHandler() {
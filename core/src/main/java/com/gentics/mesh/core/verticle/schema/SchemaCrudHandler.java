@@ -236,6 +236,8 @@ public class SchemaCrudHandler extends AbstractCrudHandler<SchemaContainer, Sche
 				return Tuple.tuple(batch, schema.transformToRest(ac, 0));
 			});
 			tuple.v1().processSync();
+			// The GraphQL schema of the project depends on the assigned schemas. The event must not be sent before the change has been committed.
+			db.afterCommit("project-updated-" + projectUuid, () -> db.tx(() -> project.onUpdated()));
 			return tuple.v2();
 		}).subscribe(model -> ac.send(model, OK), ac::fail);
 
@@ -264,6 +266,7 @@ public class SchemaCrudHandler extends AbstractCrudHandler<SchemaContainer, Sche
 			db.tx(() -> {
 				project.getSchemaContainerRoot().removeSchemaContainer(schema);
 			});
+			db.afterCommit("project-updated-" + projectUuid, () -> db.tx(() -> project.onUpdated()));
 			return Single.just(Optional.empty());
 		}).subscribe(model -> ac.send(NO_CONTENT), ac::fail);
 	}
@@ -0,0 +1,123 @@
+package com.gentics.mesh.core.verticle.search;
+
+import static com.gentics.mesh.Events.SEARCH_INDEXER_ADDRESS;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import com.gentics.mesh.Mesh;
+import com.gentics.mesh.core.data.search.SearchQueueBatch;
+import com.gentics.mesh.core.data.search.impl.SearchQueueJournal;
+import com.gentics.mesh.core.data.search.impl.SearchQueueJournal.JournalRecord;
+import com.gentics.mesh.graphdb.spi.Database;
+
+import io.vertx.core.AbstractVerticle;
+import io.vertx.core.eventbus.MessageConsumer;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+
+/**
+ * Dedicated verticle which will apply the batches of the {@link SearchQueueJournal} to the search index. The amount of concurrently processed batches is
+ * limited by the configured async indexing concurrency. Failed batches will be retried with an increasing delay. Batches which reference the same elements are
+ * never processed concurrently and are applied in the order in which they were written (see {@link SearchQueueJournal#poll(int)}).
+ */
+@Singleton
+public class SearchIndexerVerticle extends AbstractVerticle {
+
+	private static final Logger log = LoggerFactory.getLogger(SearchIndexerVerticle.class);
+
+	private static final int MAX_ATTEMPTS = 10;
+
+	private static final long MAX_RETRY_DELAY = 60_000;
+
+	private static final long CHECK_INTERVAL = 5_000;
+
+	private final AtomicInteger inFlight = new AtomicInteger();
+
+	private MessageConsumer<Object> consumer;
+
+	private Long periodicTimerId;
+
+	private boolean stopped = false;
+
+	private SearchQueueJournal journal;
+
+	private Database db;
+
+	@Inject
+	public SearchIndexerVerticle(SearchQueueJournal journal, Database db) {
+		this.journal = journal;
+		this.db = db;
+	}
+
+	@Override
+	public void start() throws Exception {
+		stopped = false;
+		if (log.isDebugEnabled()) {
+			log.debug("Starting verticle {" + getClass().getName() + "}");
+		}
+		// Pick up the batches which were not yet applied before the last shutdown
+		if (journal.isEnabled()) {
+			journal.load();
+		}
+		consumer = vertx.eventBus().localConsumer(SEARCH_INDEXER_ADDRESS, message -> processQueue());
+		periodicTimerId = vertx.setPeriodic(CHECK_INTERVAL, th -> processQueue());
+		processQueue();
+		super.start();
+	}
+
+	/**
+	 * Process the pending batches until the concurrency limit has been reached.
+	 */
+	private void processQueue() {
+		if (stopped) {
+			return;
+		}
+		int limit = Mesh.mesh().getOptions().getSearchOptions().getAsyncIndexingConcurrency() - inFlight.get();
+		if (limit <= 0) {
+			return;
+		}
+		for (JournalRecord record : journal.poll(limit)) {
+			inFlight.incrementAndGet();
+			vertx.executeBlocking(bc -> {
+				try {
+					db.tx(() -> {
+						SearchQueueBatch batch = journal.toBatch(record);
+						batch.processSync();
+					});
+					bc.complete();
+				} catch (Exception e) {
+					bc.fail(e);
+				}
+			}, false, rh -> {
+				inFlight.decrementAndGet();
+				if (rh.succeeded()) {
+					journal.complete(record);
+				} else if (record.getAttempts() + 1 >= MAX_ATTEMPTS) {
+					log.error("Could not apply batch {" + record.getName() + "} after {" + MAX_ATTEMPTS + "} attempts. Giving up.", rh.cause());
+					journal.fail(record);
+				} else {
+					long delay = Math.min(MAX_RETRY_DELAY, 1000L << record.getAttempts());
+					log.warn("Could not apply batch {" + record.getName() + "}. Retrying in {" + delay + "} ms.", rh.cause());
+					journal.retry(record, delay);
+				}
+				processQueue();
+			});
+		}
+	}
+
+	@Override
+	public void stop() throws Exception {
+		stopped = true;
+		if (consumer != null) {
+			consumer.unregister();
+		}
+		if (periodicTimerId != null) {
+			vertx.cancelTimer(periodicTimerId);
+		}
+		super.stop();
+	}
+
+}
@@ -9,6 +9,7 @@ import com.gentics.mesh.auth.MeshAuthHandler;
 import com.gentics.mesh.cli.BootstrapInitializer;
 import com.gentics.mesh.core.data.schema.handler.SchemaComparator;
 import com.gentics.mesh.core.data.search.SearchQueue;
+import com.gentics.mesh.core.data.search.impl.SearchQueueJournal;
 import com.gentics.mesh.core.data.service.ServerSchemaStorage;
 import com.gentics.mesh.core.image.spi.ImageManipulator;
 import com.gentics.mesh.core.link.WebRootLinkReplacer;
@@ -17,6 +18,7 @@ import com.gentics.mesh.core.verticle.migration.micronode.MicronodeMigrationHand
 import com.gentics.mesh.core.verticle.migration.node.NodeMigrationHandler;
 import com.gentics.mesh.core.verticle.migration.release.ReleaseMigrationHandler;
 import com.gentics.mesh.core.verticle.node.BinaryFieldHandler;
+import com.gentics.mesh.core.verticle.search.SearchIndexerVerticle;
 import com.gentics.mesh.dagger.module.BindModule;
 import com.gentics.mesh.dagger.module.ConsoleModule;
 import com.gentics.mesh.dagger.module.MeshModule;
@@ -73,6 +75,10 @@ public interface MeshComponent {
 
 	JobWorkerVerticle jobWorkerVerticle();
 
+	SearchIndexerVerticle searchIndexerVerticle();
+
+	SearchQueueJournal searchQueueJournal();
+
 	ServerSchemaStorage serverSchemaStorage();
 
 	NodeIndexHandler nodeContainerIndexHandler();
@@ -5,6 +5,8 @@ import static com.gentics.mesh.test.TestSize.PROJECT;
 import static io.netty.handler.codec.http.HttpResponseStatus.BAD_REQUEST;
 import static io.netty.handler.codec.http.HttpResponseStatus.FORBIDDEN;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 
 import org.junit.Test;
 
@@ -22,6 +24,8 @@ public class AdminEndpointTest extends AbstractMeshTest {
 		Mesh.mesh().setStatus(MeshStatus.WAITING_FOR_CLUSTER);
 		MeshStatusResponse status = call(() -> client().meshStatus());
 		assertEquals(MeshStatus.WAITING_FOR_CLUSTER, status.getStatus());
+		assertNotNull("The status of the image processing should be included", status.getImageProcessing());
+		assertTrue(status.getImageProcessing().getMemoryBudget() > 0);
 	}
 
 	@Test
@@ -0,0 +1,182 @@
+package com.gentics.mesh.core.field.binary;
+
+import static com.gentics.mesh.test.ClientHelper.call;
+import static com.gentics.mesh.test.TestDataProvider.PROJECT_NAME;
+import static com.gentics.mesh.test.TestSize.FULL;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.gentics.mesh.core.data.node.Node;
+import com.gentics.mesh.parameter.impl.ImageManipulationParametersImpl;
+import com.gentics.mesh.rest.client.AbstractMeshRestHttpClient;
+import com.gentics.mesh.test.context.AbstractMeshTest;
+import com.gentics.mesh.test.context.MeshTestSetting;
+import com.syncleus.ferma.tx.Tx;
+
+import io.vertx.core.buffer.Buffer;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Tests for the range requests of the binary field download.
+ */
+@MeshTestSetting(useElasticsearch = false, testSize = FULL, startServer = true)
+public class BinaryFieldRangeEndpointTest extends AbstractMeshTest {
+
+	private static final int BINARY_LEN = 1000;
+
+	private byte[] data;
+
+	private String nodeUuid;
+
+	@Before
+	public void uploadData() throws IOException {
+		data = new byte[BINARY_LEN];
+		for (int i = 0; i < BINARY_LEN; i++) {
+			data[i] = (byte) i;
+		}
+		try (Tx tx = tx()) {
+			Node node = folder("2015");
+			prepareSchema(node, "", "binary");
+			tx.success();
+		}
+		nodeUuid = tx(() -> folder("2015").getUuid());
+		String version = tx(() -> folder("2015").getGraphFieldContainer("en").getVersion().toString());
+		call(() -> client().updateNodeBinaryField(PROJECT_NAME, nodeUuid, "en", version, "binary", Buffer.buffer(data), "data.bin",
+			"application/octet-stream"));
+	}
+
+	@Test
+	public void testSingleRange() throws IOException {
+		try (Response response = downloadBinary("GET", "Range", "bytes=10-19")) {
+			assertEquals(206, response.code());
+			assertEquals("bytes 10-19/1000", response.header("Content-Range"));
+			assertEquals("10", response.header("Content-Length"));
+			assertArrayEquals(Arrays.copyOfRange(data, 10, 20), response.body().bytes());
+		}
+	}
+
+	@Test
+	public void testSuffixRange() throws IOException {
+		try (Response response = downloadBinary("GET", "Range", "bytes=-5")) {
+			assertEquals(206, response.code());
+			assertEquals("bytes 995-999/1000", response.header("Content-Range"));
+			assertArrayEquals(Arrays.copyOfRange(data, 995, 1000), response.body().bytes());
+		}
+	}
+
+	@Test
+	public void testUnsatisfiableRange() throws IOException {
+		try (Response response = downloadBinary("GET", "Range", "bytes=2000-3000")) {
+			assertEquals(416, response.code());
+			assertEquals("bytes */1000", response.header("Content-Range"));
+		}
+	}
+
+	@Test
+	public void testMultipleRanges() throws IOException {
+		try (Response response = downloadBinary("GET", "Range", "bytes=0-4,10-14")) {
+			assertEquals(206, response.code());
+			String contentType = response.header("Content-Type");
+			assertThat(contentType).startsWith("multipart/byteranges; boundary=");
+			String boundary = contentType.substring(contentType.indexOf('=') + 1);
+			String body = new String(response.body().bytes(), "ISO-8859-1");
+			assertThat(body).contains("Content-Range: bytes 0-4/1000\r\n\r\n" + new String(Arrays.copyOfRange(data, 0, 5), "ISO-8859-1"));
+			assertThat(body).contains("Content-Range: bytes 10-14/1000\r\n\r\n" + new String(Arrays.copyOfRange(data, 10, 15), "ISO-8859-1"));
+			assertThat(body).endsWith("\r\n--" + boundary + "--\r\n");
+		}
+	}
+
+	@Test
+	public void testIfRangeMismatch() throws IOException {
+		// The full binary must be returned if the binary was changed
+		try (Response response = downloadBinary("GET", "Range", "bytes=10-19", "If-Range", "\"outdated\"")) {
+			assertEquals(200, response.code());
+			assertArrayEquals(data, response.body().bytes());
+		}
+	}
+
+	@Test
+	public void testIfRangeMatch() throws IOException {
+		String etag;
+		try (Response response = downloadBinary("GET")) {
+			etag = response.header("ETag");
+		}
+		try (Response response = downloadBinary("GET", "Range", "bytes=10-19", "If-Range", etag)) {
+			assertEquals(206, response.code());
+			assertArrayEquals(Arrays.copyOfRange(data, 10, 20), response.body().bytes());
+		}
+	}
+
+	@Test
+	public void testHead() throws IOException {
+		try (Response response = downloadBinary("HEAD")) {
+			assertEquals(200, response.code());
+			assertEquals("1000", response.header("Content-Length"));
+			assertEquals("bytes", response.header("Accept-Ranges"));
+		}
+		try (Response response = downloadBinary("HEAD", "Range", "bytes=10-19")) {
+			assertEquals(206, response.code());
+			assertEquals("bytes 10-19/1000", response.header("Content-Range"));
+			assertEquals("10", response.header("Content-Length"));
+		}
+	}
+
+	@Test
+	public void testResizedImageRange() throws IOException {
+		String uuid = tx(() -> folder("news").getUuid());
+		try (Tx tx = tx()) {
+			uploadImage(folder("news"), "en", "image");
+		}
+		String query = "?" + new ImageManipulationParametersImpl().setWidth(100).getQueryParameters();
+		byte[] resized;
+		try (Response response = download("GET", uuid, "image", query)) {
+			assertEquals(200, response.code());
+			assertEquals("bytes", response.header("Accept-Ranges"));
+			resized = response.body().bytes();
+		}
+		// The cached variant is used for the range request
+		try (Response response = download("GET", uuid, "image", query, "Range", "bytes=0-9")) {
+			assertEquals(206, response.code());
+			assertEquals("bytes 0-9/" + resized.length, response.header("Content-Range"));
+			assertArrayEquals(Arrays.copyOfRange(resized, 0, 10), response.body().bytes());
+		}
+	}
+
+	private Response downloadBinary(String method, String... headers) throws IOException {
+		return download(method, nodeUuid, "binary", "", headers);
+	}
+
+	/**
+	 * Download the binary field using the given method and additional headers.
+	 *
+	 * @param method
+	 * @param uuid
+	 * @param fieldName
+	 * @param query
+	 * @param headers
+	 *            Pairs of header names and values
+	 * @return
+	 * @throws IOException
+	 */
+	private Response download(String method, String uuid, String fieldName, String query, String... headers) throws IOException {
+		Request.Builder request = new Request.Builder();
+		request.url(prepareUrl("/api/v1/" + PROJECT_NAME + "/nodes/" + uuid + "/binary/" + fieldName).toString() + query);
+		request.method(method, null);
+		request.header("Cookie", "mesh.token=" + ((AbstractMeshRestHttpClient) client()).getAuthentication().getToken());
+		// Compressed responses would not contain the requested bytes
+		request.header("Accept-Encoding", "identity");
+		for (int i = 0; i < headers.length; i += 2) {
+			request.header(headers[i], headers[i + 1]);
+		}
+		return httpClient().newCall(request.build()).execute();
+	}
+
+}
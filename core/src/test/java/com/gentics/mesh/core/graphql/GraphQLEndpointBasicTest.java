@@ -1,10 +1,13 @@
 package com.gentics.mesh.core.graphql;
 
 import static com.gentics.mesh.assertj.MeshAssertions.assertThat;
+import static com.gentics.mesh.graphql.GraphQLHandler.PERSISTED_QUERY_HASH_MISMATCH;
+import static com.gentics.mesh.graphql.GraphQLHandler.PERSISTED_QUERY_NOT_FOUND;
 import static com.gentics.mesh.test.ClientHelper.call;
 import static com.gentics.mesh.test.TestDataProvider.PROJECT_NAME;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 
 import java.io.IOException;
 
@@ -14,6 +17,7 @@ import org.junit.Test;
 import com.gentics.mesh.core.data.schema.MicroschemaContainer;
 import com.gentics.mesh.core.rest.graphql.GraphQLRequest;
 import com.gentics.mesh.core.rest.graphql.GraphQLResponse;
+import com.gentics.mesh.graphql.cache.GraphQLDocumentCache;
 import com.gentics.mesh.test.TestSize;
 import com.gentics.mesh.test.context.AbstractMeshTest;
 import com.gentics.mesh.test.context.MeshTestSetting;
@@ -39,6 +43,47 @@ public class GraphQLEndpointBasicTest extends AbstractMeshTest {
 		assertThat(json).compliesToAssertions(queryName);
 	}
 
+	@Test
+	public void testSchemaChangeAfterCachedQuery() throws Throwable {
+		String query = "{__type(name: \"vcard\"){name}}";
+		GraphQLResponse response = call(() -> client().graphqlQuery(PROJECT_NAME, query));
+		assertEquals("vcard", response.getData().getJsonObject("__type").getString("name"));
+
+		// The removal sends the event which invalidates the cached schema revision
+		String microschemaUuid = tx(() -> microschemaContainer("vcard").getUuid());
+		call(() -> client().unassignMicroschemaFromProject(PROJECT_NAME, microschemaUuid));
+
+		// The removal must result in a new schema revision and thus a new GraphQL schema
+		response = call(() -> client().graphqlQuery(PROJECT_NAME, query));
+		assertNull(response.getData().getValue("__type"));
+	}
+
+	@Test
+	public void testPersistedQuery() throws Throwable {
+		String query = "{me{firstname}}";
+		JsonObject extensions = new JsonObject().put("persistedQuery", new JsonObject().put("version", 1).put("sha256Hash", GraphQLDocumentCache
+			.hash(query)));
+
+		// The query was not yet registered
+		GraphQLRequest request = new GraphQLRequest().setExtensions(extensions);
+		GraphQLResponse response = call(() -> client().graphql(PROJECT_NAME, request));
+		assertEquals(PERSISTED_QUERY_NOT_FOUND, response.getErrors().get(0).getType());
+
+		// Register the query
+		GraphQLRequest registerRequest = new GraphQLRequest().setQuery(query).setExtensions(extensions);
+		response = call(() -> client().graphql(PROJECT_NAME, registerRequest));
+		MeshJSONAssert.assertEquals("{'me':{'firstname':'Joe'}}", response.getData());
+
+		// Now the hash is sufficient
+		response = call(() -> client().graphql(PROJECT_NAME, request));
+		MeshJSONAssert.assertEquals("{'me':{'firstname':'Joe'}}", response.getData());
+
+		// The hash must match the query
+		GraphQLRequest mismatchRequest = new GraphQLRequest().setQuery("{me{lastname}}").setExtensions(extensions);
+		response = call(() -> client().graphql(PROJECT_NAME, mismatchRequest));
+		assertEquals(PERSISTED_QUERY_HASH_MISMATCH, response.getErrors().get(0).getType());
+	}
+
 	@Test
 	public void testSimpleQuery() throws JSONException {
 		GraphQLResponse response = call(() -> client().graphqlQuery(PROJECT_NAME, "{me{firstname}}"));
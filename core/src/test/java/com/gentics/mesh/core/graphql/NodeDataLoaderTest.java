@@ -0,0 +1,105 @@
+package com.gentics.mesh.core.graphql;
+
+import static com.gentics.mesh.core.data.relationship.GraphPermission.READ_PERM;
+import static com.gentics.mesh.core.data.relationship.GraphPermission.READ_PUBLISHED_PERM;
+import static com.gentics.mesh.graphql.dataloader.NodeDataLoader.CONTAINER_LOADER_KEY;
+import static com.gentics.mesh.graphql.dataloader.NodeDataLoader.NODE_LOADER_KEY;
+import static com.gentics.mesh.graphql.dataloader.NodeDataLoader.PARENT_LOADER_KEY;
+import static com.gentics.mesh.test.TestSize.FULL;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.anyCollectionOf;
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+import org.dataloader.DataLoader;
+import org.dataloader.DataLoaderRegistry;
+import org.junit.Test;
+
+import com.gentics.mesh.cli.BootstrapInitializer;
+import com.gentics.mesh.core.data.NodeGraphFieldContainer;
+import com.gentics.mesh.core.data.node.Node;
+import com.gentics.mesh.core.data.root.NodeRoot;
+import com.gentics.mesh.graphql.context.GraphQLContext;
+import com.gentics.mesh.graphql.dataloader.NodeDataLoader;
+import com.gentics.mesh.graphql.dataloader.NodeDataLoader.ContainerKey;
+import com.gentics.mesh.parameter.impl.VersioningParametersImpl;
+import com.gentics.mesh.test.context.AbstractMeshTest;
+import com.gentics.mesh.test.context.MeshTestSetting;
+import com.syncleus.ferma.tx.Tx;
+
+@MeshTestSetting(useElasticsearch = false, testSize = FULL, startServer = false)
+public class NodeDataLoaderTest extends AbstractMeshTest {
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testBatchedLoad() {
+		try (Tx tx = tx()) {
+			List<Node> nodes = Arrays.asList(folder("news"), folder("2015"), folder("products"), content("concorde"));
+
+			// Delegate to the actual node root in order to count the lookups
+			NodeRoot actualRoot = boot().nodeRoot();
+			NodeRoot nodeRoot = mock(NodeRoot.class);
+			when(nodeRoot.findByUuids(anyCollectionOf(String.class))).thenAnswer(invocation -> actualRoot.findByUuids((Collection<String>) invocation
+				.getArguments()[0]));
+			when(nodeRoot.findVersions(anyListOf(Node.class), anyListOf(String.class), anyString(), anyString())).thenAnswer(invocation -> actualRoot
+				.findVersions((List<Node>) invocation.getArguments()[0], (List<String>) invocation.getArguments()[1], (String) invocation
+					.getArguments()[2], (String) invocation.getArguments()[3]));
+			when(nodeRoot.findParentNodes(anyListOf(Node.class), anyString())).thenAnswer(invocation -> actualRoot.findParentNodes((List<Node>) invocation
+				.getArguments()[0], (String) invocation.getArguments()[1]));
+			BootstrapInitializer boot = mock(BootstrapInitializer.class);
+			when(boot.nodeRoot()).thenReturn(nodeRoot);
+
+			GraphQLContext gc = mock(GraphQLContext.class);
+			when(gc.getRelease()).thenReturn(latestRelease());
+			when(gc.getVersioningParameters()).thenReturn(new VersioningParametersImpl().draft());
+
+			DataLoaderRegistry registry = NodeDataLoader.createRegistry(gc, boot);
+
+			// Load all nodes of the level
+			DataLoader<String, Node> nodeLoader = registry.getDataLoader(NODE_LOADER_KEY);
+			List<CompletableFuture<Node>> loadedNodes = nodes.stream().map(node -> nodeLoader.load(node.getUuid())).collect(Collectors.toList());
+			nodeLoader.dispatch();
+			for (int i = 0; i < nodes.size(); i++) {
+				assertEquals(nodes.get(i).getUuid(), loadedNodes.get(i).join().getUuid());
+			}
+			verify(nodeRoot, times(1)).findByUuids(anyCollectionOf(String.class));
+			verify(nodeRoot, never()).findByUuid(anyString());
+			verify(gc, times(1)).preloadPermissions(anyCollectionOf(Node.class), eq(READ_PERM), eq(READ_PUBLISHED_PERM));
+
+			// Load the containers of all nodes. The english containers should be used as fallback.
+			DataLoader<ContainerKey, NodeGraphFieldContainer> containerLoader = registry.getDataLoader(CONTAINER_LOADER_KEY);
+			List<CompletableFuture<NodeGraphFieldContainer>> loadedContainers = nodes.stream().map(node -> containerLoader.load(new ContainerKey(node,
+				Arrays.asList("fr", "en")))).collect(Collectors.toList());
+			containerLoader.dispatch();
+			for (int i = 0; i < nodes.size(); i++) {
+				assertEquals(nodes.get(i).getLatestDraftFieldContainer(english()).getUuid(), loadedContainers.get(i).join().getUuid());
+			}
+			verify(nodeRoot, times(1)).findVersions(anyListOf(Node.class), anyListOf(String.class), anyString(), anyString());
+			verify(gc, times(2)).preloadPermissions(anyCollectionOf(Node.class), eq(READ_PERM), eq(READ_PUBLISHED_PERM));
+
+			// Load the parents of all nodes with a single lookup
+			String releaseUuid = latestRelease().getUuid();
+			DataLoader<Node, Node> parentLoader = registry.getDataLoader(PARENT_LOADER_KEY);
+			List<CompletableFuture<Node>> loadedParents = nodes.stream().map(parentLoader::load).collect(Collectors.toList());
+			parentLoader.dispatch();
+			for (int i = 0; i < nodes.size(); i++) {
+				assertEquals(nodes.get(i).getParentNode(releaseUuid).getUuid(), loadedParents.get(i).join().getUuid());
+			}
+			verify(nodeRoot, times(1)).findParentNodes(anyListOf(Node.class), anyString());
+			verify(gc, times(3)).preloadPermissions(anyCollectionOf(Node.class), eq(READ_PERM), eq(READ_PUBLISHED_PERM));
+		}
+	}
+
+}
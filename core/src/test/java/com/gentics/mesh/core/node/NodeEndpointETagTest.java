@@ -1,5 +1,6 @@
 package com.gentics.mesh.core.node;
 
+import static com.gentics.mesh.core.data.relationship.GraphPermission.UPDATE_PERM;
 import static com.gentics.mesh.test.ClientHelper.call;
 import static com.gentics.mesh.test.ClientHelper.callETag;
 import static com.gentics.mesh.test.TestDataProvider.PROJECT_NAME;
@@ -13,6 +14,7 @@ import com.gentics.mesh.FieldUtil;
 import com.gentics.mesh.core.data.node.Node;
 import com.gentics.mesh.core.rest.node.NodeCreateRequest;
 import com.gentics.mesh.core.rest.node.NodeResponse;
+import com.gentics.mesh.core.rest.node.NodeUpdateRequest;
 import com.gentics.mesh.core.rest.schema.SchemaModel;
 import com.gentics.mesh.core.rest.schema.impl.SchemaReferenceImpl;
 import com.gentics.mesh.core.rest.user.NodeReference;
@@ -119,4 +121,63 @@ public class NodeEndpointETagTest extends AbstractMeshTest {
 
 	}
 
+	@Test
+	public void testReadOneAfterRelatedChanges() {
+		String newsUuid = tx(() -> folder("news").getUuid());
+		String productsUuid = tx(() -> folder("products").getUuid());
+		String etag = callETag(() -> client().findNodeByUuid(PROJECT_NAME, contentUuid()));
+		callETag(() -> client().findNodeByUuid(PROJECT_NAME, contentUuid()), etag, true, 304);
+
+		// Updating an unrelated folder must not affect the etag
+		updateSlug(productsUuid, "renamedProducts");
+		callETag(() -> client().findNodeByUuid(PROJECT_NAME, contentUuid()), etag, true, 304);
+
+		// The path and breadcrumb change once the parent folder gets renamed
+		updateSlug(newsUuid, "renamedNews");
+		String renamedETag = callETag(() -> client().findNodeByUuid(PROJECT_NAME, contentUuid()), etag, true, 200);
+		assertNotEquals(etag, renamedETag);
+
+		// Moving the node must also change the etag
+		call(() -> client().moveNode(PROJECT_NAME, contentUuid(), productsUuid));
+		callETag(() -> client().findNodeByUuid(PROJECT_NAME, contentUuid()), renamedETag, true, 200);
+	}
+
+	@Test
+	public void testReadOneAfterPermissionChanges() {
+		tx(() -> role().revokePermissions(content(), UPDATE_PERM));
+		String etag = callETag(() -> client().findNodeByUuid(PROJECT_NAME, contentUuid()));
+
+		// The granted permission is part of the response
+		tx(() -> role().grantPermissions(content(), UPDATE_PERM));
+		String grantedETag = callETag(() -> client().findNodeByUuid(PROJECT_NAME, contentUuid()), etag, true, 200);
+		assertNotEquals(etag, grantedETag);
+	}
+
+	@Test
+	public void testReadOneAfterCreate() {
+		long roleStamp = tx(() -> role().getChangeStamp());
+		String etag = callETag(() -> client().findNodeByUuid(PROJECT_NAME, contentUuid()));
+
+		// Creating an unrelated node must not change the etag of other nodes
+		NodeCreateRequest request = new NodeCreateRequest();
+		request.setLanguage("en");
+		request.setParentNode(new NodeReference().setUuid(tx(() -> folder("products").getUuid())));
+		request.setSchema(new SchemaReferenceImpl().setName("folder"));
+		request.getFields().put("name", FieldUtil.createStringField("someFolder"));
+		request.getFields().put("slug", FieldUtil.createStringField("someFolder"));
+		call(() -> client().createNode(PROJECT_NAME, request));
+
+		assertEquals("The inherited permissions must not change the role", roleStamp, tx(() -> role().getChangeStamp()).longValue());
+		callETag(() -> client().findNodeByUuid(PROJECT_NAME, contentUuid()), etag, true, 304);
+	}
+
+	private void updateSlug(String uuid, String slug) {
+		NodeResponse folder = call(() -> client().findNodeByUuid(PROJECT_NAME, uuid));
+		NodeUpdateRequest request = new NodeUpdateRequest();
+		request.setLanguage("en");
+		request.setVersion(folder.getVersion());
+		request.getFields().put("slug", FieldUtil.createStringField(slug));
+		call(() -> client().updateNode(PROJECT_NAME, uuid, request));
+	}
+
 }
@@ -25,6 +25,7 @@ import org.junit.Test;
 import com.gentics.mesh.Mesh;
 import com.gentics.mesh.core.data.node.Node;
 import com.gentics.mesh.core.data.node.field.BinaryGraphField;
+import com.gentics.mesh.core.image.spi.ImageManipulator;
 import com.gentics.mesh.core.rest.node.NodeDownloadResponse;
 import com.gentics.mesh.core.rest.node.NodeResponse;
 import com.gentics.mesh.core.rest.node.NodeUpdateRequest;
@@ -325,7 +326,10 @@ public class NodeImageResizeEndpointTest extends AbstractMeshTest {
 		assertEquals(expectedHeight, img.getHeight());
 
 		if (binaryField != null) {
-			File cacheFile = meshDagger().imageManipulator().getCacheFile(binaryField.getBinary().getSHA512Sum(), params);
+			ImageManipulator imageManipulator = meshDagger().imageManipulator();
+			// The download handler resolves the output format before the cache file is selected
+			params.setFormat(imageManipulator.getOutputFormat(params, binaryField.getMimeType()));
+			File cacheFile = imageManipulator.getCacheFile(binaryField.getBinary().getSHA512Sum(), params);
 			assertTrue("The cache file could not be found in the cache directory. {" + cacheFile.getAbsolutePath() + "}", cacheFile.exists());
 		}
 	}
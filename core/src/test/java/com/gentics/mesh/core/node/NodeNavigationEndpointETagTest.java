@@ -1,6 +1,7 @@
 package com.gentics.mesh.core.node;
 
 import static com.gentics.mesh.http.HttpConstants.ETAG;
+import static com.gentics.mesh.test.ClientHelper.call;
 import static com.gentics.mesh.test.TestDataProvider.PROJECT_NAME;
 import static com.gentics.mesh.test.TestSize.FULL;
 import static com.gentics.mesh.test.ClientHelper.callETag;
@@ -9,7 +10,11 @@ import static com.gentics.mesh.test.util.MeshAssert.latchFor;
 import org.junit.Test;
 
 import com.syncleus.ferma.tx.Tx;
+import com.gentics.mesh.FieldUtil;
 import com.gentics.mesh.core.rest.navigation.NavigationResponse;
+import com.gentics.mesh.core.rest.node.NodeCreateRequest;
+import com.gentics.mesh.core.rest.schema.impl.SchemaReferenceImpl;
+import com.gentics.mesh.core.rest.user.NodeReference;
 import com.gentics.mesh.rest.client.MeshResponse;
 import com.gentics.mesh.test.context.AbstractMeshTest;
 import com.gentics.mesh.test.context.MeshTestSetting;
@@ -28,4 +33,21 @@ public class NodeNavigationEndpointETagTest extends AbstractMeshTest {
 		}
 	}
 
+	@Test
+	public void testReadOneAfterChildCreated() {
+		String baseNodeUuid = tx(() -> project().getBaseNode().getUuid());
+		String etag = callETag(() -> client().loadNavigation(PROJECT_NAME, baseNodeUuid));
+		callETag(() -> client().loadNavigation(PROJECT_NAME, baseNodeUuid), etag, true, 304);
+
+		// Adding a folder changes the tree and thus the etag
+		NodeCreateRequest request = new NodeCreateRequest();
+		request.setLanguage("en");
+		request.setParentNode(new NodeReference().setUuid(baseNodeUuid));
+		request.setSchema(new SchemaReferenceImpl().setName("folder"));
+		request.getFields().put("name", FieldUtil.createStringField("navFolder"));
+		request.getFields().put("slug", FieldUtil.createStringField("navFolder"));
+		call(() -> client().createNode(PROJECT_NAME, request));
+		callETag(() -> client().loadNavigation(PROJECT_NAME, baseNodeUuid), etag, true, 200);
+	}
+
 }
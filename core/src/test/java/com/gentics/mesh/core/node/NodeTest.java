@@ -180,6 +180,19 @@ public class NodeTest extends AbstractMeshTest implements BasicObjectTestcases {
 		}
 	}
 
+	@Test
+	public void testFindByUuids() throws Exception {
+		try (Tx tx = tx()) {
+			Node newsNode = content("news overview");
+			Node concorde = content("concorde");
+			Map<String, Node> nodes = boot().nodeRoot().findByUuids(Arrays.asList(newsNode.getUuid(), concorde.getUuid(), user().getUuid(),
+				"bogus"));
+			assertEquals("Only the two nodes should have been found", 2, nodes.size());
+			assertEquals(newsNode.getUuid(), nodes.get(newsNode.getUuid()).getUuid());
+			assertEquals(concorde.getUuid(), nodes.get(concorde.getUuid()).getUuid());
+		}
+	}
+
 	@Test
 	@Override
 	public void testTransformation() throws Exception {
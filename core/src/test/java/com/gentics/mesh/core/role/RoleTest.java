@@ -12,6 +12,7 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.Set;
 
@@ -19,6 +20,7 @@ import org.junit.Test;
 
 import com.gentics.mesh.context.InternalActionContext;
 import com.gentics.mesh.context.impl.InternalRoutingActionContextImpl;
+import com.gentics.mesh.core.cache.PermissionStore;
 import com.gentics.mesh.core.data.MeshAuthUser;
 import com.gentics.mesh.core.data.MeshVertex;
 import com.gentics.mesh.core.data.Role;
@@ -178,6 +180,83 @@ public class RoleTest extends AbstractMeshTest implements BasicObjectTestcases {
 		}
 	}
 
+	@Test
+	public void testCachedPermissionInvalidation() {
+		String otherUserUuid = tx(() -> meshRoot().getUserRoot().create("otherUser", user()).getUuid());
+		long userKey = tx(() -> db().getElementKey(user().getId()));
+		long nodeKey = tx(() -> db().getElementKey(folder("news").getId()));
+		try (Tx tx = tx()) {
+			assertTrue(user().hasPermission(folder("news"), UPDATE_PERM));
+			assertEquals(Boolean.TRUE, PermissionStore.getPermission(userKey, UPDATE_PERM, nodeKey));
+
+			// Invalidating other users must not affect the cached entry
+			PermissionStore.invalidateUsers(Collections.singleton(db().getElementKey(meshRoot().getUserRoot().findByUuid(otherUserUuid).getId())));
+			assertEquals(Boolean.TRUE, PermissionStore.getPermission(userKey, UPDATE_PERM, nodeKey));
+		}
+
+		try (Tx tx = tx()) {
+			role().revokePermissions(folder("news"), UPDATE_PERM);
+			assertEquals("The entry must only be invalidated after the commit", Boolean.TRUE, PermissionStore.getPermission(userKey, UPDATE_PERM,
+				nodeKey));
+			tx.success();
+		}
+		assertNull("The revoke should have invalidated the entry", PermissionStore.getPermission(userKey, UPDATE_PERM, nodeKey));
+		try (Tx tx = tx()) {
+			assertFalse(user().hasPermission(folder("news"), UPDATE_PERM));
+		}
+	}
+
+	@Test
+	public void testCachedDeniedPermission() {
+		long userKey = tx(() -> db().getElementKey(user().getId()));
+		long nodeKey = tx(() -> db().getElementKey(folder("news").getId()));
+		try (Tx tx = tx()) {
+			role().revokePermissions(folder("news"), UPDATE_PERM);
+			tx.success();
+		}
+
+		try (Tx tx = tx()) {
+			assertFalse(user().hasPermission(folder("news"), UPDATE_PERM));
+			assertEquals("The denied permission should have been cached", Boolean.FALSE, PermissionStore.getPermission(userKey, UPDATE_PERM, nodeKey));
+		}
+
+		try (Tx tx = tx()) {
+			// Permissions on new elements can't affect cached denials
+			role().grantInitialPermissions(folder("2015"), UPDATE_PERM);
+			tx.success();
+		}
+		assertEquals(Boolean.FALSE, PermissionStore.getPermission(userKey, UPDATE_PERM, nodeKey));
+
+		try (Tx tx = tx()) {
+			role().grantPermissions(folder("news"), UPDATE_PERM);
+			assertEquals("The denied entry must only be invalidated after the commit", Boolean.FALSE, PermissionStore.getPermission(userKey,
+				UPDATE_PERM, nodeKey));
+			tx.success();
+		}
+		assertNull("The grant should have invalidated the denied entry", PermissionStore.getPermission(userKey, UPDATE_PERM, nodeKey));
+		try (Tx tx = tx()) {
+			assertTrue(user().hasPermission(folder("news"), UPDATE_PERM));
+		}
+	}
+
+	@Test
+	public void testCachedPermissionsOfMultipleElements() {
+		try (Tx tx = tx()) {
+			User user = user();
+			long userKey = db().getElementKey(user.getId());
+			// Cache enough elements to enforce the growth of the user structure
+			for (Node node : project().getNodeRoot().findAllIt()) {
+				user.hasPermission(node, READ_PERM);
+				user.hasPermission(node, DELETE_PERM);
+			}
+			for (Node node : project().getNodeRoot().findAllIt()) {
+				long nodeKey = db().getElementKey(node.getId());
+				assertEquals(user.hasPermission(node, READ_PERM), PermissionStore.getPermission(userKey, READ_PERM, nodeKey));
+				assertEquals(user.hasPermission(node, DELETE_PERM), PermissionStore.getPermission(userKey, DELETE_PERM, nodeKey));
+			}
+		}
+	}
+
 	@Test
 	public void testRevokePermissionOnGroupRoot() throws Exception {
 		try (Tx tx = tx()) {
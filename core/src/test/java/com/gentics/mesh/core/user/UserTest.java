@@ -19,6 +19,10 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
 import org.junit.Test;
 
 import com.syncleus.ferma.tx.Tx;
@@ -112,6 +116,28 @@ public class UserTest extends AbstractMeshTest implements BasicObjectTestcases {
 		}
 	}
 
+	@Test
+	public void testPermissionEvaluator() {
+		try (Tx tx = tx()) {
+			User user = user();
+			Node revokedNode = folder("news");
+			role().revokePermissions(revokedNode, READ_PERM);
+
+			List<Object> nodeIds = new ArrayList<>();
+			for (Node node : project().getNodeRoot().findAllIt()) {
+				nodeIds.add(node.getId());
+			}
+			Set<Object> permittedIds = user.createPermissionEvaluator().getPermittedIds(nodeIds, READ_PERM);
+			assertFalse("The node without read permission should have been filtered", permittedIds.contains(revokedNode.getId()));
+			for (Object nodeId : nodeIds) {
+				assertEquals(user.hasPermissionForId(nodeId, READ_PERM), permittedIds.contains(nodeId));
+			}
+
+			role().grantPermissions(revokedNode, READ_PERM);
+			assertTrue(user.createPermissionEvaluator().getPermittedIds(nodeIds, READ_PERM).contains(revokedNode.getId()));
+		}
+	}
+
 	@Test
 	@Override
 	public void testFindAll() throws InvalidArgumentException {
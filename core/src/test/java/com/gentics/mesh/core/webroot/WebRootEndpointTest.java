@@ -24,6 +24,7 @@ import java.util.List;
 import org.junit.Test;
 
 import com.gentics.mesh.FieldUtil;
+import com.gentics.mesh.core.data.ContainerType;
 import com.gentics.mesh.core.data.NodeGraphFieldContainer;
 import com.gentics.mesh.core.data.Release;
 import com.gentics.mesh.core.data.node.Node;
@@ -93,6 +94,81 @@ public class WebRootEndpointTest extends AbstractMeshTest {
 		}
 	}
 
+	@Test
+	public void testReadCreatedNodeByPath() {
+		String baseNodeUuid = tx(() -> project().getBaseNode().getUuid());
+
+		NodeCreateRequest createFolder = new NodeCreateRequest();
+		createFolder.setSchema(new SchemaReferenceImpl().setName("folder"));
+		createFolder.setParentNodeUuid(baseNodeUuid);
+		createFolder.getFields().put("slug", FieldUtil.createStringField("indexed"));
+		createFolder.setLanguage("en");
+		NodeResponse folder = call(() -> client().createNode(PROJECT_NAME, createFolder));
+
+		NodeCreateRequest createContent = new NodeCreateRequest();
+		createContent.setSchema(new SchemaReferenceImpl().setName("content"));
+		createContent.setParentNodeUuid(folder.getUuid());
+		createContent.getFields().put("slug", FieldUtil.createStringField("indexed-content"));
+		createContent.getFields().put("teaser", FieldUtil.createStringField("Teaser"));
+		createContent.getFields().put("content", FieldUtil.createStringField("Content"));
+		createContent.setLanguage("en");
+		NodeResponse content = call(() -> client().createNode(PROJECT_NAME, createContent));
+
+		// The segments of created nodes are resolved via the webroot index
+		WebRootResponse response = call(() -> client().webroot(PROJECT_NAME, "/indexed/indexed-content", new VersioningParametersImpl().draft()));
+		assertEquals(content.getUuid(), response.getNodeResponse().getUuid());
+
+		call(() -> client().webroot(PROJECT_NAME, "/indexed/missing", new VersioningParametersImpl().draft()), NOT_FOUND,
+				"node_not_found_for_path", "/indexed/missing");
+	}
+
+	@Test
+	public void testStoredPathsOfDescendants() {
+		String baseNodeUuid = tx(() -> project().getBaseNode().getUuid());
+
+		NodeCreateRequest createFolder = new NodeCreateRequest();
+		createFolder.setSchema(new SchemaReferenceImpl().setName("folder"));
+		createFolder.setParentNodeUuid(baseNodeUuid);
+		createFolder.getFields().put("slug", FieldUtil.createStringField("folderA"));
+		createFolder.setLanguage("en");
+		NodeResponse folderA = call(() -> client().createNode(PROJECT_NAME, createFolder));
+		createFolder.getFields().put("slug", FieldUtil.createStringField("folderB"));
+		NodeResponse folderB = call(() -> client().createNode(PROJECT_NAME, createFolder));
+
+		NodeCreateRequest createContent = new NodeCreateRequest();
+		createContent.setSchema(new SchemaReferenceImpl().setName("content"));
+		createContent.setParentNodeUuid(folderA.getUuid());
+		createContent.getFields().put("slug", FieldUtil.createStringField("stored-content"));
+		createContent.getFields().put("teaser", FieldUtil.createStringField("Teaser"));
+		createContent.getFields().put("content", FieldUtil.createStringField("Content"));
+		createContent.setLanguage("en");
+		NodeResponse content = call(() -> client().createNode(PROJECT_NAME, createContent));
+		assertEquals("/folderA/stored-content", getStoredDraftPath(content.getUuid()));
+
+		// Rename the parent folder
+		NodeUpdateRequest updateFolder = new NodeUpdateRequest();
+		updateFolder.setLanguage("en");
+		updateFolder.setVersion(folderA.getVersion());
+		updateFolder.getFields().put("slug", FieldUtil.createStringField("renamedA"));
+		call(() -> client().updateNode(PROJECT_NAME, folderA.getUuid(), updateFolder));
+		assertEquals("/renamedA/stored-content", getStoredDraftPath(content.getUuid()));
+
+		// Move the content to the other folder
+		call(() -> client().moveNode(PROJECT_NAME, content.getUuid(), folderB.getUuid()));
+		assertEquals("/folderB/stored-content", getStoredDraftPath(content.getUuid()));
+
+		NodeResponse response = call(() -> client().findNodeByUuid(PROJECT_NAME, content.getUuid(), new VersioningParametersImpl().draft(),
+				new NodeParametersImpl().setResolveLinks(LinkType.SHORT).setLanguages("en")));
+		assertEquals("/folderB/stored-content", response.getPath());
+	}
+
+	private String getStoredDraftPath(String nodeUuid) {
+		return tx(() -> {
+			Node node = meshRoot().getNodeRoot().findByUuid(nodeUuid);
+			return node.getGraphFieldContainer("en").getWebrootPath(initialReleaseUuid(), ContainerType.DRAFT);
+		});
+	}
+
 	@Test
 	public void testReadFolderByPathAndResolveLinks() {
 		Node content = content("news_2015");
@@ -474,6 +550,26 @@ public class WebRootEndpointTest extends AbstractMeshTest {
 		});
 	}
 
+	@Test
+	public void testReadAfterReleaseMigration() {
+		String path = "/News/2015/News_2015.en.html";
+
+		// The containers are shared with the initial release until they are updated in the new release
+		db().tx(() -> {
+			Release newRelease = project().getReleaseRoot().create("newrelease", user());
+			meshDagger().releaseMigrationHandler().migrateRelease(newRelease, null);
+		});
+
+		WebRootResponse draft = call(() -> client().webroot(PROJECT_NAME, path, new VersioningParametersImpl().draft()));
+		WebRootResponse published = call(() -> client().webroot(PROJECT_NAME, path, new VersioningParametersImpl().published()));
+		WebRootResponse initial = call(() -> client().webroot(PROJECT_NAME, path, new VersioningParametersImpl().draft().setRelease(db().tx(
+				() -> project().getInitialRelease().getUuid()))));
+		String uuid = db().tx(() -> content("news_2015").getUuid());
+		assertEquals(uuid, draft.getNodeResponse().getUuid());
+		assertEquals(uuid, published.getNodeResponse().getUuid());
+		assertEquals(uuid, initial.getNodeResponse().getUuid());
+	}
+
 	/**
 	 * Update the node slug field for the latest release.
 	 * 
@@ -18,6 +18,7 @@ import io.vertx.core.json.JsonObject;
 
 import static com.gentics.mesh.test.TestSize.FULL;
 import static com.gentics.mesh.test.ClientHelper.call;
+import static com.gentics.mesh.test.TestDataProvider.PROJECT_NAME;
 
 /**
  * Test cases for link rendering using the Utility Verticle
@@ -103,6 +104,33 @@ public class LinkRendererEndpointTest extends AbstractMeshTest {
 		}
 	}
 
+	/**
+	 * Test whether the rendered link changes immediately once the linked node has been moved
+	 */
+	@Test
+	public void testLinkAfterMove() {
+		String nodeUuid = db().tx(() -> content("news overview").getUuid());
+		String targetUuid = db().tx(() -> folder("2015").getUuid());
+		String content = "{{mesh.link('" + nodeUuid + "')}}";
+		testRenderContent(content, LinkType.SHORT, "/News/News%20Overview.en.html");
+
+		call(() -> client().moveNode(PROJECT_NAME, nodeUuid, targetUuid));
+		testRenderContent(content, LinkType.SHORT, "/News/2015/News%20Overview.en.html");
+	}
+
+	/**
+	 * Test whether the rendered link changes immediately once the linked node has been deleted
+	 */
+	@Test
+	public void testLinkAfterDelete() {
+		String nodeUuid = db().tx(() -> content("news overview").getUuid());
+		String content = "{{mesh.link('" + nodeUuid + "')}}";
+		testRenderContent(content, LinkType.SHORT, "/News/News%20Overview.en.html");
+
+		call(() -> client().deleteNode(PROJECT_NAME, nodeUuid));
+		testRenderContent(content, LinkType.SHORT, "/error/404");
+	}
+
 	/**
 	 * Test rendering a simple link to the given node with given link type
 	 * 
@@ -12,6 +12,7 @@ import org.junit.Before;
 import org.junit.Test;
 
 import com.gentics.mesh.context.InternalActionContext;
+import com.gentics.mesh.core.cache.WebRootLinkCache;
 import com.gentics.mesh.core.data.ContainerType;
 import com.gentics.mesh.core.data.Language;
 import com.gentics.mesh.core.data.NodeGraphFieldContainer;
@@ -122,6 +123,23 @@ public class LinkRendererTest extends AbstractMeshTest {
 		}
 	}
 
+	@Test
+	public void testLinkWithEscapedQuotesIsCached() {
+		try (Tx tx = tx()) {
+			Node newsNode = content("news overview");
+			String uuid = newsNode.getUuid();
+			final String content = "<a href=\"{{mesh.link(\\\"" + uuid + "\\\", \\\"en\\\")}}\">a</a><a href=\"{{mesh.link('" + uuid + "', 'en')}}\">b</a>";
+			InternalActionContext ac = mockActionContext();
+			long hits = WebRootLinkCache.getStats().hitCount();
+			String replacedContent = replacer.replace(ac, project().getLatestRelease().getUuid(), ContainerType.DRAFT, content, LinkType.FULL, null,
+					null);
+
+			String link = "/api/v1/dummy/webroot/News/News%20Overview.en.html";
+			assertEquals("Check rendered content", "<a href=\"" + link + "\">a</a><a href=\"" + link + "\">b</a>", replacedContent);
+			assertEquals("The second link should have been loaded from the cache", hits + 1, WebRootLinkCache.getStats().hitCount());
+		}
+	}
+
 	@Test
 	public void testLinkInMiddle() {
 		try (Tx tx = tx()) {
@@ -0,0 +1,142 @@
+package com.gentics.mesh.search;
+
+import static com.gentics.mesh.core.data.search.SearchQueueEntryAction.STORE_ACTION;
+import static com.gentics.mesh.test.ClientHelper.call;
+import static com.gentics.mesh.test.context.MeshTestHelper.getSimpleTermQuery;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.gentics.mesh.Mesh;
+import com.gentics.mesh.core.data.impl.UserImpl;
+import com.gentics.mesh.core.data.search.impl.SearchQueueJournal;
+import com.gentics.mesh.core.data.search.impl.SearchQueueJournal.JournalRecord;
+import com.gentics.mesh.core.rest.admin.status.MeshStatusResponse;
+import com.gentics.mesh.core.rest.user.UserCreateRequest;
+import com.gentics.mesh.core.rest.user.UserListResponse;
+import com.gentics.mesh.core.rest.user.UserResponse;
+import com.gentics.mesh.etc.config.search.ElasticSearchOptions;
+import com.gentics.mesh.test.TestSize;
+import com.gentics.mesh.test.context.AbstractMeshTest;
+import com.gentics.mesh.test.context.MeshTestSetting;
+import com.gentics.mesh.util.UUIDUtil;
+
+import io.vertx.core.DeploymentOptions;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+@MeshTestSetting(useElasticsearch = true, testSize = TestSize.PROJECT, startServer = true)
+public class AsyncIndexingTest extends AbstractMeshTest {
+
+	private String deploymentId;
+
+	@Before
+	public void setupIndexer() throws Exception {
+		ElasticSearchOptions options = Mesh.mesh().getOptions().getSearchOptions();
+		options.setAsyncIndexing(true);
+		options.setAsyncIndexingDirectory("target" + File.separator + "searchqueue_" + UUIDUtil.randomUUID());
+		DeploymentOptions deploymentOptions = new DeploymentOptions();
+		deploymentOptions.setWorker(true);
+		CompletableFuture<String> deployment = new CompletableFuture<>();
+		vertx().deployVerticle(meshDagger().searchIndexerVerticle(), deploymentOptions, rh -> {
+			if (rh.succeeded()) {
+				deployment.complete(rh.result());
+			} else {
+				deployment.completeExceptionally(rh.cause());
+			}
+		});
+		deploymentId = deployment.get(10, TimeUnit.SECONDS);
+	}
+
+	@After
+	public void removeIndexer() throws Exception {
+		CompletableFuture<Void> undeployment = new CompletableFuture<>();
+		vertx().undeploy(deploymentId, rh -> {
+			if (rh.succeeded()) {
+				undeployment.complete(null);
+			} else {
+				undeployment.completeExceptionally(rh.cause());
+			}
+		});
+		undeployment.get(10, TimeUnit.SECONDS);
+		Mesh.mesh().getOptions().getSearchOptions().setAsyncIndexing(false);
+	}
+
+	@Test
+	public void testCreateUser() throws Exception {
+		String username = "asyncuser";
+		UserCreateRequest request = new UserCreateRequest();
+		request.setUsername(username);
+		request.setPassword("test1234");
+		UserResponse user = call(() -> client().createUser(request));
+
+		waitForQueue();
+		File[] pendingFiles = meshDagger().searchQueueJournal().getDirectory().toFile().listFiles();
+		assertEquals("All journal files should have been removed", 0, pendingFiles.length);
+
+		UserListResponse list = call(() -> client().searchUsers(getSimpleTermQuery("username.raw", username)));
+		assertEquals(1, list.getData().size());
+		assertEquals(user.getUuid(), list.getData().get(0).getUuid());
+
+		MeshStatusResponse status = call(() -> client().meshStatus());
+		assertEquals(0, status.getSearchQueueDepth());
+		assertEquals(0, status.getSearchQueueLag());
+	}
+
+	@Test
+	public void testPollOrder() throws Exception {
+		SearchQueueJournal journal = new SearchQueueJournal();
+		Path dir = journal.getDirectory();
+		Files.createDirectories(dir);
+		String first = writeRecord(dir, "0000000000001-000000", "user1");
+		String second = writeRecord(dir, "0000000000001-000001", "user2");
+		String third = writeRecord(dir, "0000000000002-000000", "user1");
+		journal.load();
+
+		// The second update of user1 must wait until the first update has been applied
+		List<JournalRecord> records = journal.poll(10);
+		assertEquals(Arrays.asList(first, second), getNames(records));
+
+		// A failed record must also block the newer records of the same element while waiting for the retry
+		journal.retry(records.get(0), 0);
+		records = journal.poll(10);
+		assertEquals(Arrays.asList(first), getNames(records));
+
+		journal.complete(records.get(0));
+		assertEquals(Arrays.asList(third), getNames(journal.poll(10)));
+	}
+
+	private String writeRecord(Path dir, String name, String elementUuid) throws Exception {
+		JsonObject entry = new JsonObject().put("action", STORE_ACTION.name()).put("elementUuid", elementUuid).put("elementClass", UserImpl.class
+			.getName()).put("context", new JsonObject());
+		JsonObject json = new JsonObject().put("timestamp", System.currentTimeMillis()).put("entries", new JsonArray().add(entry));
+		Files.write(dir.resolve(name + ".json"), json.encode().getBytes(StandardCharsets.UTF_8));
+		return name;
+	}
+
+	private List<String> getNames(List<JournalRecord> records) {
+		return records.stream().map(JournalRecord::getName).collect(Collectors.toList());
+	}
+
+	private void waitForQueue() throws InterruptedException {
+		SearchQueueJournal journal = meshDagger().searchQueueJournal();
+		for (int i = 0; i < 100 && journal.getQueueDepth() > 0; i++) {
+			Thread.sleep(100);
+		}
+		assertTrue("The indexer did not process the queue in time", journal.getQueueDepth() == 0);
+	}
+
+}
@@ -1,15 +1,28 @@
 package com.gentics.mesh.search;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
 import org.junit.Test;
 
+import com.gentics.mesh.core.data.User;
+import com.gentics.mesh.core.data.search.SearchQueueBatch;
+import com.gentics.mesh.core.data.search.bulk.BulkEntry;
+import com.gentics.mesh.core.data.search.bulk.DeleteBulkEntry;
+import com.gentics.mesh.core.data.search.bulk.IndexBulkEntry;
+import com.gentics.mesh.core.data.search.bulk.UpdateBulkEntry;
 import com.gentics.mesh.core.data.search.index.IndexInfo;
+import com.gentics.mesh.core.rest.error.GenericRestException;
+import com.gentics.mesh.etc.config.search.ElasticSearchOptions;
 import com.gentics.mesh.search.impl.ElasticSearchProvider;
+import com.gentics.mesh.search.impl.SearchClient;
 import com.gentics.mesh.test.TestSize;
 import com.gentics.mesh.test.context.AbstractMeshTest;
 import com.gentics.mesh.test.context.MeshTestSetting;
@@ -81,6 +94,109 @@ public class ElasticSearchProviderTest extends AbstractMeshTest {
 		provider.clear().blockingAwait();
 	}
 
+	@Test
+	public void testReadYourWrites() {
+		String uuid = tx(() -> {
+			return meshRoot().getUserRoot().create("searchableUser", user()).getUuid();
+		});
+
+		// Processing the batch must refresh the modified index so that the document can be found without an additional refresh
+		tx(() -> {
+			User user = meshRoot().getUserRoot().findByUuid(uuid);
+			SearchQueueBatch batch = createBatch();
+			batch.store(user, false);
+			batch.processSync();
+		});
+		List<String> ids = new ArrayList<>();
+		for (JsonObject hit : getProvider().scrollDocuments(User.composeIndexName(), "uuid").blockingIterable()) {
+			ids.add(hit.getString("_id"));
+		}
+		assertTrue("The stored user should be found by the search", ids.contains(uuid));
+	}
+
+	@Test
+	public void testProcessBulkPartialFailure() {
+		ElasticSearchProvider provider = getProvider();
+		JsonObject mappings = new JsonObject().put("default", new JsonObject().put("properties", new JsonObject().put("value", new JsonObject().put(
+			"type", "integer"))));
+		provider.createIndex(new IndexInfo("test", new JsonObject(), mappings)).blockingAwait();
+		List<BulkEntry> entries = new ArrayList<>();
+		entries.add(new IndexBulkEntry("test", "1", new JsonObject().put("value", 1)));
+		// The value can't be parsed and only this action of the bulk request will fail
+		entries.add(new IndexBulkEntry("test", "2", new JsonObject().put("value", "notANumber")));
+		entries.add(new IndexBulkEntry("test", "3", new JsonObject().put("value", 3)));
+
+		try {
+			provider.processBulk(entries).blockingAwait();
+			fail("The bulk request should fail since one of the actions failed");
+		} catch (GenericRestException e) {
+			assertEquals("search_error_bulk_failed", e.getI18nKey());
+		}
+		// The other actions must still have been applied
+		assertEquals(1, provider.getDocument("test", "1").blockingGet().getJsonObject("_source").getInteger("value").intValue());
+		assertEquals(3, provider.getDocument("test", "3").blockingGet().getJsonObject("_source").getInteger("value").intValue());
+	}
+
+	@Test
+	public void testProcessBulk() {
+		ElasticSearchProvider provider = getProvider();
+		provider.createIndex(new IndexInfo("test", new JsonObject(), new JsonObject())).blockingAwait();
+		List<BulkEntry> entries = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			entries.add(new IndexBulkEntry("test", String.valueOf(i), new JsonObject().put("value", i)));
+		}
+		entries.add(new UpdateBulkEntry("test", "1", new JsonObject().put("value", 1000)));
+		entries.add(new DeleteBulkEntry("test", "2"));
+		// Missing documents should not fail the bulk request
+		entries.add(new UpdateBulkEntry("test", "missing", new JsonObject().put("value", 0)));
+		entries.add(new DeleteBulkEntry("test", "missing"));
+
+		// Force the provider to split the entries into multiple bulk requests
+		provider.getOptions().setBulkLimit(10);
+		try {
+			provider.processBulk(entries).blockingAwait();
+		} finally {
+			provider.getOptions().setBulkLimit(ElasticSearchOptions.DEFAULT_BULK_LIMIT);
+		}
+
+		assertEquals(1000, provider.getDocument("test", "1").blockingGet().getJsonObject("_source").getInteger("value").intValue());
+		assertEquals(99, provider.getDocument("test", "99").blockingGet().getJsonObject("_source").getInteger("value").intValue());
+		assertFalse(provider.getDocument("test", "2").map(doc -> doc.getBoolean("found")).onErrorReturnItem(false).blockingGet());
+	}
+
+	@Test
+	public void testStoreDocumentBulk() {
+		ElasticSearchProvider provider = getProvider();
+		provider.createIndex(new IndexInfo("test", new JsonObject(), new JsonObject())).blockingAwait();
+		StringBuilder bulkData = new StringBuilder();
+		for (int i = 0; i < 10; i++) {
+			bulkData.append(new IndexBulkEntry("test", String.valueOf(i), new JsonObject().put("value", i)).toBulkString());
+		}
+		bulkData.append(new DeleteBulkEntry("test", "9").toBulkString());
+
+		SearchClient client = provider.getClient();
+		JsonObject response = client.storeDocumentBulk(bulkData.toString()).async().blockingGet();
+		assertFalse("The bulk request should not contain errors", response.getBoolean("errors"));
+		assertEquals("Each action of the bulk request should be listed", 11, response.getJsonArray("items").size());
+
+		assertEquals(5, provider.getDocument("test", "5").blockingGet().getJsonObject("_source").getInteger("value").intValue());
+		assertFalse(provider.getDocument("test", "9").map(doc -> doc.getBoolean("found")).onErrorReturnItem(false).blockingGet());
+	}
+
+	@Test
+	public void testListIndicesIgnoresForeignIndices() {
+		ElasticSearchProvider provider = getProvider();
+		String meshIndex = "mesh-test-created";
+		String foreignIndex = "mesh-test-foreign";
+		provider.createIndex(new IndexInfo(meshIndex, new JsonObject(), new JsonObject())).blockingAwait();
+		SearchClient client = provider.getClient();
+		client.createIndex(foreignIndex, new JsonObject()).async().blockingGet();
+
+		Set<String> indices = provider.listIndices().blockingGet();
+		assertTrue("The index which was created by mesh should be listed", indices.contains(meshIndex));
+		assertFalse("The foreign index should not be listed", indices.contains(foreignIndex));
+	}
+
 	@Test
 	public void testConcurrencyConflictError() {
 		ElasticSearchProvider provider = getProvider();
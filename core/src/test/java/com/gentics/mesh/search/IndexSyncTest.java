@@ -0,0 +1,56 @@
+package com.gentics.mesh.search;
+
+import static com.gentics.mesh.test.TestSize.PROJECT;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+
+import org.junit.Test;
+
+import com.gentics.mesh.core.data.User;
+import com.gentics.mesh.test.context.AbstractMeshTest;
+import com.gentics.mesh.test.context.MeshTestSetting;
+
+import io.vertx.core.json.JsonObject;
+
+@MeshTestSetting(useElasticsearch = true, testSize = PROJECT, startServer = false)
+public class IndexSyncTest extends AbstractMeshTest {
+
+	@Test
+	public void testSyncUserIndex() throws Exception {
+		recreateIndices();
+		String indexName = User.composeIndexName();
+		String userUuid = tx(() -> user().getUuid());
+		String userDocumentId = User.composeDocumentId(userUuid);
+
+		JsonObject original = searchProvider().getDocument(indexName, userDocumentId).blockingGet().getJsonObject("_source");
+		assertNotNull(original.getString("_hash"));
+
+		// Modify, remove and add documents behind the back of mesh
+		searchProvider().storeDocument(indexName, userDocumentId, new JsonObject().put("username", "outdated")).blockingAwait();
+		searchProvider().storeDocument(indexName, "superfluous", new JsonObject().put("username", "superfluous")).blockingAwait();
+		searchProvider().refreshIndex(indexName).blockingAwait();
+
+		meshDagger().userIndexHandler().syncIndices().blockingAwait();
+
+		JsonObject synced = searchProvider().getDocument(indexName, userDocumentId).blockingGet().getJsonObject("_source");
+		assertEquals("The outdated document should have been replaced", original.getString("username"), synced.getString("username"));
+		assertEquals(original.getString("_hash"), synced.getString("_hash"));
+		assertFalse("The superfluous document should have been removed", searchProvider().getDocument(indexName, "superfluous").map(doc -> doc
+			.getBoolean("found")).onErrorReturnItem(false).blockingGet());
+	}
+
+	@Test
+	public void testSyncRetainsUnchangedDocuments() throws Exception {
+		recreateIndices();
+		String indexName = User.composeIndexName();
+		String userDocumentId = User.composeDocumentId(tx(() -> user().getUuid()));
+		long version = searchProvider().getDocument(indexName, userDocumentId).blockingGet().getLong("_version");
+
+		meshDagger().userIndexHandler().syncIndices().blockingAwait();
+
+		assertEquals("Unchanged documents should not be stored again", version, searchProvider().getDocument(indexName, userDocumentId)
+			.blockingGet().getLong("_version").longValue());
+	}
+
+}
@@ -2,15 +2,27 @@ package com.gentics.mesh.search;
 
 import static com.gentics.mesh.test.TestSize.PROJECT;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
 import org.junit.Test;
 
+import com.gentics.mesh.Mesh;
+import com.gentics.mesh.core.data.node.impl.NodeImpl;
+import com.gentics.mesh.etc.config.search.ElasticSearchOptions;
+import com.gentics.mesh.search.index.entry.ReindexCheckpoint;
+import com.gentics.mesh.search.index.node.NodeIndexHandler;
 import com.gentics.mesh.test.context.AbstractMeshTest;
 import com.gentics.mesh.test.context.MeshTestSetting;
 import com.syncleus.ferma.tx.Tx;
 
+import io.vertx.core.json.JsonObject;
+
 @MeshTestSetting(useElasticsearch = false, testSize = PROJECT, startServer = false)
 public class NodeIndexHandlerTest extends AbstractMeshTest {
 
@@ -34,4 +46,38 @@ public class NodeIndexHandlerTest extends AbstractMeshTest {
 		}
 	}
 
+	@Test
+	public void testResumeReindexAll() throws Exception {
+		ElasticSearchOptions options = Mesh.mesh().getOptions().getSearchOptions();
+		options.setReindexChunkSize(2);
+		options.setReindexCheckpointDirectory("target" + File.separator + "reindex_" + System.currentTimeMillis());
+
+		List<String> indexedUuids = new ArrayList<>();
+		String resumeId;
+		try (Tx tx = tx()) {
+			List<Object> ids = db().getVertexIds(NodeImpl.class, null, Integer.MAX_VALUE);
+			int resumeIndex = ids.size() / 2;
+			resumeId = String.valueOf(ids.get(resumeIndex));
+			for (Object id : ids.subList(resumeIndex + 1, ids.size())) {
+				indexedUuids.add(tx.getGraph().getFramedVertexExplicit(NodeImpl.class, id).getUuid());
+			}
+		}
+
+		// Simulate an interrupted reindex
+		ReindexCheckpoint checkpoint = new ReindexCheckpoint(NodeIndexHandler.class.getSimpleName());
+		checkpoint.write(resumeId);
+		assertTrue(ReindexCheckpoint.hasPending());
+
+		searchProvider().reset();
+		meshDagger().nodeContainerIndexHandler().reindexAll().blockingAwait();
+
+		assertFalse(trackingSearchProvider().getStoreEvents().isEmpty());
+		for (JsonObject document : trackingSearchProvider().getStoreEvents().values()) {
+			String uuid = document.getString("uuid");
+			assertTrue("The node {" + uuid + "} was already indexed before the interruption.", indexedUuids.contains(uuid));
+		}
+		assertFalse("The checkpoint should have been removed", ReindexCheckpoint.hasPending());
+		options.setReindexChunkSize(ElasticSearchOptions.DEFAULT_REINDEX_CHUNK_SIZE);
+	}
+
 }
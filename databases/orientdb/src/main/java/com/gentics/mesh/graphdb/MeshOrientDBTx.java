@@ -0,0 +1,104 @@
+package com.gentics.mesh.graphdb;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import com.syncleus.ferma.ext.orientdb.OrientDBTx;
+import com.syncleus.ferma.typeresolvers.TypeResolver;
+import com.tinkerpop.blueprints.impls.orient.OrientGraphFactory;
+
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+
+/**
+ * OrientDB transaction which additionally invokes the registered after-commit actions once the transaction has been committed successfully. The actions
+ * are discarded when the transaction is rolled back.
+ */
+public class MeshOrientDBTx extends OrientDBTx {
+
+	private static final Logger log = LoggerFactory.getLogger(MeshOrientDBTx.class);
+
+	private final Map<String, Runnable> afterCommitActions = new LinkedHashMap<>();
+
+	private boolean success = false;
+
+	public MeshOrientDBTx(OrientGraphFactory factory, TypeResolver typeResolver) {
+		super(factory, typeResolver);
+	}
+
+	/**
+	 * Register an action which will be invoked after the transaction has been committed. Actions for an already registered key are ignored.
+	 *
+	 * @param key
+	 * @param action
+	 */
+	public void afterCommit(String key, Runnable action) {
+		afterCommitActions.putIfAbsent(key, action);
+	}
+
+	/**
+	 * Register an action which will be invoked once with the values of all registrations for the key after the transaction has been committed.
+	 *
+	 * @param key
+	 * @param values
+	 * @param action
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> void afterCommit(String key, Collection<T> values, Consumer<Set<T>> action) {
+		Runnable existing = afterCommitActions.get(key);
+		if (existing instanceof CollectingAction) {
+			((CollectingAction<T>) existing).values.addAll(values);
+		} else if (existing == null) {
+			afterCommitActions.put(key, new CollectingAction<>(values, action));
+		}
+	}
+
+	@Override
+	public void success() {
+		super.success();
+		success = true;
+	}
+
+	@Override
+	public void close() {
+		// The actions must not be invoked if the commit fails. The exception of the commit will skip the invocation.
+		super.close();
+		if (success) {
+			for (Runnable action : afterCommitActions.values()) {
+				try {
+					action.run();
+				} catch (Exception e) {
+					log.error("Error while invoking the after-commit action", e);
+				}
+			}
+		}
+		afterCommitActions.clear();
+	}
+
+	/**
+	 * Action which collects the values of multiple registrations.
+	 *
+	 * @param <T>
+	 */
+	private static class CollectingAction<T> implements Runnable {
+
+		private final Set<T> values;
+
+		private final Consumer<Set<T>> action;
+
+		CollectingAction(Collection<T> values, Consumer<Set<T>> action) {
+			this.values = new LinkedHashSet<>(values);
+			this.action = action;
+		}
+
+		@Override
+		public void run() {
+			action.accept(values);
+		}
+	}
+
+}
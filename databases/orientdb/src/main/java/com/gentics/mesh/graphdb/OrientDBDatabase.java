@@ -20,10 +20,15 @@ import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
+import java.util.function.Consumer;
 
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
@@ -53,6 +58,8 @@ import com.orientechnologies.orient.core.db.record.OIdentifiable;
 import com.orientechnologies.orient.core.db.tool.ODatabaseExport;
 import com.orientechnologies.orient.core.db.tool.ODatabaseImport;
 import com.orientechnologies.orient.core.exception.OSchemaException;
+import com.orientechnologies.orient.core.id.ORID;
+import com.orientechnologies.orient.core.id.ORecordId;
 import com.orientechnologies.orient.core.index.OCompositeKey;
 import com.orientechnologies.orient.core.index.OIndex;
 import com.orientechnologies.orient.core.index.OIndexCursor;
@@ -61,6 +68,7 @@ import com.orientechnologies.orient.core.intent.OIntentNoCache;
 import com.orientechnologies.orient.core.metadata.schema.OClass;
 import com.orientechnologies.orient.core.metadata.schema.OType;
 import com.orientechnologies.orient.core.record.impl.ODocument;
+import com.orientechnologies.orient.core.sql.OCommandSQL;
 import com.orientechnologies.orient.core.storage.ORecordDuplicatedException;
 import com.orientechnologies.orient.server.OServer;
 import com.orientechnologies.orient.server.OServerMain;
@@ -70,10 +78,10 @@ import com.orientechnologies.orient.server.hazelcast.OHazelcastPlugin;
 import com.orientechnologies.orient.server.plugin.OServerPluginManager;
 import com.syncleus.ferma.FramedGraph;
 import com.syncleus.ferma.ext.orientdb.DelegatingFramedOrientGraph;
-import com.syncleus.ferma.ext.orientdb.OrientDBTx;
 import com.syncleus.ferma.tx.Tx;
 import com.syncleus.ferma.tx.TxAction;
 import com.syncleus.ferma.typeresolvers.TypeResolver;
+import com.tinkerpop.blueprints.Edge;
 import com.tinkerpop.blueprints.Element;
 import com.tinkerpop.blueprints.Graph;
 import com.tinkerpop.blueprints.TransactionalGraph;
@@ -110,6 +118,8 @@ public class OrientDBDatabase extends AbstractDatabase {
 
 	private static final String ORIENTDB_STUDIO_ZIP = "orientdb-studio-2.2.33.zip";
 
+	private static final long MAX_CLUSTER_POSITION = (1L << 48) - 1;
+
 	private TopologyEventBridge topologyEventBridge;
 
 	private OrientGraphFactory factory;
@@ -611,12 +621,123 @@ public class OrientDBDatabase extends AbstractDatabase {
 		return ids;
 	}
 
+	@Override
+	public Set<Object> edgeLookup(String edgeLabel, Collection<?> inIds, Collection<?> outIds) {
+		OrientBaseGraph orientBaseGraph = unwrapCurrentGraph();
+		Set<Object> foundIds = new HashSet<>();
+		String indexName = "e." + edgeLabel.toLowerCase() + "_inout";
+		OrientEdgeType edgeType = orientBaseGraph.getEdgeType(edgeLabel);
+		OIndex<?> index = edgeType == null ? null : edgeType.getClassIndex(indexName);
+
+		List<OCompositeKey> keys = new ArrayList<>();
+		for (Object inId : inIds) {
+			for (Object outId : outIds) {
+				OCompositeKey key = new OCompositeKey(inId, outId);
+				// Keys of records which have not yet been committed are checked via the transaction aware graph
+				if (index != null && getElementKey(inId) >= 0 && getElementKey(outId) >= 0) {
+					keys.add(key);
+				} else if (orientBaseGraph.getEdges(indexName, key).iterator().hasNext()) {
+					foundIds.add(inId);
+				}
+			}
+		}
+		if (!keys.isEmpty()) {
+			OIndexCursor cursor = index.iterateEntries(keys, true);
+			Entry<Object, OIdentifiable> entry;
+			while ((entry = cursor.nextEntry()) != null) {
+				foundIds.add(((OCompositeKey) entry.getKey()).getKeys().get(0));
+			}
+		}
+		return foundIds;
+	}
+
+	@Override
+	public Map<List<Object>, Edge> getEdges(String edgeLabel, String indexPostfix, Collection<List<Object>> keys) {
+		OrientBaseGraph orientBaseGraph = unwrapCurrentGraph();
+		Map<List<Object>, Edge> edges = new HashMap<>();
+		String indexName = "e." + edgeLabel.toLowerCase() + "_" + indexPostfix;
+		OrientEdgeType edgeType = orientBaseGraph.getEdgeType(edgeLabel);
+		OIndex<?> index = edgeType == null ? null : edgeType.getClassIndex(indexName);
+
+		Map<OCompositeKey, List<Object>> indexKeys = new HashMap<>();
+		for (List<Object> key : keys) {
+			OCompositeKey compositeKey = new OCompositeKey(key);
+			// Keys which reference records that have not yet been committed are checked via the transaction aware graph
+			if (index != null && getElementKey(key.get(0)) >= 0) {
+				indexKeys.put(compositeKey, key);
+			} else {
+				Iterator<Edge> it = orientBaseGraph.getEdges(indexName, compositeKey).iterator();
+				if (it.hasNext()) {
+					edges.put(key, it.next());
+				}
+			}
+		}
+		if (!indexKeys.isEmpty()) {
+			OIndexCursor cursor = index.iterateEntries(indexKeys.keySet(), true);
+			Entry<Object, OIdentifiable> entry;
+			while ((entry = cursor.nextEntry()) != null) {
+				List<Object> key = indexKeys.get(entry.getKey());
+				if (key != null && !edges.containsKey(key)) {
+					edges.put(key, orientBaseGraph.getEdge(entry.getValue()));
+				}
+			}
+		}
+		return edges;
+	}
+
 	@Override
 	public Iterator<Vertex> getVertices(Class<?> classOfVertex, String[] fieldNames, Object[] fieldValues) {
 		OrientBaseGraph orientBaseGraph = unwrapCurrentGraph();
 		return orientBaseGraph.getVertices(classOfVertex.getSimpleName(), fieldNames, fieldValues).iterator();
 	}
 
+	@Override
+	public Map<Object, Vertex> getVertices(Class<?> classOfVertex, String fieldName, Collection<?> fieldValues) {
+		OrientBaseGraph orientBaseGraph = unwrapCurrentGraph();
+		Map<Object, Vertex> vertices = new HashMap<>();
+		OrientVertexType vertexType = orientBaseGraph.getVertexType(classOfVertex.getSimpleName());
+		if (vertexType != null) {
+			// The involved indices also contain the indices of the super classes
+			Set<OIndex<?>> indices = vertexType.getInvolvedIndexes(fieldName);
+			if (!indices.isEmpty()) {
+				OIndexCursor cursor = indices.iterator().next().iterateEntries(fieldValues, true);
+				Entry<Object, OIdentifiable> entry;
+				while ((entry = cursor.nextEntry()) != null) {
+					OrientVertex vertex = orientBaseGraph.getVertex(entry.getValue());
+					// The index of the super class may also contain vertices of other sub classes
+					if (vertex != null && vertex.getType().isSubClassOf(vertexType)) {
+						vertices.put(entry.getKey(), vertex);
+					}
+				}
+				return vertices;
+			}
+		}
+		// Fallback to single lookups if no index could be found
+		for (Object value : fieldValues) {
+			Iterator<Vertex> it = getVertices(classOfVertex, new String[] { fieldName }, new Object[] { value });
+			if (it.hasNext()) {
+				vertices.put(value, it.next());
+			}
+		}
+		return vertices;
+	}
+
+	@Override
+	public long getElementKey(Object id) {
+		ORID rid;
+		if (id instanceof OIdentifiable) {
+			rid = ((OIdentifiable) id).getIdentity();
+		} else {
+			rid = new ORecordId(String.valueOf(id));
+		}
+		// Temporary ids of records which have not yet been committed are reused by other transactions
+		if (!rid.isPersistent() || rid.getClusterId() > Short.MAX_VALUE || rid.getClusterPosition() > MAX_CLUSTER_POSITION) {
+			return -1;
+		}
+		// The cluster id occupies the upper 16 bits and the position the remaining 48 bits
+		return ((long) rid.getClusterId() << 48) | rid.getClusterPosition();
+	}
+
 	@Override
 	public <T extends MeshVertex> Iterator<? extends T> getVerticesForType(Class<T> classOfVertex) {
 		OrientBaseGraph orientBaseGraph = unwrapCurrentGraph();
@@ -625,6 +746,28 @@ public class OrientDBDatabase extends AbstractDatabase {
 		return fermaGraph.frameExplicit(rawIt, classOfVertex);
 	}
 
+	@Override
+	public List<Object> getVertexIds(Class<?> classOfVertex, Object afterId, int limit) {
+		OrientBaseGraph orientBaseGraph = unwrapCurrentGraph();
+		List<Object> ids = new ArrayList<>();
+		String typeName = classOfVertex.getSimpleName();
+		if (orientBaseGraph.getVertexType(typeName) == null) {
+			return ids;
+		}
+		// The record id range condition is evaluated on the clusters and no scan of the previous pages is needed
+		Iterable<Vertex> vertices;
+		if (afterId == null) {
+			vertices = orientBaseGraph.command(new OCommandSQL("SELECT FROM " + typeName + " LIMIT " + limit)).execute();
+		} else {
+			ORID rid = afterId instanceof OIdentifiable ? ((OIdentifiable) afterId).getIdentity() : new ORecordId(String.valueOf(afterId));
+			vertices = orientBaseGraph.command(new OCommandSQL("SELECT FROM " + typeName + " WHERE @rid > ? LIMIT " + limit)).execute(rid);
+		}
+		for (Vertex vertex : vertices) {
+			ids.add(vertex.getId());
+		}
+		return ids;
+	}
+
 	/**
 	 * Unwrap the current thread local graph.
 	 * 
@@ -876,7 +1019,28 @@ public class OrientDBDatabase extends AbstractDatabase {
 
 	@Override
 	public Tx tx() {
-		return new OrientDBTx(factory, resolver);
+		return new MeshOrientDBTx(factory, resolver);
+	}
+
+	@Override
+	public void afterCommit(String key, Runnable action) {
+		Tx tx = Tx.getActive();
+		if (tx instanceof MeshOrientDBTx) {
+			((MeshOrientDBTx) tx).afterCommit(key, action);
+		} else {
+			// There is no transaction which could be committed later on
+			action.run();
+		}
+	}
+
+	@Override
+	public <T> void afterCommit(String key, Collection<T> values, Consumer<Set<T>> action) {
+		Tx tx = Tx.getActive();
+		if (tx instanceof MeshOrientDBTx) {
+			((MeshOrientDBTx) tx).afterCommit(key, values, action);
+		} else {
+			action.accept(new LinkedHashSet<>(values));
+		}
 	}
 
 	@Override
@@ -4,6 +4,7 @@ import static com.gentics.mesh.Events.EVENT_CLEAR_PERMISSION_STORE;
 import static com.gentics.mesh.Events.EVENT_CLUSTER_DATABASE_CHANGE_STATUS;
 import static com.gentics.mesh.Events.EVENT_CLUSTER_NODE_JOINED;
 import static com.gentics.mesh.Events.EVENT_CLUSTER_NODE_LEFT;
+import static com.gentics.mesh.Events.EVENT_INVALIDATE_PERMISSION_STORE;
 import static com.orientechnologies.orient.server.distributed.ODistributedServerManager.DB_STATUS.ONLINE;
 
 import java.util.Map;
@@ -65,6 +66,10 @@ public class DistributedEventManager {
 			log.debug("Received permissionstore clear event");
 			PermissionStore.invalidate(false);
 		});
+		eb.consumer(EVENT_INVALIDATE_PERMISSION_STORE, (Message<JsonObject> handler) -> {
+			log.debug("Received permissionstore invalidation event");
+			PermissionStore.invalidate(handler.body(), false);
+		});
 
 		// React on project creates
 		eb.consumer(Project.TYPE_INFO.getOnCreatedAddress(), (Message<JsonObject> handler) -> {
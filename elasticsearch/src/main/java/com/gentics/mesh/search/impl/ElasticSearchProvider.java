@@ -10,9 +10,15 @@ import static io.netty.handler.codec.http.HttpResponseStatus.INTERNAL_SERVER_ERR
 import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
@@ -22,19 +28,26 @@ import javax.inject.Singleton;
 
 import com.gentics.elasticsearch.client.HttpErrorException;
 import com.gentics.mesh.Mesh;
+import com.gentics.mesh.core.data.search.bulk.BulkEntry;
+import com.gentics.mesh.core.data.search.bulk.IndexBulkEntry;
 import com.gentics.mesh.core.data.search.index.IndexInfo;
 import com.gentics.mesh.etc.config.MeshOptions;
 import com.gentics.mesh.etc.config.search.ElasticSearchOptions;
 import com.gentics.mesh.search.ElasticsearchProcessManager;
 import com.gentics.mesh.search.IndexHandlerRegistry;
+import com.gentics.mesh.search.ScrollingIterator;
 import com.gentics.mesh.search.SearchProvider;
+import com.gentics.mesh.search.index.ReindexExecutor;
+import com.gentics.mesh.search.index.entry.ReindexCheckpoint;
 import com.gentics.mesh.util.UUIDUtil;
+import com.google.common.hash.Hashing;
 
 import dagger.Lazy;
 import io.reactivex.Completable;
 import io.reactivex.CompletableTransformer;
 import io.reactivex.Observable;
 import io.reactivex.Single;
+import io.reactivex.schedulers.Schedulers;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.core.logging.Logger;
@@ -56,13 +69,41 @@ public class ElasticSearchProvider implements SearchProvider {
 
 	private Lazy<IndexHandlerRegistry> registry;
 
+	private final ReindexExecutor reindexExecutor;
+
 	private ElasticsearchProcessManager processManager;
 
 	private final static int MAX_RETRY_ON_ERROR = 5;
 
+	/**
+	 * Amount of documents which will be loaded per scroll request.
+	 */
+	private final static int SCROLL_SIZE = 1000;
+
+	/**
+	 * Key of the mapping meta information which contains the hash of the index settings and mappings.
+	 */
+	private final static String SETTINGS_HASH_KEY = "meshSettingsHash";
+
+	/**
+	 * Maximum length of the comma separated index names within a single request path.
+	 */
+	private final static int MAX_INDEX_SEGMENT_LENGTH = 2048;
+
+	/**
+	 * Indices which have been modified since the last refresh.
+	 */
+	private final Set<String> modifiedIndices = ConcurrentHashMap.newKeySet();
+
+	/**
+	 * Refresh which has been scheduled but not yet been executed. Refresh requests will join this refresh.
+	 */
+	private Completable pendingRefresh;
+
 	@Inject
-	public ElasticSearchProvider(Lazy<IndexHandlerRegistry> registry) {
+	public ElasticSearchProvider(Lazy<IndexHandlerRegistry> registry, ReindexExecutor reindexExecutor) {
 		this.registry = registry;
+		this.reindexExecutor = reindexExecutor;
 	}
 
 	@Override
@@ -214,8 +255,18 @@ public class ElasticSearchProvider implements SearchProvider {
 
 	}
 
+	/**
+	 * Check whether any index which was created by mesh exists.
+	 * 
+	 * @return
+	 */
+	private Single<Boolean> hasMeshIndices() {
+		return listIndices().map(indices -> !indices.isEmpty());
+	}
+
 	@Override
 	public void stop() throws IOException {
+		reindexExecutor.shutdown();
 		if (client != null) {
 			log.info("Closing Elasticsearch REST client.");
 			client.close();
@@ -237,16 +288,76 @@ public class ElasticSearchProvider implements SearchProvider {
 				}).toCompletable()
 				.compose(withTimeoutAndLog("Refreshing all indices", true));
 		}
-		return Observable.fromArray(indices).flatMapCompletable(index -> {
-			return client.refresh(index).async()
+		// Refresh multiple indices per request. The segments are limited in length since the index names are part of the request path.
+		return Observable.fromIterable(segmentIndexNames(indices)).flatMapCompletable(indexNames -> {
+			return client.refresh(indexNames).async()
 				.doOnError(error -> {
-					log.error("Refreshing of indices {" + index + "} failed.", error);
+					log.error("Refreshing of indices {" + indexNames + "} failed.", error);
 					throw error(INTERNAL_SERVER_ERROR, "search_error_refresh_failed", error);
 				}).toCompletable()
-				.compose(withTimeoutAndLog("Refreshing indices {" + index + "}", true));
+				.compose(withTimeoutAndLog("Refreshing indices {" + indexNames + "}", true));
 		});
 	}
 
+	/**
+	 * Join the index names into comma separated segments which do not exceed the maximum request path segment length.
+	 * 
+	 * @param indices
+	 * @return
+	 */
+	private List<String> segmentIndexNames(String... indices) {
+		List<String> segments = new ArrayList<>();
+		StringBuilder segment = new StringBuilder();
+		for (String index : indices) {
+			if (segment.length() > 0 && segment.length() + index.length() + 1 > MAX_INDEX_SEGMENT_LENGTH) {
+				segments.add(segment.toString());
+				segment.setLength(0);
+			}
+			if (segment.length() > 0) {
+				segment.append(",");
+			}
+			segment.append(index);
+		}
+		if (segment.length() > 0) {
+			segments.add(segment.toString());
+		}
+		return segments;
+	}
+
+	@Override
+	public Completable refreshModifiedIndices() {
+		if (!getOptions().isExplicitRefresh()) {
+			return Completable.complete();
+		}
+		synchronized (modifiedIndices) {
+			if (pendingRefresh == null) {
+				// Wait for the refresh window so that other refresh requests can join the refresh.
+				pendingRefresh = Completable.timer(getOptions().getRefreshWindow(), TimeUnit.MILLISECONDS).andThen(Completable.defer(() -> {
+					String[] indices;
+					synchronized (modifiedIndices) {
+						pendingRefresh = null;
+						indices = modifiedIndices.toArray(new String[modifiedIndices.size()]);
+						modifiedIndices.removeAll(Arrays.asList(indices));
+					}
+					if (indices.length == 0) {
+						return Completable.complete();
+					}
+					return refreshIndex(indices);
+				})).cache();
+			}
+			return pendingRefresh;
+		}
+	}
+
+	/**
+	 * Mark the index as modified. The index will be refreshed by the next {@link #refreshModifiedIndices()} call.
+	 * 
+	 * @param index
+	 */
+	private void markModified(String index) {
+		modifiedIndices.add(index);
+	}
+
 	@Override
 	public Completable createIndex(IndexInfo info) {
 		String indexName = info.getIndexName();
@@ -255,7 +366,7 @@ public class ElasticSearchProvider implements SearchProvider {
 			log.debug("Creating ES Index {" + indexName + "}");
 		}
 
-		JsonObject json = createIndexSettings(info);
+		JsonObject json = createIndexSettingsWithHash(info);
 		return client.createIndex(indexName, json).async()
 			.doOnSuccess(response -> {
 				if (log.isDebugEnabled()) {
@@ -266,6 +377,92 @@ public class ElasticSearchProvider implements SearchProvider {
 			.compose(withTimeoutAndLog("Creating index {" + indexName + "}", true));
 	}
 
+	/**
+	 * Create the index settings and add the hash of the settings and mappings to the meta information of the mapping. The hash is used to detect indices
+	 * which need to be recreated and marks the index as created by mesh.
+	 * 
+	 * @param info
+	 * @return
+	 */
+	private JsonObject createIndexSettingsWithHash(IndexInfo info) {
+		JsonObject json = createIndexSettings(info).copy();
+		String hash = Hashing.murmur3_128().hashString(json.encode(), StandardCharsets.UTF_8).toString();
+		JsonObject mappings = json.getJsonObject("mappings");
+		if (mappings == null) {
+			mappings = new JsonObject();
+			json.put("mappings", mappings);
+		}
+		JsonObject typeMapping = mappings.getJsonObject(DEFAULT_TYPE);
+		if (typeMapping == null) {
+			typeMapping = new JsonObject();
+			mappings.put(DEFAULT_TYPE, typeMapping);
+		}
+		typeMapping.put("_meta", new JsonObject().put(SETTINGS_HASH_KEY, hash));
+		return json;
+	}
+
+	@Override
+	public Single<Boolean> ensureIndex(IndexInfo info) {
+		String indexName = info.getIndexName();
+		String hash = readSettingsHash(createIndexSettingsWithHash(info));
+		return client.readIndex(indexName).async()
+			.flatMap(response -> {
+				JsonObject indexJson = response.getJsonObject(indexName, new JsonObject());
+				if (hash != null && hash.equals(readSettingsHash(indexJson))) {
+					return Single.just(false);
+				}
+				log.info("Settings or mappings of index {" + indexName + "} have changed. Recreating the index.");
+				return deleteIndex(indexName).andThen(createIndex(info)).andThen(Single.just(true));
+			}).onErrorResumeNext(error -> {
+				if (isNotFoundError(error)) {
+					return createIndex(info).andThen(Single.just(true));
+				}
+				return Single.error(error);
+			});
+	}
+
+	/**
+	 * Read the settings hash from the mapping meta information of the given index information.
+	 * 
+	 * @param indexJson
+	 * @return Hash or null if no hash could be found
+	 */
+	private String readSettingsHash(JsonObject indexJson) {
+		JsonObject mappings = indexJson.getJsonObject("mappings");
+		if (mappings == null || mappings.getJsonObject(DEFAULT_TYPE) == null) {
+			return null;
+		}
+		JsonObject meta = mappings.getJsonObject(DEFAULT_TYPE).getJsonObject("_meta");
+		return meta == null ? null : meta.getString(SETTINGS_HASH_KEY);
+	}
+
+	@Override
+	public Observable<JsonObject> scrollDocuments(String indexName, String... sourceFields) {
+		return Observable.defer(() -> {
+			JsonObject query = new JsonObject();
+			query.put("size", SCROLL_SIZE);
+			query.put("query", new JsonObject().put("match_all", new JsonObject()));
+			query.put("_source", new JsonArray(Arrays.asList(sourceFields)));
+			// Sorting by _doc is the most efficient order for scroll requests
+			query.put("sort", new JsonArray().add("_doc"));
+			JsonObject response = client.searchScroll(query, "1m", indexName).sync();
+			return Observable.fromIterable(() -> new ScrollingIterator(client, response));
+		});
+	}
+
+	@Override
+	public Single<Set<String>> listIndices() {
+		return client.readIndex("_all").async()
+			.map(response -> response.fieldNames().stream().filter(e -> e.startsWith(INDEX_PREFIX)).filter(index -> {
+				// Only indices which contain the settings hash have been created by mesh
+				if (readSettingsHash(response.getJsonObject(index)) == null) {
+					log.warn("Index {" + index + "} matches the prefix {" + INDEX_PREFIX + "} but was not created by mesh. Ignoring the index.");
+					return false;
+				}
+				return true;
+			}).collect(Collectors.toSet()));
+	}
+
 	@Override
 	public Single<JsonObject> getDocument(String index, String uuid) {
 		return client.getDocument(index, DEFAULT_TYPE, uuid).async()
@@ -286,6 +483,7 @@ public class ElasticSearchProvider implements SearchProvider {
 		}
 		return client.deleteDocument(index, DEFAULT_TYPE, uuid).async()
 			.doOnSuccess(response -> {
+				markModified(index);
 				if (log.isDebugEnabled()) {
 					log.debug("Deleted object {" + uuid + "} from index {" + index + "}");
 				}
@@ -303,6 +501,7 @@ public class ElasticSearchProvider implements SearchProvider {
 
 		return client.updateDocument(index, DEFAULT_TYPE, uuid, new JsonObject().put("doc", document)).async()
 			.doOnSuccess(response -> {
+				markModified(index);
 				if (log.isDebugEnabled()) {
 					log.debug(
 						"Update object {" + uuid + ":" + DEFAULT_TYPE + "} to index. Duration " + (System.currentTimeMillis() - start) + "[ms]");
@@ -320,30 +519,114 @@ public class ElasticSearchProvider implements SearchProvider {
 		if (documents.isEmpty()) {
 			return Completable.complete();
 		}
-		long start = System.currentTimeMillis();
+		List<IndexBulkEntry> entries = new ArrayList<>(documents.size());
+		for (Map.Entry<String, JsonObject> entry : documents.entrySet()) {
+			entries.add(new IndexBulkEntry(index, entry.getKey(), entry.getValue()));
+		}
+		return processBulk(entries);
+	}
 
-		JsonArray items = new JsonArray();
-		JsonObject bulkData = new JsonObject();
-		bulkData.put("items", items);
-
-		// Add index requests for each document to the bulk request
-		// for (Map.Entry<String, JsonObject> entry : documents.entrySet()) {
-		// JsonObject item = new JsonObject();
-		// item.put("index", value)
-		// String documentId = entry.getKey();
-		// JsonObject document = entry.getValue();
-		// request.add(new IndexRequest(index, DEFAULT_TYPE, documentId).source(document.toString(), XContentType.JSON));
-		// items.add(item);
-		// }
-
-		return client.storeDocumentBulk(bulkData).async()
-			.doOnSuccess(response -> {
-				if (log.isDebugEnabled()) {
-					log.debug("Finished bulk  store request on index {" + index + ":" + DEFAULT_TYPE + "}. Duration " + (System.currentTimeMillis()
-						- start) + "[ms]");
+	@Override
+	public Completable processBulk(List<? extends BulkEntry> entries) {
+		if (entries.isEmpty()) {
+			return Completable.complete();
+		}
+		return Observable.fromIterable(splitBulk(entries)).concatMapCompletable(this::sendBulk);
+	}
+
+	/**
+	 * Split the entries into chunks which do not exceed the configured bulk amount and length limits.
+	 * 
+	 * @param entries
+	 * @return
+	 */
+	private List<List<BulkEntry>> splitBulk(List<? extends BulkEntry> entries) {
+		int bulkLimit = Math.max(1, getOptions().getBulkLimit());
+		long bulkLengthLimit = getOptions().getBulkLengthLimit();
+		List<List<BulkEntry>> chunks = new ArrayList<>();
+		List<BulkEntry> chunk = new ArrayList<>();
+		long chunkLength = 0;
+		for (BulkEntry entry : entries) {
+			long length = entry.toBulkString().getBytes(StandardCharsets.UTF_8).length;
+			if (!chunk.isEmpty() && (chunk.size() >= bulkLimit || chunkLength + length > bulkLengthLimit)) {
+				chunks.add(chunk);
+				chunk = new ArrayList<>();
+				chunkLength = 0;
+			}
+			chunk.add(entry);
+			chunkLength += length;
+		}
+		if (!chunk.isEmpty()) {
+			chunks.add(chunk);
+		}
+		return chunks;
+	}
+
+	/**
+	 * Send a single bulk request which contains the given entries.
+	 * 
+	 * @param entries
+	 * @return
+	 */
+	private Completable sendBulk(List<BulkEntry> entries) {
+		return Completable.defer(() -> {
+			long start = System.currentTimeMillis();
+			StringBuilder bulkData = new StringBuilder();
+			Set<String> indices = new HashSet<>();
+			for (BulkEntry entry : entries) {
+				bulkData.append(entry.toBulkString());
+				indices.add(entry.getIndexName());
+			}
+			if (log.isDebugEnabled()) {
+				log.debug("Sending bulk request with {" + entries.size() + "} actions for indices {" + indices + "}");
+			}
+			return client.storeDocumentBulk(bulkData.toString()).async()
+				.flatMapCompletable(response -> {
+					indices.forEach(this::markModified);
+					if (response.getBoolean("errors", false)) {
+						int failed = logBulkErrors(response);
+						if (failed > 0) {
+							// Fail the bulk request so that the caller can retry the batch. The actions of the bulk request are idempotent.
+							return Completable.error(error(INTERNAL_SERVER_ERROR, "search_error_bulk_failed", String.valueOf(failed), String
+								.valueOf(entries.size())));
+						}
+					}
+					if (log.isDebugEnabled()) {
+						log.debug("Finished bulk request with {" + entries.size() + "} actions. Duration " + (System.currentTimeMillis() - start)
+							+ "[ms]");
+					}
+					return Completable.complete();
+				})
+				.compose(withTimeoutAndLog("Bulk request with {" + entries.size() + "} actions", true));
+		});
+	}
+
+	/**
+	 * Log the failed items of the bulk response. Missing documents are ignored for update and delete actions since the document may not yet have been
+	 * created or may already have been removed.
+	 * 
+	 * @param response
+	 * @return Amount of failed items which were not ignored
+	 */
+	private int logBulkErrors(JsonObject response) {
+		int failed = 0;
+		JsonArray items = response.getJsonArray("items", new JsonArray());
+		for (int i = 0; i < items.size(); i++) {
+			JsonObject item = items.getJsonObject(i);
+			for (String action : item.fieldNames()) {
+				JsonObject result = item.getJsonObject(action);
+				if (result.getJsonObject("error") == null) {
+					continue;
 				}
-			}).toCompletable()
-			.compose(withTimeoutAndLog("Storing document batch {" + index + "} / {" + DEFAULT_TYPE + "}", true));
+				if (result.getInteger("status", 0) == 404 && ("update".equals(action) || "delete".equals(action))) {
+					continue;
+				}
+				failed++;
+				log.error("Bulk action {" + action + "} for document {" + result.getString("_id") + "} in index {" + result.getString("_index")
+					+ "} failed: " + result.getJsonObject("error").encode());
+			}
+		}
+		return failed;
 	}
 
 	@Override
@@ -354,6 +637,7 @@ public class ElasticSearchProvider implements SearchProvider {
 		}
 		return client.storeDocument(index, DEFAULT_TYPE, uuid, document).async()
 			.doOnSuccess(response -> {
+				markModified(index);
 				if (log.isDebugEnabled()) {
 					log.debug("Added object {" + uuid + ":" + DEFAULT_TYPE + "} to index {" + index + "}. Duration " + (System.currentTimeMillis()
 						- start) + "[ms]");
@@ -473,8 +757,28 @@ public class ElasticSearchProvider implements SearchProvider {
 
 	@Override
 	public Completable invokeReindex() {
-		return clear().andThen(Observable.fromIterable(registry.get().getHandlers())
-			.flatMapCompletable(handler -> handler.init().andThen(handler.reindexAll()))
+		// Keep the existing documents if a previous reindex of the same run was interrupted. The handlers will continue after their last completed chunk.
+		String run = Mesh.getPlainVersion() + "/" + getOptions().getUrl() + "/" + INDEX_PREFIX;
+		Completable clear = Completable.defer(() -> {
+			if (ReindexCheckpoint.hasPending(run)) {
+				return hasMeshIndices().flatMapCompletable(exists -> {
+					if (exists) {
+						log.info("Found checkpoints of an interrupted reindex in {" + ReindexCheckpoint.getDirectory() + "}. Resuming the reindex.");
+						return Completable.complete();
+					}
+					log.info("Found checkpoints of an interrupted reindex but the indices are missing. Starting a full reindex.");
+					return Completable.fromAction(() -> ReindexCheckpoint.start(run)).andThen(clear());
+				});
+			}
+			if (ReindexCheckpoint.hasPending()) {
+				log.info("Found checkpoints of another reindex run in {" + ReindexCheckpoint.getDirectory() + "}. Starting a full reindex.");
+			}
+			// Remove stale checkpoints before the indices are cleared
+			ReindexCheckpoint.start(run);
+			return clear();
+		});
+		return clear.andThen(Observable.fromIterable(registry.get().getHandlers())
+			.flatMapCompletable(handler -> handler.init().andThen(handler.reindexAll()).subscribeOn(Schedulers.io()))
 			.andThen(refreshIndex()));
 	}
 
@@ -2,8 +2,10 @@ package com.gentics.mesh.search.index;
 
 import static com.gentics.mesh.search.SearchProvider.DEFAULT_TYPE;
 import static com.gentics.mesh.search.index.MappingHelper.DATE;
+import static com.gentics.mesh.search.index.MappingHelper.DONT_INDEX_VALUE;
 import static com.gentics.mesh.search.index.MappingHelper.KEYWORD;
 import static com.gentics.mesh.search.index.MappingHelper.UUID_KEY;
+import static com.gentics.mesh.search.index.MappingHelper.VERSION_KEY;
 import static com.gentics.mesh.search.index.MappingHelper.notAnalyzedType;
 
 import io.vertx.core.json.JsonObject;
@@ -22,6 +24,8 @@ public abstract class AbstractMappingProvider implements MappingProvider {
 		mappingProperties.put("editor", getUserReferenceMapping());
 		mappingProperties.put("creator", getUserReferenceMapping());
 		mappingProperties.put("_roleUuids", notAnalyzedType(KEYWORD));
+		// The version hash is only used to detect outdated documents
+		mappingProperties.put(VERSION_KEY, new JsonObject().put("type", KEYWORD).put("index", DONT_INDEX_VALUE));
 
 		JsonObject typeMapping = new JsonObject();
 		typeMapping.put("properties", mappingProperties);
@@ -1,5 +1,7 @@
 package com.gentics.mesh.search.index;
 
+import static com.gentics.mesh.core.data.relationship.GraphPermission.READ_PERM;
+import static com.gentics.mesh.core.data.relationship.GraphPermission.READ_PUBLISHED_PERM;
 import static com.gentics.mesh.core.rest.error.Errors.error;
 import static com.gentics.mesh.search.impl.ElasticsearchErrorHelper.mapError;
 import static com.gentics.mesh.search.impl.ElasticsearchErrorHelper.mapToMeshError;
@@ -10,11 +12,13 @@ import static io.netty.handler.codec.http.HttpResponseStatus.SERVICE_UNAVAILABLE
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
 
@@ -46,7 +50,6 @@ import com.gentics.mesh.util.Tuple;
 import com.syncleus.ferma.tx.Tx;
 
 import io.netty.handler.codec.http.HttpResponseStatus;
-import io.reactivex.Observable;
 import io.reactivex.Single;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
@@ -218,21 +221,24 @@ public abstract class AbstractSearchHandler<T extends MeshCoreVertex<RM, T>, RM
 		log.debug("Using options {" + queryOption.encodePrettily() + "}");
 
 		RequestBuilder<JsonObject> requestBuilder = client.multiSearch(queryOption, request);
-		requestBuilder.async().flatMapObservable(response -> {
+		requestBuilder.async().onErrorResumeNext(error -> {
+			return Single.error(mapToMeshError(error));
+		}).map(response -> {
 			JsonArray responses = response.getJsonArray("responses");
 			JsonObject firstResponse = responses.getJsonObject(0);
 
 			// Process the nested error
 			JsonObject errorInfo = firstResponse.getJsonObject("error");
 			if (errorInfo != null) {
-				return Observable.error(mapError(errorInfo));
+				throw mapError(errorInfo);
 			}
 
 			JsonObject hitsInfo = firstResponse.getJsonObject("hits");
 			JsonArray hits = hitsInfo.getJsonArray("hits");
 
-			List<Tuple<T, String>> list = new ArrayList<>();
+			// Resolve and transform all elements of the page within a single transaction in order to make use of the L1 cache
 			db.tx(() -> {
+				List<Tuple<String, String>> ids = new ArrayList<>(hits.size());
 				for (int i = 0; i < hits.size(); i++) {
 					JsonObject hit = hits.getJsonObject(i);
 					String id = hit.getString("_id");
@@ -240,37 +246,39 @@ public abstract class AbstractSearchHandler<T extends MeshCoreVertex<RM, T>, RM
 
 					String language = pos > 0 ? id.substring(pos + 1) : null;
 					String uuid = pos > 0 ? id.substring(0, pos) : id;
+					ids.add(Tuple.tuple(uuid, language));
+				}
 
-					// Locate the node
-					T element = rootVertex.get().findByUuid(uuid);
+				// Locate all elements using a single index lookup
+				RootVertex<T> root = rootVertex.get();
+				Map<String, T> elements = root.findByUuids(ids.stream().map(Tuple::v1).collect(Collectors.toSet()));
+				// The index may not yet reflect the latest permission changes. Check the permissions of all hits at once.
+				Set<Object> permittedIds = ac.getUser().createPermissionEvaluator().getPermittedIds(elements.values().stream().map(T::getId).collect(
+					Collectors.toList()), READ_PERM, READ_PUBLISHED_PERM);
+				for (Tuple<String, String> id : ids) {
+					String uuid = id.v1();
+					T element = elements.get(uuid);
 					if (element == null) {
-						log.warn("Object could not be found for uuid {" + uuid + "} in root vertex {" + rootVertex.get().getRootLabel()
+						log.warn("Object could not be found for uuid {" + uuid + "} in root vertex {" + root.getRootLabel()
 							+ "}. The element will be omitted.");
 						// Reduce the total count
 						hitsInfo.put("total", hitsInfo.getLong("total") - 1);
+					} else if (!permittedIds.contains(element.getId())) {
+						if (log.isDebugEnabled()) {
+							log.debug("Element {" + uuid + "} is not readable by the user. The element will be omitted.");
+						}
+						hitsInfo.put("total", hitsInfo.getLong("total") - 1);
 					} else {
-						// TODO maybe it would be better to directly transform the element here.
-						list.add(Tuple.tuple(element, language));
+						listResponse.getData().add(element.transformToRestSync(ac, 0, id.v2()));
 					}
 				}
 			});
 
 			// Set meta information to the rest response
 			listResponse.setMetainfo(extractMetaInfo(hitsInfo, pagingInfo));
-
-			return Observable.fromIterable(list);
-		}).onErrorResumeNext(error -> {
-			return Observable.error(mapToMeshError(error));
-		}).flatMapSingle(element -> {
-			// TODO add resume next to omit the item if it can't be transformed for some reason.
-			// This would be better than to just fail the whole request
-			// TODO maybe add extra permission filtering? This would not be very costly for smaller pages and ensure perm consistency?
-			// TODO it would be good to batch the transformation of the elements to save the overhead of creating transactions and use the L1 cache.
-			return db.tx(() -> Single.just(element.v1().transformToRestSync(ac, 0, element.v2())));
-		}).collect(() -> listResponse.getData(), (x, y) -> {
-			x.add(y);
-		}).subscribe(list -> {
-			ac.send(listResponse.toJson(), OK);
+			return listResponse;
+		}).subscribe(response -> {
+			ac.send(response.toJson(), OK);
 		}, error -> {
 			log.error("Error while processing search response items", error);
 			ac.fail(error);
@@ -353,18 +361,27 @@ public abstract class AbstractSearchHandler<T extends MeshCoreVertex<RM, T>, RM
 				}
 
 				return db.tx(() -> {
-					List<T> elementList = new ArrayList<>();
 					JsonObject hitsInfo = firstResponse.getJsonObject("hits");
 					JsonArray hits = hitsInfo.getJsonArray("hits");
+					List<String> uuids = new ArrayList<>(hits.size());
 					for (int i = 0; i < hits.size(); i++) {
 						JsonObject hit = hits.getJsonObject(i);
 						String id = hit.getString("_id");
 						int pos = id.indexOf("-");
-						String uuid = pos > 0 ? id.substring(0, pos) : id;
+						uuids.add(pos > 0 ? id.substring(0, pos) : id);
+					}
 
-						// Locate the node
-						T element = indexHandler.getRootVertex().findByUuid(uuid);
-						if (element != null) {
+					// Locate all elements using a single index lookup and check the permissions of all elements at once
+					Map<String, T> elements = indexHandler.getRootVertex().findByUuids(uuids);
+					Set<Object> permittedIds = null;
+					if (permissions.length > 0) {
+						permittedIds = ac.getUser().createPermissionEvaluator().getPermittedIds(elements.values().stream().map(T::getId).collect(
+							Collectors.toList()), permissions);
+					}
+					List<T> elementList = new ArrayList<>();
+					for (String uuid : uuids) {
+						T element = elements.get(uuid);
+						if (element != null && (permittedIds == null || permittedIds.contains(element.getId()))) {
 							elementList.add(element);
 						}
 					}
@@ -1,6 +1,12 @@
 package com.gentics.mesh.search.index;
 
+import static com.gentics.mesh.search.index.MappingHelper.ROLE_UUIDS_KEY;
+import static com.gentics.mesh.search.index.MappingHelper.VERSION_KEY;
+
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -13,7 +19,9 @@ import com.gentics.mesh.core.data.Role;
 import com.gentics.mesh.core.data.Tag;
 import com.gentics.mesh.core.data.User;
 import com.gentics.mesh.core.data.relationship.GraphPermission;
+import com.google.common.hash.Hashing;
 
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
@@ -146,5 +154,53 @@ public abstract class AbstractTransformer<T> implements Transformer<T> {
 		}
 	}
 
+	/**
+	 * Add the version hash to the given document. The hash is used by the differential index sync to detect outdated documents.
+	 * 
+	 * @param document
+	 * @return Fluent API
+	 */
+	public static JsonObject addVersion(JsonObject document) {
+		document.put(VERSION_KEY, generateVersion(document));
+		return document;
+	}
+
+	/**
+	 * Generate the version hash of the document. The permission information is excluded since it will be updated via partial updates which don't update the
+	 * hash.
+	 * 
+	 * @param document
+	 * @return
+	 */
+	public static String generateVersion(JsonObject document) {
+		JsonObject content = document.copy();
+		content.remove(VERSION_KEY);
+		content.remove(ROLE_UUIDS_KEY);
+		return Hashing.murmur3_128().hashString(content.encode(), StandardCharsets.UTF_8).toString();
+	}
+
+	/**
+	 * Generate the fingerprint of a document using the version hash and permission information of the document. Documents with different content or
+	 * permissions will have different fingerprints.
+	 * 
+	 * @param document
+	 *            Document or source which contains the version and permission information
+	 * @return Fingerprint or 0 if the document contains no version information
+	 */
+	public static long fingerprint(JsonObject document) {
+		String version = document.getString(VERSION_KEY);
+		if (version == null) {
+			return 0;
+		}
+		List<String> roleUuids = new ArrayList<>();
+		Object value = document.getValue(ROLE_UUIDS_KEY);
+		if (value instanceof JsonArray) {
+			((JsonArray) value).forEach(uuid -> roleUuids.add(String.valueOf(uuid)));
+		} else if (value instanceof Collection) {
+			((Collection<?>) value).forEach(uuid -> roleUuids.add(String.valueOf(uuid)));
+		}
+		Collections.sort(roleUuids);
+		return Hashing.murmur3_128().hashString(version + roleUuids, StandardCharsets.UTF_8).asLong();
+	}
 
 }
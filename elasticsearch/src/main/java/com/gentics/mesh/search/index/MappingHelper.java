@@ -11,6 +11,8 @@ public final class MappingHelper {
 	public static final String UUID_KEY = "uuid";
 	public static final String NAME_KEY = "name";
 	public static final String DESCRIPTION_KEY = "description";
+	public static final String VERSION_KEY = "_hash";
+	public static final String ROLE_UUIDS_KEY = "_roleUuids";
 
 	// Field Types
 	public static final String OBJECT = "object";
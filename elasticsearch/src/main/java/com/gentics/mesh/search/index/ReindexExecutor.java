@@ -0,0 +1,80 @@
+package com.gentics.mesh.search.index;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import com.gentics.mesh.Mesh;
+
+import io.reactivex.Scheduler;
+import io.reactivex.schedulers.Schedulers;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+
+/**
+ * Dedicated worker pool which is used to load and transform the elements during a reindex or index sync. The pool size is configured via the reindex
+ * threads setting of the search options.
+ *
+ * The tasks which are executed by the pool must not wait for other tasks of the pool. The coordination of the handlers and indices thus happens on the io
+ * scheduler while only the transformation of the element chunks is executed by this pool.
+ */
+@Singleton
+public class ReindexExecutor {
+
+	private static final Logger log = LoggerFactory.getLogger(ReindexExecutor.class);
+
+	private ExecutorService executor;
+
+	private Scheduler scheduler;
+
+	private int parallelism;
+
+	@Inject
+	public ReindexExecutor() {
+	}
+
+	/**
+	 * Return the scheduler of the worker pool. The pool will be created on first access.
+	 *
+	 * @return
+	 */
+	public synchronized Scheduler getScheduler() {
+		if (scheduler == null) {
+			parallelism = Math.max(1, Mesh.mesh().getOptions().getSearchOptions().getReindexThreads());
+			AtomicInteger counter = new AtomicInteger();
+			executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+				Thread thread = new Thread(runnable, "mesh-reindex-" + counter.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			});
+			scheduler = Schedulers.from(executor);
+		}
+		return scheduler;
+	}
+
+	/**
+	 * Shut down the worker pool. Running tasks will not be interrupted. A new pool will be created if the scheduler is accessed again.
+	 */
+	public synchronized void shutdown() {
+		if (executor != null) {
+			log.info("Shutting down the reindex worker pool.");
+			executor.shutdown();
+			executor = null;
+			scheduler = null;
+		}
+	}
+
+	/**
+	 * Return the amount of worker threads.
+	 *
+	 * @return
+	 */
+	public synchronized int getParallelism() {
+		getScheduler();
+		return parallelism;
+	}
+
+}
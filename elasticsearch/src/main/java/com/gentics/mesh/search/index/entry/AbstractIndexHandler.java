@@ -1,31 +1,57 @@
 package com.gentics.mesh.search.index.entry;
 
+import static com.gentics.mesh.core.data.search.SearchQueueEntryAction.STORE_ACTION;
 import static com.gentics.mesh.core.rest.error.Errors.error;
 import static com.gentics.mesh.search.SearchProvider.DEFAULT_TYPE;
+import static com.gentics.mesh.search.index.AbstractTransformer.addVersion;
+import static com.gentics.mesh.search.index.AbstractTransformer.fingerprint;
+import static com.gentics.mesh.search.index.MappingHelper.ROLE_UUIDS_KEY;
+import static com.gentics.mesh.search.index.MappingHelper.VERSION_KEY;
 import static io.netty.handler.codec.http.HttpResponseStatus.INTERNAL_SERVER_ERROR;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
+import javax.inject.Inject;
+
+import com.gentics.mesh.Mesh;
 import com.gentics.mesh.cli.BootstrapInitializer;
 import com.gentics.mesh.core.data.IndexableElement;
 import com.gentics.mesh.core.data.MeshCoreVertex;
+import com.gentics.mesh.core.data.root.RootVertex;
 import com.gentics.mesh.core.data.search.CreateIndexEntry;
 import com.gentics.mesh.core.data.search.IndexHandler;
 import com.gentics.mesh.core.data.search.SearchQueue;
-import com.gentics.mesh.core.data.search.SearchQueueBatch;
 import com.gentics.mesh.core.data.search.UpdateDocumentEntry;
+import com.gentics.mesh.core.data.search.bulk.BulkEntry;
+import com.gentics.mesh.core.data.search.bulk.DeleteBulkEntry;
+import com.gentics.mesh.core.data.search.bulk.IndexBulkEntry;
+import com.gentics.mesh.core.data.search.bulk.UpdateBulkEntry;
+import com.gentics.mesh.core.data.search.context.impl.GenericEntryContextImpl;
 import com.gentics.mesh.core.data.search.index.IndexInfo;
 import com.gentics.mesh.graphdb.spi.Database;
 import com.gentics.mesh.search.SearchProvider;
 import com.gentics.mesh.search.index.MappingProvider;
+import com.gentics.mesh.search.index.ReindexExecutor;
 import com.gentics.mesh.search.index.Transformer;
+import com.google.common.collect.Lists;
 import com.syncleus.ferma.tx.Tx;
 
+import io.vertx.core.json.JsonObject;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
 import io.reactivex.Completable;
+import io.reactivex.Flowable;
+import io.reactivex.Observable;
+import io.reactivex.Scheduler;
+import io.reactivex.Single;
 
 /**
  * Abstract class for index handlers.
@@ -46,6 +72,9 @@ public abstract class AbstractIndexHandler<T extends MeshCoreVertex<?, T>> imple
 
 	private SearchQueue searchQueue;
 
+	@Inject
+	public ReindexExecutor reindexExecutor;
+
 	public AbstractIndexHandler(SearchProvider searchProvider, Database db, BootstrapInitializer boot, SearchQueue searchQueue) {
 		this.searchProvider = searchProvider;
 		this.db = db;
@@ -94,7 +123,7 @@ public abstract class AbstractIndexHandler<T extends MeshCoreVertex<?, T>> imple
 	public Completable store(T element, UpdateDocumentEntry entry) {
 		String indexName = composeIndexNameFromEntry(entry);
 		String documentId = composeDocumentIdFromEntry(entry);
-		return searchProvider.storeDocument(indexName, documentId, getTransformer().toDocument(element)).doOnComplete(() -> {
+		return searchProvider.storeDocument(indexName, documentId, addVersion(getTransformer().toDocument(element))).doOnComplete(() -> {
 			if (log.isDebugEnabled()) {
 				log.debug("Stored object in index.");
 			}
@@ -110,12 +139,12 @@ public abstract class AbstractIndexHandler<T extends MeshCoreVertex<?, T>> imple
 		} else {
 			String indexName = composeIndexNameFromEntry(entry);
 			String documentId = composeDocumentIdFromEntry(entry);
-			return searchProvider.updateDocument(indexName, documentId, getTransformer().toPermissionPartial(element), true).andThen(searchProvider
-				.refreshIndex(indexName)).doOnComplete(() -> {
-					if (log.isDebugEnabled()) {
-						log.debug("Updated object in index.");
-					}
-				});
+			// The modified index will be refreshed once the batch has been processed
+			return searchProvider.updateDocument(indexName, documentId, getTransformer().toPermissionPartial(element), true).doOnComplete(() -> {
+				if (log.isDebugEnabled()) {
+					log.debug("Updated object in index.");
+				}
+			});
 		}
 	}
 
@@ -142,6 +171,62 @@ public abstract class AbstractIndexHandler<T extends MeshCoreVertex<?, T>> imple
 		});
 	}
 
+	/**
+	 * Create the bulk actions which will store the given element in the index. The document must be generated before the returned observable gets
+	 * subscribed since the element can only be accessed within the current transaction.
+	 * 
+	 * @param element
+	 * @param entry
+	 *            search queue entry
+	 * @return
+	 */
+	public Observable<BulkEntry> storeForBulk(T element, UpdateDocumentEntry entry) {
+		String indexName = composeIndexNameFromEntry(entry);
+		String documentId = composeDocumentIdFromEntry(entry);
+		return Observable.just(new IndexBulkEntry(indexName, documentId, addVersion(getTransformer().toDocument(element))));
+	}
+
+	@Override
+	public Observable<BulkEntry> storeForBulk(UpdateDocumentEntry entry) {
+		return Observable.defer(() -> {
+			try (Tx tx = db.tx()) {
+				String uuid = entry.getElementUuid();
+				T element = getRootVertex().findByUuid(uuid);
+				if (element == null) {
+					throw error(INTERNAL_SERVER_ERROR, "error_element_for_document_type_not_found", uuid, DEFAULT_TYPE);
+				} else {
+					return storeForBulk(element, entry);
+				}
+			}
+		});
+	}
+
+	@Override
+	public Observable<BulkEntry> deleteForBulk(UpdateDocumentEntry entry) {
+		return Observable.defer(() -> {
+			String indexName = composeIndexNameFromEntry(entry);
+			String documentId = composeDocumentIdFromEntry(entry);
+			return Observable.just(new DeleteBulkEntry(indexName, documentId));
+		});
+	}
+
+	@Override
+	public Observable<BulkEntry> updatePermissionForBulk(UpdateDocumentEntry entry) {
+		return Observable.defer(() -> {
+			try (Tx tx = db.tx()) {
+				String uuid = entry.getElementUuid();
+				T element = getRootVertex().findByUuid(uuid);
+				if (element == null) {
+					throw error(INTERNAL_SERVER_ERROR, "error_element_for_document_type_not_found", uuid, DEFAULT_TYPE);
+				} else {
+					String indexName = composeIndexNameFromEntry(entry);
+					String documentId = composeDocumentIdFromEntry(entry);
+					return Observable.just(new UpdateBulkEntry(indexName, documentId, getTransformer().toPermissionPartial(element)));
+				}
+			}
+		});
+	}
+
 	/**
 	 * Check whether the search provider is available. Some tests are not starting an search provider and thus we must be able to determine whether we can use
 	 * the search provider.
@@ -152,27 +237,238 @@ public abstract class AbstractIndexHandler<T extends MeshCoreVertex<?, T>> imple
 		return searchProvider != null;
 	}
 
+	/**
+	 * Reindex all elements of the root vertex. The ids of the elements are paged in the order of their record ids and each page of the configured reindex
+	 * chunk size is loaded within a dedicated short transaction. Each chunk is loaded and transformed by the {@link ReindexExecutor} within a dedicated
+	 * transaction and sent to the search provider via a single bulk request. The chunks are processed in parallel but at most one chunk per worker thread will
+	 * be in flight. The id of the last element of each completed chunk is stored in a {@link ReindexCheckpoint} once all previous chunks have been completed
+	 * as well. An interrupted reindex will thus continue after the last completed chunk.
+	 */
 	@Override
 	public Completable reindexAll() {
 		return Completable.defer(() -> {
-			log.info("Handling full reindex entry");
-			SearchQueueBatch batch = searchQueue.create();
-			// Add all elements from the root vertex of the handler to the created batch
+			ReindexCheckpoint checkpoint = new ReindexCheckpoint(getClass().getSimpleName());
+			String resumeId = checkpoint.read();
+			if (resumeId != null) {
+				log.info("Resuming reindex in handler {" + getClass().getName() + "} after element {" + resumeId + "}");
+			} else {
+				log.info("Handling full reindex entry");
+			}
+			int chunkSize = Math.max(1, Mesh.mesh().getOptions().getSearchOptions().getReindexChunkSize());
+			Scheduler scheduler = reindexExecutor.getScheduler();
+			AtomicLong count = new AtomicLong();
+			return loadIds(resumeId, chunkSize)
+				.subscribeOn(scheduler)
+				.concatMapEager(chunk -> Single.fromCallable(() -> transformElements(chunk))
+					.subscribeOn(scheduler)
+					.flatMapCompletable(searchProvider::processBulk)
+					.andThen(Flowable.fromCallable(() -> {
+						count.addAndGet(chunk.size());
+						return String.valueOf(chunk.get(chunk.size() - 1));
+					})), reindexExecutor.getParallelism(), 1)
+				.doOnNext(checkpoint::write)
+				.ignoreElements()
+				.andThen(Completable.defer(searchProvider::refreshModifiedIndices))
+				.doOnComplete(() -> {
+					checkpoint.delete();
+					log.info("Reindexed {" + count.get() + "} elements in handler {" + getClass().getName() + "}");
+				});
+		});
+	}
+
+	/**
+	 * Page through the ids of the elements of the root vertex. Each page is loaded lazily within a dedicated short transaction once it has been requested
+	 * and only the pages which are currently processed will thus be kept in memory.
+	 * 
+	 * @param resumeId
+	 *            Only ids after the given id will be returned. No ids will be skipped if null
+	 * @param chunkSize
+	 *            Size of the pages
+	 * @return
+	 */
+	private Flowable<List<Object>> loadIds(String resumeId, int chunkSize) {
+		return Flowable.generate(() -> new AtomicReference<Object>(resumeId), (lastId, emitter) -> {
+			List<Object> ids;
 			try (Tx tx = db.tx()) {
-				for (T element : getRootVertex().findAllIt()) {
-					if (element instanceof IndexableElement) {
-						IndexableElement indexableElement = (IndexableElement) element;
-						log.info("Invoking reindex in handler {" + getClass().getName() + "} for element {" + indexableElement.getUuid() + "}");
-						batch.store(indexableElement, false);
-					} else {
-						log.info("Found element {" + element.getUuid() + "} is not indexable. Ignoring element.");
-					}
+				ids = db.getVertexIds(getRootVertex().getPersistanceClass(), lastId.get(), chunkSize);
+			}
+			if (ids.isEmpty()) {
+				emitter.onComplete();
+			} else {
+				lastId.set(ids.get(ids.size() - 1));
+				emitter.onNext(ids);
+			}
+		});
+	}
+
+	/**
+	 * Load and transform the elements with the given ids. A dedicated transaction is used which will not be committed since the elements are only read.
+	 * 
+	 * @param ids
+	 * @return
+	 */
+	private List<BulkEntry> transformElements(List<Object> ids) {
+		List<BulkEntry> entries = new ArrayList<>();
+		try (Tx tx = db.tx()) {
+			Class<? extends T> persistanceClass = getRootVertex().getPersistanceClass();
+			for (Object id : ids) {
+				T element = tx.getGraph().getFramedVertexExplicit(persistanceClass, id);
+				// The element may have been deleted in the meantime
+				if (element == null) {
+					continue;
+				}
+				if (!(element instanceof IndexableElement)) {
+					log.info("Found element {" + element.getUuid() + "} is not indexable. Ignoring element.");
+					continue;
+				}
+				UpdateDocumentEntry entry = new UpdateDocumentEntryImpl(this, element.getUuid(), new GenericEntryContextImpl(), STORE_ACTION);
+				entries.addAll(storeForBulk(element, entry).toList().blockingGet());
+			}
+		}
+		if (log.isDebugEnabled()) {
+			log.debug("Transformed chunk of {" + ids.size() + "} elements into {" + entries.size() + "} documents in handler {" + getClass()
+				.getName() + "}");
+		}
+		return entries;
+	}
+
+	/**
+	 * Load and transform the elements of the given uuids in chunks. The chunks are transformed in parallel by the {@link ReindexExecutor}. The bulk entries
+	 * are emitted in the order of the chunks.
+	 * 
+	 * @param uuids
+	 * @return
+	 */
+	protected Flowable<List<BulkEntry>> transformChunks(List<String> uuids) {
+		int chunkSize = Math.max(1, Mesh.mesh().getOptions().getSearchOptions().getReindexChunkSize());
+		Scheduler scheduler = reindexExecutor.getScheduler();
+		return Flowable.fromIterable(Lists.partition(uuids, chunkSize))
+			.concatMapEager(chunk -> Flowable.fromCallable(() -> transformChunk(chunk)).subscribeOn(scheduler), reindexExecutor.getParallelism(), 1);
+	}
+
+	/**
+	 * Load and transform the elements of the chunk. A dedicated transaction is used which will not be committed since the elements are only read.
+	 * 
+	 * @param uuids
+	 * @return
+	 */
+	private List<BulkEntry> transformChunk(List<String> uuids) {
+		List<BulkEntry> entries = new ArrayList<>();
+		try (Tx tx = db.tx()) {
+			for (String uuid : uuids) {
+				T element = getRootVertex().findByUuid(uuid);
+				// The element may have been deleted in the meantime
+				if (element == null) {
+					continue;
 				}
-				return batch.processAsync();
+				UpdateDocumentEntry entry = new UpdateDocumentEntryImpl(this, uuid, new GenericEntryContextImpl(), STORE_ACTION);
+				entries.addAll(storeForBulk(element, entry).toList().blockingGet());
+			}
+		}
+		if (log.isDebugEnabled()) {
+			log.debug("Transformed chunk of {" + uuids.size() + "} elements into {" + entries.size() + "} documents in handler {" + getClass()
+				.getName() + "}");
+		}
+		return entries;
+	}
+
+	@Override
+	public Completable syncIndices() {
+		return Completable.fromAction(() -> {
+			try (Tx tx = db.tx()) {
+				syncIndices(getIndices().values(), getRootVertex().findAllIt());
 			}
 		});
 	}
 
+	/**
+	 * Synchronize the given indices with the given elements. The fingerprints of the existing documents will be loaded first. Afterwards the documents for
+	 * the elements will be generated and compared with the loaded fingerprints. Missing and outdated documents will be stored. Documents without
+	 * corresponding element will be deleted. This method must be invoked within a transaction.
+	 * 
+	 * @param indices
+	 *            Indices to be synchronized
+	 * @param elements
+	 *            Elements which should be contained in the indices
+	 */
+	protected void syncIndices(Collection<IndexInfo> indices, Iterable<? extends T> elements) {
+		long start = System.currentTimeMillis();
+		int bulkLimit = Math.max(1, Mesh.mesh().getOptions().getSearchOptions().getBulkLimit());
+
+		// 1. Load the fingerprints of the existing documents. Recreated indices are empty.
+		Map<String, Map<String, Long>> fingerprints = new HashMap<>();
+		for (IndexInfo info : indices) {
+			String indexName = info.getIndexName();
+			Map<String, Long> indexFingerprints = new HashMap<>();
+			if (!searchProvider.ensureIndex(info).blockingGet()) {
+				for (JsonObject hit : searchProvider.scrollDocuments(indexName, VERSION_KEY, ROLE_UUIDS_KEY).blockingIterable()) {
+					indexFingerprints.put(hit.getString("_id"), fingerprint(hit.getJsonObject("_source", new JsonObject())));
+				}
+			}
+			fingerprints.put(indexName, indexFingerprints);
+		}
+
+		// 2. Store missing and outdated documents. The documents are generated in parallel by the reindex workers.
+		List<String> uuids = new ArrayList<>();
+		for (T element : elements) {
+			if (element instanceof IndexableElement) {
+				uuids.add(element.getUuid());
+			}
+		}
+		List<BulkEntry> pending = new ArrayList<>();
+		long stored = 0;
+		long unchanged = 0;
+		for (List<BulkEntry> chunk : transformChunks(uuids).blockingIterable(reindexExecutor.getParallelism())) {
+			for (BulkEntry bulkEntry : chunk) {
+				Map<String, Long> indexFingerprints = fingerprints.get(bulkEntry.getIndexName());
+				// The document belongs to an index which is not part of this sync
+				if (indexFingerprints == null) {
+					continue;
+				}
+				Long fingerprint = indexFingerprints.remove(bulkEntry.getDocumentId());
+				if (fingerprint != null && fingerprint.longValue() == fingerprint(((IndexBulkEntry) bulkEntry).getDocument())) {
+					unchanged++;
+					continue;
+				}
+				pending.add(bulkEntry);
+				stored++;
+				if (pending.size() >= bulkLimit) {
+					flush(pending);
+				}
+			}
+		}
+
+		// 3. Delete the documents which have no corresponding element
+		long deleted = 0;
+		for (Map.Entry<String, Map<String, Long>> indexEntry : fingerprints.entrySet()) {
+			for (String documentId : indexEntry.getValue().keySet()) {
+				pending.add(new DeleteBulkEntry(indexEntry.getKey(), documentId));
+				deleted++;
+				if (pending.size() >= bulkLimit) {
+					flush(pending);
+				}
+			}
+		}
+		flush(pending);
+		searchProvider.refreshModifiedIndices().blockingAwait();
+
+		log.info("Synchronized {" + indices.size() + "} indices of handler {" + getClass().getSimpleName() + "}. Stored {" + stored
+			+ "} documents, deleted {" + deleted + "} documents and kept {" + unchanged + "} documents. Duration " + (System.currentTimeMillis()
+				- start) + "[ms]");
+	}
+
+	/**
+	 * Apply the pending bulk entries and clear the list.
+	 * 
+	 * @param pending
+	 */
+	private void flush(List<BulkEntry> pending) {
+		if (!pending.isEmpty()) {
+			searchProvider.processBulk(new ArrayList<>(pending)).blockingAwait();
+			pending.clear();
+		}
+	}
+
 	@Override
 	public Completable createIndex(CreateIndexEntry entry) {
 		String indexName = entry.getIndexName();
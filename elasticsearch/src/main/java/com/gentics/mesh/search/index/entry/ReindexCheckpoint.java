@@ -0,0 +1,171 @@
+package com.gentics.mesh.search.index.entry;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.stream.Stream;
+
+import com.gentics.mesh.Mesh;
+
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+
+/**
+ * Checkpoint of a full reindex of a single index handler. The checkpoint file contains the id of the last element of the last chunk which has been written
+ * to the search index. The elements are processed in the order of their ids and an interrupted reindex can thus be resumed after the stored id. The
+ * checkpoint file will be removed once the reindex of the handler has been completed. The checkpoint directory also contains a run file which identifies
+ * the reindex the checkpoints belong to. Checkpoints of another run must not be resumed.
+ */
+public class ReindexCheckpoint {
+
+	private static final Logger log = LoggerFactory.getLogger(ReindexCheckpoint.class);
+
+	private static final String FILE_SUFFIX = ".checkpoint";
+
+	private static final String RUN_FILE = "reindex.run";
+
+	private final String name;
+
+	/**
+	 * Create a new checkpoint.
+	 *
+	 * @param name
+	 *            Name of the checkpoint. The name of the index handler should be used.
+	 */
+	public ReindexCheckpoint(String name) {
+		this.name = name;
+	}
+
+	/**
+	 * Return the checkpoint directory.
+	 *
+	 * @return
+	 */
+	public static Path getDirectory() {
+		return Paths.get(Mesh.mesh().getOptions().getSearchOptions().getReindexCheckpointDirectory());
+	}
+
+	/**
+	 * Check whether the checkpoint directory contains checkpoints of an interrupted reindex of the given run.
+	 *
+	 * @param run
+	 *            Identifier of the current reindex run
+	 * @return
+	 */
+	public static boolean hasPending(String run) {
+		if (!hasPending()) {
+			return false;
+		}
+		Path file = getDirectory().resolve(RUN_FILE);
+		if (!Files.exists(file)) {
+			return false;
+		}
+		try {
+			return run.equals(new String(Files.readAllBytes(file), StandardCharsets.UTF_8).trim());
+		} catch (IOException e) {
+			log.error("Could not read reindex run file {" + file + "}", e);
+			return false;
+		}
+	}
+
+	/**
+	 * Start a new reindex run. Checkpoints of previous runs will be removed and the identifier of the run will be stored.
+	 *
+	 * @param run
+	 *            Identifier of the new reindex run
+	 */
+	public static void start(String run) {
+		Path dir = getDirectory();
+		try {
+			Files.createDirectories(dir);
+			try (Stream<Path> files = Files.list(dir)) {
+				for (Path file : (Iterable<Path>) files::iterator) {
+					if (file.getFileName().toString().endsWith(FILE_SUFFIX)) {
+						log.info("Removing stale reindex checkpoint {" + file + "}");
+						Files.delete(file);
+					}
+				}
+			}
+			Files.write(dir.resolve(RUN_FILE), run.getBytes(StandardCharsets.UTF_8));
+		} catch (IOException e) {
+			// The reindex can still proceed. Only the resume information is lost.
+			log.error("Could not reset reindex checkpoint directory {" + dir + "}", e);
+		}
+	}
+
+	/**
+	 * Check whether the checkpoint directory contains checkpoints of an interrupted reindex.
+	 *
+	 * @return
+	 */
+	public static boolean hasPending() {
+		Path dir = getDirectory();
+		if (!Files.exists(dir)) {
+			return false;
+		}
+		try (Stream<Path> files = Files.list(dir)) {
+			return files.anyMatch(file -> file.getFileName().toString().endsWith(FILE_SUFFIX));
+		} catch (IOException e) {
+			log.error("Could not list reindex checkpoint directory {" + dir + "}", e);
+			return false;
+		}
+	}
+
+	/**
+	 * Read the id of the last element which has been reindexed.
+	 *
+	 * @return Id or null if no checkpoint has been written
+	 */
+	public String read() {
+		Path file = getDirectory().resolve(name + FILE_SUFFIX);
+		if (!Files.exists(file)) {
+			return null;
+		}
+		try {
+			String id = new String(Files.readAllBytes(file), StandardCharsets.UTF_8).trim();
+			return id.isEmpty() ? null : id;
+		} catch (IOException e) {
+			log.error("Could not read reindex checkpoint {" + file + "}. Starting from the beginning.", e);
+			return null;
+		}
+	}
+
+	/**
+	 * Store the id of the last element which has been reindexed.
+	 *
+	 * @param id
+	 */
+	public void write(String id) {
+		try {
+			Path dir = getDirectory();
+			Files.createDirectories(dir);
+			Path tmpFile = dir.resolve(name + ".tmp");
+			Files.write(tmpFile, id.getBytes(StandardCharsets.UTF_8));
+			try (FileChannel channel = FileChannel.open(tmpFile, WRITE)) {
+				channel.force(true);
+			}
+			Files.move(tmpFile, dir.resolve(name + FILE_SUFFIX), ATOMIC_MOVE);
+		} catch (IOException e) {
+			// The reindex can still proceed. Only the resume information is lost.
+			log.error("Could not write reindex checkpoint {" + name + "}", e);
+		}
+	}
+
+	/**
+	 * Remove the checkpoint.
+	 */
+	public void delete() {
+		try {
+			Files.deleteIfExists(getDirectory().resolve(name + FILE_SUFFIX));
+		} catch (IOException e) {
+			log.error("Could not delete reindex checkpoint {" + name + "}", e);
+		}
+	}
+
+}
@@ -7,9 +7,11 @@ import com.gentics.mesh.core.data.IndexableElement;
 import com.gentics.mesh.core.data.search.IndexHandler;
 import com.gentics.mesh.core.data.search.SearchQueueEntryAction;
 import com.gentics.mesh.core.data.search.UpdateDocumentEntry;
+import com.gentics.mesh.core.data.search.bulk.BulkEntry;
 import com.gentics.mesh.core.data.search.context.GenericEntryContext;
 
 import io.reactivex.Completable;
+import io.reactivex.Observable;
 
 /**
  * Basic implementation for most indexable elements.
@@ -31,12 +33,33 @@ public class UpdateDocumentEntryImpl extends AbstractEntry<GenericEntryContext>
 	 * @param action
 	 */
 	public UpdateDocumentEntryImpl(IndexHandler<?> indexHandler, IndexableElement element, GenericEntryContext context, SearchQueueEntryAction action) {
+		this(indexHandler, element.getUuid(), context, action);
+	}
+
+	/**
+	 * Create a new batch entry for the element with the given uuid.
+	 * 
+	 * @param indexHandler
+	 * @param elementUuid
+	 * @param context
+	 * @param action
+	 */
+	public UpdateDocumentEntryImpl(IndexHandler<?> indexHandler, String elementUuid, GenericEntryContext context, SearchQueueEntryAction action) {
 		super(action);
 		this.context = context;
-		this.elementUuid = element.getUuid();
+		this.elementUuid = elementUuid;
 		this.indexHandler = indexHandler;
 	}
 
+	/**
+	 * Return the index handler which will process the entry.
+	 * 
+	 * @return
+	 */
+	public IndexHandler<?> getIndexHandler() {
+		return indexHandler;
+	}
+
 	@Override
 	public String getElementUuid() {
 		return elementUuid;
@@ -59,6 +82,27 @@ public class UpdateDocumentEntryImpl extends AbstractEntry<GenericEntryContext>
 
 	}
 
+	@Override
+	public boolean isBulkable() {
+		return true;
+	}
+
+	@Override
+	public Observable<BulkEntry> processForBulk() {
+		switch (elementAction) {
+		case STORE_ACTION:
+			return indexHandler.storeForBulk(this);
+
+		case DELETE_ACTION:
+			return indexHandler.deleteForBulk(this);
+
+		case UPDATE_ROLE_PERM_ACTION:
+			return indexHandler.updatePermissionForBulk(this);
+		default:
+			throw error(INTERNAL_SERVER_ERROR, "Can't process entry of for action {" + elementAction + "}");
+		}
+	}
+
 	@Override
 	public GenericEntryContext getContext() {
 		return context;
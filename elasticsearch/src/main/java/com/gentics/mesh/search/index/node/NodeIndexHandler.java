@@ -4,11 +4,14 @@ import static com.gentics.mesh.core.data.ContainerType.DRAFT;
 import static com.gentics.mesh.core.data.ContainerType.PUBLISHED;
 import static com.gentics.mesh.core.rest.error.Errors.error;
 import static com.gentics.mesh.search.SearchProvider.DEFAULT_TYPE;
+import static com.gentics.mesh.search.index.AbstractTransformer.addVersion;
 import static io.netty.handler.codec.http.HttpResponseStatus.INTERNAL_SERVER_ERROR;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -28,6 +31,10 @@ import com.gentics.mesh.core.data.schema.SchemaContainerVersion;
 import com.gentics.mesh.core.data.search.MoveDocumentEntry;
 import com.gentics.mesh.core.data.search.SearchQueue;
 import com.gentics.mesh.core.data.search.UpdateDocumentEntry;
+import com.gentics.mesh.core.data.search.bulk.BulkEntry;
+import com.gentics.mesh.core.data.search.bulk.DeleteBulkEntry;
+import com.gentics.mesh.core.data.search.bulk.IndexBulkEntry;
+import com.gentics.mesh.core.data.search.bulk.UpdateBulkEntry;
 import com.gentics.mesh.core.data.search.context.GenericEntryContext;
 import com.gentics.mesh.core.data.search.context.MoveEntryContext;
 import com.gentics.mesh.core.data.search.context.impl.GenericEntryContextImpl;
@@ -40,8 +47,10 @@ import com.gentics.mesh.search.index.entry.AbstractIndexHandler;
 import com.syncleus.ferma.tx.Tx;
 
 import io.reactivex.Completable;
+import io.reactivex.Flowable;
 import io.reactivex.Observable;
 import io.reactivex.Single;
+import io.reactivex.schedulers.Schedulers;
 import io.vertx.core.json.JsonObject;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
@@ -109,32 +118,66 @@ public class NodeIndexHandler extends AbstractIndexHandler<Node> {
 
 			// Iterate over all projects and construct the index names
 			for (Project project : boot.meshRoot().getProjectRoot().findAllIt()) {
-				// Add the draft and published index names per release to the map
-				for (Release release : project.getReleaseRoot().findAllIt()) {
-					// Each release specific index has also document type specific mappings
-					for (SchemaContainerVersion containerVersion : release.findActiveSchemaVersions()) {
-						String draftIndexName = NodeGraphFieldContainer.composeIndexName(project.getUuid(), release.getUuid(), containerVersion
-							.getUuid(), DRAFT);
-						String publishIndexName = NodeGraphFieldContainer.composeIndexName(project.getUuid(), release.getUuid(), containerVersion
-							.getUuid(), PUBLISHED);
-						if (log.isDebugEnabled()) {
-							log.debug("Adding index to map of known idices {" + draftIndexName + "");
-							log.debug("Adding index to map of known idices {" + publishIndexName + "");
-						}
-						release.findAllMicroschemaVersions();
-						// Load the index mapping information for the index
-						SchemaModel schema = containerVersion.getSchema();
-						JsonObject mapping = getMappingProvider().getMapping(schema);
-						JsonObject settings = schema.getElasticsearch();
-						indexInfo.put(draftIndexName, new IndexInfo(draftIndexName, settings, mapping));
-						indexInfo.put(publishIndexName, new IndexInfo(publishIndexName, settings, mapping));
-					}
-				}
+				indexInfo.putAll(getIndices(project));
 			}
 			return indexInfo;
 		});
 	}
 
+	/**
+	 * Load the map of indices for the given project. This method must be invoked within a transaction.
+	 * 
+	 * @param project
+	 * @return Map with index information
+	 */
+	private Map<String, IndexInfo> getIndices(Project project) {
+		Map<String, IndexInfo> indexInfo = new HashMap<>();
+		// Add the draft and published index names per release to the map
+		for (Release release : project.getReleaseRoot().findAllIt()) {
+			// Each release specific index has also document type specific mappings
+			for (SchemaContainerVersion containerVersion : release.findActiveSchemaVersions()) {
+				String draftIndexName = NodeGraphFieldContainer.composeIndexName(project.getUuid(), release.getUuid(), containerVersion.getUuid(),
+					DRAFT);
+				String publishIndexName = NodeGraphFieldContainer.composeIndexName(project.getUuid(), release.getUuid(), containerVersion
+					.getUuid(), PUBLISHED);
+				if (log.isDebugEnabled()) {
+					log.debug("Adding index to map of known idices {" + draftIndexName + "");
+					log.debug("Adding index to map of known idices {" + publishIndexName + "");
+				}
+				release.findAllMicroschemaVersions();
+				// Load the index mapping information for the index
+				SchemaModel schema = containerVersion.getSchema();
+				JsonObject mapping = getMappingProvider().getMapping(schema);
+				JsonObject settings = schema.getElasticsearch();
+				indexInfo.put(draftIndexName, new IndexInfo(draftIndexName, settings, mapping));
+				indexInfo.put(publishIndexName, new IndexInfo(publishIndexName, settings, mapping));
+			}
+		}
+		return indexInfo;
+	}
+
+	@Override
+	public Completable syncIndices() {
+		return Completable.defer(() -> {
+			List<String> projectUuids = new ArrayList<>();
+			try (Tx tx = db.tx()) {
+				for (Project project : boot.meshRoot().getProjectRoot().findAllIt()) {
+					projectUuids.add(project.getUuid());
+				}
+			}
+			// Synchronize the indices per project in order to limit the amount of document fingerprints which need to be loaded at once. The projects are
+			// synchronized in parallel. The amount of concurrently loaded fingerprints is limited by the amount of reindex workers.
+			return Flowable.fromIterable(projectUuids).flatMapCompletable(projectUuid -> Completable.fromAction(() -> {
+				try (Tx tx = db.tx()) {
+					Project project = boot.meshRoot().getProjectRoot().findByUuid(projectUuid);
+					if (project != null) {
+						syncIndices(getIndices(project).values(), project.getNodeRoot().findAllIt());
+					}
+				}
+			}).subscribeOn(Schedulers.io()), false, reindexExecutor.getParallelism());
+		});
+	}
+
 	@Override
 	public Set<String> getSelectedIndices(InternalActionContext ac) {
 		return db.tx(() -> {
@@ -170,84 +213,85 @@ public class NodeIndexHandler extends AbstractIndexHandler<Node> {
 
 	@Override
 	public Completable store(Node node, UpdateDocumentEntry entry) {
-		return Completable.defer(() -> {
+		return storeForBulk(node, entry).toList().flatMapCompletable(searchProvider::processBulk);
+	}
+
+	@Override
+	public Observable<BulkEntry> storeForBulk(Node node, UpdateDocumentEntry entry) {
+		return Observable.defer(() -> {
 			GenericEntryContext context = entry.getContext();
-			Set<Single<String>> obs = new HashSet<>();
+			List<BulkEntry> entries = new ArrayList<>();
 			try (Tx tx = db.tx()) {
-				store(obs, node, context);
+				store(entries, node, context);
 			}
-
-			// Now merge all store actions and refresh the affected indices
-			return Observable.fromIterable(obs).map(x -> x.toObservable()).flatMap(x -> x).distinct().ignoreElements();
+			return Observable.fromIterable(entries);
 		});
 	}
 
 	/**
 	 * Step 1 - Check whether we need to handle all releases.
 	 * 
-	 * @param obs
+	 * @param entries
 	 * @param node
 	 * @param context
 	 */
-	private void store(Set<Single<String>> obs, Node node, GenericEntryContext context) {
+	private void store(List<BulkEntry> entries, Node node, GenericEntryContext context) {
 		if (context.getReleaseUuid() == null) {
 			for (Release release : node.getProject().getReleaseRoot().findAllIt()) {
-				store(obs, node, release.getUuid(), context);
+				store(entries, node, release.getUuid(), context);
 			}
 		} else {
-			store(obs, node, context.getReleaseUuid(), context);
+			store(entries, node, context.getReleaseUuid(), context);
 		}
 	}
 
 	/**
 	 * Step 2 - Check whether we need to handle all container types.
 	 * 
-	 * Add the possible store actions to the set of observables. This method will utilise as much of the provided context data if possible. It will also handle
-	 * fallback options and invoke store for all types if the container type has not been specified.
+	 * Add the possible store actions to the list of bulk entries. This method will utilise as much of the provided context data if possible. It will also
+	 * handle fallback options and invoke store for all types if the container type has not been specified.
 	 * 
-	 * @param obs
+	 * @param entries
 	 * @param node
 	 * @param releaseUuid
 	 * @param context
 	 */
-	private void store(Set<Single<String>> obs, Node node, String releaseUuid, GenericEntryContext context) {
+	private void store(List<BulkEntry> entries, Node node, String releaseUuid, GenericEntryContext context) {
 		if (context.getContainerType() == null) {
 			for (ContainerType type : ContainerType.values()) {
 				// We only want to store DRAFT and PUBLISHED Types
 				if (type == DRAFT || type == PUBLISHED) {
-					store(obs, node, releaseUuid, type, context);
+					store(entries, node, releaseUuid, type, context);
 				}
 			}
 		} else {
-			store(obs, node, releaseUuid, context.getContainerType(), context);
+			store(entries, node, releaseUuid, context.getContainerType(), context);
 		}
 	}
 
 	/**
 	 * Step 3 - Check whether we need to handle all languages.
 	 * 
-	 * Invoke store for the possible set of containers. Utilise the given context settings as much as possible.
+	 * Create the store actions for the possible set of containers. Utilise the given context settings as much as possible.
 	 * 
-	 * @param obs
+	 * @param entries
 	 * @param node
 	 * @param releaseUuid
 	 * @param type
 	 * @param context
 	 */
-	private void store(Set<Single<String>> obs, Node node, String releaseUuid, ContainerType type, GenericEntryContext context) {
+	private void store(List<BulkEntry> entries, Node node, String releaseUuid, ContainerType type, GenericEntryContext context) {
 		if (context.getLanguageTag() != null) {
 			NodeGraphFieldContainer container = node.getGraphFieldContainer(context.getLanguageTag(), releaseUuid, type);
 			if (container == null) {
 				log.warn("Node {" + node.getUuid() + "} has no language container for languageTag {" + context.getLanguageTag()
 					+ "}. I can't store the search index document. This may be normal in cases if mesh is handling an outdated search queue batch entry.");
 			} else {
-				obs.add(storeContainer(container, releaseUuid, type));
+				entries.add(toBulkEntry(container, releaseUuid, type));
 			}
-			// obs.add(sanitizeIndex(node, container, context.getLanguageTag()).toCompletable());
 		} else {
 			for (NodeGraphFieldContainer container : node.getGraphFieldContainers(releaseUuid, type)) {
-				obs.add(storeContainer(container, releaseUuid, type));
-				// obs.add(sanitizeIndex(node, container, context.getLanguageTag()).toCompletable());
+				entries.add(toBulkEntry(container, releaseUuid, type));
 			}
 		}
 
@@ -267,6 +311,27 @@ public class NodeIndexHandler extends AbstractIndexHandler<Node> {
 			releaseUuid, type));
 	}
 
+	/**
+	 * Create the bulk actions which will add the new container to the new index and remove the old container from its index.
+	 * 
+	 * @param entry
+	 * @return
+	 */
+	public Observable<BulkEntry> moveForBulk(MoveDocumentEntry entry) {
+		return Observable.defer(() -> {
+			MoveEntryContext context = entry.getContext();
+			ContainerType type = context.getContainerType();
+			String releaseUuid = context.getReleaseUuid();
+			try (Tx tx = db.tx()) {
+				NodeGraphFieldContainer oldContainer = context.getOldContainer();
+				String projectUuid = oldContainer.getParentNode().getProject().getUuid();
+				BulkEntry storeEntry = toBulkEntry(context.getNewContainer(), releaseUuid, type);
+				BulkEntry deleteEntry = new DeleteBulkEntry(oldContainer.getIndexName(projectUuid, releaseUuid, type), oldContainer.getDocumentId());
+				return Observable.just(storeEntry, deleteEntry);
+			}
+		});
+	}
+
 	/**
 	 * Deletes the container for the index in which it should reside.
 	 * 
@@ -289,7 +354,21 @@ public class NodeIndexHandler extends AbstractIndexHandler<Node> {
 	 * @return Single with affected index name
 	 */
 	public Single<String> storeContainer(NodeGraphFieldContainer container, String releaseUuid, ContainerType type) {
-		JsonObject doc = transformer.toDocument(container, releaseUuid, type);
+		IndexBulkEntry entry = toBulkEntry(container, releaseUuid, type);
+		return searchProvider.storeDocument(entry.getIndexName(), entry.getDocumentId(), entry.getDocument()).andThen(Single.just(entry
+			.getIndexName()));
+	}
+
+	/**
+	 * Generate an elasticsearch document object from the given container and create the bulk action which will store it in the search index.
+	 * 
+	 * @param container
+	 * @param releaseUuid
+	 * @param type
+	 * @return
+	 */
+	private IndexBulkEntry toBulkEntry(NodeGraphFieldContainer container, String releaseUuid, ContainerType type) {
+		JsonObject doc = addVersion(transformer.toDocument(container, releaseUuid, type));
 		String projectUuid = container.getParentNode().getProject().getUuid();
 		String indexName = NodeGraphFieldContainer.composeIndexName(projectUuid, releaseUuid, container.getSchemaContainerVersion().getUuid(), type);
 		if (log.isDebugEnabled()) {
@@ -297,7 +376,7 @@ public class NodeIndexHandler extends AbstractIndexHandler<Node> {
 		}
 		String languageTag = container.getLanguage().getLanguageTag();
 		String documentId = NodeGraphFieldContainer.composeDocumentId(container.getParentNode().getUuid(), languageTag);
-		return searchProvider.storeDocument(indexName, documentId, doc).andThen(Single.just(indexName));
+		return new IndexBulkEntry(indexName, documentId, doc);
 	}
 
 	@Override
@@ -315,33 +394,39 @@ public class NodeIndexHandler extends AbstractIndexHandler<Node> {
 	 */
 	@Override
 	public Completable updatePermission(UpdateDocumentEntry entry) {
-		String uuid = entry.getElementUuid();
-		Node node = getRootVertex().findByUuid(uuid);
-		if (node == null) {
-			throw error(INTERNAL_SERVER_ERROR, "error_element_for_document_type_not_found", uuid, DEFAULT_TYPE);
-		} else {
-			Project project = node.getProject();
-
-			Set<Observable<String>> obs = new HashSet<>();
-
-			// Determine which documents need to be updated. The node could have multiple documents in various indices.
-			for (Release release : project.getReleaseRoot().findAllIt()) {
-				for (ContainerType type : Arrays.asList(DRAFT, PUBLISHED)) {
-					JsonObject json = getTransformer().toPermissionPartial(node, type);
-					for (NodeGraphFieldContainer container : node.getGraphFieldContainers(release, type)) {
-						String indexName = container.getIndexName(project.getUuid(), release.getUuid(), type);
-						String documentId = container.getDocumentId();
-						obs.add(searchProvider.updateDocument(indexName, documentId, json, true).andThen(Observable.just(indexName)));
+		// The modified indices will be refreshed once the batch has been processed
+		return updatePermissionForBulk(entry).toList().flatMapCompletable(searchProvider::processBulk).doOnComplete(() -> {
+			if (log.isDebugEnabled()) {
+				log.debug("Updated object in index.");
+			}
+		});
+	}
+
+	@Override
+	public Observable<BulkEntry> updatePermissionForBulk(UpdateDocumentEntry entry) {
+		return Observable.defer(() -> {
+			try (Tx tx = db.tx()) {
+				String uuid = entry.getElementUuid();
+				Node node = getRootVertex().findByUuid(uuid);
+				if (node == null) {
+					throw error(INTERNAL_SERVER_ERROR, "error_element_for_document_type_not_found", uuid, DEFAULT_TYPE);
+				}
+				Project project = node.getProject();
+				List<BulkEntry> entries = new ArrayList<>();
+
+				// Determine which documents need to be updated. The node could have multiple documents in various indices.
+				for (Release release : project.getReleaseRoot().findAllIt()) {
+					for (ContainerType type : Arrays.asList(DRAFT, PUBLISHED)) {
+						JsonObject json = getTransformer().toPermissionPartial(node, type);
+						for (NodeGraphFieldContainer container : node.getGraphFieldContainers(release, type)) {
+							String indexName = container.getIndexName(project.getUuid(), release.getUuid(), type);
+							entries.add(new UpdateBulkEntry(indexName, container.getDocumentId(), json));
+						}
 					}
 				}
+				return Observable.fromIterable(entries);
 			}
-			return Observable.merge(obs).toList().flatMapCompletable(list -> {
-				if (log.isDebugEnabled()) {
-					log.debug("Updated object in index.");
-				}
-				return searchProvider.refreshIndex(list.stream().toArray(String[]::new));
-			});
-		}
+		});
 	}
 
 	/**
@@ -5,9 +5,11 @@ import static com.gentics.mesh.search.impl.ElasticsearchErrorHelper.mapToMeshErr
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
@@ -36,6 +38,7 @@ import com.gentics.mesh.parameter.PagingParameters;
 import com.gentics.mesh.search.SearchProvider;
 import com.gentics.mesh.search.impl.SearchClient;
 import com.gentics.mesh.search.index.AbstractSearchHandler;
+import com.gentics.mesh.util.Tuple;
 
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
@@ -117,6 +120,7 @@ public class NodeSearchHandler extends AbstractSearchHandler<Node, NodeResponse>
 				long totalCount = hitsInfo.getLong("total");
 				List<NodeContent> elementList = new ArrayList<>();
 				JsonArray hits = hitsInfo.getJsonArray("hits");
+				List<Tuple<String, String>> ids = new ArrayList<>(hits.size());
 				for (int i = 0; i < hits.size(); i++) {
 					JsonObject hit = hits.getJsonObject(i);
 
@@ -125,14 +129,32 @@ public class NodeSearchHandler extends AbstractSearchHandler<Node, NodeResponse>
 
 					String language = pos > 0 ? id.substring(pos + 1) : null;
 					String uuid = pos > 0 ? id.substring(0, pos) : id;
+					ids.add(Tuple.tuple(uuid, language));
+				}
+
+				// Locate all nodes using a single index lookup and check the permissions of all nodes at once
+				RootVertex<Node> root = getIndexHandler().getRootVertex();
+				Map<String, Node> nodes = root.findByUuids(ids.stream().map(Tuple::v1).collect(Collectors.toSet()));
+				Set<Object> permittedIds = null;
+				if (permissions.length > 0) {
+					permittedIds = ac.getUser().createPermissionEvaluator().getPermittedIds(nodes.values().stream().map(Node::getId).collect(
+						Collectors.toList()), permissions);
+				}
+
+				for (Tuple<String, String> id : ids) {
+					String uuid = id.v1();
+					String language = id.v2();
 
-					RootVertex<Node> root = getIndexHandler().getRootVertex();
-					Node element = root.findByUuid(uuid);
+					Node element = nodes.get(uuid);
 					if (element == null) {
 						log.warn("Object could not be found for uuid {" + uuid + "} in root vertex {" + root.getRootLabel() + "}");
 						totalCount--;
 						continue;
 					}
+					if (permittedIds != null && !permittedIds.contains(element.getId())) {
+						totalCount--;
+						continue;
+					}
 
 					ContainerType type = ContainerType.forVersion(ac.getVersioningParameters().getVersion());
 					Language languageTag = boot.languageRoot().findByLanguageTag(language);
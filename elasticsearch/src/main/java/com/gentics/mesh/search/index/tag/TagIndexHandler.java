@@ -16,12 +16,14 @@ import com.gentics.mesh.core.data.root.ProjectRoot;
 import com.gentics.mesh.core.data.root.RootVertex;
 import com.gentics.mesh.core.data.search.SearchQueue;
 import com.gentics.mesh.core.data.search.UpdateDocumentEntry;
+import com.gentics.mesh.core.data.search.bulk.BulkEntry;
 import com.gentics.mesh.core.data.search.index.IndexInfo;
 import com.gentics.mesh.graphdb.spi.Database;
 import com.gentics.mesh.search.SearchProvider;
 import com.gentics.mesh.search.index.entry.AbstractIndexHandler;
 
 import io.reactivex.Completable;
+import io.reactivex.Observable;
 
 /**
  * Handler for the tag specific search index.
@@ -76,6 +78,12 @@ public class TagIndexHandler extends AbstractIndexHandler<Tag> {
 		return super.store(tag, entry);
 	}
 
+	@Override
+	public Observable<BulkEntry> storeForBulk(Tag tag, UpdateDocumentEntry entry) {
+		entry.getContext().setProjectUuid(tag.getProject().getUuid());
+		return super.storeForBulk(tag, entry);
+	}
+
 	@Override
 	public Map<String, IndexInfo> getIndices() {
 		return db.tx(() -> {
@@ -16,12 +16,14 @@ import com.gentics.mesh.core.data.root.ProjectRoot;
 import com.gentics.mesh.core.data.root.RootVertex;
 import com.gentics.mesh.core.data.search.SearchQueue;
 import com.gentics.mesh.core.data.search.UpdateDocumentEntry;
+import com.gentics.mesh.core.data.search.bulk.BulkEntry;
 import com.gentics.mesh.core.data.search.index.IndexInfo;
 import com.gentics.mesh.graphdb.spi.Database;
 import com.gentics.mesh.search.SearchProvider;
 import com.gentics.mesh.search.index.entry.AbstractIndexHandler;
 
 import io.reactivex.Completable;
+import io.reactivex.Observable;
 
 @Singleton
 public class TagFamilyIndexHandler extends AbstractIndexHandler<TagFamily> {
@@ -68,6 +70,12 @@ public class TagFamilyIndexHandler extends AbstractIndexHandler<TagFamily> {
 		return super.store(tagFamily, entry);
 	}
 
+	@Override
+	public Observable<BulkEntry> storeForBulk(TagFamily tagFamily, UpdateDocumentEntry entry) {
+		entry.getContext().setProjectUuid(tagFamily.getProject().getUuid());
+		return super.storeForBulk(tagFamily, entry);
+	}
+
 	@Override
 	public Map<String, IndexInfo> getIndices() {
 		return db.tx(() -> {
@@ -0,0 +1,124 @@
+package com.gentics.mesh.core.cache;
+
+import static com.gentics.mesh.core.data.relationship.GraphPermission.READ_PERM;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.gentics.mesh.core.data.relationship.GraphPermission;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Compares the lookups of the {@link PermissionStore} with the previous cache which used string concatenated keys. The benchmark can be started via the
+ * main method.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class PermissionStoreBenchmark {
+
+	/**
+	 * Cluster id which is used to build the element ids.
+	 */
+	private static final int CLUSTER_ID = 42;
+
+	@Param({ "10", "100" })
+	public int users;
+
+	@Param({ "1000" })
+	public int elements;
+
+	/**
+	 * Ids as they are returned by the graph database. The previous cache used the string representation of the ids.
+	 */
+	private String[] legacyUserIds;
+
+	private String[] legacyElementIds;
+
+	private long[] userKeys;
+
+	private long[] elementKeys;
+
+	private Cache<String, Boolean> legacyCache;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		PermissionStore.invalidate(false);
+		legacyCache = Caffeine.newBuilder().maximumSize(100_000).expireAfterWrite(30, TimeUnit.MINUTES).build();
+
+		legacyUserIds = new String[users];
+		userKeys = new long[users];
+		for (int i = 0; i < users; i++) {
+			legacyUserIds[i] = "#" + (CLUSTER_ID + 1) + ":" + i;
+			userKeys[i] = toKey(CLUSTER_ID + 1, i);
+		}
+		legacyElementIds = new String[elements];
+		elementKeys = new long[elements];
+		for (int i = 0; i < elements; i++) {
+			legacyElementIds[i] = "#" + CLUSTER_ID + ":" + i;
+			elementKeys[i] = toKey(CLUSTER_ID, i);
+		}
+
+		for (int u = 0; u < users; u++) {
+			PermissionStore.UserPermissions perms = PermissionStore.getUserPermissions(userKeys[u]);
+			for (int e = 0; e < elements; e++) {
+				perms.grant(elementKeys[e], READ_PERM);
+				legacyCache.put(createLegacyCacheKey(legacyUserIds[u], READ_PERM, legacyElementIds[e]), true);
+			}
+		}
+	}
+
+	@Benchmark
+	public Boolean lookupPermissionStore() {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		long userKey = userKeys[random.nextInt(users)];
+		long elementKey = elementKeys[random.nextInt(elements)];
+		return PermissionStore.getUserPermissions(userKey).get(elementKey, READ_PERM);
+	}
+
+	@Benchmark
+	public Boolean lookupStringKeyedCache() {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		Object userId = legacyUserIds[random.nextInt(users)];
+		Object elementId = legacyElementIds[random.nextInt(elements)];
+		return legacyCache.getIfPresent(createLegacyCacheKey(userId, READ_PERM, elementId));
+	}
+
+	private static long toKey(int clusterId, long position) {
+		return ((long) clusterId << 48) | position;
+	}
+
+	/**
+	 * Key format of the previous implementation.
+	 */
+	private static String createLegacyCacheKey(Object userId, GraphPermission permission, Object elementId) {
+		return userId + "-" + permission.ordinal() + "-" + elementId;
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(PermissionStoreBenchmark.class.getSimpleName()).build()).run();
+	}
+
+}
@@ -0,0 +1,181 @@
+package com.gentics.mesh.core.rest.admin.status;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyDescription;
+import com.gentics.mesh.core.rest.common.RestModel;
+
+/**
+ * POJO which represents the status of the image processing.
+ */
+public class ImageProcessingStatus implements RestModel {
+
+	@JsonProperty(required = false)
+	@JsonPropertyDescription("Amount of image operations which wait for processing.")
+	private int queueDepth;
+
+	@JsonProperty(required = false)
+	@JsonPropertyDescription("Amount of background image operations (e.g. the generation of preset variants) which wait for processing.")
+	private int backgroundQueueDepth;
+
+	@JsonProperty(required = false)
+	@JsonPropertyDescription("Amount of image operations which are currently processed.")
+	private int runningOperations;
+
+	@JsonProperty(required = false)
+	@JsonPropertyDescription("Amount of image operations whose source image is currently being read.")
+	private int preparingOperations;
+
+	@JsonProperty(required = false)
+	@JsonPropertyDescription("Amount of memory in bytes which is reserved by the running image operations.")
+	private long reservedMemory;
+
+	@JsonProperty(required = false)
+	@JsonPropertyDescription("Amount of memory in bytes which may be reserved by concurrent image operations.")
+	private long memoryBudget;
+
+	@JsonProperty(required = false)
+	@JsonPropertyDescription("Amount of successfully completed image operations.")
+	private long completedOperations;
+
+	@JsonProperty(required = false)
+	@JsonPropertyDescription("Amount of failed image operations.")
+	private long failedOperations;
+
+	@JsonProperty(required = false)
+	@JsonPropertyDescription("Amount of image operations which were rejected since too many operations were already waiting.")
+	private long rejectedOperations;
+
+	@JsonProperty(required = false)
+	@JsonPropertyDescription("Amount of background image operations which were dropped since the image processing was busy.")
+	private long droppedBackgroundOperations;
+
+	@JsonProperty(required = false)
+	@JsonPropertyDescription("Amount of image operations which exceeded the timeout.")
+	private long timedOutOperations;
+
+	@JsonProperty(required = false)
+	@JsonPropertyDescription("Total time in milliseconds which started image operations waited for processing.")
+	private long totalWaitTime;
+
+	@JsonProperty(required = false)
+	@JsonPropertyDescription("Total time in milliseconds which was spent processing image operations.")
+	private long totalProcessingTime;
+
+	public int getQueueDepth() {
+		return queueDepth;
+	}
+
+	public ImageProcessingStatus setQueueDepth(int queueDepth) {
+		this.queueDepth = queueDepth;
+		return this;
+	}
+
+	public int getBackgroundQueueDepth() {
+		return backgroundQueueDepth;
+	}
+
+	public ImageProcessingStatus setBackgroundQueueDepth(int backgroundQueueDepth) {
+		this.backgroundQueueDepth = backgroundQueueDepth;
+		return this;
+	}
+
+	public int getRunningOperations() {
+		return runningOperations;
+	}
+
+	public ImageProcessingStatus setRunningOperations(int runningOperations) {
+		this.runningOperations = runningOperations;
+		return this;
+	}
+
+	public int getPreparingOperations() {
+		return preparingOperations;
+	}
+
+	public ImageProcessingStatus setPreparingOperations(int preparingOperations) {
+		this.preparingOperations = preparingOperations;
+		return this;
+	}
+
+	public long getReservedMemory() {
+		return reservedMemory;
+	}
+
+	public ImageProcessingStatus setReservedMemory(long reservedMemory) {
+		this.reservedMemory = reservedMemory;
+		return this;
+	}
+
+	public long getMemoryBudget() {
+		return memoryBudget;
+	}
+
+	public ImageProcessingStatus setMemoryBudget(long memoryBudget) {
+		this.memoryBudget = memoryBudget;
+		return this;
+	}
+
+	public long getCompletedOperations() {
+		return completedOperations;
+	}
+
+	public ImageProcessingStatus setCompletedOperations(long completedOperations) {
+		this.completedOperations = completedOperations;
+		return this;
+	}
+
+	public long getFailedOperations() {
+		return failedOperations;
+	}
+
+	public ImageProcessingStatus setFailedOperations(long failedOperations) {
+		this.failedOperations = failedOperations;
+		return this;
+	}
+
+	public long getRejectedOperations() {
+		return rejectedOperations;
+	}
+
+	public ImageProcessingStatus setRejectedOperations(long rejectedOperations) {
+		this.rejectedOperations = rejectedOperations;
+		return this;
+	}
+
+	public long getDroppedBackgroundOperations() {
+		return droppedBackgroundOperations;
+	}
+
+	public ImageProcessingStatus setDroppedBackgroundOperations(long droppedBackgroundOperations) {
+		this.droppedBackgroundOperations = droppedBackgroundOperations;
+		return this;
+	}
+
+	public long getTimedOutOperations() {
+		return timedOutOperations;
+	}
+
+	public ImageProcessingStatus setTimedOutOperations(long timedOutOperations) {
+		this.timedOutOperations = timedOutOperations;
+		return this;
+	}
+
+	public long getTotalWaitTime() {
+		return totalWaitTime;
+	}
+
+	public ImageProcessingStatus setTotalWaitTime(long totalWaitTime) {
+		this.totalWaitTime = totalWaitTime;
+		return this;
+	}
+
+	public long getTotalProcessingTime() {
+		return totalProcessingTime;
+	}
+
+	public ImageProcessingStatus setTotalProcessingTime(long totalProcessingTime) {
+		this.totalProcessingTime = totalProcessingTime;
+		return this;
+	}
+
+}
@@ -14,6 +14,18 @@ public class MeshStatusResponse implements RestModel {
 	@JsonPropertyDescription("The current Gentics Mesh server status.")
 	private MeshStatus status;
 
+	@JsonProperty(required = false)
+	@JsonPropertyDescription("Amount of search index batches which have not yet been applied by the background indexer.")
+	private long searchQueueDepth;
+
+	@JsonProperty(required = false)
+	@JsonPropertyDescription("Age in milliseconds of the oldest search index batch which has not yet been applied by the background indexer.")
+	private long searchQueueLag;
+
+	@JsonProperty(required = false)
+	@JsonPropertyDescription("Status of the image processing.")
+	private ImageProcessingStatus imageProcessing;
+
 	public MeshStatus getStatus() {
 		return status;
 	}
@@ -23,4 +35,31 @@ public class MeshStatusResponse implements RestModel {
 		return this;
 	}
 
+	public long getSearchQueueDepth() {
+		return searchQueueDepth;
+	}
+
+	public MeshStatusResponse setSearchQueueDepth(long searchQueueDepth) {
+		this.searchQueueDepth = searchQueueDepth;
+		return this;
+	}
+
+	public long getSearchQueueLag() {
+		return searchQueueLag;
+	}
+
+	public MeshStatusResponse setSearchQueueLag(long searchQueueLag) {
+		this.searchQueueLag = searchQueueLag;
+		return this;
+	}
+
+	public ImageProcessingStatus getImageProcessing() {
+		return imageProcessing;
+	}
+
+	public MeshStatusResponse setImageProcessing(ImageProcessingStatus imageProcessing) {
+		this.imageProcessing = imageProcessing;
+		return this;
+	}
+
 }
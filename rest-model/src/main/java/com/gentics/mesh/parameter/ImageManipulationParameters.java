@@ -8,6 +8,7 @@ import com.gentics.mesh.core.rest.node.field.image.FocalPoint;
 import com.gentics.mesh.core.rest.node.field.image.Point;
 import com.gentics.mesh.etc.config.ImageManipulatorOptions;
 import com.gentics.mesh.parameter.image.CropMode;
+import com.gentics.mesh.parameter.image.ImageFormat;
 import com.gentics.mesh.parameter.image.ImageRect;
 
 public interface ImageManipulationParameters extends ParameterProvider {
@@ -28,6 +29,8 @@ public interface ImageManipulationParameters extends ParameterProvider {
 
 	public static final String FOCAL_POINT_DEBUG_PARAM_KEY = "fpdebug";
 
+	public static final String FORMAT_QUERY_PARAM_KEY = "format";
+
 	/**
 	 * Return the image width.
 	 * 
@@ -180,6 +183,40 @@ public interface ImageManipulationParameters extends ParameterProvider {
 		return this;
 	}
 
+	/**
+	 * Return the output format parameter.
+	 * 
+	 * @return Format or null if no or an unknown format has been set
+	 */
+	default ImageFormat getFormat() {
+		return ImageFormat.get(getParameter(FORMAT_QUERY_PARAM_KEY));
+	}
+
+	/**
+	 * Set the output format parameter.
+	 * 
+	 * @param format
+	 * @return Fluent API
+	 */
+	default ImageManipulationParameters setFormat(String format) {
+		ImageFormat imageFormat = ImageFormat.get(format);
+		if (imageFormat == null) {
+			throw error(BAD_REQUEST, "image_error_parameter_invalid", FORMAT_QUERY_PARAM_KEY, format);
+		}
+		return setFormat(imageFormat);
+	}
+
+	/**
+	 * Set the output format parameter.
+	 * 
+	 * @param format
+	 * @return Fluent API
+	 */
+	default ImageManipulationParameters setFormat(ImageFormat format) {
+		setParameter(FORMAT_QUERY_PARAM_KEY, format == null ? null : format.getKey());
+		return this;
+	}
+
 	/**
 	 * Get the focal point that has been set in the image parameter.
 	 * 
@@ -338,6 +375,9 @@ public interface ImageManipulationParameters extends ParameterProvider {
 		if (getFocalPointZoom() != null) {
 			builder.append("fpz" + getFocalPointZoom());
 		}
+		if (getFormat() != null) {
+			builder.append("fmt" + getFormat().getKey());
+		}
 		return builder.toString();
 	}
 
@@ -0,0 +1,104 @@
+package com.gentics.mesh.parameter.image;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Enum which represents the output formats of manipulated images.
+ */
+public enum ImageFormat {
+
+	JPG("jpg", "image/jpeg", "The image will be written as JPEG. Transparent areas will be filled with white."),
+
+	PNG("png", "image/png", "The image will be written as PNG. Transparency will be preserved."),
+
+	ORIGINAL("original", null, "The image will be written in the format of the source image. PNG and GIF images will be written as PNG, all other images as JPEG.");
+
+	private final String key;
+	private final String mimeType;
+	private final String description;
+
+	private static final Map<String, ImageFormat> lookup = new HashMap<>();
+
+	static {
+		// Create reverse lookup hash map
+		for (ImageFormat f : ImageFormat.values()) {
+			lookup.put(f.getKey(), f);
+		}
+		lookup.put("jpeg", JPG);
+	}
+
+	private ImageFormat(String key, String mimeType, String description) {
+		this.key = key;
+		this.mimeType = mimeType;
+		this.description = description;
+	}
+
+	/**
+	 * Returns the format key which is also used as file extension.
+	 *
+	 * @return
+	 */
+	public String getKey() {
+		return key;
+	}
+
+	/**
+	 * Returns the mime type of the format. The {@link #ORIGINAL} format has no mime type.
+	 *
+	 * @return
+	 */
+	public String getMimeType() {
+		return mimeType;
+	}
+
+	/**
+	 * Returns the format's description.
+	 *
+	 * @return
+	 */
+	public String getDescription() {
+		return description;
+	}
+
+	/**
+	 * Get the format for the specified key.
+	 *
+	 * @param key
+	 * @return Found format or null if the key matches no format.
+	 */
+	public static ImageFormat get(String key) {
+		return key == null ? null : lookup.get(key.toLowerCase());
+	}
+
+	/**
+	 * Return the output format which keeps the format of an image with the given mime type.
+	 *
+	 * @param mimeType
+	 * @return
+	 */
+	public static ImageFormat fromMimeType(String mimeType) {
+		if (mimeType != null) {
+			String type = mimeType.toLowerCase();
+			if (type.startsWith("image/png") || type.startsWith("image/gif")) {
+				return PNG;
+			}
+		}
+		return JPG;
+	}
+
+	/**
+	 * Return the description for all formats.
+	 *
+	 * @return
+	 */
+	public static String description() {
+		StringBuilder builder = new StringBuilder();
+		for (ImageFormat f : ImageFormat.values()) {
+			builder.append("\n");
+			builder.append(f.key + " : " + f.getDescription());
+		}
+		return builder.toString();
+	}
+
+}
@@ -0,0 +1,501 @@
+package com.gentics.mesh.image;
+
+import static com.gentics.mesh.core.rest.error.Errors.error;
+import static io.netty.handler.codec.http.HttpResponseStatus.SERVICE_UNAVAILABLE;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.gentics.mesh.core.rest.admin.status.ImageProcessingStatus;
+
+import io.reactivex.Single;
+import io.reactivex.SingleEmitter;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+
+/**
+ * Scheduler which governs the execution of CPU and memory intensive image operations.
+ *
+ * Operations are executed in order by a dedicated pool of threads. An operation is only started if the estimated memory of the operation fits into the
+ * memory budget together with all running operations. The first operation in the queue is started regardless of its size once no other operation is running,
+ * so that large images can't be starved by smaller ones. Operations are rejected with status 503 if the queue is full. Queued and running operations fail
+ * with status 503 once the timeout has been exceeded. Running operations are interrupted in that case, but their memory stays reserved until they have
+ * actually finished.
+ *
+ * Background operations (e.g. the generation of preset variants) are queued separately and are only started if no interactive operation is waiting. At most
+ * half of the concurrent operations may be background operations, so that interactive requests are not starved by bursts of uploads. Background operations
+ * which exceed the limits are dropped instead of taking the place of interactive operations.
+ */
+public class ImageProcessingScheduler {
+
+	private static final Logger log = LoggerFactory.getLogger(ImageProcessingScheduler.class);
+
+	private final int maxConcurrency;
+
+	private final int maxQueueSize;
+
+	private final int maxBackgroundConcurrency;
+
+	private final long memoryBudget;
+
+	private final long timeout;
+
+	private final ExecutorService executor;
+
+	private final ScheduledExecutorService timer;
+
+	private final Deque<Task<?>> queue = new ArrayDeque<>();
+
+	private final Deque<Task<?>> backgroundQueue = new ArrayDeque<>();
+
+	private int running;
+
+	private int runningBackground;
+
+	private final AtomicInteger preparing = new AtomicInteger();
+
+	private final AtomicInteger preparingBackground = new AtomicInteger();
+
+	private long reservedMemory;
+
+	private final AtomicLong completedCount = new AtomicLong();
+
+	private final AtomicLong failedCount = new AtomicLong();
+
+	private final AtomicLong rejectedCount = new AtomicLong();
+
+	private final AtomicLong timeoutCount = new AtomicLong();
+
+	private final AtomicLong droppedBackgroundCount = new AtomicLong();
+
+	private final AtomicLong totalWaitTime = new AtomicLong();
+
+	private final AtomicLong totalProcessingTime = new AtomicLong();
+
+	/**
+	 * Create a new scheduler.
+	 *
+	 * @param maxConcurrency
+	 *            Maximum amount of concurrently running operations
+	 * @param maxQueueSize
+	 *            Maximum amount of waiting operations
+	 * @param memoryBudget
+	 *            Maximum amount of memory in bytes which may be reserved by concurrently running operations
+	 * @param timeout
+	 *            Timeout in milliseconds for queued and running operations. A value of zero or less disables the timeout.
+	 */
+	public ImageProcessingScheduler(int maxConcurrency, int maxQueueSize, long memoryBudget, long timeout) {
+		this.maxConcurrency = Math.max(1, maxConcurrency);
+		this.maxQueueSize = Math.max(0, maxQueueSize);
+		this.maxBackgroundConcurrency = Math.max(1, this.maxConcurrency / 2);
+		this.memoryBudget = memoryBudget;
+		this.timeout = timeout;
+		AtomicInteger counter = new AtomicInteger();
+		this.executor = Executors.newFixedThreadPool(this.maxConcurrency, runnable -> {
+			Thread thread = new Thread(runnable, "mesh-image-" + counter.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+		this.timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "mesh-image-timeout");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/**
+	 * Schedule the given operation. The operation is executed once it has been subscribed to.
+	 *
+	 * @param estimatedMemory
+	 *            Estimated amount of memory in bytes which is needed by the operation
+	 * @param operation
+	 *            Blocking operation
+	 * @return Result of the operation
+	 */
+	public <T> Single<T> schedule(long estimatedMemory, Callable<T> operation) {
+		return schedule(estimatedMemory, operation, false);
+	}
+
+	/**
+	 * Schedule the given operation with low priority. The operation is dropped with status 503 if the queue of background operations is full.
+	 *
+	 * @param estimatedMemory
+	 *            Estimated amount of memory in bytes which is needed by the operation
+	 * @param operation
+	 *            Blocking operation
+	 * @return Result of the operation
+	 */
+	public <T> Single<T> scheduleBackground(long estimatedMemory, Callable<T> operation) {
+		return schedule(estimatedMemory, operation, true);
+	}
+
+	private <T> Single<T> schedule(long estimatedMemory, Callable<T> operation, boolean background) {
+		return Single.create(emitter -> {
+			Task<T> task = new Task<>(estimatedMemory, operation, emitter, background);
+			boolean rejected;
+			synchronized (this) {
+				if (background) {
+					rejected = backgroundQueue.size() >= maxQueueSize;
+					if (!rejected) {
+						backgroundQueue.add(task);
+					}
+				} else {
+					// Operations which can be started right away don't need to wait
+					rejected = queue.size() >= maxQueueSize && !(queue.isEmpty() && running < maxConcurrency);
+					if (!rejected) {
+						queue.add(task);
+					}
+				}
+			}
+			if (rejected) {
+				reject(background, "{" + maxQueueSize + "} operations are already waiting");
+				emitter.onError(error(SERVICE_UNAVAILABLE, "image_error_processing_overloaded"));
+				return;
+			}
+			if (timeout > 0) {
+				task.timeoutFuture = timer.schedule(task::timeout, timeout, TimeUnit.MILLISECONDS);
+			}
+			emitter.setCancellable(task::cancel);
+			dispatch();
+		});
+	}
+
+	/**
+	 * Limit the concurrency of the preparation of operations (e.g. copying the source image to a temporary file in order to read its header). The amount of
+	 * concurrent preparations is limited to the maximum amount of queued and running operations. Further preparations are rejected with status 503.
+	 *
+	 * @param preparation
+	 * @param background
+	 *            Whether the preparation belongs to a background operation. Background preparations are limited separately and are dropped instead of
+	 *            rejected.
+	 * @return
+	 */
+	public <T> Single<T> prepare(Single<T> preparation, boolean background) {
+		AtomicInteger counter = background ? preparingBackground : preparing;
+		int limit = maxQueueSize + (background ? maxBackgroundConcurrency : maxConcurrency);
+		return Single.defer(() -> {
+			if (counter.incrementAndGet() > limit) {
+				counter.decrementAndGet();
+				reject(background, "{" + limit + "} operations are already being prepared");
+				return Single.error(error(SERVICE_UNAVAILABLE, "image_error_processing_overloaded"));
+			}
+			return preparation.doFinally(counter::decrementAndGet);
+		});
+	}
+
+	private void reject(boolean background, String reason) {
+		if (background) {
+			droppedBackgroundCount.incrementAndGet();
+			if (log.isDebugEnabled()) {
+				log.debug("Dropping background image operation since " + reason);
+			}
+		} else {
+			rejectedCount.incrementAndGet();
+			log.warn("Rejecting image operation since " + reason);
+		}
+	}
+
+	/**
+	 * Start the queued operations as long as the concurrency limit and the memory budget permit it. Background operations are only started if no
+	 * interactive operation is waiting.
+	 */
+	private void dispatch() {
+		List<Task<?>> started = new ArrayList<>();
+		synchronized (this) {
+			while (running < maxConcurrency) {
+				Deque<Task<?>> source = queue;
+				if (queue.isEmpty()) {
+					if (backgroundQueue.isEmpty() || runningBackground >= maxBackgroundConcurrency) {
+						break;
+					}
+					source = backgroundQueue;
+				}
+				Task<?> task = source.peek();
+				long reservation = Math.min(task.estimatedMemory, memoryBudget);
+				// Keep the order of the queue. Otherwise large operations could wait forever.
+				if (running > 0 && reservedMemory + reservation > memoryBudget) {
+					break;
+				}
+				source.poll();
+				task.reservation = reservation;
+				reservedMemory += reservation;
+				running++;
+				if (task.background) {
+					runningBackground++;
+				}
+				started.add(task);
+			}
+		}
+		for (Task<?> task : started) {
+			task.future = executor.submit(task::run);
+		}
+	}
+
+	private void release(Task<?> task) {
+		synchronized (this) {
+			reservedMemory -= task.reservation;
+			running--;
+			if (task.background) {
+				runningBackground--;
+			}
+		}
+		dispatch();
+	}
+
+	/**
+	 * Return the amount of waiting operations.
+	 *
+	 * @return
+	 */
+	public synchronized int getQueueSize() {
+		return queue.size();
+	}
+
+	/**
+	 * Return the amount of waiting background operations.
+	 *
+	 * @return
+	 */
+	public synchronized int getBackgroundQueueSize() {
+		return backgroundQueue.size();
+	}
+
+	/**
+	 * Return the amount of operations which are being prepared.
+	 *
+	 * @return
+	 */
+	public int getPreparingCount() {
+		return preparing.get();
+	}
+
+	/**
+	 * Return the amount of running operations.
+	 *
+	 * @return
+	 */
+	public synchronized int getRunningCount() {
+		return running;
+	}
+
+	/**
+	 * Return the amount of memory in bytes which is reserved by the running operations.
+	 *
+	 * @return
+	 */
+	public synchronized long getReservedMemory() {
+		return reservedMemory;
+	}
+
+	/**
+	 * Return the amount of successfully completed operations.
+	 *
+	 * @return
+	 */
+	public long getCompletedCount() {
+		return completedCount.get();
+	}
+
+	/**
+	 * Return the amount of failed operations. Timeouts are not included.
+	 *
+	 * @return
+	 */
+	public long getFailedCount() {
+		return failedCount.get();
+	}
+
+	/**
+	 * Return the amount of operations which were rejected since the queue was full.
+	 *
+	 * @return
+	 */
+	public long getRejectedCount() {
+		return rejectedCount.get();
+	}
+
+	/**
+	 * Return the amount of background operations which were dropped since too many background operations were already waiting.
+	 *
+	 * @return
+	 */
+	public long getDroppedBackgroundCount() {
+		return droppedBackgroundCount.get();
+	}
+
+	/**
+	 * Return the amount of operations which exceeded the timeout.
+	 *
+	 * @return
+	 */
+	public long getTimeoutCount() {
+		return timeoutCount.get();
+	}
+
+	/**
+	 * Return the total time in milliseconds which started operations waited in the queue.
+	 *
+	 * @return
+	 */
+	public long getTotalWaitTime() {
+		return totalWaitTime.get();
+	}
+
+	/**
+	 * Return the total time in milliseconds which was spent processing operations.
+	 *
+	 * @return
+	 */
+	public long getTotalProcessingTime() {
+		return totalProcessingTime.get();
+	}
+
+	/**
+	 * Return the configured memory budget in bytes.
+	 *
+	 * @return
+	 */
+	public long getMemoryBudget() {
+		return memoryBudget;
+	}
+
+	/**
+	 * Return the current status and counters of the scheduler.
+	 *
+	 * @return
+	 */
+	public ImageProcessingStatus getStatus() {
+		ImageProcessingStatus status = new ImageProcessingStatus();
+		synchronized (this) {
+			status.setQueueDepth(queue.size());
+			status.setBackgroundQueueDepth(backgroundQueue.size());
+			status.setRunningOperations(running);
+			status.setReservedMemory(reservedMemory);
+		}
+		status.setPreparingOperations(preparing.get() + preparingBackground.get());
+		status.setMemoryBudget(memoryBudget);
+		status.setCompletedOperations(completedCount.get());
+		status.setFailedOperations(failedCount.get());
+		status.setRejectedOperations(rejectedCount.get());
+		status.setDroppedBackgroundOperations(droppedBackgroundCount.get());
+		status.setTimedOutOperations(timeoutCount.get());
+		status.setTotalWaitTime(totalWaitTime.get());
+		status.setTotalProcessingTime(totalProcessingTime.get());
+		return status;
+	}
+
+	/**
+	 * A single scheduled operation.
+	 *
+	 * @param <T>
+	 */
+	private class Task<T> {
+
+		private final long estimatedMemory;
+
+		private final Callable<T> operation;
+
+		private final SingleEmitter<T> emitter;
+
+		private final boolean background;
+
+		private final long created = System.currentTimeMillis();
+
+		/**
+		 * Flag which is set once the result or error has been emitted or the operation was cancelled.
+		 */
+		private final AtomicBoolean finished = new AtomicBoolean();
+
+		private long reservation;
+
+		private volatile Future<?> future;
+
+		private volatile Future<?> timeoutFuture;
+
+		Task(long estimatedMemory, Callable<T> operation, SingleEmitter<T> emitter, boolean background) {
+			this.estimatedMemory = estimatedMemory;
+			this.operation = operation;
+			this.emitter = emitter;
+			this.background = background;
+		}
+
+		void run() {
+			long start = System.currentTimeMillis();
+			totalWaitTime.addAndGet(start - created);
+			try {
+				if (finished.get()) {
+					return;
+				}
+				T result = operation.call();
+				if (finish()) {
+					completedCount.incrementAndGet();
+					emitter.onSuccess(result);
+				}
+			} catch (Throwable e) {
+				if (finish()) {
+					failedCount.incrementAndGet();
+					emitter.tryOnError(e);
+				}
+			} finally {
+				long duration = System.currentTimeMillis() - start;
+				totalProcessingTime.addAndGet(duration);
+				if (log.isDebugEnabled()) {
+					log.debug("Image operation finished in {" + duration + "} ms after waiting {" + (start - created) + "} ms");
+				}
+				release(this);
+			}
+		}
+
+		void timeout() {
+			if (!finished.compareAndSet(false, true)) {
+				return;
+			}
+			timeoutCount.incrementAndGet();
+			boolean queued;
+			synchronized (ImageProcessingScheduler.this) {
+				queued = queue.remove(this) || backgroundQueue.remove(this);
+			}
+			Future<?> runningFuture = future;
+			if (!queued && runningFuture != null) {
+				runningFuture.cancel(true);
+			}
+			log.warn("Image operation exceeded the timeout of {" + timeout + "} ms while " + (queued ? "waiting" : "running"));
+			emitter.tryOnError(error(SERVICE_UNAVAILABLE, "image_error_processing_timeout", String.valueOf(timeout)));
+		}
+
+		void cancel() {
+			if (!finish()) {
+				return;
+			}
+			// Running operations are not interrupted since the result may still be useful for other requests
+			synchronized (ImageProcessingScheduler.this) {
+				if (!queue.remove(this)) {
+					backgroundQueue.remove(this);
+				}
+			}
+		}
+
+		private boolean finish() {
+			if (!finished.compareAndSet(false, true)) {
+				return false;
+			}
+			Future<?> pendingTimeout = timeoutFuture;
+			if (pendingTimeout != null) {
+				pendingTimeout.cancel(false);
+			}
+			return true;
+		}
+	}
+
+}
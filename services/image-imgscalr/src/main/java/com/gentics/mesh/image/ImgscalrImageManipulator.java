@@ -2,20 +2,37 @@ package com.gentics.mesh.image;
 
 import static com.gentics.mesh.core.rest.error.Errors.error;
 import static io.netty.handler.codec.http.HttpResponseStatus.BAD_REQUEST;
+import static io.netty.handler.codec.http.HttpResponseStatus.SERVICE_UNAVAILABLE;
 
 import java.awt.AlphaComposite;
 import java.awt.Color;
 import java.awt.Graphics2D;
+import java.awt.Rectangle;
 import java.awt.Transparency;
 import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
+import javax.imageio.IIOImage;
 import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
 
 import org.apache.tika.metadata.Metadata;
 import org.apache.tika.parser.AutoDetectParser;
@@ -27,14 +44,18 @@ import org.imgscalr.Scalr.Mode;
 
 import com.gentics.mesh.Mesh;
 import com.gentics.mesh.core.image.spi.AbstractImageManipulator;
+import com.gentics.mesh.core.rest.admin.status.ImageProcessingStatus;
+import com.gentics.mesh.core.rest.error.GenericRestException;
 import com.gentics.mesh.etc.config.ImageManipulatorOptions;
 import com.gentics.mesh.image.focalpoint.FocalPointModifier;
 import com.gentics.mesh.parameter.ImageManipulationParameters;
 import com.gentics.mesh.parameter.image.CropMode;
+import com.gentics.mesh.parameter.image.ImageFormat;
 import com.gentics.mesh.parameter.image.ImageRect;
 import com.gentics.mesh.util.PropReadFileStream;
 import com.gentics.mesh.util.RxUtil;
 
+import io.reactivex.Completable;
 import io.reactivex.Flowable;
 import io.reactivex.Single;
 import io.vertx.core.buffer.Buffer;
@@ -52,8 +73,15 @@ public class ImgscalrImageManipulator extends AbstractImageManipulator {
 
 	private FocalPointModifier focalPointModifier = new FocalPointModifier();
 
+	/**
+	 * Estimated amount of bytes of a decoded pixel. The decoded image and one intermediate copy are accounted for each operation.
+	 */
+	private static final int BYTES_PER_PIXEL = 4;
+
 	private WorkerExecutor workerPool;
 
+	private ImageProcessingScheduler scheduler;
+
 	public ImgscalrImageManipulator() {
 		this(new Vertx(Mesh.vertx()), Mesh.mesh().getOptions().getImageOptions());
 	}
@@ -62,6 +90,23 @@ public class ImgscalrImageManipulator extends AbstractImageManipulator {
 		super(vertx, options);
 		// 10 seconds
 		workerPool = vertx.createSharedWorkerExecutor("resizeWorker", 5, Duration.ofSeconds(10).toNanos());
+		Integer maxConcurrency = options.getMaxConcurrentOperations();
+		if (maxConcurrency == null) {
+			maxConcurrency = ImageManipulatorOptions.DEFAULT_MAX_CONCURRENT_OPERATIONS;
+		}
+		Integer maxQueueSize = options.getMaxQueuedOperations();
+		if (maxQueueSize == null) {
+			maxQueueSize = ImageManipulatorOptions.DEFAULT_MAX_QUEUED_OPERATIONS;
+		}
+		Long memoryBudget = options.getMemoryBudget();
+		if (memoryBudget == null) {
+			memoryBudget = Runtime.getRuntime().maxMemory() / 4;
+		}
+		Long timeout = options.getOperationTimeout();
+		if (timeout == null) {
+			timeout = ImageManipulatorOptions.DEFAULT_OPERATION_TIMEOUT;
+		}
+		scheduler = new ImageProcessingScheduler(maxConcurrency, maxQueueSize, memoryBudget, timeout);
 	}
 
 	/**
@@ -145,98 +190,311 @@ public class ImgscalrImageManipulator extends AbstractImageManipulator {
 		}
 		File cacheFile = getCacheFile(cacheKey, parameters);
 
-		// Check the cache file directory
-		if (cacheFile.exists()) {
-			return PropReadFileStream.openFile(this.vertx, cacheFile.getAbsolutePath());
-		}
-
-		// TODO handle execution timeout
-		// Make sure to run that code in the dedicated thread pool it may be CPU intensive for larger images and we don't want to exhaust the regular worker
-		// pool
-		return workerPool.rxExecuteBlocking(bh -> {
+		// Concurrent requests for the same variant will wait for a single generation
+		return cacheManager.get(cacheFile, tmpFile -> generateVariant(stream, parameters, tmpFile))
+			.flatMap(file -> PropReadFileStream.openFile(this.vertx, file.getAbsolutePath()));
+	}
 
-			// Read the image and apply the changes -
-			readImage(stream).flatMap(bi -> {
-				if (bi == null) {
-					throw error(BAD_REQUEST, "image_error_reading_failed");
+	/**
+	 * Decode the image, apply the manipulation and write the result to the given file.
+	 * 
+	 * @param stream
+	 * @param parameters
+	 * @param targetFile
+	 * @return
+	 */
+	private Completable generateVariant(Flowable<Buffer> stream, ImageManipulationParameters parameters, File targetFile) {
+		// The header is read first in order to estimate the memory which is needed to decode the image. The CPU and memory intensive part is executed by the
+		// scheduler which limits the concurrency and the memory usage.
+		return openImage(stream, Collections.singletonList(parameters), targetFile.getParentFile(), false).flatMap(source -> scheduler.schedule(
+			source.estimatedMemory, () -> {
+			try {
+				ImageFormat format = getOutputFormat(parameters, null);
+				BufferedImage bi = readImage(source);
+				BufferedImage result = manipulate(format == ImageFormat.JPG ? toRGB(bi) : bi, parameters);
+				// Write image
+				try {
+					writeImage(result, format, targetFile);
+				} catch (Exception e) {
+					throw error(BAD_REQUEST, "image_error_writing_failed", e);
 				}
-				if (bi.getTransparency() == Transparency.TRANSLUCENT) {
-					// NOTE: For BITMASK images, the color model is likely IndexColorModel,
-					// and this model will contain the "real" color of the transparent parts
-					// which is likely a better fit than unconditionally setting it to white.
-					// Fill background with white
-					Graphics2D graphics = bi.createGraphics();
+				return targetFile;
+			} finally {
+				source.delete();
+			}
+		}).doOnError(e -> source.delete()).doOnDispose(source::delete)).toCompletable();
+	}
+
+	@Override
+	public Completable generatePresetVariants(Flowable<Buffer> stream, String sha512sum, String mimeType) {
+		Map<File, ImageManipulationParameters> missingVariants = new LinkedHashMap<>();
+		for (ImageManipulationParameters presetParameters : presets.values()) {
+			// Use the same format and thus the same cache file as requests which resolve the format of the source image
+			ImageManipulationParameters preset = resolvePreset(presetParameters, mimeType);
+			File cacheFile = getCacheFile(sha512sum, preset);
+			if (!cacheManager.contains(cacheFile)) {
+				missingVariants.put(cacheFile, preset);
+			}
+		}
+		if (missingVariants.isEmpty()) {
+			return Completable.complete();
+		}
+		File folder = getCacheFolder(sha512sum);
+		List<ImageManipulationParameters> parameters = new ArrayList<>(missingVariants.values());
+		// Presets are generated with low priority and are dropped if the image processing is busy. The variants are generated once they are requested.
+		return openImage(stream, parameters, folder, true).flatMap(source -> scheduler.scheduleBackground(source.estimatedMemory, () -> {
+			try {
+				// Decode the image once and create all variants from it
+				BufferedImage decodedImage = readImage(source);
+				BufferedImage rgbImage = null;
+				int generated = 0;
+				// The conversion to RGB paints the background of the decoded image. JPEG variants are thus generated last.
+				List<Map.Entry<File, ImageManipulationParameters>> variants = new ArrayList<>(missingVariants.entrySet());
+				variants.sort(Comparator.comparing(variant -> variant.getValue().getFormat() == ImageFormat.JPG));
+				for (Map.Entry<File, ImageManipulationParameters> variant : variants) {
+					ImageManipulationParameters preset = variant.getValue();
 					try {
-						graphics.setComposite(AlphaComposite.DstOver); // Set composite rules to paint "behind"
-						graphics.setPaint(Color.WHITE);
-						graphics.fillRect(0, 0, bi.getWidth(), bi.getHeight());
-					} finally {
-						graphics.dispose();
+						ImageFormat format = preset.getFormat();
+						BufferedImage image = decodedImage;
+						if (format == ImageFormat.JPG) {
+							if (rgbImage == null) {
+								rgbImage = toRGB(decodedImage);
+							}
+							image = rgbImage;
+						}
+						// The crop area has only been applied while decoding if there is a single preset
+						if (source.region == null && preset.getCropMode() == CropMode.RECT) {
+							image = crop(image, preset.getRect());
+						}
+						BufferedImage result = manipulate(image, preset);
+						cacheManager.putIfAbsent(variant.getKey(), tmpFile -> Completable.fromAction(() -> {
+							writeImage(result, format, tmpFile);
+						})).blockingAwait();
+						generated++;
+					} catch (RuntimeException e) {
+						// The other variants can still be generated
+						log.error("Could not generate the variant {" + variant.getKey() + "} of image {" + sha512sum + "}", e);
 					}
 				}
-				// Convert the image to RGB for images with transparency (gif, png)
-				BufferedImage rgbCopy = bi;
-				if (bi.getTransparency() == Transparency.TRANSLUCENT || bi.getTransparency() == Transparency.BITMASK) {
-					rgbCopy = new BufferedImage(bi.getWidth(), bi.getHeight(), BufferedImage.TYPE_INT_RGB);
-					Graphics2D graphics = rgbCopy.createGraphics();
-					graphics.drawImage(bi, 0, 0, Color.WHITE, null);
-					graphics.dispose();
-				}
+				return generated;
+			} finally {
+				source.delete();
+			}
+		}).doOnError(e -> source.delete()).doOnDispose(source::delete)).toCompletable().onErrorComplete(e -> {
+			if (e instanceof GenericRestException && SERVICE_UNAVAILABLE.equals(((GenericRestException) e).getStatus())) {
+				log.info("Dropped the generation of the preset variants of image {" + sha512sum + "} since the image processing is busy");
+				return true;
+			}
+			return false;
+		});
+	}
 
-				// Manipulate image
-				CropMode cropMode = parameters.getCropMode();
-				boolean omitResize = false;
-				if (cropMode != null) {
-					switch (cropMode) {
-					case RECT:
-						rgbCopy = crop(rgbCopy, parameters.getRect());
-						break;
-					case FOCALPOINT:
-						rgbCopy = focalPointModifier.apply(rgbCopy, parameters);
-						// We don't need to resize the image again. The dimensions already match up with the target dimension
-						omitResize = true;
-						break;
-					}
+	/**
+	 * Write the image in the given format. JPEG images are written with the configured quality and progressive mode.
+	 * 
+	 * @param image
+	 * @param format
+	 * @param file
+	 * @throws IOException
+	 */
+	private void writeImage(BufferedImage image, ImageFormat format, File file) throws IOException {
+		Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName(format.getKey());
+		if (!writers.hasNext()) {
+			throw new IOException("No image writer found for format {" + format.getKey() + "}");
+		}
+		ImageWriter writer = writers.next();
+		try {
+			ImageWriteParam writeParam = writer.getDefaultWriteParam();
+			if (format == ImageFormat.JPG) {
+				Float quality = options.getJpegQuality();
+				if (quality != null) {
+					writeParam.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+					writeParam.setCompressionQuality(quality);
 				}
-
-				if (!omitResize) {
-					rgbCopy = resizeIfRequested(rgbCopy, parameters);
+				if (options.isJpegProgressive()) {
+					writeParam.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
 				}
+			}
+			// The output stream does not truncate existing files
+			file.delete();
+			try (ImageOutputStream out = ImageIO.createImageOutputStream(file)) {
+				writer.setOutput(out);
+				writer.write(null, new IIOImage(image, null, null), writeParam);
+			}
+		} finally {
+			writer.dispose();
+		}
+	}
 
-				// Write image
-				try {
-					ImageIO.write(rgbCopy, "jpg", cacheFile);
-				} catch (Exception e) {
-					throw error(BAD_REQUEST, "image_error_writing_failed", e);
-				}
-				// Return buffer to written cache file
-				return PropReadFileStream.openFile(this.vertx, cacheFile.getAbsolutePath());
-			}).subscribe(result -> bh.complete(result), bh::fail);
-		});
+	/**
+	 * Convert the decoded image to RGB. Transparent areas are filled with white.
+	 * 
+	 * @param bi
+	 * @return
+	 */
+	private BufferedImage toRGB(BufferedImage bi) {
+		if (bi.getTransparency() == Transparency.TRANSLUCENT) {
+			// NOTE: For BITMASK images, the color model is likely IndexColorModel,
+			// and this model will contain the "real" color of the transparent parts
+			// which is likely a better fit than unconditionally setting it to white.
+			// Fill background with white
+			Graphics2D graphics = bi.createGraphics();
+			try {
+				graphics.setComposite(AlphaComposite.DstOver); // Set composite rules to paint "behind"
+				graphics.setPaint(Color.WHITE);
+				graphics.fillRect(0, 0, bi.getWidth(), bi.getHeight());
+			} finally {
+				graphics.dispose();
+			}
+		}
+		// Convert the image to RGB for images with transparency (gif, png)
+		BufferedImage rgbCopy = bi;
+		if (bi.getTransparency() == Transparency.TRANSLUCENT || bi.getTransparency() == Transparency.BITMASK) {
+			rgbCopy = new BufferedImage(bi.getWidth(), bi.getHeight(), BufferedImage.TYPE_INT_RGB);
+			Graphics2D graphics = rgbCopy.createGraphics();
+			graphics.drawImage(bi, 0, 0, Color.WHITE, null);
+			graphics.dispose();
+		}
+		return rgbCopy;
+	}
+
+	/**
+	 * Apply the requested manipulation to the decoded image. Rect crops must already have been applied.
+	 * 
+	 * @param image
+	 * @param parameters
+	 * @return
+	 */
+	private BufferedImage manipulate(BufferedImage image, ImageManipulationParameters parameters) {
+		// Manipulate image
+		CropMode cropMode = parameters.getCropMode();
+		boolean omitResize = false;
+		if (cropMode != null) {
+			switch (cropMode) {
+			case RECT:
+				// The area has already been cropped while reading the image
+				break;
+			case FOCALPOINT:
+				image = focalPointModifier.apply(image, parameters);
+				// We don't need to resize the image again. The dimensions already match up with the target dimension
+				omitResize = true;
+				break;
+			}
+		}
 
+		if (!omitResize) {
+			image = resizeIfRequested(image, parameters);
+		}
+		return image;
 	}
 
 	/**
-	 * Read the image data stream and return the decoded image.
+	 * Write the image data stream to a temporary file and read the image header. A rect crop of a single operation is applied while decoding. Images will be
+	 * subsampled according to the smallest subsampling which is suitable for the target sizes of all operations.
+	 * 
+	 * Focal point crops are not applied while decoding since the cropped area depends on the resized image. The full image is decoded using the subsampling
+	 * of the target size instead. Focal point zooms are decoded without subsampling since the zoomed area is defined in pixels of the source image.
 	 * 
 	 * @param stream
+	 * @param parameters
+	 *            Parameters of the operations which will be applied to the decoded image
+	 * @param folder
+	 *            Folder for the temporary file
+	 * @param background
+	 *            Whether the image is opened for a background operation
 	 * @return
 	 */
-	private Single<BufferedImage> readImage(Flowable<Buffer> stream) {
-		return workerPool.rxExecuteBlocking(bc -> {
+	private Single<SourceImage> openImage(Flowable<Buffer> stream, List<ImageManipulationParameters> parameters, File folder, boolean background) {
+		// The amount of concurrently copied images is limited since each copy occupies a worker thread and a temporary file
+		return scheduler.prepare(workerPool.rxExecuteBlocking(bc -> {
+			SourceImage source = null;
 			try (InputStream ins = RxUtil.toInputStream(stream, vertx)) {
 				if (log.isDebugEnabled()) {
 					log.debug("Reading image from stream.." + stream.hashCode());
 				}
-				BufferedImage image = ImageIO.read(ins);
-				if (log.isDebugEnabled()) {
-					log.debug("Read image from stream.." + stream.hashCode());
+				folder.mkdirs();
+				source = new SourceImage(File.createTempFile("source-", ".tmp", folder));
+				Files.copy(ins, source.file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+				try (ImageInputStream iis = ImageIO.createImageInputStream(source.file)) {
+					ImageReader reader = iis == null ? null : getImageReader(iis);
+					if (reader == null) {
+						throw error(BAD_REQUEST, "image_error_reading_failed");
+					}
+					try {
+						int width = reader.getWidth(0);
+						int height = reader.getHeight(0);
+						if (parameters.size() == 1 && parameters.get(0).getCropMode() == CropMode.RECT && parameters.get(0).getRect() != null) {
+							ImageRect cropArea = parameters.get(0).getRect();
+							cropArea.validateCropBounds(width, height);
+							source.region = new Rectangle(cropArea.getStartX(), cropArea.getStartY(), cropArea.getWidth(), cropArea.getHeight());
+							width = cropArea.getWidth();
+							height = cropArea.getHeight();
+						}
+						int subsampling = Integer.MAX_VALUE;
+						for (ImageManipulationParameters operation : parameters) {
+							if (source.region == null && operation.getCropMode() == CropMode.RECT && operation.getRect() != null) {
+								// The crop area will be applied to the full image
+								subsampling = 1;
+							} else if (operation.getCropMode() == CropMode.FOCALPOINT && operation.getFocalPointZoom() != null && operation
+								.getFocalPointZoom() > 1) {
+								// The zoomed area is defined in pixels of the source image
+								subsampling = 1;
+							} else {
+								subsampling = Math.min(subsampling, getSubsampling(width, height, operation.getWidth(), operation.getHeight()));
+							}
+						}
+						source.subsampling = subsampling;
+						long pixels = (long) (width / source.subsampling) * (height / source.subsampling);
+						source.estimatedMemory = pixels * BYTES_PER_PIXEL * 2;
+					} finally {
+						reader.dispose();
+					}
+				}
+				bc.complete(source);
+			} catch (Exception e) {
+				if (source != null) {
+					source.delete();
 				}
-				bc.complete(image);
-			} catch (IOException e) {
 				bc.fail(e);
 			}
-		}, false);
+		}, false), background);
+	}
+
+	/**
+	 * Decode the source image.
+	 * 
+	 * @param source
+	 * @return
+	 * @throws IOException
+	 */
+	private BufferedImage readImage(SourceImage source) throws IOException {
+		try (ImageInputStream iis = ImageIO.createImageInputStream(source.file)) {
+			ImageReader reader = iis == null ? null : getImageReader(iis);
+			if (reader == null) {
+				throw error(BAD_REQUEST, "image_error_reading_failed");
+			}
+			try {
+				ImageReadParam param = reader.getDefaultReadParam();
+				if (source.region != null) {
+					param.setSourceRegion(source.region);
+				}
+				param.setSourceSubsampling(source.subsampling, source.subsampling, 0, 0);
+				BufferedImage image = reader.read(0, param);
+				if (log.isDebugEnabled()) {
+					log.debug("Read image {" + source.file + "} using subsampling {" + source.subsampling + "}");
+				}
+				return image;
+			} catch (IllegalArgumentException e) {
+				throw error(BAD_REQUEST, "image_error_cropping_failed", e);
+			} finally {
+				reader.dispose();
+			}
+		}
+	}
+
+	@Override
+	public ImageProcessingStatus getStatus() {
+		return scheduler.getStatus();
 	}
 
 	@Override
@@ -272,4 +530,26 @@ public class ImgscalrImageManipulator extends AbstractImageManipulator {
 		});
 	}
 
+	/**
+	 * Temporary copy of the source image together with the information which is needed to decode it.
+	 */
+	private static class SourceImage {
+
+		private final File file;
+
+		private Rectangle region;
+
+		private int subsampling = 1;
+
+		private long estimatedMemory;
+
+		SourceImage(File file) {
+			this.file = file;
+		}
+
+		void delete() {
+			file.delete();
+		}
+	}
+
 }
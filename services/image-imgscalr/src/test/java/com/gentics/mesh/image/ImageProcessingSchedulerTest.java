@@ -0,0 +1,170 @@
+package com.gentics.mesh.image;
+
+import static io.netty.handler.codec.http.HttpResponseStatus.SERVICE_UNAVAILABLE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.gentics.mesh.core.rest.error.GenericRestException;
+
+import io.reactivex.Single;
+import io.reactivex.schedulers.Schedulers;
+
+public class ImageProcessingSchedulerTest {
+
+	@Test
+	public void testRejectWhenQueueIsFull() throws Exception {
+		ImageProcessingScheduler scheduler = new ImageProcessingScheduler(1, 1, 1000, 0);
+		CountDownLatch release = new CountDownLatch(1);
+
+		Single<String> running = scheduler.schedule(10, () -> {
+			release.await();
+			return "running";
+		}).cache();
+		running.subscribe();
+		Single<String> queued = scheduler.schedule(10, () -> "queued").cache();
+		queued.subscribe();
+		assertEquals(1, scheduler.getQueueSize());
+
+		try {
+			scheduler.schedule(10, () -> "rejected").blockingGet();
+			fail("The operation should have been rejected");
+		} catch (GenericRestException e) {
+			assertEquals(SERVICE_UNAVAILABLE, e.getStatus());
+			assertEquals("image_error_processing_overloaded", e.getI18nKey());
+		}
+		assertEquals(1, scheduler.getRejectedCount());
+
+		release.countDown();
+		assertEquals("running", running.blockingGet());
+		assertEquals("queued", queued.blockingGet());
+		assertEquals(2, scheduler.getCompletedCount());
+	}
+
+	@Test
+	public void testRejectWhenTooManyPreparations() throws Exception {
+		ImageProcessingScheduler scheduler = new ImageProcessingScheduler(1, 1, 1000, 0);
+		CountDownLatch release = new CountDownLatch(1);
+
+		// Two preparations fit into the limit of queued and running operations
+		Single<String> first = scheduler.prepare(Single.fromCallable(() -> {
+			release.await();
+			return "first";
+		}).subscribeOn(Schedulers.io()), false).cache();
+		first.subscribe();
+		Single<String> second = scheduler.prepare(Single.fromCallable(() -> {
+			release.await();
+			return "second";
+		}).subscribeOn(Schedulers.io()), false).cache();
+		second.subscribe();
+		assertEquals(2, scheduler.getStatus().getPreparingOperations());
+
+		try {
+			scheduler.prepare(Single.just("rejected"), false).blockingGet();
+			fail("The preparation should have been rejected");
+		} catch (GenericRestException e) {
+			assertEquals(SERVICE_UNAVAILABLE, e.getStatus());
+			assertEquals("image_error_processing_overloaded", e.getI18nKey());
+		}
+		assertEquals(1, scheduler.getRejectedCount());
+
+		release.countDown();
+		assertEquals("first", first.blockingGet());
+		assertEquals("second", second.blockingGet());
+	}
+
+	@Test
+	public void testBackgroundOperations() throws Exception {
+		ImageProcessingScheduler scheduler = new ImageProcessingScheduler(1, 1, 1000, 0);
+		CountDownLatch release = new CountDownLatch(1);
+		List<String> order = Collections.synchronizedList(new ArrayList<>());
+
+		Single<String> running = scheduler.schedule(10, () -> {
+			release.await();
+			return "running";
+		}).cache();
+		running.subscribe();
+		Single<String> background = scheduler.scheduleBackground(10, () -> {
+			order.add("background");
+			return "background";
+		}).cache();
+		background.subscribe();
+
+		// Background operations don't take the place of interactive operations
+		Single<String> queued = scheduler.schedule(10, () -> {
+			order.add("queued");
+			return "queued";
+		}).cache();
+		queued.subscribe();
+		assertEquals(1, scheduler.getQueueSize());
+		assertEquals(1, scheduler.getBackgroundQueueSize());
+
+		try {
+			scheduler.scheduleBackground(10, () -> "dropped").blockingGet();
+			fail("The background operation should have been dropped");
+		} catch (GenericRestException e) {
+			assertEquals(SERVICE_UNAVAILABLE, e.getStatus());
+		}
+		assertEquals(1, scheduler.getDroppedBackgroundCount());
+		assertEquals(0, scheduler.getRejectedCount());
+
+		// Waiting interactive operations are started first
+		release.countDown();
+		assertEquals("queued", queued.blockingGet());
+		assertEquals("background", background.blockingGet());
+		assertEquals(Arrays.asList("queued", "background"), order);
+	}
+
+	@Test
+	public void testMemoryBudget() throws Exception {
+		ImageProcessingScheduler scheduler = new ImageProcessingScheduler(4, 10, 100, 0);
+		AtomicInteger concurrent = new AtomicInteger();
+		AtomicInteger maxConcurrent = new AtomicInteger();
+
+		Single<Integer> operation = scheduler.schedule(60, () -> {
+			int current = concurrent.incrementAndGet();
+			maxConcurrent.accumulateAndGet(current, Math::max);
+			Thread.sleep(50);
+			concurrent.decrementAndGet();
+			return current;
+		});
+		Single.merge(operation, operation, operation).blockingSubscribe();
+		assertEquals("Only one operation fits into the budget", 1, maxConcurrent.get());
+
+		// Operations which exceed the whole budget are still executed
+		assertEquals(1, scheduler.schedule(1000, () -> 1).blockingGet().intValue());
+	}
+
+	@Test
+	public void testTimeout() throws Exception {
+		ImageProcessingScheduler scheduler = new ImageProcessingScheduler(1, 10, 1000, 100);
+		CountDownLatch interrupted = new CountDownLatch(1);
+		try {
+			scheduler.schedule(10, () -> {
+				try {
+					Thread.sleep(10_000);
+				} catch (InterruptedException e) {
+					interrupted.countDown();
+				}
+				return "late";
+			}).blockingGet();
+			fail("The operation should have failed");
+		} catch (GenericRestException e) {
+			assertEquals(SERVICE_UNAVAILABLE, e.getStatus());
+			assertEquals("image_error_processing_timeout", e.getI18nKey());
+		}
+		assertTrue("The running operation should have been interrupted", interrupted.await(1, TimeUnit.SECONDS));
+		assertEquals(1, scheduler.getTimeoutCount());
+	}
+
+}
@@ -2,7 +2,9 @@ package com.gentics.mesh.image;
 
 import static com.gentics.mesh.assertj.MeshAssertions.assertThat;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -12,6 +14,7 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.Charset;
+import java.util.Arrays;
 import java.util.Map;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
@@ -31,6 +34,9 @@ import org.xml.sax.SAXException;
 import com.gentics.mesh.core.image.spi.ImageInfo;
 import com.gentics.mesh.core.rest.error.GenericRestException;
 import com.gentics.mesh.etc.config.ImageManipulatorOptions;
+import com.gentics.mesh.parameter.ImageManipulationParameters;
+import com.gentics.mesh.parameter.image.CropMode;
+import com.gentics.mesh.parameter.image.ImageFormat;
 import com.gentics.mesh.parameter.impl.ImageManipulationParametersImpl;
 import com.gentics.mesh.util.PropReadFileStream;
 import com.gentics.mesh.util.RxUtil;
@@ -106,6 +112,161 @@ public class ImgscalrImageManipulatorTest extends AbstractImageTest {
 		});
 	}
 
+	@Test
+	public void testProbeImageSize() throws IOException, JSONException {
+		checkImages((imageName, width, height, color, refImage, stream) -> {
+			byte[] data = RxUtil.readEntireData(stream).blockingGet().getBytes();
+			ImageInfo info = manipulator.probeImageSize(data, null);
+			assertEquals("The width or image {" + imageName + "} did not match.", width, info.getWidth());
+			assertEquals("The height or image {" + imageName + "} did not match.", height, info.getHeight());
+			assertNull("The dominant color can't be determined from the header", info.getDominantColor());
+
+			// The file must be used if the dimensions can't be found in the given header
+			File file = new File("/tmp/" + imageName + "probe");
+			try {
+				FileUtils.writeByteArrayToFile(file, data);
+			} catch (IOException e) {
+				throw new RuntimeException(e);
+			}
+			byte[] truncatedHeader = Arrays.copyOf(data, Math.min(data.length, 8));
+			info = manipulator.probeImageSize(truncatedHeader, file.getAbsolutePath());
+			assertEquals("The width or image {" + imageName + "} did not match.", width, info.getWidth());
+			assertEquals("The height or image {" + imageName + "} did not match.", height, info.getHeight());
+		});
+	}
+
+	@Test
+	public void testReadLargeImage() throws IOException {
+		// The image exceeds the pixel limit and will thus be subsampled
+		BufferedImage bi = new BufferedImage(6000, 3000, BufferedImage.TYPE_INT_RGB);
+		File file = new File("target", "large_" + System.currentTimeMillis() + ".png");
+		ImageIO.write(bi, "png", file);
+
+		ImageInfo info = manipulator.readImageInfo(file.getAbsolutePath()).blockingGet();
+		assertEquals("The dimensions must be read from the header", 6000, info.getWidth().intValue());
+		assertEquals("The dimensions must be read from the header", 3000, info.getHeight().intValue());
+		assertNotNull(info.getDominantColor());
+
+		byte[] data = FileUtils.readFileToByteArray(file);
+		PropReadFileStream result = manipulator.handleResize(Flowable.just(Buffer.buffer(data)), "large" + System.currentTimeMillis(),
+			new ImageManipulationParametersImpl().setWidth(100)).blockingGet();
+		BufferedImage resizedImage = ImageIO.read(new File(result.getPath()));
+		assertThat(resizedImage).hasSize(100, 50);
+	}
+
+	@Test
+	public void testFocalPointCropOfSubsampledImage() throws IOException {
+		// The image is subsampled for the focal point crop but not for the zoom
+		BufferedImage bi = new BufferedImage(2000, 1000, BufferedImage.TYPE_INT_RGB);
+		File file = new File("target", "focal_" + System.currentTimeMillis() + ".png");
+		ImageIO.write(bi, "png", file);
+		byte[] data = FileUtils.readFileToByteArray(file);
+
+		ImageManipulationParameters crop = new ImageManipulationParametersImpl().setCropMode(CropMode.FOCALPOINT).setFocalPoint(0.2f, 0.5f).setWidth(100)
+			.setHeight(100);
+		PropReadFileStream result = manipulator.handleResize(Flowable.just(Buffer.buffer(data)), "focal" + System.currentTimeMillis(), crop).blockingGet();
+		assertThat(ImageIO.read(new File(result.getPath()))).hasSize(100, 100);
+
+		ImageManipulationParameters zoom = new ImageManipulationParametersImpl().setCropMode(CropMode.FOCALPOINT).setFocalPoint(0.2f, 0.5f)
+			.setFocalPointZoom(4f).setWidth(100).setHeight(100);
+		result = manipulator.handleResize(Flowable.just(Buffer.buffer(data)), "zoom" + System.currentTimeMillis(), zoom).blockingGet();
+		assertThat(ImageIO.read(new File(result.getPath()))).hasSize(100, 100);
+	}
+
+	@Test
+	public void testGeneratePresetVariants() throws IOException {
+		ImageManipulatorOptions options = new ImageManipulatorOptions();
+		options.setImageCacheDirectory(new File("target", "tmp_" + System.currentTimeMillis()).getAbsolutePath());
+		options.getPresets().put("small", "w=100");
+		options.getPresets().put("cropped", "crop=rect&rect=0,0,200,100&w=50&format=original");
+		ImgscalrImageManipulator presetManipulator = new ImgscalrImageManipulator(Vertx.vertx(), options);
+
+		BufferedImage bi = new BufferedImage(400, 300, BufferedImage.TYPE_INT_RGB);
+		File file = new File("target", "preset_" + System.currentTimeMillis() + ".png");
+		ImageIO.write(bi, "png", file);
+		byte[] data = FileUtils.readFileToByteArray(file);
+		String sha512sum = "preset" + System.currentTimeMillis();
+		presetManipulator.generatePresetVariants(Flowable.just(Buffer.buffer(data)), sha512sum, "image/png").blockingAwait();
+
+		ImageManipulationParameters smallParameters = new ImageManipulationParametersImpl().setWidth(100).setFormat(ImageFormat.JPG);
+		File small = presetManipulator.getCacheFile(sha512sum, smallParameters);
+		assertTrue("The variant of the preset should have been generated", small.exists());
+		assertThat(ImageIO.read(small)).hasSize(100, 75);
+		ImageManipulationParameters cropParameters = new ImageManipulationParametersImpl().setCropMode(CropMode.RECT).setRect(0, 0, 100, 200)
+			.setWidth(50).setFormat(ImageFormat.PNG);
+		File cropped = presetManipulator.getCacheFile(sha512sum, cropParameters);
+		assertTrue("The variant should have been written in the format of the source image", cropped.getName().endsWith(".png"));
+		assertThat(ImageIO.read(cropped)).hasSize(50, 25);
+
+		// The variant is served from the cache without reading the image again
+		PropReadFileStream result = presetManipulator.handleResize(Flowable.error(new Exception("Should not be read")), sha512sum, smallParameters)
+			.blockingGet();
+		assertEquals(small.getAbsolutePath(), new File(result.getPath()).getAbsolutePath());
+	}
+
+	@Test
+	public void testOutputFormat() throws IOException {
+		ImageManipulatorOptions options = new ImageManipulatorOptions();
+		options.setImageCacheDirectory(new File("target", "tmp_" + System.currentTimeMillis()).getAbsolutePath());
+		options.setJpegProgressive(true);
+		ImgscalrImageManipulator formatManipulator = new ImgscalrImageManipulator(Vertx.vertx(), options);
+
+		ImageManipulationParameters parameters = new ImageManipulationParametersImpl().setWidth(50);
+		assertEquals(ImageFormat.JPG, formatManipulator.getOutputFormat(parameters, "image/png"));
+		parameters.setFormat(ImageFormat.ORIGINAL);
+		assertEquals(ImageFormat.PNG, formatManipulator.getOutputFormat(parameters, "image/png"));
+		assertEquals(ImageFormat.JPG, formatManipulator.getOutputFormat(parameters, "image/jpeg"));
+
+		// Transparency is preserved in PNG images
+		BufferedImage bi = new BufferedImage(100, 100, BufferedImage.TYPE_INT_ARGB);
+		File file = new File("target", "transparent_" + System.currentTimeMillis() + ".png");
+		ImageIO.write(bi, "png", file);
+		byte[] data = FileUtils.readFileToByteArray(file);
+		parameters.setFormat(ImageFormat.PNG);
+		PropReadFileStream result = formatManipulator.handleResize(Flowable.just(Buffer.buffer(data)), "png" + System.currentTimeMillis(), parameters)
+			.blockingGet();
+		assertTrue(result.getPath().endsWith(".png"));
+		BufferedImage resizedImage = ImageIO.read(new File(result.getPath()));
+		assertThat(resizedImage).hasSize(50, 50);
+		assertTrue("The image should still contain the alpha channel", resizedImage.getColorModel().hasAlpha());
+		assertEquals("The pixels should still be transparent", 0, resizedImage.getRGB(10, 10) >>> 24);
+
+		// JPEG images are written with the configured encoder settings
+		parameters.setFormat(ImageFormat.JPG);
+		result = formatManipulator.handleResize(Flowable.just(Buffer.buffer(data)), "jpg" + System.currentTimeMillis(), parameters).blockingGet();
+		assertTrue(result.getPath().endsWith(".jpg"));
+		resizedImage = ImageIO.read(new File(result.getPath()));
+		assertThat(resizedImage).hasSize(50, 50);
+		assertEquals("Transparent areas should be filled with white", 0xFFFFFF, resizedImage.getRGB(10, 10) & 0xFFFFFF);
+	}
+
+	@Test
+	public void testVariantKey() {
+		ImageManipulatorOptions options = new ImageManipulatorOptions();
+		options.setImageCacheDirectory(new File("target", "tmp_" + System.currentTimeMillis()).getAbsolutePath());
+		ImgscalrImageManipulator keyManipulator = new ImgscalrImageManipulator(Vertx.vertx(), options);
+
+		// The default format is part of the key
+		ImageManipulationParameters parameters = new ImageManipulationParametersImpl().setWidth(50);
+		String key = keyManipulator.getVariantKey(parameters);
+		assertEquals(key, keyManipulator.getVariantKey(new ImageManipulationParametersImpl().setWidth(50).setFormat(ImageFormat.JPG)));
+		assertNotEquals(key, keyManipulator.getVariantKey(new ImageManipulationParametersImpl().setWidth(50).setFormat(ImageFormat.PNG)));
+
+		// Changed encoder settings result in new variants
+		options.setJpegQuality(0.5f);
+		String qualityKey = keyManipulator.getVariantKey(parameters);
+		assertNotEquals(key, qualityKey);
+		options.setJpegProgressive(true);
+		assertNotEquals(qualityKey, keyManipulator.getVariantKey(parameters));
+		assertNotEquals(keyManipulator.getCacheFile("variant", parameters), new ImgscalrImageManipulator(Vertx.vertx(), new ImageManipulatorOptions()
+			.setImageCacheDirectory(options.getImageCacheDirectory())).getCacheFile("variant", parameters));
+	}
+
+	@Test
+	public void testProbeNonImage() {
+		assertNull(manipulator.probeImageSize("no image data".getBytes(), null));
+	}
+
 	private void checkImages(ImageAction<String, Integer, Integer, String, BufferedImage, Flowable<Buffer>> action) throws JSONException,
 		IOException {
 		JSONObject json = new JSONObject(IOUtils.toString(getClass().getResourceAsStream("/pictures/images.json"), Charset.defaultCharset()));
@@ -2,9 +2,15 @@ package com.gentics.mesh.storage;
 
 import static com.gentics.mesh.core.rest.error.Errors.error;
 import static io.netty.handler.codec.http.HttpResponseStatus.BAD_REQUEST;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
 
 import java.io.File;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
 import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
@@ -37,19 +43,7 @@ public class LocalBinaryStorage extends AbstractBinaryStorage {
 			FileSystem fileSystem = FileSystem.newInstance(Mesh.vertx().fileSystem());
 			String path = getFilePath(uuid);
 			log.debug("Saving data for field to path {" + path + "}");
-			MeshUploadOptions uploadOptions = Mesh.mesh().getOptions().getUploadOptions();
-			File uploadFolder = new File(uploadOptions.getDirectory(), getSegmentedPath(uuid));
-
-			if (!uploadFolder.exists()) {
-				if (!uploadFolder.mkdirs()) {
-					log.error("Failed to create target folder {" + uploadFolder.getAbsolutePath() + "}");
-					throw error(BAD_REQUEST, "node_error_upload_failed");
-				}
-
-				if (log.isDebugEnabled()) {
-					log.debug("Created folder {" + uploadFolder.getAbsolutePath() + "}");
-				}
-			}
+			File uploadFolder = createUploadFolder(uuid);
 
 			File targetFile = new File(uploadFolder, uuid + ".bin");
 			return fileSystem.rxOpen(targetFile.getAbsolutePath(), new OpenOptions()).flatMapCompletable(file -> {
@@ -63,6 +57,51 @@ public class LocalBinaryStorage extends AbstractBinaryStorage {
 		});
 	}
 
+	/**
+	 * Move the file into the upload folder. The file is renamed atomically if the upload folder is located on the same file system. Otherwise the file is
+	 * copied next to the target and renamed afterwards so that incomplete data will never be visible.
+	 */
+	@Override
+	public Completable storeFile(String sourcePath, String uuid) {
+		return Completable.fromAction(() -> {
+			Path source = Paths.get(sourcePath);
+			Path target = new File(createUploadFolder(uuid), uuid + ".bin").toPath();
+			if (log.isDebugEnabled()) {
+				log.debug("Moving file {" + source + "} to path {" + target + "}");
+			}
+			try {
+				Files.move(source, target, ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException e) {
+				Path tempFile = target.resolveSibling(uuid + ".tmp");
+				Files.copy(source, tempFile, REPLACE_EXISTING);
+				Files.move(tempFile, target, ATOMIC_MOVE);
+			}
+		});
+	}
+
+	/**
+	 * Create the upload folder for the given binary uuid if it does not yet exist.
+	 * 
+	 * @param uuid
+	 * @return
+	 */
+	private File createUploadFolder(String uuid) {
+		MeshUploadOptions uploadOptions = Mesh.mesh().getOptions().getUploadOptions();
+		File uploadFolder = new File(uploadOptions.getDirectory(), getSegmentedPath(uuid));
+
+		if (!uploadFolder.exists()) {
+			if (!uploadFolder.mkdirs()) {
+				log.error("Failed to create target folder {" + uploadFolder.getAbsolutePath() + "}");
+				throw error(BAD_REQUEST, "node_error_upload_failed");
+			}
+
+			if (log.isDebugEnabled()) {
+				log.debug("Created folder {" + uploadFolder.getAbsolutePath() + "}");
+			}
+		}
+		return uploadFolder;
+	}
+
 	/**
 	 * Return the absolute path to the binary data for the given uuid.
 	 * 
@@ -75,6 +114,11 @@ public class LocalBinaryStorage extends AbstractBinaryStorage {
 		return binaryFile.getAbsolutePath();
 	}
 
+	@Override
+	public String getLocalPath(String binaryUuid) {
+		return getFilePath(binaryUuid);
+	}
+
 	@Override
 	public boolean exists(BinaryGraphField field) {
 		String uuid = field.getBinary().getUuid();
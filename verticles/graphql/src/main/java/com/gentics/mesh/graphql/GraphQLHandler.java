@@ -1,26 +1,32 @@
 package com.gentics.mesh.graphql;
 
-import static graphql.GraphQL.newGraphQL;
 import static io.netty.handler.codec.http.HttpResponseStatus.OK;
 
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletionException;
 import java.util.stream.Collectors;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
+import org.dataloader.DataLoaderRegistry;
+
 import com.syncleus.ferma.tx.Tx;
+import com.gentics.mesh.cli.BootstrapInitializer;
 import com.gentics.mesh.core.rest.error.PermissionException;
 import com.gentics.mesh.graphdb.spi.Database;
+import com.gentics.mesh.graphql.cache.GraphQLDocumentCache;
+import com.gentics.mesh.graphql.cache.GraphQLSchemaCache;
 import com.gentics.mesh.graphql.context.GraphQLContext;
-import com.gentics.mesh.graphql.type.QueryTypeProvider;
+import com.gentics.mesh.graphql.dataloader.NodeDataLoader;
 import graphql.ExceptionWhileDataFetching;
 import graphql.ExecutionInput;
 import graphql.ExecutionResult;
 import graphql.GraphQL;
 import graphql.GraphQLError;
+import graphql.execution.instrumentation.dataloader.DataLoaderDispatcherInstrumentation;
 import graphql.language.SourceLocation;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
@@ -32,18 +38,29 @@ public class GraphQLHandler {
 
 	private static final Logger log = LoggerFactory.getLogger(GraphQLHandler.class);
 
+	public static final String PERSISTED_QUERY_NOT_FOUND = "PersistedQueryNotFound";
+
+	public static final String PERSISTED_QUERY_HASH_MISMATCH = "PersistedQueryHashMismatch";
+
 	@Inject
-	public QueryTypeProvider typeProvider;
+	public GraphQLSchemaCache schemaCache;
+
+	@Inject
+	public GraphQLDocumentCache documentCache;
 
 	@Inject
 	public Database db;
 
+	@Inject
+	public BootstrapInitializer boot;
+
 	@Inject
 	public GraphQLHandler() {
 	}
 
 	/**
-	 * Handle the GraphQL query.
+	 * Handle the GraphQL query. The query may also be referenced by the SHA-256 hash of an automatic persisted query. The query text must be provided along
+	 * with the hash once in order to register the persisted query.
 	 *
 	 * @param gc
 	 *            Context
@@ -54,7 +71,24 @@ public class GraphQLHandler {
 		try (Tx tx = db.tx()) {
 			JsonObject queryJson = new JsonObject(body);
 			String query = queryJson.getString("query");
-			GraphQL graphQL = newGraphQL(typeProvider.getRootSchema(gc.getProject())).build();
+			String persistedQueryHash = extractPersistedQueryHash(queryJson);
+			if (persistedQueryHash != null) {
+				if (query == null) {
+					query = documentCache.getPersistedQuery(persistedQueryHash);
+					if (query == null) {
+						sendError(gc, PERSISTED_QUERY_NOT_FOUND, PERSISTED_QUERY_NOT_FOUND);
+						return;
+					}
+				} else if (!documentCache.putPersistedQuery(persistedQueryHash, query)) {
+					sendError(gc, "provided sha does not match query", PERSISTED_QUERY_HASH_MISMATCH);
+					return;
+				}
+			}
+			// The data loaders are request scoped since they memoize the loaded elements
+			DataLoaderRegistry registry = NodeDataLoader.createRegistry(gc, boot);
+			gc.setDataLoaderRegistry(registry);
+			GraphQL graphQL = schemaCache.getGraphQL(gc.getProject()).transform(builder -> builder.instrumentation(
+				new DataLoaderDispatcherInstrumentation(registry)));
 			ExecutionInput executionInput = ExecutionInput.newExecutionInput().query(query).context(gc).variables(extractVariables(queryJson))
 					.build();
 			ExecutionResult result = graphQL.execute(executionInput);
@@ -82,6 +116,40 @@ public class GraphQLHandler {
 
 	}
 
+	/**
+	 * Extracts the SHA-256 hash of the automatic persisted query from the request.
+	 *
+	 * @param request
+	 *            The request body
+	 * @return Hash or null if the request does not reference a persisted query
+	 */
+	private String extractPersistedQueryHash(JsonObject request) {
+		JsonObject extensions = request.getJsonObject("extensions");
+		if (extensions == null) {
+			return null;
+		}
+		JsonObject persistedQuery = extensions.getJsonObject("persistedQuery");
+		if (persistedQuery == null) {
+			return null;
+		}
+		return persistedQuery.getString("sha256Hash");
+	}
+
+	/**
+	 * Send a response which just contains the given error.
+	 *
+	 * @param gc
+	 * @param message
+	 * @param type
+	 */
+	private void sendError(GraphQLContext gc, String message, String type) {
+		JsonObject response = new JsonObject();
+		JsonArray jsonErrors = new JsonArray();
+		jsonErrors.add(new JsonObject().put("message", message).put("type", type));
+		response.put("errors", jsonErrors);
+		gc.send(response.encodePrettily(), OK);
+	}
+
 	/**
 	 * Extracts the variables of a query as a map. Returns empty map if no variables are found.
 	 *
@@ -111,8 +179,13 @@ public class GraphQLHandler {
 			JsonObject jsonError = new JsonObject();
 			if (error instanceof ExceptionWhileDataFetching) {
 				ExceptionWhileDataFetching dataError = (ExceptionWhileDataFetching) error;
-				if (dataError.getException() instanceof PermissionException) {
-					PermissionException restException = (PermissionException) dataError.getException();
+				Throwable exception = dataError.getException();
+				// Errors of fetchers which use the data loaders are wrapped by the returned future
+				if (exception instanceof CompletionException && exception.getCause() != null) {
+					exception = exception.getCause();
+				}
+				if (exception instanceof PermissionException) {
+					PermissionException restException = (PermissionException) exception;
 					// TODO translate error
 					// TODO add i18n parameters
 					jsonError.put("message", restException.getI18nKey());
@@ -120,7 +193,7 @@ public class GraphQLHandler {
 					jsonError.put("elementId", restException.getElementId());
 					jsonError.put("elementType", restException.getElementType());
 				} else {
-					log.error("Error while fetching data.", dataError.getException());
+					log.error("Error while fetching data.", exception);
 					jsonError.put("message", dataError.getMessage());
 					jsonError.put("type", dataError.getErrorType());
 				}
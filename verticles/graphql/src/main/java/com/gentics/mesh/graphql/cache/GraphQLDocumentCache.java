@@ -0,0 +1,109 @@
+package com.gentics.mesh.graphql.cache;
+
+import java.nio.charset.StandardCharsets;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.google.common.hash.Hashing;
+
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
+
+/**
+ * LRU cache for parsed and validated GraphQL documents. Clients tend to send the same small set of queries over and over again. Caching the documents avoids
+ * parsing and validating the same query text for each request.
+ *
+ * The validation result depends on the GraphQL schema. Entries are thus keyed by the schema revision (see {@link GraphQLSchemaCache#getRevision}) and the
+ * SHA-256 hash of the query.
+ *
+ * The cache additionally keeps track of the query text for automatic persisted queries. Clients may send just the SHA-256 hash of a query once the query
+ * text has been registered.
+ */
+@Singleton
+public class GraphQLDocumentCache {
+
+	private static final int MAX_DOCUMENTS = 1000;
+
+	private static final int MAX_PERSISTED_QUERIES = 1000;
+
+	private final Cache<String, PreparsedDocumentEntry> documents = Caffeine.newBuilder().maximumSize(MAX_DOCUMENTS).recordStats().build();
+
+	private final Cache<String, String> persistedQueries = Caffeine.newBuilder().maximumSize(MAX_PERSISTED_QUERIES).build();
+
+	@Inject
+	public GraphQLDocumentCache() {
+	}
+
+	/**
+	 * Create a document provider which caches the documents for the given schema revision.
+	 *
+	 * @param revision
+	 *            Revision of the schema which is used to validate the documents
+	 * @return
+	 */
+	public PreparsedDocumentProvider forRevision(String revision) {
+		return (query, computeFunction) -> {
+			String key = revision + "-" + hash(query);
+			return documents.get(key, k -> computeFunction.apply(query));
+		};
+	}
+
+	/**
+	 * Return the query text which was registered for the given persisted query hash.
+	 *
+	 * @param sha256Hash
+	 * @return Query text or null if no query was registered for the hash
+	 */
+	public String getPersistedQuery(String sha256Hash) {
+		return persistedQueries.getIfPresent(sha256Hash.toLowerCase());
+	}
+
+	/**
+	 * Register the query text for the given persisted query hash.
+	 *
+	 * @param sha256Hash
+	 *            Hash which was provided by the client
+	 * @param query
+	 *            Query text
+	 * @return false if the hash does not match the query text and the query was thus not registered, otherwise true
+	 */
+	public boolean putPersistedQuery(String sha256Hash, String query) {
+		if (!hash(query).equalsIgnoreCase(sha256Hash)) {
+			return false;
+		}
+		persistedQueries.put(sha256Hash.toLowerCase(), query);
+		return true;
+	}
+
+	/**
+	 * Return the statistics of the document cache.
+	 *
+	 * @return
+	 */
+	public CacheStats getStats() {
+		return documents.stats();
+	}
+
+	/**
+	 * Invalidate all cached documents and persisted queries.
+	 */
+	public void invalidate() {
+		documents.invalidateAll();
+		persistedQueries.invalidateAll();
+	}
+
+	/**
+	 * Return the hex encoded SHA-256 hash of the given query.
+	 *
+	 * @param query
+	 * @return
+	 */
+	public static String hash(String query) {
+		return Hashing.sha256().hashString(query, StandardCharsets.UTF_8).toString();
+	}
+
+}
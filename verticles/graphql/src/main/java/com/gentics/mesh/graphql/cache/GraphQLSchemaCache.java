@@ -0,0 +1,197 @@
+package com.gentics.mesh.graphql.cache;
+
+import static com.gentics.mesh.Events.EVENT_MICROSCHEMA_CREATED;
+import static com.gentics.mesh.Events.EVENT_MICROSCHEMA_DELETED;
+import static com.gentics.mesh.Events.EVENT_MICROSCHEMA_UPDATED;
+import static com.gentics.mesh.Events.EVENT_PROJECT_DELETED;
+import static com.gentics.mesh.Events.EVENT_PROJECT_UPDATED;
+import static com.gentics.mesh.Events.EVENT_RELEASE_CREATED;
+import static com.gentics.mesh.Events.EVENT_RELEASE_DELETED;
+import static com.gentics.mesh.Events.EVENT_RELEASE_UPDATED;
+import static com.gentics.mesh.Events.EVENT_SCHEMA_CREATED;
+import static com.gentics.mesh.Events.EVENT_SCHEMA_DELETED;
+import static com.gentics.mesh.Events.EVENT_SCHEMA_UPDATED;
+import static graphql.GraphQL.newGraphQL;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import com.gentics.mesh.Mesh;
+import com.gentics.mesh.core.data.Project;
+import com.gentics.mesh.core.data.schema.GraphFieldSchemaContainerVersion;
+import com.gentics.mesh.core.data.schema.MicroschemaContainer;
+import com.gentics.mesh.core.data.schema.SchemaContainer;
+import com.gentics.mesh.graphql.type.QueryTypeProvider;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.google.common.hash.Hashing;
+
+import graphql.GraphQL;
+import io.vertx.core.eventbus.EventBus;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+
+/**
+ * Cache for the project specific {@link GraphQL} instances. Building the GraphQL schema is expensive since the node and micronode field types need to be
+ * generated for every schema of the project.
+ *
+ * The cache key is made up of the project uuid and a revision hash. The revision is computed using the schema and microschema versions which are used to
+ * generate the types and is kept until the next invalidation, so that the versions don't need to be loaded for every request. Revisions and outdated
+ * entries are purged whenever a schema, microschema, release or project event is received. These events are published cluster-wide by the clustered eventbus.
+ */
+@Singleton
+public class GraphQLSchemaCache {
+
+	private static final Logger log = LoggerFactory.getLogger(GraphQLSchemaCache.class);
+
+	private static final int MAX_ENTRIES = 100;
+
+	private final Cache<String, GraphQL> cache = Caffeine.newBuilder().maximumSize(MAX_ENTRIES).recordStats().build();
+
+	/**
+	 * Computed revisions per project uuid. Computing the revision requires loading all schema versions of the project, so it is only done once per
+	 * invalidation.
+	 */
+	private final Map<String, Revision> revisions = new ConcurrentHashMap<>();
+
+	/**
+	 * Counter which is incremented by every invalidation. Revisions which were computed before the last invalidation are ignored.
+	 */
+	private final AtomicLong generation = new AtomicLong();
+
+	@Inject
+	public QueryTypeProvider typeProvider;
+
+	@Inject
+	public GraphQLDocumentCache documentCache;
+
+	@Inject
+	public GraphQLSchemaCache() {
+	}
+
+	/**
+	 * Return the GraphQL instance for the given project. The instance will be created if no matching instance could be found in the cache. The parsed and
+	 * validated query documents of the instance will be cached within the {@link GraphQLDocumentCache}. This method must be invoked within a transaction.
+	 *
+	 * @param project
+	 * @return
+	 */
+	public GraphQL getGraphQL(Project project) {
+		String revision = getRevision(project);
+		String key = project.getUuid() + "-" + revision;
+		return cache.get(key, k -> {
+			long start = System.currentTimeMillis();
+			GraphQL graphQL = newGraphQL(typeProvider.getRootSchema(project)).preparsedDocumentProvider(documentCache.forRevision(revision))
+				.build();
+			// Schemas are only created after invalidations. Logging each creation along with the hit rate is thus cheap.
+			long duration = System.currentTimeMillis() - start;
+			log.info("Created GraphQL schema for project {" + project.getName() + "} in {" + duration + "} ms. Cache hit rate {" + getStats().hitRate()
+				+ "}");
+			return graphQL;
+		});
+	}
+
+	/**
+	 * Return the schema revision for the given project. The revision changes whenever a schema or microschema of the project was updated, added or removed.
+	 * The revision is computed once and reused until the cache gets invalidated by a schema, microschema, release or project event.
+	 *
+	 * @param project
+	 * @return Revision hash
+	 */
+	public String getRevision(Project project) {
+		String projectUuid = project.getUuid();
+		Revision revision = revisions.get(projectUuid);
+		long currentGeneration = generation.get();
+		if (revision != null && revision.generation == currentGeneration) {
+			return revision.hash;
+		}
+		// The revision is stored along with the generation in which it was computed. An invalidation during the computation will thus not be lost.
+		String hash = computeRevision(project);
+		revisions.put(projectUuid, new Revision(currentGeneration, hash));
+		return hash;
+	}
+
+	/**
+	 * Compute the schema revision hash using the schema and microschema versions of the project.
+	 *
+	 * @param project
+	 * @return
+	 */
+	private String computeRevision(Project project) {
+		List<String> versionKeys = new ArrayList<>();
+		for (SchemaContainer container : project.getSchemaContainerRoot().findAllIt()) {
+			versionKeys.add(toVersionKey(container.getLatestVersion()));
+		}
+		for (MicroschemaContainer container : project.getMicroschemaContainerRoot().findAllIt()) {
+			versionKeys.add(toVersionKey(container.getLatestVersion()));
+		}
+		// The iteration order is not guaranteed. Sort the keys to get a stable revision.
+		Collections.sort(versionKeys);
+		return Hashing.sha256().hashString(String.join(",", versionKeys), StandardCharsets.UTF_8).toString();
+	}
+
+	private String toVersionKey(GraphFieldSchemaContainerVersion<?, ?, ?, ?, ?> version) {
+		return version.getUuid() + ":" + version.getVersion() + ":" + version.getJson().hashCode();
+	}
+
+	/**
+	 * Return the statistics of the cache. The statistics can be used to determine the hit rate of the cache.
+	 *
+	 * @return
+	 */
+	public CacheStats getStats() {
+		return cache.stats();
+	}
+
+	/**
+	 * Invalidate all cached GraphQL instances.
+	 */
+	public void invalidate() {
+		generation.incrementAndGet();
+		revisions.clear();
+		cache.invalidateAll();
+	}
+
+	/**
+	 * Register the event handlers which will invalidate the cache once a schema, microschema, release or project has been changed.
+	 */
+	public void registerEventHandlers() {
+		EventBus eb = Mesh.vertx().eventBus();
+		String[] addresses = { EVENT_SCHEMA_CREATED, EVENT_SCHEMA_UPDATED, EVENT_SCHEMA_DELETED, EVENT_MICROSCHEMA_CREATED,
+			EVENT_MICROSCHEMA_UPDATED, EVENT_MICROSCHEMA_DELETED, EVENT_RELEASE_CREATED, EVENT_RELEASE_UPDATED, EVENT_RELEASE_DELETED,
+			EVENT_PROJECT_UPDATED, EVENT_PROJECT_DELETED };
+		for (String address : addresses) {
+			eb.consumer(address, e -> {
+				if (log.isDebugEnabled()) {
+					log.debug("Clearing GraphQL schema cache due to received event from {" + e.address() + "}");
+				}
+				invalidate();
+			});
+		}
+	}
+
+	/**
+	 * Revision hash of a project which was computed in a specific generation.
+	 */
+	private static class Revision {
+
+		private final long generation;
+
+		private final String hash;
+
+		Revision(long generation, String hash) {
+			this.generation = generation;
+			this.hash = hash;
+		}
+	}
+
+}
@@ -1,7 +1,14 @@
 package com.gentics.mesh.graphql.context;
 
+import java.util.Collection;
+
+import org.dataloader.DataLoader;
+import org.dataloader.DataLoaderRegistry;
+
 import com.gentics.mesh.context.InternalActionContext;
 import com.gentics.mesh.core.data.MeshCoreVertex;
+import com.gentics.mesh.core.data.MeshVertex;
+import com.gentics.mesh.core.data.PermissionEvaluator;
 import com.gentics.mesh.core.data.relationship.GraphPermission;
 import com.gentics.mesh.core.rest.error.PermissionException;
 
@@ -21,4 +28,47 @@ public interface GraphQLContext extends InternalActionContext {
 	 */
 	<T extends MeshCoreVertex<?, ?>> T requiresPerm(T vertex, GraphPermission... permission);
 
+	/**
+	 * Check the permissions of all given elements at once. Granted permissions are memoized so that subsequent calls of
+	 * {@link #requiresPerm(MeshCoreVertex, GraphPermission...)} for these elements will not access the graph again.
+	 * 
+	 * @param vertices
+	 *            Elements to be checked
+	 * @param permission
+	 *            Permissions which should be checked in the given order
+	 */
+	void preloadPermissions(Collection<? extends MeshVertex> vertices, GraphPermission... permission);
+
+	/**
+	 * Return the request scoped permission evaluator of the user. The evaluator should be used for all permission checks of the request.
+	 * 
+	 * @return
+	 */
+	PermissionEvaluator getPermissionEvaluator();
+
+	/**
+	 * Return the request scoped data loader registry.
+	 * 
+	 * @return
+	 */
+	DataLoaderRegistry getDataLoaderRegistry();
+
+	/**
+	 * Set the request scoped data loader registry.
+	 * 
+	 * @param registry
+	 * @return Fluent API
+	 */
+	GraphQLContext setDataLoaderRegistry(DataLoaderRegistry registry);
+
+	/**
+	 * Return the data loader with the given key.
+	 * 
+	 * @param key
+	 * @return
+	 */
+	default <K, V> DataLoader<K, V> getDataLoader(String key) {
+		return getDataLoaderRegistry().getDataLoader(key);
+	}
+
 }
@@ -2,8 +2,22 @@ package com.gentics.mesh.graphql.context.impl;
 
 import static com.gentics.mesh.core.rest.error.Errors.missingPerm;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.dataloader.DataLoaderRegistry;
+
 import com.gentics.mesh.context.impl.InternalRoutingActionContextImpl;
 import com.gentics.mesh.core.data.MeshCoreVertex;
+import com.gentics.mesh.core.data.MeshVertex;
+import com.gentics.mesh.core.data.PermissionEvaluator;
 import com.gentics.mesh.core.data.relationship.GraphPermission;
 import com.gentics.mesh.graphql.context.GraphQLContext;
 
@@ -14,18 +28,75 @@ import io.vertx.ext.web.RoutingContext;
  */
 public class GraphQLContextImpl extends InternalRoutingActionContextImpl implements GraphQLContext {
 
+	private DataLoaderRegistry dataLoaderRegistry;
+
+	/**
+	 * Granted permissions which were already checked within this request. The map is keyed by the element id.
+	 */
+	private Map<Object, Set<GraphPermission>> grantedPermissions = new HashMap<>();
+
+	private PermissionEvaluator permissionEvaluator;
+
 	public GraphQLContextImpl(RoutingContext rc) {
 		super(rc);
 	}
 
 	@Override
 	public <T extends MeshCoreVertex<?, ?>> T requiresPerm(T vertex, GraphPermission... permission) {
+		Set<GraphPermission> granted = grantedPermissions.computeIfAbsent(vertex.getId(), id -> EnumSet.noneOf(GraphPermission.class));
+		for (GraphPermission perm : permission) {
+			if (granted.contains(perm)) {
+				return vertex;
+			}
+		}
 		for (GraphPermission perm : permission) {
-			if (getUser().hasPermission(vertex, perm)) {
+			if (getPermissionEvaluator().hasPermission(vertex, perm)) {
+				granted.add(perm);
 				return vertex;
 			}
 		}
 		throw missingPerm(vertex.getTypeInfo().getType(), vertex.getUuid());
 	}
 
+	@Override
+	public void preloadPermissions(Collection<? extends MeshVertex> vertices, GraphPermission... permission) {
+		List<Object> uncheckedIds = new ArrayList<>(vertices.size());
+		for (MeshVertex vertex : vertices) {
+			Set<GraphPermission> granted = grantedPermissions.get(vertex.getId());
+			if (granted == null || Collections.disjoint(granted, Arrays.asList(permission))) {
+				uncheckedIds.add(vertex.getId());
+			}
+		}
+		// Check each permission with a single lookup for all elements which were not yet granted by the previous permissions
+		for (GraphPermission perm : permission) {
+			if (uncheckedIds.isEmpty()) {
+				break;
+			}
+			Set<Object> permittedIds = getPermissionEvaluator().getPermittedIds(uncheckedIds, perm);
+			for (Object id : permittedIds) {
+				grantedPermissions.computeIfAbsent(id, key -> EnumSet.noneOf(GraphPermission.class)).add(perm);
+			}
+			uncheckedIds.removeAll(permittedIds);
+		}
+	}
+
+	@Override
+	public PermissionEvaluator getPermissionEvaluator() {
+		if (permissionEvaluator == null) {
+			permissionEvaluator = getUser().createPermissionEvaluator();
+		}
+		return permissionEvaluator;
+	}
+
+	@Override
+	public DataLoaderRegistry getDataLoaderRegistry() {
+		return dataLoaderRegistry;
+	}
+
+	@Override
+	public GraphQLContext setDataLoaderRegistry(DataLoaderRegistry registry) {
+		this.dataLoaderRegistry = registry;
+		return this;
+	}
+
 }
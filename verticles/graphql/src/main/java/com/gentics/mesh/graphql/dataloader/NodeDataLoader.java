@@ -0,0 +1,270 @@
+package com.gentics.mesh.graphql.dataloader;
+
+import static com.gentics.mesh.core.data.relationship.GraphPermission.READ_PERM;
+import static com.gentics.mesh.core.data.relationship.GraphPermission.READ_PUBLISHED_PERM;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.dataloader.BatchLoader;
+import org.dataloader.DataLoader;
+import org.dataloader.DataLoaderOptions;
+import org.dataloader.DataLoaderRegistry;
+
+import com.gentics.mesh.cli.BootstrapInitializer;
+import com.gentics.mesh.core.data.ContainerType;
+import com.gentics.mesh.core.data.NodeGraphFieldContainer;
+import com.gentics.mesh.core.data.node.Node;
+import com.gentics.mesh.core.data.node.NodeContent;
+import com.gentics.mesh.core.data.page.Page;
+import com.gentics.mesh.core.data.page.TransformablePage;
+import com.gentics.mesh.core.data.page.impl.WrappedPageImpl;
+import com.gentics.mesh.graphql.context.GraphQLContext;
+import com.gentics.mesh.parameter.PagingParameters;
+
+/**
+ * Request scoped data loaders for nodes and their containers. The GraphQL fetchers register their lookups with the loaders instead of resolving them one
+ * by one. The loaders are dispatched once per query level by the {@link graphql.execution.instrumentation.dataloader.DataLoaderDispatcherInstrumentation}.
+ * Each batch function thus receives all keys of the level at once. Duplicate keys (e.g. the shared parent of all children in a page) are only resolved once
+ * and the results are memoized for the remaining query. Nodes and containers of a batch are located using multi-key index lookups and the read permissions
+ * of the loaded nodes are checked for the whole batch. The parent nodes of a batch are located using a single lookup of the parent edge index.
+ *
+ * The batch functions are invoked synchronously by the thread which executes the query and thus run within the transaction of the request.
+ */
+public final class NodeDataLoader {
+
+	/**
+	 * Loader for nodes by uuid.
+	 */
+	public static final String NODE_LOADER_KEY = "nodeLoader";
+
+	/**
+	 * Loader for the containers of a node by language.
+	 */
+	public static final String CONTAINER_LOADER_KEY = "containerLoader";
+
+	/**
+	 * Loader for the parent node of a node.
+	 */
+	public static final String PARENT_LOADER_KEY = "parentLoader";
+
+	/**
+	 * Loader for the page of children of a node. The page contains the children along with their containers.
+	 */
+	public static final String CHILDREN_LOADER_KEY = "childrenLoader";
+
+	private NodeDataLoader() {
+	}
+
+	/**
+	 * Create the registry which contains the loaders for the given request.
+	 *
+	 * @param gc
+	 * @param boot
+	 * @return
+	 */
+	public static DataLoaderRegistry createRegistry(GraphQLContext gc, BootstrapInitializer boot) {
+		DataLoaderRegistry registry = new DataLoaderRegistry();
+
+		registry.register(NODE_LOADER_KEY, new DataLoader<String, Node>(batch(uuids -> {
+			Map<String, Node> nodes = boot.nodeRoot().findByUuids(uuids);
+			gc.preloadPermissions(nodes.values(), READ_PERM, READ_PUBLISHED_PERM);
+			return uuids.stream().map(nodes::get).collect(Collectors.toList());
+		})));
+
+		registry.register(CONTAINER_LOADER_KEY, new DataLoader<ContainerKey, NodeGraphFieldContainer>(batch(keys -> {
+			gc.preloadPermissions(keys.stream().map(ContainerKey::getNode).collect(Collectors.toList()), READ_PERM, READ_PUBLISHED_PERM);
+			Map<ContainerKey, NodeGraphFieldContainer> containers = findContainers(gc, boot, keys);
+			return keys.stream().map(containers::get).collect(Collectors.toList());
+		}), DataLoaderOptions.newOptions().setCacheKeyFunction(key -> key)));
+
+		registry.register(PARENT_LOADER_KEY, new DataLoader<Node, Node>(batch(nodes -> {
+			String releaseUuid = gc.getRelease().getUuid();
+			List<Node> parents = boot.nodeRoot().findParentNodes(nodes, releaseUuid);
+			gc.preloadPermissions(parents.stream().filter(Objects::nonNull).collect(Collectors.toList()), READ_PERM, READ_PUBLISHED_PERM);
+			return parents;
+		}), DataLoaderOptions.newOptions().setCacheKeyFunction(node -> ((Node) node).getId())));
+
+		registry.register(CHILDREN_LOADER_KEY, new DataLoader<ChildrenKey, Page<NodeContent>>(batch(childrenLoader(gc, boot)), DataLoaderOptions
+			.newOptions().setCacheKeyFunction(key -> key)));
+
+		return registry;
+	}
+
+	/**
+	 * Create the loader function for the children of a node. The containers of all children of the batch are resolved at once and are shared across the pages
+	 * of the batch.
+	 *
+	 * @param gc
+	 * @param boot
+	 * @return
+	 */
+	private static Function<List<ChildrenKey>, List<Page<NodeContent>>> childrenLoader(GraphQLContext gc, BootstrapInitializer boot) {
+		return keys -> {
+			String releaseUuid = gc.getRelease().getUuid();
+			List<TransformablePage<? extends Node>> pages = new ArrayList<>(keys.size());
+			Set<ContainerKey> containerKeys = new LinkedHashSet<>();
+			for (ChildrenKey key : keys) {
+				TransformablePage<? extends Node> page = key.getNode().getChildren(gc, key.getLanguageTags(), releaseUuid, key.getType(), key
+					.getPagingInfo());
+				for (Node child : page.getWrappedList()) {
+					containerKeys.add(new ContainerKey(child, key.getLanguageTags()));
+				}
+				pages.add(page);
+			}
+
+			Map<ContainerKey, NodeGraphFieldContainer> containers = findContainers(gc, boot, containerKeys);
+			List<Page<NodeContent>> contentPages = new ArrayList<>(keys.size());
+			for (int i = 0; i < keys.size(); i++) {
+				TransformablePage<? extends Node> page = pages.get(i);
+				List<NodeContent> contents = new ArrayList<>(page.getSize());
+				for (Node child : page.getWrappedList()) {
+					contents.add(new NodeContent(child, containers.get(new ContainerKey(child, keys.get(i).getLanguageTags()))));
+				}
+				contentPages.add(new WrappedPageImpl<NodeContent>(contents, page));
+			}
+			return contentPages;
+		};
+	}
+
+	/**
+	 * Find the containers for the given keys. The keys are grouped by their language tags and the containers of each group are located with a single lookup.
+	 *
+	 * @param gc
+	 * @param boot
+	 * @param keys
+	 * @return Found containers by key. Keys without a matching container are omitted
+	 */
+	private static Map<ContainerKey, NodeGraphFieldContainer> findContainers(GraphQLContext gc, BootstrapInitializer boot,
+		Collection<ContainerKey> keys) {
+		String releaseUuid = gc.getRelease().getUuid();
+		String version = gc.getVersioningParameters().getVersion();
+		Map<List<String>, List<ContainerKey>> keysByLanguage = keys.stream().collect(Collectors.groupingBy(ContainerKey::getLanguageTags,
+			LinkedHashMap::new, Collectors.toList()));
+
+		Map<ContainerKey, NodeGraphFieldContainer> containers = new HashMap<>();
+		for (Map.Entry<List<String>, List<ContainerKey>> entry : keysByLanguage.entrySet()) {
+			List<ContainerKey> group = entry.getValue();
+			List<Node> nodes = group.stream().map(ContainerKey::getNode).collect(Collectors.toList());
+			List<NodeGraphFieldContainer> found = boot.nodeRoot().findVersions(nodes, entry.getKey(), releaseUuid, version);
+			for (int i = 0; i < group.size(); i++) {
+				if (found.get(i) != null) {
+					containers.put(group.get(i), found.get(i));
+				}
+			}
+		}
+		return containers;
+	}
+
+	/**
+	 * Create a batch loader which processes all distinct keys of the batch using the given function.
+	 *
+	 * @param loader
+	 * @return
+	 */
+	private static <K, V> BatchLoader<K, V> batch(Function<List<K>, List<V>> loader) {
+		return keys -> {
+			Map<K, Integer> positions = new HashMap<>();
+			List<K> distinctKeys = new ArrayList<>();
+			for (K key : keys) {
+				if (!positions.containsKey(key)) {
+					positions.put(key, distinctKeys.size());
+					distinctKeys.add(key);
+				}
+			}
+			List<V> distinctValues = loader.apply(distinctKeys);
+			List<V> values = new ArrayList<>(keys.size());
+			for (K key : keys) {
+				values.add(distinctValues.get(positions.get(key)));
+			}
+			return CompletableFuture.completedFuture(values);
+		};
+	}
+
+	/**
+	 * Key for container lookups. Keys are equal if they reference the same node vertex and language tags.
+	 */
+	public static class ContainerKey {
+
+		private final Node node;
+
+		private final List<String> languageTags;
+
+		public ContainerKey(Node node, List<String> languageTags) {
+			this.node = node;
+			this.languageTags = languageTags;
+		}
+
+		public Node getNode() {
+			return node;
+		}
+
+		public List<String> getLanguageTags() {
+			return languageTags;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof ContainerKey)) {
+				return false;
+			}
+			ContainerKey other = (ContainerKey) obj;
+			return Objects.equals(node.getId(), other.node.getId()) && Objects.equals(languageTags, other.languageTags);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(node.getId(), languageTags);
+		}
+	}
+
+	/**
+	 * Key for children lookups. Keys are equal if they reference the same parent node vertex and the same filter and paging parameters.
+	 */
+	public static class ChildrenKey extends ContainerKey {
+
+		private final ContainerType type;
+
+		private final PagingParameters pagingInfo;
+
+		public ChildrenKey(Node node, List<String> languageTags, ContainerType type, PagingParameters pagingInfo) {
+			super(node, languageTags);
+			this.type = type;
+			this.pagingInfo = pagingInfo;
+		}
+
+		public ContainerType getType() {
+			return type;
+		}
+
+		public PagingParameters getPagingInfo() {
+			return pagingInfo;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof ChildrenKey) || !super.equals(obj)) {
+				return false;
+			}
+			ChildrenKey other = (ChildrenKey) obj;
+			return type == other.type && pagingInfo.getPage() == other.pagingInfo.getPage() && pagingInfo.getPerPage() == other.pagingInfo
+				.getPerPage();
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(super.hashCode(), type, pagingInfo.getPage(), pagingInfo.getPerPage());
+		}
+	}
+
+}
@@ -219,8 +219,8 @@ public abstract class AbstractTypeProvider {
 		// We need to handle permissions dedicately since we check the schema container perm and not the schema container version perm.
 		return handleUuidNameArgsNoPerm(env, uuid -> schemas.filter(schema -> {
 			SchemaContainer container = schema.getSchemaContainer();
-			return container.getUuid().equals(uuid) && gc.getUser().hasPermission(container, READ_PERM);
-		}).findFirst().get(), name -> schemas.filter(schema -> schema.getName().equals(name) && gc.getUser().hasPermission(schema
+			return container.getUuid().equals(uuid) && gc.getPermissionEvaluator().hasPermission(container, READ_PERM);
+		}).findFirst().get(), name -> schemas.filter(schema -> schema.getName().equals(name) && gc.getPermissionEvaluator().hasPermission(schema
 			.getSchemaContainer(), READ_PERM)).findFirst().get());
 	}
 
@@ -228,7 +228,7 @@ public abstract class AbstractTypeProvider {
 		GraphQLContext gc = env.getContext();
 		Release release = env.getSource();
 		Stream<? extends SchemaContainerVersion> schemas = StreamSupport.stream(release.findActiveSchemaVersions().spliterator(), false).filter(
-			schema -> gc.getUser().hasPermission(schema.getSchemaContainer(), READ_PERM));
+			schema -> gc.getPermissionEvaluator().hasPermission(schema.getSchemaContainer(), READ_PERM));
 		return new DynamicStreamPageImpl<>(schemas, getPagingInfo(env));
 	}
 
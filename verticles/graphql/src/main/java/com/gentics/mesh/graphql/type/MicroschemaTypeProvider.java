@@ -51,7 +51,7 @@ public class MicroschemaTypeProvider extends AbstractTypeProvider {
 			return microschema.findReferencedReleases().keySet().stream()
 				.map(Release::getProject)
 				.distinct()
-				.filter(it -> gc.getUser().hasPermission(it, GraphPermission.READ_PERM))
+				.filter(it -> gc.getPermissionEvaluator().hasPermission(it, GraphPermission.READ_PERM))
 				.collect(Collectors.toList());
 		}, PROJECT_REFERENCE_PAGE_TYPE_NAME));
 
@@ -9,6 +9,9 @@ import static graphql.Scalars.GraphQLBoolean;
 import static graphql.Scalars.GraphQLString;
 import static graphql.schema.GraphQLFieldDefinition.newFieldDefinition;
 import static graphql.schema.GraphQLObjectType.newObject;
+import static com.gentics.mesh.graphql.dataloader.NodeDataLoader.CHILDREN_LOADER_KEY;
+import static com.gentics.mesh.graphql.dataloader.NodeDataLoader.CONTAINER_LOADER_KEY;
+import static com.gentics.mesh.graphql.dataloader.NodeDataLoader.PARENT_LOADER_KEY;
 import static io.netty.handler.codec.http.HttpResponseStatus.NOT_FOUND;
 
 import java.util.ArrayList;
@@ -21,6 +24,8 @@ import java.util.stream.Collectors;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
+import org.dataloader.DataLoader;
+
 import com.gentics.mesh.Mesh;
 import com.gentics.mesh.cli.BootstrapInitializer;
 import com.gentics.mesh.core.data.ContainerType;
@@ -31,11 +36,11 @@ import com.gentics.mesh.core.data.User;
 import com.gentics.mesh.core.data.node.Node;
 import com.gentics.mesh.core.data.node.NodeContent;
 import com.gentics.mesh.core.data.page.Page;
-import com.gentics.mesh.core.data.page.TransformablePage;
-import com.gentics.mesh.core.data.page.impl.WrappedPageImpl;
 import com.gentics.mesh.core.rest.error.GenericRestException;
 import com.gentics.mesh.error.MeshConfigurationException;
 import com.gentics.mesh.graphql.context.GraphQLContext;
+import com.gentics.mesh.graphql.dataloader.NodeDataLoader.ChildrenKey;
+import com.gentics.mesh.graphql.dataloader.NodeDataLoader.ContainerKey;
 import com.gentics.mesh.graphql.type.field.NodeFieldTypeProvider;
 import com.gentics.mesh.parameter.PagingParameters;
 import com.gentics.mesh.path.Path;
@@ -89,14 +94,15 @@ public class NodeTypeProvider extends AbstractTypeProvider {
 			return null;
 		}
 		GraphQLContext gc = env.getContext();
-		String uuid = gc.getRelease().getUuid();
-		Node parentNode = content.getNode().getParentNode(uuid);
-		// The project root node can have no parent. Lets check this and exit early.
-		if (parentNode == null) {
-			return null;
-		}
-		gc.requiresPerm(parentNode, READ_PERM, READ_PUBLISHED_PERM);
-		return handleLanguageFallback(gc, parentNode, content);
+		DataLoader<Node, Node> parentLoader = gc.getDataLoader(PARENT_LOADER_KEY);
+		return parentLoader.load(content.getNode()).thenApply(parentNode -> {
+			// The project root node can have no parent. Lets check this and exit early.
+			if (parentNode == null) {
+				return null;
+			}
+			gc.requiresPerm(parentNode, READ_PERM, READ_PUBLISHED_PERM);
+			return handleLanguageFallback(gc, parentNode, content);
+		});
 	}
 
 	public Object nodeLanguageFetcher(DataFetchingEnvironment env) {
@@ -133,9 +139,17 @@ public class NodeTypeProvider extends AbstractTypeProvider {
 			return null;
 		}
 
-		return content.getNode().getBreadcrumbNodes(gc).stream().map(node -> {
-			return handleLanguageFallback(gc, node, content);
-		}).collect(Collectors.toList());
+		List<String> languageTags = getFallbackLanguageTags(content);
+		List<Node> nodes = new ArrayList<>(content.getNode().getBreadcrumbNodes(gc));
+		List<ContainerKey> keys = nodes.stream().map(node -> new ContainerKey(node, languageTags)).collect(Collectors.toList());
+		DataLoader<ContainerKey, NodeGraphFieldContainer> containerLoader = gc.getDataLoader(CONTAINER_LOADER_KEY);
+		return containerLoader.loadMany(keys).thenApply(containers -> {
+			List<NodeContent> contents = new ArrayList<>(nodes.size());
+			for (int i = 0; i < nodes.size(); i++) {
+				contents.add(new NodeContent(nodes.get(i), containers.get(i)));
+			}
+			return contents;
+		});
 	}
 
 	public Object languagesFetcher(DataFetchingEnvironment env) {
@@ -168,13 +182,23 @@ public class NodeTypeProvider extends AbstractTypeProvider {
 	 * @return Located container or null if no container could be found
 	 */
 	private NodeContent handleLanguageFallback(GraphQLContext gc, Node node, NodeContent content) {
+		return new NodeContent(node, node.findVersion(gc, getFallbackLanguageTags(content)));
+	}
+
+	/**
+	 * Return the language tags which should be used to load the containers of nodes which are related to the given content.
+	 * 
+	 * @param content
+	 * @return Language of the content container or the default mesh language if the content does not provide a container
+	 */
+	private List<String> getFallbackLanguageTags(NodeContent content) {
 		List<String> languageTags = new ArrayList<>();
 		if (content.getContainer() != null) {
 			languageTags.add(content.getContainer().getLanguage().getLanguageTag());
 		} else {
 			languageTags.add(Mesh.mesh().getOptions().getDefaultLanguage());
 		}
-		return new NodeContent(node, node.findVersion(gc, languageTags));
+		return languageTags;
 	}
 
 	public GraphQLObjectType createType(Project project) {
@@ -269,14 +293,9 @@ public class NodeTypeProvider extends AbstractTypeProvider {
 			Node node = content.getNode();
 			List<String> languageTags = getLanguageArgument(env);
 
-			TransformablePage<? extends Node> page = node.getChildren(gc, languageTags, gc.getRelease().getUuid(), selectedType, getPagingInfo(env));
-
-			// Transform the found nodes into contents
-			List<NodeContent> contents = page.getWrappedList().stream().map(item -> {
-				NodeGraphFieldContainer container = item.findVersion(gc, languageTags);
-				return new NodeContent(item, container);
-			}).collect(Collectors.toList());
-			return new WrappedPageImpl<NodeContent>(contents, page);
+			// The loader will return the page of child nodes along with the containers
+			DataLoader<ChildrenKey, Page<NodeContent>> childrenLoader = gc.getDataLoader(CHILDREN_LOADER_KEY);
+			return childrenLoader.load(new ChildrenKey(node, languageTags, selectedType, getPagingInfo(env)));
 		}, NODE_PAGE_TYPE_NAME).argument(createLanguageTagArg()));
 
 		// .parent
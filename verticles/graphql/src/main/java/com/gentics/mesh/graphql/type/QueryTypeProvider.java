@@ -2,6 +2,7 @@ package com.gentics.mesh.graphql.type;
 
 import static com.gentics.mesh.core.data.relationship.GraphPermission.READ_PERM;
 import static com.gentics.mesh.core.data.relationship.GraphPermission.READ_PUBLISHED_PERM;
+import static com.gentics.mesh.graphql.dataloader.NodeDataLoader.NODE_LOADER_KEY;
 import static com.gentics.mesh.graphql.type.GroupTypeProvider.GROUP_PAGE_TYPE_NAME;
 import static com.gentics.mesh.graphql.type.GroupTypeProvider.GROUP_TYPE_NAME;
 import static com.gentics.mesh.graphql.type.MicroschemaTypeProvider.MICROSCHEMA_PAGE_TYPE_NAME;
@@ -36,6 +37,8 @@ import java.util.stream.Collectors;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
+import org.dataloader.DataLoader;
+
 import com.gentics.mesh.cli.BootstrapInitializer;
 import com.gentics.mesh.core.data.NodeGraphFieldContainer;
 import com.gentics.mesh.core.data.Project;
@@ -168,15 +171,17 @@ public class QueryTypeProvider extends AbstractTypeProvider {
 		String uuid = env.getArgument("uuid");
 		if (uuid != null) {
 			GraphQLContext gc = env.getContext();
-			Node node = boot.nodeRoot().findByUuid(uuid);
-			if (node == null) {
-				// TODO Throw graphql aware not found exception
-				return null;
-			}
-			node = gc.requiresPerm(node, READ_PERM, READ_PUBLISHED_PERM);
 			List<String> languageTags = getLanguageArgument(env);
-			NodeGraphFieldContainer container = node.findVersion(gc, languageTags);
-			return new NodeContent(node, container);
+			DataLoader<String, Node> nodeLoader = gc.getDataLoader(NODE_LOADER_KEY);
+			return nodeLoader.load(uuid).thenApply(node -> {
+				if (node == null) {
+					// TODO Throw graphql aware not found exception
+					return null;
+				}
+				node = gc.requiresPerm(node, READ_PERM, READ_PUBLISHED_PERM);
+				NodeGraphFieldContainer container = node.findVersion(gc, languageTags);
+				return new NodeContent(node, container);
+			});
 		}
 		String path = env.getArgument("path");
 		if (path != null) {
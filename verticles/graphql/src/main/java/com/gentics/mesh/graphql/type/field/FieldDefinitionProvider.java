@@ -2,6 +2,7 @@ package com.gentics.mesh.graphql.type.field;
 
 import static com.gentics.mesh.core.data.relationship.GraphPermission.READ_PERM;
 import static com.gentics.mesh.core.data.relationship.GraphPermission.READ_PUBLISHED_PERM;
+import static com.gentics.mesh.graphql.dataloader.NodeDataLoader.CONTAINER_LOADER_KEY;
 import static com.gentics.mesh.graphql.type.NodeTypeProvider.NODE_TYPE_NAME;
 import static com.gentics.mesh.graphql.type.field.MicronodeFieldTypeProvider.MICRONODE_TYPE_NAME;
 import static graphql.Scalars.GraphQLBigDecimal;
@@ -13,6 +14,7 @@ import static graphql.Scalars.GraphQLString;
 import static graphql.schema.GraphQLFieldDefinition.newFieldDefinition;
 import static graphql.schema.GraphQLObjectType.newObject;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -21,6 +23,8 @@ import java.util.stream.Collectors;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
+import org.dataloader.DataLoader;
+
 import com.gentics.mesh.Mesh;
 import com.gentics.mesh.core.data.GraphFieldContainer;
 import com.gentics.mesh.core.data.NodeGraphFieldContainer;
@@ -48,6 +52,7 @@ import com.gentics.mesh.core.rest.node.field.image.FocalPoint;
 import com.gentics.mesh.core.rest.schema.FieldSchema;
 import com.gentics.mesh.core.rest.schema.ListFieldSchema;
 import com.gentics.mesh.graphql.context.GraphQLContext;
+import com.gentics.mesh.graphql.dataloader.NodeDataLoader.ContainerKey;
 import com.gentics.mesh.graphql.type.AbstractTypeProvider;
 import com.gentics.mesh.parameter.LinkType;
 import com.gentics.mesh.util.DateUtils;
@@ -294,21 +299,29 @@ public class FieldDefinitionProvider extends AbstractTypeProvider {
 				if (nodeList == null) {
 					return null;
 				}
-				return nodeList.getList().stream().map(item -> {
-					Node node = item.getNode();
-					List<String> languageTags = Collections.emptyList();
-					if (container instanceof NodeGraphFieldContainer) {
-						languageTags = Arrays.asList(container.getLanguage().getLanguageTag());
-					} else {
-						// Other containers (e.g. micronodes do not have a language thus we can't use that language to define the loaded language variant. We
-						// thus fallback to the default mesh language.
-						String defaultLanguage = Mesh.mesh().getOptions().getDefaultLanguage();
-						languageTags = Arrays.asList(defaultLanguage);
+				List<String> languageTags = Collections.emptyList();
+				if (container instanceof NodeGraphFieldContainer) {
+					languageTags = Arrays.asList(container.getLanguage().getLanguageTag());
+				} else {
+					// Other containers (e.g. micronodes do not have a language thus we can't use that language to define the loaded language variant. We
+					// thus fallback to the default mesh language.
+					String defaultLanguage = Mesh.mesh().getOptions().getDefaultLanguage();
+					languageTags = Arrays.asList(defaultLanguage);
+				}
+				List<Node> nodes = nodeList.getList().stream().map(item -> item.getNode()).collect(Collectors.toList());
+				List<ContainerKey> keys = new ArrayList<>(nodes.size());
+				for (Node node : nodes) {
+					keys.add(new ContainerKey(node, languageTags));
+				}
+				// TODO we need to add more assertions and check what happens if the itemContainer is null
+				DataLoader<ContainerKey, NodeGraphFieldContainer> containerLoader = gc.getDataLoader(CONTAINER_LOADER_KEY);
+				return containerLoader.loadMany(keys).thenApply(itemContainers -> {
+					List<NodeContent> contents = new ArrayList<>(nodes.size());
+					for (int i = 0; i < nodes.size(); i++) {
+						contents.add(new NodeContent(nodes.get(i), itemContainers.get(i)));
 					}
-					// TODO we need to add more assertions and check what happens if the itemContainer is null
-					NodeGraphFieldContainer itemContainer = node.findVersion(gc, languageTags);
-					return new NodeContent(node, itemContainer);
-				}).collect(Collectors.toList());
+					return contents;
+				});
 			case "micronode":
 				MicronodeGraphFieldList micronodeList = container.getMicronodeList(schema.getName());
 				if (micronodeList == null) {
@@ -380,10 +393,12 @@ public class FieldDefinitionProvider extends AbstractTypeProvider {
 						// TODO the language should be loaded using the parent node language. Note that we would need to check for micronodes which are not
 						// language specific!
 						List<String> languageTags = getLanguageArgument(env);
-						// Check permissions for the linked node
-						gc.requiresPerm(node, READ_PERM, READ_PUBLISHED_PERM);
-						NodeGraphFieldContainer container = node.findVersion(gc, languageTags);
-						return new NodeContent(node, container);
+						DataLoader<ContainerKey, NodeGraphFieldContainer> containerLoader = gc.getDataLoader(CONTAINER_LOADER_KEY);
+						return containerLoader.load(new ContainerKey(node, languageTags)).thenApply(container -> {
+							// Check permissions for the linked node. The permissions were loaded along with the containers of the batch.
+							gc.requiresPerm(node, READ_PERM, READ_PUBLISHED_PERM);
+							return new NodeContent(node, container);
+						});
 					}
 				}
 				return null;